@@ -1,6 +1,6 @@
 package ai.driftkit.audio.engine.impl;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import ai.driftkit.common.utils.ObjectMappers;
 import lombok.extern.slf4j.Slf4j;
 import ai.driftkit.audio.core.config.CoreAudioConfig;
 import ai.driftkit.audio.engine.AbstractTranscriptionEngine;
@@ -43,7 +43,6 @@ public class DeepgramEngine extends AbstractTranscriptionEngine {
     private static final String DEEPGRAM_WS_URL = "wss://api.deepgram.com/v1/listen";
     
     private OkHttpClient httpClient;
-    private final ObjectMapper objectMapper = new ObjectMapper();
     private final ScheduledExecutorService reconnectExecutor = Executors.newSingleThreadScheduledExecutor();
     
     public DeepgramEngine(CoreAudioConfig config) {
@@ -199,7 +198,7 @@ public class DeepgramEngine extends AbstractTranscriptionEngine {
     
     private TranscriptionResult parseDeepgramResponse(String json) {
         try {
-            DeepgramResponse response = objectMapper.readValue(json, DeepgramResponse.class);
+            DeepgramResponse response = ObjectMappers.reader(DeepgramResponse.class).readValue(json);
             
             // Handle streaming response format (has direct channel)
             if (response.getChannel() != null) {
@@ -393,7 +392,7 @@ public class DeepgramEngine extends AbstractTranscriptionEngine {
             @Override
             public void onMessage(WebSocket webSocket, String text) {
                 try {
-                    DeepgramResponse response = objectMapper.readValue(text, DeepgramResponse.class);
+                    DeepgramResponse response = ObjectMappers.reader(DeepgramResponse.class).readValue(text);
                     
                     // Early exit if no channel or alternatives
                     if (response.getChannel() == null || response.getChannel().getAlternatives() == null 
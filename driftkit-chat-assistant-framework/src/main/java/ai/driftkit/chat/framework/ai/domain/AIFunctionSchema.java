@@ -1,8 +1,8 @@
 package ai.driftkit.chat.framework.ai.domain;
 
+import ai.driftkit.common.utils.SchemaCache;
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.media.SchemaProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,15 +21,13 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class AIFunctionSchema implements Serializable {
-    private static final Map<Class<?>, AIFunctionSchema> schemaCache = new ConcurrentHashMap<>();
+    private static final SchemaCache<AIFunctionSchema> schemaCache = new SchemaCache<>(AIFunctionSchema::generate);
     private static final ThreadLocal<Set<Class<?>>> processingClasses = ThreadLocal.withInitial(HashSet::new);
-    private static final ObjectMapper MAPPER = new ObjectMapper();
     
     String schemaName;
     String description;
@@ -59,29 +57,25 @@ public class AIFunctionSchema implements Serializable {
     }
     
     private static AIFunctionSchema fromClassUsingJackson(Class<?> clazz) {
-        if (schemaCache.containsKey(clazz)) {
-            return schemaCache.get(clazz);
-        }
-        
         try {
-            AIFunctionSchema schema = fromClassRecursive(clazz, null);
-            schemaCache.put(clazz, schema);
-            return schema;
+            return fromClassRecursive(clazz, null);
         } catch (Exception e) {
             throw new RuntimeException("Failed to generate schema for class: " + clazz.getName(), e);
         }
     }
     
     private static AIFunctionSchema fromClassRecursive(Class<?> clazz, Type genericType) {
-        if (schemaCache.containsKey(clazz)) {
-            return schemaCache.get(clazz);
-        }
-        
-        Set<Class<?>> currentlyProcessing = processingClasses.get();
-        if (currentlyProcessing.contains(clazz)) {
+        // A cyclic reference gets a placeholder; looking the class up again while it is being
+        // generated would start a second generation instead
+        if (processingClasses.get().contains(clazz)) {
             return new AIFunctionSchema(clazz.getSimpleName(), new ArrayList<>());
         }
         
+        return schemaCache.get(clazz);
+    }
+    
+    private static AIFunctionSchema generate(Class<?> clazz) {
+        Set<Class<?>> currentlyProcessing = processingClasses.get();
         currentlyProcessing.add(clazz);
         
         try {
@@ -122,7 +116,7 @@ public class AIFunctionSchema implements Serializable {
                 currentClass = currentClass.getSuperclass();
             }
             
-            AIFunctionSchema schema = new AIFunctionSchema(schemaName, properties);
+            AIFunctionSchema schema = new AIFunctionSchema(schemaName, Collections.unmodifiableList(properties));
             
             if (description != null) {
                 schema.setDescription(description);
@@ -133,7 +127,6 @@ public class AIFunctionSchema implements Serializable {
                 schema.setArray(true);
             }
             
-            schemaCache.put(clazz, schema);
             return schema;
         } finally {
             currentlyProcessing.remove(clazz);
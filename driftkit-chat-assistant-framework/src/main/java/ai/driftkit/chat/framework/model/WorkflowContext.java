@@ -3,6 +3,7 @@ package ai.driftkit.chat.framework.model;
 import ai.driftkit.chat.framework.ai.domain.AIFunctionSchema;
 import ai.driftkit.chat.framework.ai.utils.AIUtils;
 import ai.driftkit.common.domain.Language;
+import ai.driftkit.common.utils.ObjectMappers;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.type.CollectionType;
 import lombok.AllArgsConstructor;
@@ -114,7 +115,7 @@ public class WorkflowContext {
         try {
             if (value instanceof String) {
                 String jsonValue = (String)value;
-                return AIUtils.OBJECT_MAPPER.readValue(jsonValue, type);
+                return ObjectMappers.reader(type).readValue(jsonValue);
             }
         } catch (JsonProcessingException e) {
             log.error("Error deserializing JSON for key [{}] to type [{}]: {}", key, type.getName(), e.getMessage());
@@ -140,9 +141,9 @@ public class WorkflowContext {
         try {
             if (value instanceof String) {
                 String jsonValue = (String)value;
-                CollectionType listType = AIUtils.OBJECT_MAPPER.getTypeFactory()
+                CollectionType listType = ObjectMappers.shared().getTypeFactory()
                     .constructCollectionType(List.class, elementType);
-                return AIUtils.OBJECT_MAPPER.readValue(jsonValue, listType);
+                return ObjectMappers.reader(listType).readValue(jsonValue);
             }
         } catch (JsonProcessingException e) {
             log.error("Error deserializing JSON for key [{}] to List<{}>: {}", 
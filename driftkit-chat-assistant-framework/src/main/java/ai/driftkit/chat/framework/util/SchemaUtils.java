@@ -5,8 +5,8 @@ import ai.driftkit.chat.framework.ai.domain.AIFunctionSchema.AIFunctionProperty;
 import ai.driftkit.chat.framework.ai.domain.AIFunctionSchema.SchemaName;
 import ai.driftkit.chat.framework.annotations.SchemaClass;
 import ai.driftkit.common.utils.JsonUtils;
+import ai.driftkit.common.utils.ObjectMappers;
 import com.fasterxml.jackson.annotation.JsonAlias;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Field;
@@ -201,16 +201,14 @@ public class SchemaUtils {
                         properties.put(propertyName, value.toString());
                     } else if (value instanceof Collection || value instanceof Map || value.getClass().isArray()) {
                         try {
-                            ObjectMapper objectMapper = new ObjectMapper();
-                            properties.put(propertyName, objectMapper.writeValueAsString(value));
+                            properties.put(propertyName, ObjectMappers.writer().writeValueAsString(value));
                         } catch (Exception e) {
                             log.warn("Error serializing collection field {}: {}", propertyName, e.getMessage());
                             properties.put(propertyName, value.toString());
                         }
                     } else {
                         try {
-                            ObjectMapper objectMapper = new ObjectMapper();
-                            properties.put(propertyName, objectMapper.writeValueAsString(value));
+                            properties.put(propertyName, ObjectMappers.writer().writeValueAsString(value));
                         } catch (Exception e) {
                             log.warn("Error serializing complex field {}: {}", propertyName, e.getMessage());
                             properties.put(propertyName, value.toString());
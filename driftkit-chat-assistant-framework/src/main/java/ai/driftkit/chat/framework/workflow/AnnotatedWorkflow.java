@@ -21,6 +21,7 @@ import ai.driftkit.chat.framework.service.AsyncResponseTracker;
 import ai.driftkit.chat.framework.service.ChatHistoryService;
 import ai.driftkit.chat.framework.service.ChatMessageService;
 import ai.driftkit.chat.framework.repository.WorkflowContextRepository;
+import ai.driftkit.common.utils.ObjectMappers;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
@@ -454,7 +455,7 @@ public abstract class AnnotatedWorkflow implements ChatWorkflow {
         } else {
             try {
                 // For complex types, try to use Jackson
-                return AIUtils.OBJECT_MAPPER.readValue(value, targetType);
+                return ObjectMappers.reader(targetType).readValue(value);
             } catch (Exception e) {
                 log.warn("Failed to convert value '{}' to type {}: {}", value, targetType.getName(), e.getMessage());
                 return null;
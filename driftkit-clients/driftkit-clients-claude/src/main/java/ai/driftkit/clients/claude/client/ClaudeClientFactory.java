@@ -1,13 +1,15 @@
 package ai.driftkit.clients.claude.client;
 
+import ai.driftkit.clients.core.HttpTransport;
+import ai.driftkit.clients.core.SampledFeignLogger;
+import ai.driftkit.common.utils.ObjectMappers;
+import ai.driftkit.config.EtlConfig.LoggingPolicy;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import feign.*;
 import feign.jackson.JacksonDecoder;
 import feign.jackson.JacksonEncoder;
-import feign.slf4j.Slf4jLogger;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
@@ -39,6 +41,18 @@ public class ClaudeClientFactory {
     public static ClaudeApiClient createClient(String apiKey, String baseUrl,
                                                 Integer connectTimeoutSeconds,
                                                 Integer readTimeoutSeconds) {
+        return createClient(apiKey, baseUrl, connectTimeoutSeconds, readTimeoutSeconds, null);
+    }
+
+    /**
+     * Creates a Claude API client with configurable timeouts and request logging.
+     *
+     * @param logging Request logging policy (default: {@link LoggingPolicy#defaults()})
+     */
+    public static ClaudeApiClient createClient(String apiKey, String baseUrl,
+                                                Integer connectTimeoutSeconds,
+                                                Integer readTimeoutSeconds,
+                                                LoggingPolicy logging) {
         if (baseUrl == null || baseUrl.isEmpty()) {
             baseUrl = DEFAULT_BASE_URL;
         }
@@ -50,16 +64,18 @@ public class ClaudeClientFactory {
 
         log.debug("Creating Claude client with connectTimeout={}s, readTimeout={}s", connectTimeout, readTimeout);
 
-        ObjectMapper objectMapper = new ObjectMapper()
-                .registerModule(new JavaTimeModule())
+        ObjectMapper objectMapper = ObjectMappers.create()
                 .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
                 .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
 
+        SampledFeignLogger logger = new SampledFeignLogger(ClaudeApiClient.class, logging);
+
         return Feign.builder()
+                .client(HttpTransport.getDefault().feignClient())
                 .encoder(new JacksonEncoder(objectMapper))
                 .decoder(new JacksonDecoder(objectMapper))
-                .logger(new Slf4jLogger(ClaudeApiClient.class))
-                .logLevel(Logger.Level.BASIC)
+                .logger(logger)
+                .logLevel(logger.level())
                 .requestInterceptor(new ClaudeRequestInterceptor(apiKey))
                 .retryer(new Retryer.Default(100, 1000, 3))
                 .options(new Request.Options(connectTimeout * 1000, readTimeout * 1000))
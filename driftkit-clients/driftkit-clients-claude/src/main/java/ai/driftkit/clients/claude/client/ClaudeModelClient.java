@@ -1,5 +1,7 @@
 package ai.driftkit.clients.claude.client;
 
+import ai.driftkit.clients.core.HttpTransport;
+import ai.driftkit.clients.core.StreamingExecutor;
 import ai.driftkit.clients.claude.domain.*;
 import ai.driftkit.clients.claude.domain.ClaudeMessageRequest.ToolChoice;
 import ai.driftkit.clients.claude.utils.ClaudeSchemaConverter;
@@ -62,7 +64,8 @@ public class ClaudeModelClient extends ModelClient implements ModelClientInit {
                 config.getApiKey(),
                 config.getBaseUrl(),
                 config.getConnectTimeout(),
-                config.getReadTimeout()
+                config.getReadTimeout(),
+                config.getLogging()
         );
         this.setTemperature(config.getTemperature());
         this.setModel(config.getModel());
@@ -94,6 +97,13 @@ public class ClaudeModelClient extends ModelClient implements ModelClientInit {
     public boolean supportsToolMessages() {
         return true;
     }
+
+    @Override
+    public void warmUp() {
+        if (config != null) {
+            HttpTransport.getDefault().preconnect(Optional.ofNullable(config.getBaseUrl()).orElse("https://api.anthropic.com"));
+        }
+    }
     
     @Override
     public ModelTextResponse textToText(ModelTextRequest prompt) {
@@ -413,7 +423,7 @@ public class ClaudeModelClient extends ModelClient implements ModelClientInit {
                     return;
                 }
                 
-                streamFuture = CompletableFuture.runAsync(() -> {
+                streamFuture = StreamingExecutor.getDefault().submit(() -> {
                     try {
                         processStreamingPrompt(prompt, callback, cancelled);
                     } catch (Exception e) {
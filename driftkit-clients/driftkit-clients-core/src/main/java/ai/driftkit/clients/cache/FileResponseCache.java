@@ -0,0 +1,141 @@
+package ai.driftkit.clients.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * On-disk response cache that survives restarts, for evaluation and regression runs that
+ * replay the same prompts across processes.
+ * <p>
+ * Each entry is one file named after its key, sharded into subdirectories by the first two
+ * characters of the key. A file starts with the expiry time in epoch milliseconds (0 for
+ * none) followed by the value. Files are written to a temporary name and moved into place,
+ * so concurrent readers, including other processes sharing the directory, never see a
+ * partial entry. Expired entries are deleted when read or by {@link #evictExpired()}.
+ */
+@Slf4j
+public class FileResponseCache implements ResponseCache {
+
+    private static final String SUFFIX = ".cache";
+    private static final int HEADER_BYTES = Long.BYTES;
+
+    private final Path directory;
+
+    public FileResponseCache(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create response cache directory " + directory, e);
+        }
+    }
+
+    @Override
+    public byte[] get(String key) {
+        Path file = file(key);
+        byte[] content;
+        try {
+            content = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Failed to read response cache entry {}", file, e);
+            return null;
+        }
+
+        if (content.length < HEADER_BYTES || isExpired(ByteBuffer.wrap(content).getLong())) {
+            delete(file);
+            return null;
+        }
+
+        byte[] value = new byte[content.length - HEADER_BYTES];
+        System.arraycopy(content, HEADER_BYTES, value, 0, value.length);
+        return value;
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        long expiresAt = ttl != null && !ttl.isZero() && !ttl.isNegative()
+                ? System.currentTimeMillis() + ttl.toMillis()
+                : 0;
+
+        ByteBuffer content = ByteBuffer.allocate(HEADER_BYTES + value.length);
+        content.putLong(expiresAt).put(value);
+
+        Path file = file(key);
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), key, ".tmp");
+            try {
+                Files.write(temp, content.array());
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to write response cache entry {}", file, e);
+        }
+    }
+
+    @Override
+    public void invalidate(String key) {
+        delete(file(key));
+    }
+
+    @Override
+    public void clear() {
+        forEachEntry(this::delete);
+    }
+
+    /**
+     * Deletes all expired entries.
+     */
+    public void evictExpired() {
+        forEachEntry(file -> {
+            try (var channel = Files.newByteChannel(file)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                if (channel.read(header) < HEADER_BYTES || isExpired(header.flip().getLong())) {
+                    delete(file);
+                }
+            } catch (IOException e) {
+                log.warn("Failed to check response cache entry {}", file, e);
+            }
+        });
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private Path file(String key) {
+        String shard = key.length() >= 2 ? key.substring(0, 2) : "_";
+        return directory.resolve(shard).resolve(key + SUFFIX);
+    }
+
+    private static boolean isExpired(long expiresAt) {
+        return expiresAt != 0 && System.currentTimeMillis() >= expiresAt;
+    }
+
+    private void forEachEntry(Consumer<Path> action) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).forEach(action);
+        } catch (IOException e) {
+            log.warn("Failed to scan response cache directory {}", directory, e);
+        }
+    }
+
+    private void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete response cache entry {}", file, e);
+        }
+    }
+}
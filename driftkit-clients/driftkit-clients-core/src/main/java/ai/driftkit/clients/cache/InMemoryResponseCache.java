@@ -0,0 +1,86 @@
+package ai.driftkit.clients.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory LRU response cache.
+ * <p>
+ * Holds at most {@code maxEntries} values; the least recently read one is dropped when a new
+ * value does not fit. Expired entries are removed when they are read.
+ */
+public class InMemoryResponseCache implements ResponseCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> entries;
+
+    private record Entry(byte[] value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return expiresAtNanos != 0 && now - expiresAtNanos >= 0;
+        }
+    }
+
+    public InMemoryResponseCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public InMemoryResponseCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > InMemoryResponseCache.this.maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized byte[] get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    @Override
+    public synchronized void put(String key, byte[] value, Duration ttl) {
+        long expiresAt = 0;
+        if (ttl != null && !ttl.isZero() && !ttl.isNegative()) {
+            // 0 marks entries that never expire
+            expiresAt = System.nanoTime() + ttl.toNanos();
+            if (expiresAt == 0) {
+                expiresAt = 1;
+            }
+        }
+        entries.put(key, new Entry(value, expiresAt));
+    }
+
+    @Override
+    public synchronized void invalidate(String key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+}
@@ -0,0 +1,27 @@
+package ai.driftkit.clients.cache;
+
+import java.time.Duration;
+
+/**
+ * Storage backend of {@link ai.driftkit.clients.core.CachingModelClient}.
+ * <p>
+ * Keys are request keys from {@link ai.driftkit.clients.core.ModelRequestKey}, values are
+ * serialized responses. Implementations must be thread-safe and must not return entries
+ * whose time to live has passed.
+ */
+public interface ResponseCache {
+
+    /**
+     * Returns the stored value, or null if there is none or it has expired.
+     */
+    byte[] get(String key);
+
+    /**
+     * Stores {@code value} for {@code ttl}; a null or non-positive ttl keeps it until evicted.
+     */
+    void put(String key, byte[] value, Duration ttl);
+
+    void invalidate(String key);
+
+    void clear();
+}
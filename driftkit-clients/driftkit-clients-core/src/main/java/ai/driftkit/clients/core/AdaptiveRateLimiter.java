@@ -0,0 +1,296 @@
+package ai.driftkit.clients.core;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Client-side limiter for calls to one provider model.
+ * <p>
+ * A call is admitted when three conditions hold:
+ * <ul>
+ *   <li>a request bucket refilled at {@code requestsPerMinute} has a request left;</li>
+ *   <li>a token bucket refilled at {@code tokensPerMinute} covers the call's estimated tokens;</li>
+ *   <li>fewer calls than the current concurrency limit are in flight.</li>
+ * </ul>
+ * Both buckets hold at most one second of their rate, so a burst after an idle period
+ * cannot exceed what the provider refills in that second. The token estimate is corrected
+ * with the actual usage when the call completes.
+ * <p>
+ * The concurrency limit adapts additively and multiplicatively (AIMD). Every successful call
+ * raises it by {@code 1 / limit}. A throttled call halves it, but only once for the calls
+ * admitted before the previous decrease. A throttled call also pauses all admissions for the
+ * server's {@code Retry-After} time, or one second when the server gives none. Time spent
+ * waiting for admission is recorded as queue wait.
+ */
+public class AdaptiveRateLimiter {
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+    private static final Duration DEFAULT_BACKOFF = Duration.ofSeconds(1);
+
+    private final int requestsPerMinute;
+    private final long tokensPerMinute;
+    private final double requestCapacity;
+    private final double tokenCapacity;
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    private double availableRequests;
+    private double availableTokens;
+    private long lastRefillNanos;
+    private double concurrencyLimit;
+    private int inFlight;
+    private int waiting;
+    private long pausedUntilNanos;
+    private long lastDecreaseNanos;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private volatile long maxQueueWaitNanos;
+
+    /**
+     * Admission of one call, returned to the limiter through {@link #onSuccess}, {@link #onThrottled} or {@link #onFailure}.
+     */
+    public static final class Permit {
+        private final long reservedTokens;
+        private final long admittedAtNanos;
+        private boolean released;
+
+        private Permit(long reservedTokens, long admittedAtNanos) {
+            this.reservedTokens = reservedTokens;
+            this.admittedAtNanos = admittedAtNanos;
+        }
+    }
+
+    public AdaptiveRateLimiter(RateLimits limits) {
+        this(limits, System::nanoTime);
+    }
+
+    AdaptiveRateLimiter(RateLimits limits, LongSupplier nanoClock) {
+        this.requestsPerMinute = Math.max(0, limits.getRequestsPerMinute());
+        this.tokensPerMinute = Math.max(0, limits.getTokensPerMinute());
+        this.requestCapacity = Math.max(1, requestsPerMinute / 60.0);
+        this.tokenCapacity = Math.max(1, tokensPerMinute / 60.0);
+        this.minConcurrency = Math.max(1, limits.getMinConcurrency());
+        this.maxConcurrency = limits.getMaxConcurrency() > 0 ? Math.max(minConcurrency, limits.getMaxConcurrency()) : Integer.MAX_VALUE;
+        int initial = limits.getInitialConcurrency() > 0 ? limits.getInitialConcurrency() : this.maxConcurrency;
+        this.concurrencyLimit = Math.min(this.maxConcurrency, Math.max(minConcurrency, initial));
+        this.availableRequests = requestCapacity;
+        this.availableTokens = tokenCapacity;
+        this.nanoClock = nanoClock;
+        this.lastRefillNanos = nanoClock.getAsLong();
+        this.pausedUntilNanos = lastRefillNanos;
+        this.lastDecreaseNanos = lastRefillNanos;
+    }
+
+    /**
+     * Blocks until the call may start.
+     *
+     * @param estimatedTokens tokens the call is expected to consume, reserved from the token bucket
+     */
+    public Permit acquire(long estimatedTokens) throws InterruptedException {
+        long start = nanoClock.getAsLong();
+        long reserve = tokensPerMinute > 0 ? (long) Math.min(Math.max(0, estimatedTokens), tokenCapacity) : 0;
+
+        lock.lockInterruptibly();
+        waiting++;
+        try {
+            while (true) {
+                long now = nanoClock.getAsLong();
+                refill(now);
+
+                long waitNanos;
+                if (now - pausedUntilNanos < 0) {
+                    waitNanos = pausedUntilNanos - now;
+                } else if (inFlight >= (int) concurrencyLimit) {
+                    waitNanos = -1;
+                } else {
+                    waitNanos = 0;
+                    if (requestsPerMinute > 0 && availableRequests < 1) {
+                        waitNanos = nanosUntil(1 - availableRequests, requestsPerMinute);
+                    }
+                    if (tokensPerMinute > 0 && availableTokens < reserve) {
+                        waitNanos = Math.max(waitNanos, nanosUntil(reserve - availableTokens, tokensPerMinute));
+                    }
+                    if (waitNanos == 0) {
+                        availableRequests -= 1;
+                        availableTokens -= reserve;
+                        inFlight++;
+                        admitted.increment();
+                        recordQueueWait(now - start);
+                        return new Permit(reserve, now);
+                    }
+                }
+
+                if (waitNanos < 0) {
+                    changed.await();
+                } else {
+                    changed.awaitNanos(waitNanos);
+                }
+            }
+        } finally {
+            waiting--;
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Completes a call and raises the concurrency limit.
+     *
+     * @param actualTokens tokens reported by the provider, or a negative value to keep the estimate
+     */
+    public void onSuccess(Permit permit, long actualTokens) {
+        lock.lock();
+        try {
+            if (!release(permit)) {
+                return;
+            }
+            if (tokensPerMinute > 0 && actualTokens >= 0) {
+                availableTokens += permit.reservedTokens - actualTokens;
+            }
+            concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1.0 / concurrencyLimit);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Completes a call rejected by the provider with 429: halves the concurrency limit and
+     * pauses admissions for {@code retryAfter}.
+     */
+    public void onThrottled(Permit permit, Duration retryAfter) {
+        lock.lock();
+        try {
+            if (!release(permit)) {
+                return;
+            }
+            throttled.increment();
+
+            // Calls admitted before the last decrease were sent at the old limit; count their rejections once
+            long now = nanoClock.getAsLong();
+            if (permit.admittedAtNanos - lastDecreaseNanos > 0) {
+                concurrencyLimit = Math.max(minConcurrency, concurrencyLimit / 2);
+                lastDecreaseNanos = now;
+            }
+
+            Duration pause = retryAfter != null && !retryAfter.isNegative() ? retryAfter : DEFAULT_BACKOFF;
+            long pausedUntil = now + pause.toNanos();
+            if (pausedUntil - pausedUntilNanos > 0) {
+                pausedUntilNanos = pausedUntil;
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Completes a call that failed for another reason, leaving the limit unchanged.
+     */
+    public void onFailure(Permit permit) {
+        lock.lock();
+        try {
+            if (release(permit)) {
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getConcurrencyLimit() {
+        lock.lock();
+        try {
+            return (int) concurrencyLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Calls waiting for admission.
+     */
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getAdmitted() {
+        return admitted.sum();
+    }
+
+    /**
+     * Calls the provider rejected with 429.
+     */
+    public long getThrottled() {
+        return throttled.sum();
+    }
+
+    /**
+     * Mean time between asking for and getting admission.
+     */
+    public double getAverageQueueWaitMillis() {
+        long count = admitted.sum();
+        return count == 0 ? 0 : queueWaitNanos.sum() / 1_000_000.0 / count;
+    }
+
+    public double getMaxQueueWaitMillis() {
+        return maxQueueWaitNanos / 1_000_000.0;
+    }
+
+    private boolean release(Permit permit) {
+        if (permit.released) {
+            return false;
+        }
+        permit.released = true;
+        inFlight--;
+        return true;
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefillNanos;
+        if (elapsed <= 0) {
+            return;
+        }
+        lastRefillNanos = now;
+        if (requestsPerMinute > 0) {
+            availableRequests = Math.min(requestCapacity, availableRequests + (double) elapsed * requestsPerMinute / NANOS_PER_MINUTE);
+        }
+        if (tokensPerMinute > 0) {
+            availableTokens = Math.min(tokenCapacity, availableTokens + (double) elapsed * tokensPerMinute / NANOS_PER_MINUTE);
+        }
+    }
+
+    private static long nanosUntil(double missing, long perMinute) {
+        return Math.max(1, (long) Math.ceil(missing * NANOS_PER_MINUTE / perMinute));
+    }
+
+    private void recordQueueWait(long nanos) {
+        queueWaitNanos.add(nanos);
+        if (nanos > maxQueueWaitNanos) {
+            maxQueueWaitNanos = nanos;
+        }
+    }
+}
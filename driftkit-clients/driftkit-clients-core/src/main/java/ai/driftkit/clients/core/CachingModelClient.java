@@ -0,0 +1,175 @@
+package ai.driftkit.clients.core;
+
+import ai.driftkit.clients.cache.ResponseCache;
+import ai.driftkit.common.domain.ModelTrace;
+import ai.driftkit.common.domain.client.*;
+import ai.driftkit.common.domain.client.ModelTextResponse.Usage;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator that serves repeated text requests from a {@link ResponseCache}.
+ * <p>
+ * A {@code textToText} request is cached when it opts in with
+ * {@link ModelTextRequest#getCacheResponse()} or, when it does not say, when it is
+ * deterministic (effective temperature 0). Requests are keyed with {@link ModelRequestKey}.
+ * Only successful responses with at least one choice are stored. Hits return a fresh copy
+ * whose trace reports {@code responseCacheHit}, the running hit rate and the tokens the
+ * cached call would have cost; misses report the hit rate on the delegate's trace. Images,
+ * image-to-text and streaming calls always go to the delegate.
+ */
+@Slf4j
+public class CachingModelClient<T> extends DelegatingModelClient<T> {
+
+    public static final Duration DEFAULT_TTL = Duration.ofDays(1);
+
+    @Getter
+    private final ResponseCache cache;
+    @Getter
+    private final Duration ttl;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder savedTokens = new LongAdder();
+
+    public CachingModelClient(ModelClient<T> delegate, ResponseCache cache) {
+        this(delegate, cache, DEFAULT_TTL);
+    }
+
+    public CachingModelClient(ModelClient<T> delegate, ResponseCache cache, Duration ttl) {
+        super(delegate);
+        this.cache = cache;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public ModelTextResponse textToText(ModelTextRequest prompt) throws UnsupportedCapabilityException {
+        if (!isCacheable(prompt)) {
+            return delegate.textToText(prompt);
+        }
+
+        long start = System.nanoTime();
+        String key = ModelRequestKey.of(delegate, prompt);
+
+        ModelTextResponse cached = read(key);
+        if (cached != null) {
+            hits.increment();
+            int saved = totalTokens(cached);
+            savedTokens.add(saved);
+
+            ModelTrace trace = cached.getTrace() != null ? cached.getTrace() : ModelTrace.builder().model(cached.getModel()).build();
+            trace.setExecutionTimeMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            trace.setEstimatedCostUSD(0d);
+            trace.setResponseCacheHit(true);
+            trace.setResponseCacheHitRate(getHitRate());
+            trace.setResponseCacheSavedTokens(saved);
+            cached.setTrace(trace);
+            return cached;
+        }
+
+        misses.increment();
+        ModelTextResponse response = delegate.textToText(prompt);
+        if (isStorable(response)) {
+            write(key, response);
+        }
+
+        if (response != null && response.getTrace() != null) {
+            response.getTrace().setResponseCacheHit(false);
+            response.getTrace().setResponseCacheHitRate(getHitRate());
+            response.getTrace().setResponseCacheSavedTokens(0);
+        }
+        return response;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Share of cacheable requests served from the cache.
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Prompt and completion tokens of the cached responses returned instead of calling the model.
+     */
+    public long getSavedTokens() {
+        return savedTokens.sum();
+    }
+
+    private boolean isCacheable(ModelTextRequest prompt) {
+        if (prompt == null) {
+            return false;
+        }
+        if (prompt.getCacheResponse() != null) {
+            return prompt.getCacheResponse();
+        }
+
+        Double temperature = prompt.getTemperature() != null ? prompt.getTemperature() : delegate.getTemperature();
+        return temperature != null && temperature == 0d;
+    }
+
+    private static boolean isStorable(ModelTextResponse response) {
+        return response != null
+                && CollectionUtils.isNotEmpty(response.getChoices())
+                && (response.getTrace() == null || !response.getTrace().isHasError());
+    }
+
+    private ModelTextResponse read(String key) {
+        byte[] value;
+        try {
+            value = cache.get(key);
+        } catch (RuntimeException e) {
+            log.warn("Response cache lookup failed for key {}", key, e);
+            return null;
+        }
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return ResponseCodec.fromBytes(value);
+        } catch (IOException e) {
+            log.warn("Dropping unreadable response cache entry {}", key, e);
+            cache.invalidate(key);
+            return null;
+        }
+    }
+
+    private void write(String key, ModelTextResponse response) {
+        try {
+            cache.put(key, ResponseCodec.toBytes(response), ttl);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to store response cache entry {}", key, e);
+        }
+    }
+
+    private static int totalTokens(ModelTextResponse response) {
+        Usage usage = response.getUsage();
+        if (usage != null) {
+            if (usage.getTotalTokens() != null) {
+                return usage.getTotalTokens();
+            }
+            int prompt = usage.getPromptTokens() != null ? usage.getPromptTokens() : 0;
+            int completion = usage.getCompletionTokens() != null ? usage.getCompletionTokens() : 0;
+            return prompt + completion;
+        }
+
+        ModelTrace trace = response.getTrace();
+        return trace != null ? trace.getPromptTokens() + trace.getCompletionTokens() : 0;
+    }
+}
@@ -0,0 +1,103 @@
+package ai.driftkit.clients.core;
+
+import ai.driftkit.common.domain.client.ModelClient;
+import ai.driftkit.common.domain.client.ModelTextRequest;
+import ai.driftkit.common.domain.client.ModelTextResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Decorator that sends identical concurrent {@code textToText} requests to the model once.
+ * <p>
+ * Requests are keyed with {@link ModelRequestKey} and run through a {@link SingleFlight}:
+ * while a request is in flight, or within the coalescing window after it completed, callers
+ * with the same key wait for it instead of sending their own. Each waiting caller receives
+ * its own copy of the response, decoded from a snapshot taken when the call returned. Requests with {@link ModelTextRequest#getCacheResponse()}
+ * set to false, streaming, image and image-to-text calls are never coalesced.
+ */
+public class CoalescingModelClient<T> extends DelegatingModelClient<T> {
+
+    private final SingleFlight<String, byte[]> singleFlight;
+
+    /**
+     * Coalesces requests while they are in flight only.
+     */
+    public CoalescingModelClient(ModelClient<T> delegate) {
+        this(delegate, Duration.ZERO);
+    }
+
+    /**
+     * @param window how long a completed response keeps being shared with new identical requests
+     */
+    public CoalescingModelClient(ModelClient<T> delegate, Duration window) {
+        super(delegate);
+        this.singleFlight = new SingleFlight<>(window);
+    }
+
+    @Override
+    public ModelTextResponse textToText(ModelTextRequest prompt) throws UnsupportedCapabilityException {
+        if (prompt == null || Boolean.FALSE.equals(prompt.getCacheResponse())) {
+            return delegate.textToText(prompt);
+        }
+
+        String key = ModelRequestKey.of(delegate, prompt);
+        // The flight shares a serialized snapshot taken before it completes, so no caller,
+        // the leader included, holds an instance another caller can see or mutate
+        CompletableFuture<byte[]> flight = singleFlight.execute(key, () -> snapshot(delegate.textToText(prompt)));
+
+        byte[] snapshot;
+        try {
+            snapshot = flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+
+        return restore(snapshot);
+    }
+
+    private static byte[] snapshot(ModelTextResponse response) {
+        if (response == null) {
+            return null;
+        }
+        try {
+            return ResponseCodec.toBytes(response);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to snapshot model response", e);
+        }
+    }
+
+    private static ModelTextResponse restore(byte[] snapshot) {
+        if (snapshot == null) {
+            return null;
+        }
+        try {
+            return ResponseCodec.fromBytes(snapshot);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to restore model response", e);
+        }
+    }
+
+    /**
+     * Requests sent to the delegate through the coalescing path.
+     */
+    public long getCalls() {
+        return singleFlight.getCalls();
+    }
+
+    /**
+     * Requests answered with another request's response.
+     */
+    public long getCoalesced() {
+        return singleFlight.getCoalesced();
+    }
+}
@@ -0,0 +1,228 @@
+package ai.driftkit.clients.core;
+
+import ai.driftkit.common.domain.client.ModelClient;
+import ai.driftkit.common.domain.client.ModelImageRequest;
+import ai.driftkit.common.domain.client.ModelImageResponse;
+import ai.driftkit.common.domain.client.ModelTextRequest;
+import ai.driftkit.common.domain.client.ModelTextResponse;
+import ai.driftkit.common.domain.streaming.StreamingResponse;
+import ai.driftkit.config.EtlConfig.VaultConfig;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Base class for model client decorators. Every call and every client setting is forwarded
+ * to the delegate; subclasses override the calls they intercept.
+ */
+public abstract class DelegatingModelClient<T> extends ModelClient<T> {
+
+    @Getter
+    protected final ModelClient<T> delegate;
+
+    protected DelegatingModelClient(ModelClient<T> delegate) {
+        this.delegate = delegate;
+    }
+
+    public ModelClient<T> init(VaultConfig config) {
+        ((ModelClientInit) delegate).init(config);
+        return this;
+    }
+
+    @Override
+    public Set<Capability> getCapabilities() {
+        return delegate.getCapabilities();
+    }
+
+    @Override
+    public boolean supportsToolMessages() {
+        return delegate.supportsToolMessages();
+    }
+
+    @Override
+    public void warmUp() {
+        delegate.warmUp();
+    }
+
+    @Override
+    public ModelTextResponse textToText(ModelTextRequest prompt) throws UnsupportedCapabilityException {
+        return delegate.textToText(prompt);
+    }
+
+    @Override
+    public ModelImageResponse textToImage(ModelImageRequest prompt) throws UnsupportedCapabilityException {
+        return delegate.textToImage(prompt);
+    }
+
+    @Override
+    public ModelTextResponse imageToText(ModelTextRequest prompt) throws UnsupportedCapabilityException {
+        return delegate.imageToText(prompt);
+    }
+
+    @Override
+    public StreamingResponse<String> streamTextToText(ModelTextRequest prompt) throws UnsupportedCapabilityException {
+        return delegate.streamTextToText(prompt);
+    }
+
+    @Override
+    public T getWorkflow() {
+        return delegate.getWorkflow();
+    }
+
+    @Override
+    public void setWorkflow(T workflow) {
+        delegate.setWorkflow(workflow);
+    }
+
+    @Override
+    public String getModel() {
+        return delegate.getModel();
+    }
+
+    @Override
+    public void setModel(String model) {
+        delegate.setModel(model);
+    }
+
+    @Override
+    public List<String> getSystemMessages() {
+        return delegate.getSystemMessages();
+    }
+
+    @Override
+    public void setSystemMessages(List<String> systemMessages) {
+        delegate.setSystemMessages(systemMessages);
+    }
+
+    @Override
+    public Double getTemperature() {
+        return delegate.getTemperature();
+    }
+
+    @Override
+    public void setTemperature(Double temperature) {
+        delegate.setTemperature(temperature);
+    }
+
+    @Override
+    public Double getTopP() {
+        return delegate.getTopP();
+    }
+
+    @Override
+    public void setTopP(Double topP) {
+        delegate.setTopP(topP);
+    }
+
+    @Override
+    public List<String> getStop() {
+        return delegate.getStop();
+    }
+
+    @Override
+    public void setStop(List<String> stop) {
+        delegate.setStop(stop);
+    }
+
+    @Override
+    public boolean isJsonObjectSupport() {
+        return delegate.isJsonObjectSupport();
+    }
+
+    @Override
+    public void setJsonObjectSupport(boolean jsonObjectSupport) {
+        delegate.setJsonObjectSupport(jsonObjectSupport);
+    }
+
+    @Override
+    public Boolean getLogprobs() {
+        return delegate.getLogprobs();
+    }
+
+    @Override
+    public void setLogprobs(Boolean logprobs) {
+        delegate.setLogprobs(logprobs);
+    }
+
+    @Override
+    public Integer getTopLogprobs() {
+        return delegate.getTopLogprobs();
+    }
+
+    @Override
+    public void setTopLogprobs(Integer topLogprobs) {
+        delegate.setTopLogprobs(topLogprobs);
+    }
+
+    @Override
+    public Integer getMaxTokens() {
+        return delegate.getMaxTokens();
+    }
+
+    @Override
+    public void setMaxTokens(Integer maxTokens) {
+        delegate.setMaxTokens(maxTokens);
+    }
+
+    @Override
+    public Integer getMaxCompletionTokens() {
+        return delegate.getMaxCompletionTokens();
+    }
+
+    @Override
+    public void setMaxCompletionTokens(Integer maxCompletionTokens) {
+        delegate.setMaxCompletionTokens(maxCompletionTokens);
+    }
+
+    @Override
+    public Double getPresencePenalty() {
+        return delegate.getPresencePenalty();
+    }
+
+    @Override
+    public void setPresencePenalty(Double presencePenalty) {
+        delegate.setPresencePenalty(presencePenalty);
+    }
+
+    @Override
+    public Double getFrequencyPenalty() {
+        return delegate.getFrequencyPenalty();
+    }
+
+    @Override
+    public void setFrequencyPenalty(Double frequencyPenalty) {
+        delegate.setFrequencyPenalty(frequencyPenalty);
+    }
+
+    @Override
+    public Map<String, Integer> getLogitBias() {
+        return delegate.getLogitBias();
+    }
+
+    @Override
+    public void setLogitBias(Map<String, Integer> logitBias) {
+        delegate.setLogitBias(logitBias);
+    }
+
+    @Override
+    public Integer getSeed() {
+        return delegate.getSeed();
+    }
+
+    @Override
+    public void setSeed(Integer seed) {
+        delegate.setSeed(seed);
+    }
+
+    @Override
+    public List<Tool> getTools() {
+        return delegate.getTools();
+    }
+
+    @Override
+    public void setTools(List<Tool> tools) {
+        delegate.setTools(tools);
+    }
+}
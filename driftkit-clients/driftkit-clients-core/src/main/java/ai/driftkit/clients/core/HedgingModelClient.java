@@ -0,0 +1,307 @@
+package ai.driftkit.clients.core;
+
+import ai.driftkit.common.domain.client.ModelClient;
+import ai.driftkit.common.domain.client.ModelTextRequest;
+import ai.driftkit.common.domain.client.ModelTextResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Decorator that cuts tail latency of {@code textToText} and {@code imageToText} calls by
+ * hedging: when a call has been running longer than the configured percentile of recently
+ * observed latencies, the same request is sent again to the delegate, or to a fallback
+ * client if one is given. The first successful response is returned and the other call is
+ * cancelled by interrupting its thread.
+ * <p>
+ * Hedging is limited by a budget: every request earns {@link HedgingPolicy#getMaxHedgeRatio()}
+ * of a hedge, and a hedge is only sent when a whole one has been earned, so hedges never
+ * exceed that share of traffic. At most {@value #MAX_HEDGE_CREDITS} unused hedges are kept
+ * for bursts of slow calls. No call is hedged until {@link HedgingPolicy#getMinSamples()}
+ * latencies have been observed. Streaming and image generation calls are passed through.
+ * <p>
+ * When a hedge wins, the original call's running time so far is recorded as its latency, a
+ * lower bound, so that slow calls that lose are not missing from the window. Calls run on
+ * virtual threads owned by this client; {@link #close()} stops accepting new calls.
+ */
+@Slf4j
+public class HedgingModelClient<T> extends DelegatingModelClient<T> implements AutoCloseable {
+
+    private static final double MAX_HEDGE_CREDITS = 10;
+
+    private final ModelClient<T> hedgeTarget;
+    private final HedgingPolicy policy;
+    private final LatencyWindow latencies;
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("driftkit-hedge-", 0).factory());
+
+    private final Object budgetLock = new Object();
+    private double hedgeCredits;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+
+    public HedgingModelClient(ModelClient<T> delegate) {
+        this(delegate, HedgingPolicy.builder().build());
+    }
+
+    public HedgingModelClient(ModelClient<T> delegate, HedgingPolicy policy) {
+        this(delegate, null, policy);
+    }
+
+    /**
+     * @param fallback client that receives the hedged request, or null to hedge against the delegate
+     */
+    public HedgingModelClient(ModelClient<T> delegate, ModelClient<T> fallback, HedgingPolicy policy) {
+        super(delegate);
+        this.hedgeTarget = fallback != null ? fallback : delegate;
+        this.policy = policy;
+        this.latencies = new LatencyWindow(Math.max(1, policy.getSampleWindow()));
+    }
+
+    @Override
+    public ModelTextResponse textToText(ModelTextRequest prompt) throws UnsupportedCapabilityException {
+        return hedge(client -> client.textToText(prompt));
+    }
+
+    @Override
+    public ModelTextResponse imageToText(ModelTextRequest prompt) throws UnsupportedCapabilityException {
+        return hedge(client -> client.imageToText(prompt));
+    }
+
+    /**
+     * Requests that went through the hedging path.
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * Requests for which a hedge was sent.
+     */
+    public long getHedged() {
+        return hedged.sum();
+    }
+
+    /**
+     * Hedges that answered before the original call.
+     */
+    public long getHedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    /**
+     * Current hedge delay in milliseconds, or -1 while too few latencies have been observed.
+     */
+    public long getHedgeDelayMillis() {
+        long nanos = hedgeDelayNanos();
+        return nanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Stops accepting calls. Calls in flight run to completion on their own threads.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private ModelTextResponse hedge(Function<ModelClient<T>, ModelTextResponse> call) {
+        requests.increment();
+        earnHedgeCredit();
+
+        Race race = new Race();
+        try {
+            race.launch(() -> call.apply(delegate), false);
+
+            long delayNanos = hedgeDelayNanos();
+            if (delayNanos >= 0 && !race.awaitNanos(delayNanos) && takeHedgeCredit()) {
+                hedged.increment();
+                log.debug("Hedging model call after {} ms", TimeUnit.NANOSECONDS.toMillis(delayNanos));
+                race.launch(() -> call.apply(hedgeTarget), true);
+            }
+            return race.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for model response", e);
+        } finally {
+            race.cancel();
+        }
+    }
+
+    private long hedgeDelayNanos() {
+        return latencies.percentile(policy.getPercentile(), Math.max(1, policy.getMinSamples()));
+    }
+
+    private void earnHedgeCredit() {
+        synchronized (budgetLock) {
+            hedgeCredits = Math.min(MAX_HEDGE_CREDITS, hedgeCredits + Math.max(0, policy.getMaxHedgeRatio()));
+        }
+    }
+
+    private boolean takeHedgeCredit() {
+        synchronized (budgetLock) {
+            if (hedgeCredits < 1) {
+                return false;
+            }
+            hedgeCredits -= 1;
+            return true;
+        }
+    }
+
+    /**
+     * Calls racing for one request. The first success completes the race; it fails only when
+     * every launched call failed, with the first error.
+     */
+    private final class Race {
+        private final CompletableFuture<ModelTextResponse> winner = new CompletableFuture<>();
+        private final List<Future<?>> calls = new ArrayList<>(2);
+        private final AtomicBoolean won = new AtomicBoolean();
+        private Call original;
+        private int launched;
+        private int failed;
+        private Throwable firstError;
+
+        synchronized void launch(Callable<ModelTextResponse> callable, boolean hedge) {
+            launched++;
+            Call call = new Call();
+            if (!hedge) {
+                original = call;
+            }
+            calls.add(executor.submit(() -> {
+                try {
+                    ModelTextResponse response = callable.call();
+                    long now = System.nanoTime();
+                    call.recordLatency(now);
+                    if (won.compareAndSet(false, true)) {
+                        if (hedge) {
+                            hedgeWins.increment();
+                            // The original is still running: it took at least this long
+                            originalCall().recordLatency(now);
+                        }
+                        winner.complete(response);
+                    }
+                } catch (Throwable e) {
+                    call.skipLatency();
+                    fail(e);
+                }
+            }));
+        }
+
+        private synchronized Call originalCall() {
+            return original;
+        }
+
+        private synchronized void fail(Throwable error) {
+            if (firstError == null) {
+                firstError = error;
+            }
+            if (++failed == launched) {
+                winner.completeExceptionally(firstError);
+            }
+        }
+
+        /**
+         * Waits up to {@code nanos} and tells whether the race is decided.
+         */
+        boolean awaitNanos(long nanos) throws InterruptedException {
+            try {
+                winner.get(nanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                return false;
+            } catch (ExecutionException e) {
+                // Reported by await()
+            }
+            return true;
+        }
+
+        ModelTextResponse await() throws InterruptedException {
+            try {
+                return winner.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw new RuntimeException(e.getCause());
+            }
+        }
+
+        synchronized void cancel() {
+            for (Future<?> call : calls) {
+                call.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Start of one launched call. Its latency is recorded once: when it succeeds, or as a
+     * lower bound when a hedge beats it. Failed calls are not recorded.
+     */
+    private final class Call {
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        void recordLatency(long nowNanos) {
+            if (done.compareAndSet(false, true)) {
+                latencies.record(nowNanos - startNanos);
+            }
+        }
+
+        void skipLatency() {
+            done.set(true);
+        }
+    }
+
+    /**
+     * Ring buffer of the most recent latencies. The percentile is recomputed after every
+     * sixteenth of the window has been replaced rather than on each call.
+     */
+    private static final class LatencyWindow {
+        private final long[] samples;
+        private final int refreshEvery;
+        private int next;
+        private int size;
+        private int sinceRefresh;
+        private long cachedPercentile = -1;
+        private double cachedFor = Double.NaN;
+
+        LatencyWindow(int capacity) {
+            this.samples = new long[capacity];
+            this.refreshEvery = Math.max(1, capacity / 16);
+        }
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            if (size < samples.length) {
+                size++;
+            }
+            sinceRefresh++;
+        }
+
+        synchronized long percentile(double percentile, int minSamples) {
+            if (size < minSamples) {
+                return -1;
+            }
+            if (cachedPercentile < 0 || sinceRefresh >= refreshEvery || percentile != cachedFor) {
+                long[] sorted = Arrays.copyOf(samples, size);
+                Arrays.sort(sorted);
+                int index = (int) Math.ceil(Math.min(1, Math.max(0, percentile)) * size) - 1;
+                cachedPercentile = sorted[Math.max(0, Math.min(size - 1, index))];
+                cachedFor = percentile;
+                sinceRefresh = 0;
+            }
+            return cachedPercentile;
+        }
+    }
+}
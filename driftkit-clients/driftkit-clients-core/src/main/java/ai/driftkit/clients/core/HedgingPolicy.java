@@ -0,0 +1,40 @@
+package ai.driftkit.clients.core;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * When {@link HedgingModelClient} sends a second request for a slow call.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HedgingPolicy {
+
+    /**
+     * Latency percentile, between 0 and 1, after which a call is hedged.
+     */
+    @Builder.Default
+    private double percentile = 0.95;
+
+    /**
+     * Maximum share of requests that may be hedged.
+     */
+    @Builder.Default
+    private double maxHedgeRatio = 0.05;
+
+    /**
+     * Successful calls observed before hedging starts.
+     */
+    @Builder.Default
+    private int minSamples = 20;
+
+    /**
+     * Number of most recent latencies the percentile is computed over.
+     */
+    @Builder.Default
+    private int sampleWindow = 1000;
+}
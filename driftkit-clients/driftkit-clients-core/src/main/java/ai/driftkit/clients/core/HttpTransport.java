@@ -0,0 +1,254 @@
+package ai.driftkit.clients.core;
+
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.*;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pooled HTTP transport shared by the Feign clients of all model providers.
+ * <p>
+ * Feign's default client opens an {@code HttpURLConnection} per request and leaves pooling
+ * to the JDK's keep-alive cache, which cannot be sized or multiplexed. This transport wraps
+ * a single OkHttp client instead: connections are kept in one pool and evicted after
+ * {@code keepAliveSeconds} of idleness, TLS hosts negotiate HTTP/2 so that concurrent calls
+ * share a connection, and at most {@code maxConnectionsPerHost} requests run against one
+ * host at a time. Per-client timeouts from {@link feign.Request.Options} still apply; the
+ * Feign adapter derives a client per timeout that shares the same pool.
+ * <p>
+ * The shared instance is configured with the {@code driftkit.http.*} system properties or
+ * replaced with {@link #setDefault(HttpTransport)}.
+ */
+@Slf4j
+public class HttpTransport {
+
+    public static final String MAX_CONNECTIONS_PER_HOST_PROPERTY = "driftkit.http.maxConnectionsPerHost";
+    public static final String MAX_IDLE_CONNECTIONS_PROPERTY = "driftkit.http.maxIdleConnections";
+    public static final String KEEP_ALIVE_SECONDS_PROPERTY = "driftkit.http.keepAliveSeconds";
+    public static final String HTTP2_PROPERTY = "driftkit.http.http2";
+
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 64;
+    public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 32;
+    public static final long DEFAULT_KEEP_ALIVE_SECONDS = 300;
+
+    private static final long PRECONNECT_TIMEOUT_SECONDS = 10;
+
+    private static final AtomicReference<HttpTransport> DEFAULT = new AtomicReference<>();
+
+    private final OkHttpClient httpClient;
+    private final feign.Client feignClient;
+    private final int maxConnectionsPerHost;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxConnectionsPerHost concurrent requests allowed per host and port, unlimited when not positive
+     * @param maxIdleConnections    idle connections kept in the pool
+     * @param keepAliveSeconds      idle time after which a pooled connection is closed
+     * @param http2                 negotiate HTTP/2 with hosts that support it
+     */
+    @Builder
+    public HttpTransport(int maxConnectionsPerHost, int maxIdleConnections, long keepAliveSeconds, boolean http2) {
+        this.maxConnectionsPerHost = maxConnectionsPerHost > 0 ? maxConnectionsPerHost : Integer.MAX_VALUE;
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(this.maxConnectionsPerHost);
+        dispatcher.setMaxRequests(Math.max(dispatcher.getMaxRequests(), this.maxConnectionsPerHost));
+
+        this.httpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(
+                        Math.max(1, maxIdleConnections),
+                        keepAliveSeconds > 0 ? keepAliveSeconds : DEFAULT_KEEP_ALIVE_SECONDS,
+                        TimeUnit.SECONDS))
+                .dispatcher(dispatcher)
+                .protocols(http2 ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1) : List.of(Protocol.HTTP_1_1))
+                .retryOnConnectionFailure(true)
+                .addInterceptor(this::limitPerHost)
+                .build();
+        this.feignClient = new feign.okhttp.OkHttpClient(httpClient);
+    }
+
+    /**
+     * Returns the transport shared by all model clients, creating it from system properties on first use.
+     */
+    public static HttpTransport getDefault() {
+        HttpTransport current = DEFAULT.get();
+        if (current != null) {
+            return current;
+        }
+
+        HttpTransport created = HttpTransport.builder()
+                .maxConnectionsPerHost(Integer.getInteger(MAX_CONNECTIONS_PER_HOST_PROPERTY, DEFAULT_MAX_CONNECTIONS_PER_HOST))
+                .maxIdleConnections(Integer.getInteger(MAX_IDLE_CONNECTIONS_PROPERTY, DEFAULT_MAX_IDLE_CONNECTIONS))
+                .keepAliveSeconds(Long.getLong(KEEP_ALIVE_SECONDS_PROPERTY, DEFAULT_KEEP_ALIVE_SECONDS))
+                .http2(Boolean.parseBoolean(System.getProperty(HTTP2_PROPERTY, "true")))
+                .build();
+
+        if (DEFAULT.compareAndSet(null, created)) {
+            return created;
+        }
+
+        created.shutdown();
+        return DEFAULT.get();
+    }
+
+    /**
+     * Replaces the shared transport. Clients created before the call keep the previous one.
+     */
+    public static void setDefault(HttpTransport transport) {
+        DEFAULT.set(transport);
+    }
+
+    /**
+     * Feign client backed by the shared pool, to be passed to {@code Feign.builder().client(...)}.
+     */
+    public feign.Client feignClient() {
+        return feignClient;
+    }
+
+    public OkHttpClient httpClient() {
+        return httpClient;
+    }
+
+    public int getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    public int getConnectionCount() {
+        return httpClient.connectionPool().connectionCount();
+    }
+
+    public int getIdleConnectionCount() {
+        return httpClient.connectionPool().idleConnectionCount();
+    }
+
+    /**
+     * Opens a pooled connection to the host of {@code baseUrl} with a {@code HEAD} request, so the
+     * first API call skips the DNS lookup and the TCP and TLS handshakes. Any HTTP status counts as
+     * success, since only the connection is of interest.
+     *
+     * @return whether a connection could be established
+     */
+    public boolean preconnect(String baseUrl) {
+        HttpUrl url = baseUrl != null ? HttpUrl.parse(baseUrl) : null;
+        if (url == null) {
+            log.debug("Skipping preconnect to invalid URL [{}]", baseUrl);
+            return false;
+        }
+
+        OkHttpClient client = httpClient.newBuilder()
+                .callTimeout(PRECONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .build();
+        Request request = new Request.Builder().url(url).head().build();
+        try (Response ignored = client.newCall(request).execute()) {
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to preconnect to [{}]: {}", url.host(), e.getMessage());
+            return false;
+        }
+    }
+
+    public void shutdown() {
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+
+    /**
+     * Holds a per-host permit from the start of the call until the response body is closed,
+     * since the connection stays busy while Feign decodes the body.
+     */
+    private Response limitPerHost(Interceptor.Chain chain) throws IOException {
+        HttpUrl url = chain.request().url();
+        Semaphore permits = hostPermits.computeIfAbsent(url.host() + ":" + url.port(),
+                key -> new Semaphore(maxConnectionsPerHost, true));
+
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection to " + url.host());
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+
+        Response response;
+        try {
+            response = chain.proceed(chain.request());
+        } catch (IOException | RuntimeException e) {
+            release.run();
+            throw e;
+        }
+
+        ResponseBody body = response.body();
+        if (body == null) {
+            release.run();
+            return response;
+        }
+
+        return response.newBuilder()
+                .body(new PermitReleasingBody(body, release))
+                .build();
+    }
+
+    private static class PermitReleasingBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final BufferedSource source;
+
+        PermitReleasingBody(ResponseBody delegate, Runnable release) {
+            this.delegate = delegate;
+            this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                @Override
+                public long read(@NotNull Buffer sink, long byteCount) throws IOException {
+                    long read = super.read(sink, byteCount);
+                    if (read == -1) {
+                        release.run();
+                    }
+                    return read;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        release.run();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @NotNull
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+}
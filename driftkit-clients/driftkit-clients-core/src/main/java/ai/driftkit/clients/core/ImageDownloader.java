@@ -0,0 +1,270 @@
+package ai.driftkit.clients.core;
+
+import lombok.Builder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Downloads generated images from the URLs returned by image models.
+ * <p>
+ * Downloads run on their own virtual threads, never on the common {@link ForkJoinPool}.
+ * At most {@code maxConcurrentDownloads} run at the same time and at most
+ * {@code maxDownloadsPerHost} against one host. A body larger than {@code maxImageBytes}
+ * is rejected from its {@code Content-Length} before reading, or aborted as soon as the
+ * limit is crossed. Images can be collected into a byte array or copied straight to an
+ * {@link OutputStream} or a file, so that a batch of large images is never held in memory
+ * at once.
+ * <p>
+ * The shared instance is configured with the {@code driftkit.images.*} system properties or
+ * replaced with {@link #setDefault(ImageDownloader)}.
+ */
+public class ImageDownloader {
+
+    public static final String MAX_CONCURRENT_DOWNLOADS_PROPERTY = "driftkit.images.maxConcurrentDownloads";
+    public static final String MAX_DOWNLOADS_PER_HOST_PROPERTY = "driftkit.images.maxDownloadsPerHost";
+    public static final String MAX_IMAGE_BYTES_PROPERTY = "driftkit.images.maxImageBytes";
+    public static final String TIMEOUT_SECONDS_PROPERTY = "driftkit.images.timeoutSeconds";
+
+    public static final int DEFAULT_MAX_CONCURRENT_DOWNLOADS = 16;
+    public static final int DEFAULT_MAX_DOWNLOADS_PER_HOST = 4;
+    public static final long DEFAULT_MAX_IMAGE_BYTES = 32L * 1024 * 1024;
+    public static final long DEFAULT_TIMEOUT_SECONDS = 60;
+
+    private static final String DEFAULT_MIME_TYPE = "image/jpeg";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_INITIAL_BUFFER = 16 * 1024 * 1024;
+
+    private static final AtomicReference<ImageDownloader> DEFAULT = new AtomicReference<>();
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrentDownloads;
+    private final int maxDownloadsPerHost;
+    private final long maxImageBytes;
+    private final Duration timeout;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final AtomicInteger activeDownloads = new AtomicInteger();
+
+    /**
+     * Image bytes and the MIME type reported by the server.
+     */
+    public record Image(byte[] bytes, String mimeType) {
+    }
+
+    /**
+     * @param maxConcurrentDownloads downloads allowed to run at the same time, unlimited when not positive
+     * @param maxDownloadsPerHost    downloads allowed per host and port, unlimited when not positive
+     * @param maxImageBytes          largest accepted body, unlimited when not positive
+     * @param timeoutSeconds         connect timeout and limit for receiving the response headers
+     */
+    @Builder
+    public ImageDownloader(int maxConcurrentDownloads, int maxDownloadsPerHost, long maxImageBytes, long timeoutSeconds) {
+        this.maxConcurrentDownloads = maxConcurrentDownloads > 0 ? maxConcurrentDownloads : Integer.MAX_VALUE;
+        this.maxDownloadsPerHost = maxDownloadsPerHost > 0 ? maxDownloadsPerHost : Integer.MAX_VALUE;
+        this.maxImageBytes = maxImageBytes > 0 ? maxImageBytes : Long.MAX_VALUE;
+        this.timeout = Duration.ofSeconds(timeoutSeconds > 0 ? timeoutSeconds : DEFAULT_TIMEOUT_SECONDS);
+        this.permits = new Semaphore(this.maxConcurrentDownloads, true);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("driftkit-image-", 0).factory());
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * Returns the downloader shared by all model clients, creating it from system properties on first use.
+     */
+    public static ImageDownloader getDefault() {
+        ImageDownloader current = DEFAULT.get();
+        if (current != null) {
+            return current;
+        }
+
+        ImageDownloader created = ImageDownloader.builder()
+                .maxConcurrentDownloads(Integer.getInteger(MAX_CONCURRENT_DOWNLOADS_PROPERTY, DEFAULT_MAX_CONCURRENT_DOWNLOADS))
+                .maxDownloadsPerHost(Integer.getInteger(MAX_DOWNLOADS_PER_HOST_PROPERTY, DEFAULT_MAX_DOWNLOADS_PER_HOST))
+                .maxImageBytes(Long.getLong(MAX_IMAGE_BYTES_PROPERTY, DEFAULT_MAX_IMAGE_BYTES))
+                .timeoutSeconds(Long.getLong(TIMEOUT_SECONDS_PROPERTY, DEFAULT_TIMEOUT_SECONDS))
+                .build();
+
+        if (DEFAULT.compareAndSet(null, created)) {
+            return created;
+        }
+
+        created.shutdown();
+        return DEFAULT.get();
+    }
+
+    /**
+     * Replaces the shared downloader. Downloads already running on the previous one are not affected.
+     */
+    public static void setDefault(ImageDownloader downloader) {
+        DEFAULT.set(downloader);
+    }
+
+    /**
+     * Downloads the image into memory.
+     */
+    public CompletableFuture<Image> download(String url) {
+        return submit(url, (body, mimeType, contentLength) -> {
+            int initialSize = contentLength > 0 ? (int) Math.min(contentLength, MAX_INITIAL_BUFFER) : BUFFER_SIZE;
+            ByteArrayOutputStream out = new ByteArrayOutputStream(initialSize);
+            copy(body, out, url);
+            return new Image(out.toByteArray(), mimeType);
+        });
+    }
+
+    /**
+     * Copies the image to {@code out} as it arrives and completes with its MIME type. The stream is not closed.
+     */
+    public CompletableFuture<String> download(String url, OutputStream out) {
+        return submit(url, (body, mimeType, contentLength) -> {
+            copy(body, out, url);
+            return mimeType;
+        });
+    }
+
+    /**
+     * Writes the image to {@code target} and completes with its MIME type. The body goes to a
+     * temporary file next to the target first, so a failed or oversized download never leaves
+     * a partial file behind.
+     */
+    public CompletableFuture<String> download(String url, Path target) {
+        return submit(url, (body, mimeType, contentLength) -> {
+            Path directory = target.toAbsolutePath().getParent();
+            Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".part");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    copy(body, out, url);
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return mimeType;
+        });
+    }
+
+    public int getMaxConcurrentDownloads() {
+        return maxConcurrentDownloads;
+    }
+
+    public int getMaxDownloadsPerHost() {
+        return maxDownloadsPerHost;
+    }
+
+    public long getMaxImageBytes() {
+        return maxImageBytes;
+    }
+
+    /**
+     * Downloads currently reading from the network.
+     */
+    public int getActiveDownloads() {
+        return activeDownloads.get();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> submit(String url, BodyReader<T> reader) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(run(url, reader));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private <T> T run(String url, BodyReader<T> reader) throws IOException, InterruptedException {
+        URI uri = URI.create(url);
+        Semaphore host = hostPermits.computeIfAbsent(uri.getHost() + ":" + uri.getPort(),
+                key -> new Semaphore(maxDownloadsPerHost, true));
+
+        // Take the host permit first so that downloads queued for a busy host do not hold global permits
+        host.acquire();
+        try {
+            permits.acquire();
+            activeDownloads.incrementAndGet();
+            try {
+                return fetch(uri, reader);
+            } finally {
+                activeDownloads.decrementAndGet();
+                permits.release();
+            }
+        } finally {
+            host.release();
+        }
+    }
+
+    private <T> T fetch(URI uri, BodyReader<T> reader) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(uri)
+                .timeout(timeout)
+                .GET()
+                .build();
+
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+
+        try (InputStream body = response.body()) {
+            if (response.statusCode() / 100 != 2) {
+                throw new IOException("Failed to download image from " + uri + ", status: " + response.statusCode());
+            }
+
+            long contentLength = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+            if (contentLength > maxImageBytes) {
+                throw new IOException("Image at " + uri + " is " + contentLength
+                        + " bytes, limit is " + maxImageBytes);
+            }
+
+            String mimeType = response.headers().firstValue("Content-Type").orElse(DEFAULT_MIME_TYPE);
+            return reader.read(body, mimeType, contentLength);
+        }
+    }
+
+    private void copy(InputStream body, OutputStream out, String url) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long total = 0;
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            total += read;
+            if (total > maxImageBytes) {
+                throw new IOException("Image at " + url + " exceeds the limit of " + maxImageBytes + " bytes");
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Download of " + url + " interrupted");
+            }
+            out.write(buffer, 0, read);
+        }
+    }
+
+    @FunctionalInterface
+    private interface BodyReader<T> {
+        T read(InputStream body, String mimeType, long contentLength) throws IOException;
+    }
+}
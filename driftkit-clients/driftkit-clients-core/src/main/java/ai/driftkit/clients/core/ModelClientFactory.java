@@ -1,17 +1,29 @@
 package ai.driftkit.clients.core;
 
+import ai.driftkit.clients.cache.ResponseCache;
 import ai.driftkit.config.EtlConfig.VaultConfig;
 import ai.driftkit.common.domain.client.ModelClient;
 import ai.driftkit.common.service.TextTokenizer;
+import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This factory creates instances of model clients from config.
- * Uses ServiceLoader to dynamically discover available model client implementations.
+ * Uses ServiceLoader to dynamically discover available model client implementations;
+ * providers are matched by class name before instantiation, so only the requested client
+ * is ever constructed.
  */
+@Slf4j
 public class ModelClientFactory {
     private static final Map<String, ModelClient<?>> clients = new ConcurrentHashMap<>();
 
@@ -23,35 +35,51 @@ public class ModelClientFactory {
 
         return (ModelClient<T>) clients.computeIfAbsent(config.getName(), name -> {
             String clientName = config.getName();
-            ServiceLoader<ModelClient> loader = ServiceLoader.load(ModelClient.class);
+            ModelClient<?> client = ServiceLoader.load(ModelClient.class).stream()
+                    .filter(provider -> ModelClient.ModelClientInit.class.isAssignableFrom(provider.type()))
+                    .filter(provider -> supportsClientName(provider.type(), clientName))
+                    .findFirst()
+                    .map(ServiceLoader.Provider::get)
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown or unavailable model client: " + clientName));
 
-            for (ModelClient<?> client : loader) {
-                if (!(client instanceof ModelClient.ModelClientInit)) {
-                    continue;
-                }
-                
-                if (!supportsClientName(client, clientName)) {
-                    continue;
-                }
+            try {
+                ModelClient.ModelClientInit initClient = (ModelClient.ModelClientInit) client;
+                ModelClient<?> configuredClient = initClient.init(config);
 
-                try {
-                    ModelClient.ModelClientInit initClient = (ModelClient.ModelClientInit) client;
-                    ModelClient<?> configuredClient = initClient.init(config);
-                    
-                    if (config.isTracing()) {
-                        return new TraceableModelClient<>(configuredClient);
-                    }
-                    
-                    return configuredClient;
-                } catch (Exception e) {
-                    throw new RuntimeException("Failed to initialize client: " + clientName, e);
+                if (config.isTracing()) {
+                    return new TraceableModelClient<>(configuredClient);
                 }
-            }
 
-            throw new IllegalArgumentException("Unknown or unavailable model client: " + clientName);
+                return configuredClient;
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to initialize client: " + clientName, e);
+            }
         });
     }
 
+    /**
+     * Creates the clients of {@code configs} and lets each open its provider connection, so the
+     * first request does not pay for provider discovery, initialization and the TLS handshake.
+     * Clients are warmed up concurrently. A client that cannot be created fails the warm-up; a
+     * connection that cannot be opened is only logged, and the first call will retry it.
+     */
+    public static void warmUp(Collection<VaultConfig> configs) {
+        List<ModelClient<?>> created = new ArrayList<>();
+        for (VaultConfig config : configs) {
+            created.add(fromConfig(config));
+        }
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("driftkit-warmup-", 0).factory())) {
+            for (ModelClient<?> client : created) {
+                executor.execute(client::warmUp);
+            }
+        }
+        log.info("Warmed up {} model clients in {} ms", created.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
     @SuppressWarnings("unchecked")
     public static <T> ModelClient<T> fromConfig(VaultConfig config, TextTokenizer tokenizer) {
         ModelClient<T> baseClient = fromConfig(config);
@@ -67,10 +95,26 @@ public class ModelClientFactory {
         return new TraceableModelClient<>(delegate, tokenizer);
     }
 
+    public static <T> CachingModelClient<T> createCaching(ModelClient<T> delegate, ResponseCache cache, Duration ttl) {
+        return new CachingModelClient<>(delegate, cache, ttl);
+    }
+
+    public static <T> CoalescingModelClient<T> createCoalescing(ModelClient<T> delegate, Duration window) {
+        return new CoalescingModelClient<>(delegate, window);
+    }
+
+    public static <T> RateLimitedModelClient<T> createRateLimited(ModelClient<T> delegate, RateLimits limits) {
+        return new RateLimitedModelClient<>(delegate, limits);
+    }
+
+    public static <T> HedgingModelClient<T> createHedging(ModelClient<T> delegate, ModelClient<T> fallback, HedgingPolicy policy) {
+        return new HedgingModelClient<>(delegate, fallback, policy);
+    }
+
     /**
      * Checks if the client supports the given client name.
      */
-    private static boolean supportsClientName(ModelClient<?> client, String clientName) {
-        return client.getClass().getSimpleName().toLowerCase().contains(clientName.toLowerCase());
+    private static boolean supportsClientName(Class<?> clientType, String clientName) {
+        return clientType.getSimpleName().toLowerCase().contains(clientName.toLowerCase());
     }
 }
\ No newline at end of file
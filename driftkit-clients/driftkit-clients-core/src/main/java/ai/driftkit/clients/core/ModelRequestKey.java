@@ -0,0 +1,92 @@
+package ai.driftkit.clients.core;
+
+import ai.driftkit.common.domain.client.ModelClient;
+import ai.driftkit.common.domain.client.ModelTextRequest;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Canonical key of a text request as the provider would see it.
+ * <p>
+ * The key is the SHA-256 of a canonical JSON form of everything that affects the model
+ * output: the effective model and sampling parameters (request values, falling back to the
+ * client's), system messages, messages, tools, tool mode, response format, reasoning effort
+ * and log-probability settings. Properties and map entries are written in sorted order and
+ * nulls are dropped, so equal requests built in a different order get the same key. Hints
+ * that do not change the output, such as the provider cache policy, are left out.
+ */
+public final class ModelRequestKey {
+
+    /**
+     * Serializes fields rather than getters, so derived or throwing accessors never leak into the key.
+     */
+    static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .visibility(PropertyAccessor.ALL, Visibility.NONE)
+            .visibility(PropertyAccessor.FIELD, Visibility.ANY)
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+            .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+
+    private ModelRequestKey() {
+    }
+
+    /**
+     * Returns the hex-encoded key of {@code request} sent through {@code client}.
+     */
+    public static String of(ModelClient<?> client, ModelTextRequest request) {
+        Map<String, Object> canonical = new TreeMap<>();
+        canonical.put("model", request.getModel() != null ? request.getModel() : client.getModel());
+        canonical.put("systemMessages", client.getSystemMessages());
+        canonical.put("messages", request.getMessages());
+        canonical.put("temperature", request.getTemperature() != null ? request.getTemperature() : client.getTemperature());
+        canonical.put("topP", client.getTopP());
+        canonical.put("stop", client.getStop());
+        canonical.put("maxTokens", client.getMaxTokens());
+        canonical.put("maxCompletionTokens", client.getMaxCompletionTokens());
+        canonical.put("presencePenalty", client.getPresencePenalty());
+        canonical.put("frequencyPenalty", client.getFrequencyPenalty());
+        canonical.put("logitBias", client.getLogitBias());
+        canonical.put("seed", client.getSeed());
+        canonical.put("tools", request.getTools());
+        canonical.put("clientTools", client.getTools());
+        canonical.put("toolMode", request.getToolMode());
+        canonical.put("responseFormat", request.getResponseFormat());
+        canonical.put("reasoningEffort", request.getReasoningEffort());
+        canonical.put("logprobs", request.getLogprobs() != null ? request.getLogprobs() : client.getLogprobs());
+        canonical.put("topLogprobs", request.getTopLogprobs() != null ? request.getTopLogprobs() : client.getTopLogprobs());
+        canonical.put("prediction", request.getPrediction());
+
+        MessageDigest digest = sha256();
+        try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            CANONICAL_MAPPER.writeValue(out, canonical);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compute request key", e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package ai.driftkit.clients.core;
+
+import ai.driftkit.common.domain.client.*;
+import ai.driftkit.common.domain.client.ModelTextResponse.Usage;
+import ai.driftkit.common.domain.streaming.StreamingCallback;
+import ai.driftkit.common.domain.streaming.StreamingResponse;
+import ai.driftkit.common.service.TextTokenizer;
+import ai.driftkit.common.service.impl.SimpleTextTokenizer;
+import feign.FeignException;
+import feign.RetryableException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Decorator that keeps calls to a provider within its rate limits.
+ * <p>
+ * Every model gets its own {@link AdaptiveRateLimiter}, configured with the limits registered
+ * for it or with the default limits. Text calls reserve their estimated prompt tokens plus
+ * the client's completion token limit, and the reservation is corrected with the reported
+ * usage. A call rejected with HTTP 429 shrinks the concurrency limit and pauses the limiter
+ * for the {@code retry-after-ms} or {@code Retry-After} time. The call is then retried up to
+ * {@link RateLimits#getMaxRetries()} times before the rejection reaches the caller. Streaming
+ * calls take their permit when subscribed and hold it until the stream completes, fails or is
+ * cancelled; they are not retried.
+ */
+@Slf4j
+public class RateLimitedModelClient<T> extends DelegatingModelClient<T> {
+
+    private final RateLimits defaultLimits;
+    private final Map<String, RateLimits> modelLimits = new ConcurrentHashMap<>();
+    private final Map<String, AdaptiveRateLimiter> limiters = new ConcurrentHashMap<>();
+    private final TextTokenizer tokenizer;
+
+    public RateLimitedModelClient(ModelClient<T> delegate, RateLimits defaultLimits) {
+        this(delegate, defaultLimits, new SimpleTextTokenizer());
+    }
+
+    public RateLimitedModelClient(ModelClient<T> delegate, RateLimits defaultLimits, TextTokenizer tokenizer) {
+        super(delegate);
+        this.defaultLimits = defaultLimits;
+        this.tokenizer = tokenizer;
+    }
+
+    /**
+     * Registers the limits of one model. Must be called before the model's first request.
+     */
+    public RateLimitedModelClient<T> withModelLimits(String model, RateLimits limits) {
+        modelLimits.put(model, limits);
+        return this;
+    }
+
+    @Override
+    public ModelTextResponse textToText(ModelTextRequest prompt) throws UnsupportedCapabilityException {
+        return call(modelOf(prompt), estimateTokens(prompt), () -> delegate.textToText(prompt), RateLimitedModelClient::usedTokens);
+    }
+
+    @Override
+    public ModelTextResponse imageToText(ModelTextRequest prompt) throws UnsupportedCapabilityException {
+        return call(modelOf(prompt), estimateTokens(prompt), () -> delegate.imageToText(prompt), RateLimitedModelClient::usedTokens);
+    }
+
+    @Override
+    public ModelImageResponse textToImage(ModelImageRequest prompt) throws UnsupportedCapabilityException {
+        String model = prompt != null && prompt.getModel() != null ? prompt.getModel() : delegate.getModel();
+        return call(model, 0, () -> delegate.textToImage(prompt), response -> -1L);
+    }
+
+    @Override
+    public StreamingResponse<String> streamTextToText(ModelTextRequest prompt) throws UnsupportedCapabilityException {
+        return new LimitedStream(delegate.streamTextToText(prompt), getLimiter(modelOf(prompt)), estimateTokens(prompt));
+    }
+
+    /**
+     * Limiter of {@code model}, created on first use.
+     */
+    public AdaptiveRateLimiter getLimiter(String model) {
+        String key = model != null ? model : "";
+        return limiters.computeIfAbsent(key, name -> new AdaptiveRateLimiter(modelLimits.getOrDefault(name, defaultLimits)));
+    }
+
+    private <R> R call(String model, long estimatedTokens, Supplier<R> operation, Function<R, Long> usedTokens) {
+        AdaptiveRateLimiter limiter = getLimiter(model);
+        int maxRetries = Math.max(0, modelLimits.getOrDefault(model != null ? model : "", defaultLimits).getMaxRetries());
+
+        for (int attempt = 0; ; attempt++) {
+            AdaptiveRateLimiter.Permit permit = acquire(limiter, estimatedTokens);
+            R response;
+            try {
+                response = operation.get();
+            } catch (RuntimeException e) {
+                Duration retryAfter = throttledRetryAfter(e);
+                if (retryAfter == null) {
+                    limiter.onFailure(permit);
+                    throw e;
+                }
+
+                limiter.onThrottled(permit, retryAfter.isZero() ? null : retryAfter);
+                if (attempt >= maxRetries) {
+                    throw e;
+                }
+                log.debug("Model [{}] throttled, retrying after backoff (attempt {}/{})", model, attempt + 1, maxRetries);
+                continue;
+            }
+
+            limiter.onSuccess(permit, response != null ? usedTokens.apply(response) : -1);
+            return response;
+        }
+    }
+
+    private static void release(AdaptiveRateLimiter limiter, AdaptiveRateLimiter.Permit permit, Throwable error) {
+        Duration retryAfter = throttledRetryAfter(error);
+        if (retryAfter == null) {
+            limiter.onFailure(permit);
+        } else {
+            limiter.onThrottled(permit, retryAfter.isZero() ? null : retryAfter);
+        }
+    }
+
+    private static AdaptiveRateLimiter.Permit acquire(AdaptiveRateLimiter limiter, long estimatedTokens) {
+        try {
+            return limiter.acquire(estimatedTokens);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for rate limit", e);
+        }
+    }
+
+    private String modelOf(ModelTextRequest prompt) {
+        return prompt != null && prompt.getModel() != null ? prompt.getModel() : delegate.getModel();
+    }
+
+    private long estimateTokens(ModelTextRequest prompt) {
+        long tokens = 0;
+        if (prompt != null && prompt.getMessages() != null) {
+            for (ModelContentMessage message : prompt.getMessages()) {
+                if (message == null || message.getContent() == null) {
+                    continue;
+                }
+                for (ModelContentMessage.ModelContentElement element : message.getContent()) {
+                    if (element.getType() == ModelTextRequest.MessageType.text && StringUtils.isNotBlank(element.getText())) {
+                        tokens += tokenizer.estimateTokens(element.getText());
+                    }
+                }
+            }
+        }
+
+        Integer completionLimit = delegate.getMaxCompletionTokens() != null
+                ? delegate.getMaxCompletionTokens()
+                : delegate.getMaxTokens();
+        return tokens + (completionLimit != null ? completionLimit : 0);
+    }
+
+    private static Long usedTokens(ModelTextResponse response) {
+        Usage usage = response.getUsage();
+        if (usage == null) {
+            return -1L;
+        }
+        if (usage.getTotalTokens() != null) {
+            return (long) usage.getTotalTokens();
+        }
+        if (usage.getPromptTokens() == null && usage.getCompletionTokens() == null) {
+            return -1L;
+        }
+        long prompt = usage.getPromptTokens() != null ? usage.getPromptTokens() : 0;
+        long completion = usage.getCompletionTokens() != null ? usage.getCompletionTokens() : 0;
+        return prompt + completion;
+    }
+
+    /**
+     * Returns the server's retry delay if {@code error} is a 429 response, {@link Duration#ZERO}
+     * when it did not send one, or null for any other error.
+     */
+    static Duration throttledRetryAfter(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (!(current instanceof FeignException feignException) || feignException.status() != 429) {
+                continue;
+            }
+
+            Duration fromHeaders = retryAfterFromHeaders(feignException.responseHeaders());
+            if (fromHeaders != null) {
+                return fromHeaders;
+            }
+            if (feignException instanceof RetryableException retryable && retryable.retryAfter() != null) {
+                long millis = retryable.retryAfter().getTime() - System.currentTimeMillis();
+                return Duration.ofMillis(Math.max(0, millis));
+            }
+            return Duration.ZERO;
+        }
+        return null;
+    }
+
+    private static Duration retryAfterFromHeaders(Map<String, Collection<String>> headers) {
+        if (headers == null) {
+            return null;
+        }
+
+        String millis = header(headers, "retry-after-ms");
+        if (millis != null) {
+            try {
+                return Duration.ofMillis(Math.max(0, (long) Double.parseDouble(millis)));
+            } catch (NumberFormatException e) {
+                // Fall back to Retry-After
+            }
+        }
+
+        String value = header(headers, "retry-after");
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Duration.ofMillis(Math.max(0, (long) (Double.parseDouble(value) * 1000)));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Duration.ofMillis(Math.max(0, date.toInstant().toEpochMilli() - System.currentTimeMillis()));
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private static String header(Map<String, Collection<String>> headers, String name) {
+        for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey()) && header.getValue() != null && !header.getValue().isEmpty()) {
+                return header.getValue().iterator().next().trim();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stream that takes its permit when subscribed, which is when providers send the request, and returns it
+     * when the stream completes, fails or is cancelled. A stream that is never subscribed holds no permit.
+     */
+    private static final class LimitedStream implements StreamingResponse<String> {
+        private final StreamingResponse<String> stream;
+        private final AdaptiveRateLimiter limiter;
+        private final long estimatedTokens;
+        private final AtomicBoolean subscribed = new AtomicBoolean();
+        private volatile AdaptiveRateLimiter.Permit permit;
+        private volatile boolean cancelled;
+
+        LimitedStream(StreamingResponse<String> stream, AdaptiveRateLimiter limiter, long estimatedTokens) {
+            this.stream = stream;
+            this.limiter = limiter;
+            this.estimatedTokens = estimatedTokens;
+        }
+
+        @Override
+        public void subscribe(StreamingCallback<String> callback) {
+            if (cancelled || !subscribed.compareAndSet(false, true)) {
+                // Nothing is sent for a cancelled stream, and the delegate rejects a second subscriber
+                stream.subscribe(callback);
+                return;
+            }
+
+            AdaptiveRateLimiter.Permit acquired = acquire(limiter, estimatedTokens);
+            permit = acquired;
+            if (cancelled) {
+                // cancel() may have run before the permit was visible to it
+                limiter.onFailure(acquired);
+                return;
+            }
+
+            try {
+                stream.subscribe(new StreamingCallback<>() {
+                    @Override
+                    public void onNext(String item) {
+                        callback.onNext(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        release(limiter, acquired, error);
+                        callback.onError(error);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        limiter.onSuccess(acquired, -1);
+                        callback.onComplete();
+                    }
+                });
+            } catch (RuntimeException e) {
+                release(limiter, acquired, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            try {
+                stream.cancel();
+            } finally {
+                AdaptiveRateLimiter.Permit held = permit;
+                if (held != null) {
+                    limiter.onFailure(held);
+                }
+            }
+        }
+
+        @Override
+        public boolean isActive() {
+            return stream.isActive();
+        }
+    }
+}
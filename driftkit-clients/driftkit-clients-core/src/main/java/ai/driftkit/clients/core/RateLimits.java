@@ -0,0 +1,45 @@
+package ai.driftkit.clients.core;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Client-side limits of one provider model, applied by {@link RateLimitedModelClient}.
+ * Non-positive rates and concurrency bounds mean unlimited.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimits {
+
+    /**
+     * Requests per minute granted by the provider.
+     */
+    private int requestsPerMinute;
+
+    /**
+     * Prompt plus completion tokens per minute granted by the provider.
+     */
+    private long tokensPerMinute;
+
+    /**
+     * Concurrency limit before any throttling has been observed.
+     */
+    @Builder.Default
+    private int initialConcurrency = 16;
+
+    @Builder.Default
+    private int minConcurrency = 1;
+
+    @Builder.Default
+    private int maxConcurrency = 64;
+
+    /**
+     * Times a throttled (429) call is retried after the limiter backed off.
+     */
+    @Builder.Default
+    private int maxRetries = 3;
+}
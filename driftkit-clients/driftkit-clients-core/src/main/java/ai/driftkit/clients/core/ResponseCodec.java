@@ -0,0 +1,41 @@
+package ai.driftkit.clients.core;
+
+import ai.driftkit.common.domain.client.ModelTextResponse;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+
+/**
+ * Serializes model responses for reuse by the caching and coalescing decorators.
+ * Fields are written rather than getters, since responses expose derived accessors.
+ */
+final class ResponseCodec {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .visibility(PropertyAccessor.ALL, Visibility.NONE)
+            .visibility(PropertyAccessor.FIELD, Visibility.ANY)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+
+    private static final ObjectReader READER = MAPPER.readerFor(ModelTextResponse.class);
+    private static final ObjectWriter WRITER = MAPPER.writerFor(ModelTextResponse.class);
+
+    private ResponseCodec() {
+    }
+
+    static byte[] toBytes(ModelTextResponse response) throws IOException {
+        return WRITER.writeValueAsBytes(response);
+    }
+
+    static ModelTextResponse fromBytes(byte[] value) throws IOException {
+        return READER.readValue(value);
+    }
+}
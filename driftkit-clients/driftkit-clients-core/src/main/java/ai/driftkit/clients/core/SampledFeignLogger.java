@@ -0,0 +1,163 @@
+package ai.driftkit.clients.core;
+
+import ai.driftkit.config.EtlConfig.LoggingPolicy;
+import feign.Logger;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Feign logger driven by a {@link LoggingPolicy}.
+ * <p>
+ * Only a sampled fraction of requests is logged, header values listed in the policy are
+ * redacted and bodies are cut to {@code maxBodyBytes}. Everything goes to the debug level of
+ * the API client's logger; when debug is off {@link #level()} returns
+ * {@link Logger.Level#NONE}, so Feign does not buffer or format bodies at all.
+ */
+public class SampledFeignLogger extends Logger {
+
+    private static final String REDACTED = "<redacted>";
+
+    /**
+     * Sampling decision of the request in flight on this thread. Feign logs the request, its
+     * retries and its response on the calling thread, so the decision carries over to all of them.
+     */
+    private static final ThreadLocal<Boolean> SAMPLED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final org.slf4j.Logger logger;
+    private final LoggingPolicy policy;
+    private final Set<String> redactedHeaders = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    public SampledFeignLogger(Class<?> clientType, LoggingPolicy policy) {
+        this(LoggerFactory.getLogger(clientType), policy);
+    }
+
+    SampledFeignLogger(org.slf4j.Logger logger, LoggingPolicy policy) {
+        this.logger = logger;
+        this.policy = policy != null ? policy : LoggingPolicy.defaults();
+        if (this.policy.getRedactedHeaders() != null) {
+            this.redactedHeaders.addAll(this.policy.getRedactedHeaders());
+        }
+    }
+
+    /**
+     * Feign log level to configure together with this logger, {@link Logger.Level#NONE} when nothing would be written.
+     */
+    public Level level() {
+        if (policy.getLevel() == null
+                || policy.getLevel() == LoggingPolicy.Level.NONE
+                || policy.getSampleRate() <= 0
+                || !logger.isDebugEnabled()) {
+            return Level.NONE;
+        }
+        return Level.valueOf(policy.getLevel().name());
+    }
+
+    @Override
+    protected void log(String configKey, String format, Object... args) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(String.format(methodTag(configKey) + format, args));
+        }
+    }
+
+    @Override
+    protected void logRequest(String configKey, Level logLevel, Request request) {
+        boolean sampled = logger.isDebugEnabled() && sample();
+        SAMPLED.set(sampled);
+        if (!sampled) {
+            return;
+        }
+
+        log(configKey, "---> %s %s HTTP/1.1", request.httpMethod().name(), request.url());
+        if (logLevel.ordinal() >= Level.HEADERS.ordinal()) {
+            logHeaders(configKey, request.headers());
+
+            int bodyLength = request.body() != null ? request.body().length : 0;
+            if (logLevel == Level.FULL && bodyLength > 0) {
+                log(configKey, "");
+                log(configKey, "%s", truncate(request.body(), request.charset()));
+            }
+            log(configKey, "---> END HTTP (%s-byte body)", bodyLength);
+        }
+    }
+
+    @Override
+    protected void logRetry(String configKey, Level logLevel) {
+        if (SAMPLED.get()) {
+            log(configKey, "---> RETRYING");
+        }
+    }
+
+    @Override
+    protected Response logAndRebufferResponse(String configKey, Level logLevel, Response response,
+                                              long elapsedTime) throws IOException {
+        if (!SAMPLED.get()) {
+            return response;
+        }
+        SAMPLED.remove();
+
+        String reason = response.reason() != null ? " " + response.reason() : "";
+        log(configKey, "<--- HTTP/1.1 %s%s (%sms)", response.status(), reason, elapsedTime);
+
+        if (logLevel.ordinal() < Level.HEADERS.ordinal()) {
+            return response;
+        }
+
+        logHeaders(configKey, response.headers());
+
+        if (logLevel != Level.FULL || response.body() == null || response.status() == 204 || response.status() == 205) {
+            log(configKey, "<--- END HTTP");
+            return response;
+        }
+
+        byte[] body = Util.toByteArray(response.body().asInputStream());
+        if (body.length > 0) {
+            log(configKey, "");
+            log(configKey, "%s", truncate(body, response.charset()));
+        }
+        log(configKey, "<--- END HTTP (%s-byte body)", body.length);
+        return response.toBuilder().body(body).build();
+    }
+
+    @Override
+    protected IOException logIOException(String configKey, Level logLevel, IOException ioe, long elapsedTime) {
+        if (SAMPLED.get()) {
+            SAMPLED.remove();
+            log(configKey, "<--- ERROR %s: %s (%sms)", ioe.getClass().getSimpleName(), ioe.getMessage(), elapsedTime);
+        }
+        return ioe;
+    }
+
+    private void logHeaders(String configKey, Map<String, Collection<String>> headers) {
+        for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+            boolean redact = redactedHeaders.contains(header.getKey());
+            for (String value : header.getValue()) {
+                log(configKey, "%s: %s", header.getKey(), redact ? REDACTED : value);
+            }
+        }
+    }
+
+    private String truncate(byte[] body, Charset charset) {
+        Charset bodyCharset = charset != null ? charset : StandardCharsets.UTF_8;
+        int limit = Math.max(0, policy.getMaxBodyBytes());
+        if (body.length <= limit) {
+            return new String(body, bodyCharset);
+        }
+        return new String(body, 0, limit, bodyCharset) + "... (" + (body.length - limit) + " more bytes)";
+    }
+
+    private boolean sample() {
+        double rate = policy.getSampleRate();
+        return rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate;
+    }
+}
@@ -0,0 +1,83 @@
+package ai.driftkit.clients.core;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one call per key at a time and hands its result to every caller that asks
+ * for the same key meanwhile.
+ * <p>
+ * The first caller of a key becomes the leader and runs the call on its own thread; later
+ * callers receive the leader's future without running anything. A successful result stays
+ * shared for {@code window} after the call completes, so callers arriving just behind the
+ * leader are coalesced as well. Failures are shared only with the callers that were already
+ * waiting; the next caller starts a new call.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final long windowMillis;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * @param window how long a completed result keeps being shared, zero for in-flight calls only
+     */
+    public SingleFlight(Duration window) {
+        this.windowMillis = window != null && !window.isNegative() ? window.toMillis() : 0;
+    }
+
+    /**
+     * Runs {@code call} unless a call for {@code key} is in flight or completed within the window,
+     * in which case that call's future is returned.
+     */
+    public CompletableFuture<V> execute(K key, Supplier<V> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = flights.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+
+        calls.increment();
+        try {
+            flight.complete(call.get());
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+        }
+
+        if (windowMillis == 0 || flight.isCompletedExceptionally()) {
+            flights.remove(key, flight);
+        } else {
+            CompletableFuture.delayedExecutor(windowMillis, TimeUnit.MILLISECONDS)
+                    .execute(() -> flights.remove(key, flight));
+        }
+        return flight;
+    }
+
+    /**
+     * Keys with a call in flight or a result still inside the window.
+     */
+    public int size() {
+        return flights.size();
+    }
+
+    /**
+     * Calls actually run.
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * Callers served by another caller's call.
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+}
@@ -0,0 +1,235 @@
+package ai.driftkit.clients.core;
+
+import lombok.Builder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executor for streaming model responses.
+ * <p>
+ * Each stream blocks a thread for as long as the server keeps sending events, so streams
+ * must not run on the common {@link ForkJoinPool}. By default every stream gets its own
+ * virtual thread. At most {@code maxConcurrentStreams} streams read from the network at
+ * the same time; further streams wait for a permit on their own thread, never on the
+ * caller's.
+ * <p>
+ * The shared instance used by the model clients is configured with the system properties
+ * {@value #MAX_CONCURRENT_STREAMS_PROPERTY} and {@value #VIRTUAL_THREADS_PROPERTY}, or
+ * replaced with {@link #setDefault(StreamingExecutor)}.
+ */
+public class StreamingExecutor {
+
+    public static final String MAX_CONCURRENT_STREAMS_PROPERTY = "driftkit.streaming.maxConcurrentStreams";
+    public static final String VIRTUAL_THREADS_PROPERTY = "driftkit.streaming.virtualThreads";
+
+    public static final int DEFAULT_MAX_CONCURRENT_STREAMS = 512;
+
+    private static final AtomicReference<StreamingExecutor> DEFAULT = new AtomicReference<>();
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrentStreams;
+
+    private final AtomicInteger activeStreams = new AtomicInteger();
+    private final AtomicInteger waitingStreams = new AtomicInteger();
+    private final LongAdder startedStreams = new LongAdder();
+    private final LongAdder completedStreams = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+
+    /**
+     * @param maxConcurrentStreams streams allowed to run at the same time, unlimited when not positive
+     * @param virtualThreads       run each stream on a virtual thread instead of a cached platform thread pool
+     */
+    @Builder
+    public StreamingExecutor(int maxConcurrentStreams, boolean virtualThreads) {
+        this.maxConcurrentStreams = maxConcurrentStreams > 0 ? maxConcurrentStreams : Integer.MAX_VALUE;
+        this.permits = new Semaphore(this.maxConcurrentStreams, true);
+        this.executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("driftkit-stream-", 0).factory())
+                : Executors.newCachedThreadPool(Thread.ofPlatform().name("driftkit-stream-", 0).daemon(true).factory());
+    }
+
+    /**
+     * Returns the executor shared by all model clients, creating it from system properties on first use.
+     */
+    public static StreamingExecutor getDefault() {
+        StreamingExecutor current = DEFAULT.get();
+        if (current != null) {
+            return current;
+        }
+
+        StreamingExecutor created = StreamingExecutor.builder()
+                .maxConcurrentStreams(Integer.getInteger(MAX_CONCURRENT_STREAMS_PROPERTY, DEFAULT_MAX_CONCURRENT_STREAMS))
+                .virtualThreads(Boolean.parseBoolean(System.getProperty(VIRTUAL_THREADS_PROPERTY, "true")))
+                .build();
+
+        if (DEFAULT.compareAndSet(null, created)) {
+            return created;
+        }
+
+        created.shutdown();
+        return DEFAULT.get();
+    }
+
+    /**
+     * Replaces the shared executor. Streams already running on the previous executor are not affected.
+     */
+    public static void setDefault(StreamingExecutor executor) {
+        DEFAULT.set(executor);
+    }
+
+    /**
+     * Runs the stream once a permit is available. Cancelling the returned future interrupts
+     * the stream thread, which aborts a blocking HTTP read.
+     */
+    public CompletableFuture<Void> submit(Runnable stream) {
+        StreamTask task = new StreamTask(stream, System.nanoTime());
+
+        waitingStreams.incrementAndGet();
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            waitingStreams.decrementAndGet();
+            task.result.completeExceptionally(e);
+        }
+
+        return task.result;
+    }
+
+    private void run(StreamTask task) {
+        boolean acquired = false;
+        try {
+            permits.acquire();
+            acquired = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waitingStreams.decrementAndGet();
+        }
+
+        if (!acquired || task.result.isDone()) {
+            if (acquired) {
+                permits.release();
+            }
+            task.result.cancel(false);
+            return;
+        }
+
+        recordQueueWait(System.nanoTime() - task.submittedAt);
+        activeStreams.incrementAndGet();
+        startedStreams.increment();
+        Throwable failure = null;
+        try {
+            task.stream.run();
+        } catch (Throwable e) {
+            failure = e;
+        } finally {
+            activeStreams.decrementAndGet();
+            completedStreams.increment();
+            permits.release();
+        }
+
+        // Complete only after the counters are updated so callers joining the future see consistent metrics
+        if (failure == null) {
+            task.result.complete(null);
+        } else {
+            task.result.completeExceptionally(failure);
+        }
+    }
+
+    private void recordQueueWait(long nanos) {
+        queueWaitNanos.add(nanos);
+        maxQueueWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public int getMaxConcurrentStreams() {
+        return maxConcurrentStreams;
+    }
+
+    /**
+     * Streams currently reading from the network.
+     */
+    public int getActiveStreams() {
+        return activeStreams.get();
+    }
+
+    /**
+     * Streams submitted but still waiting for a permit.
+     */
+    public int getWaitingStreams() {
+        return waitingStreams.get();
+    }
+
+    public long getStartedStreams() {
+        return startedStreams.sum();
+    }
+
+    public long getCompletedStreams() {
+        return completedStreams.sum();
+    }
+
+    /**
+     * Mean time between submission and start of the started streams.
+     */
+    public double getAverageQueueWaitMillis() {
+        long started = startedStreams.sum();
+        return started == 0 ? 0 : queueWaitNanos.sum() / 1_000_000.0 / started;
+    }
+
+    public double getMaxQueueWaitMillis() {
+        return maxQueueWaitNanos.get() / 1_000_000.0;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private class StreamTask implements Runnable {
+        private final Runnable stream;
+        private final long submittedAt;
+        private Thread runner;
+
+        private final CompletableFuture<Void> result = new CompletableFuture<>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                boolean cancelled = super.cancel(mayInterruptIfRunning);
+                if (mayInterruptIfRunning) {
+                    interruptRunner();
+                }
+                return cancelled;
+            }
+        };
+
+        StreamTask(Runnable stream, long submittedAt) {
+            this.stream = stream;
+            this.submittedAt = submittedAt;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                runner = Thread.currentThread();
+            }
+            try {
+                StreamingExecutor.this.run(this);
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                    // Pooled platform threads must not carry a late cancellation into the next stream
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        private synchronized void interruptRunner() {
+            if (runner != null) {
+                runner.interrupt();
+            }
+        }
+    }
+}
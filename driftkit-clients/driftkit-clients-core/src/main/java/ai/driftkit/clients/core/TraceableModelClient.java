@@ -7,14 +7,15 @@ import ai.driftkit.common.domain.CostCalculator;
 import ai.driftkit.common.service.TextTokenizer;
 import ai.driftkit.common.service.impl.SimpleTextTokenizer;
 import ai.driftkit.common.domain.client.ModelTextResponse.Usage;
+import ai.driftkit.common.metrics.MetricNames;
+import ai.driftkit.common.metrics.MetricsRegistry;
 import lombok.Data;
 import lombok.Getter;
 import org.apache.commons.lang3.StringUtils;
 
-import java.time.Duration;
-import java.time.Instant;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -43,6 +44,11 @@ public class TraceableModelClient<T> extends ModelClient<T> {
     public Set<Capability> getCapabilities() {
         return delegate.getCapabilities();
     }
+
+    @Override
+    public void warmUp() {
+        delegate.warmUp();
+    }
     
     @Override
     public ModelTextResponse textToText(ModelTextRequest prompt) throws UnsupportedCapabilityException {
@@ -50,6 +56,7 @@ public class TraceableModelClient<T> extends ModelClient<T> {
         fillTraceFromTextRequest(trace, prompt);
         
         return executeWithTracing(
+            "textToText",
             () -> delegate.textToText(prompt),
             trace,
             response -> {
@@ -68,6 +75,7 @@ public class TraceableModelClient<T> extends ModelClient<T> {
         fillTraceFromImageRequest(trace, prompt);
         
         return executeWithTracing(
+            "textToImage",
             () -> delegate.textToImage(prompt),
             trace,
             response -> {
@@ -86,6 +94,7 @@ public class TraceableModelClient<T> extends ModelClient<T> {
         fillTraceFromTextRequest(trace, prompt);
         
         return executeWithTracing(
+            "imageToText",
             () -> delegate.imageToText(prompt),
             trace,
             response -> {
@@ -99,18 +108,20 @@ public class TraceableModelClient<T> extends ModelClient<T> {
     }
     
     private <R> R executeWithTracing(
+            String operationName,
             Supplier<R> operation,
             ModelTrace trace,
             Function<R, R> responseHandler,
             Supplier<R> errorResponseCreator) {
         
-        Instant start = Instant.now();
+        long start = System.nanoTime();
         R response = null;
         
         try {
             response = operation.get();
             
             if (response != null) {
+                copyResponseCacheFields(response, trace);
                 response = responseHandler.apply(response);
             }
             
@@ -125,7 +136,9 @@ public class TraceableModelClient<T> extends ModelClient<T> {
             
             throw e;
         } finally {
-            trace.setExecutionTimeMs(Duration.between(start, Instant.now()).toMillis());
+            long elapsedNanos = System.nanoTime() - start;
+            trace.setExecutionTimeMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            recordMetrics(operationName, trace, elapsedNanos);
             
             if (response != null) {
                 attachTraceToResponse(response, trace);
@@ -133,6 +146,43 @@ public class TraceableModelClient<T> extends ModelClient<T> {
         }
     }
     
+    private static void recordMetrics(String operationName, ModelTrace trace, long elapsedNanos) {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        metrics.histogram(MetricNames.LLM_LATENCY,
+                MetricNames.MODEL, trace.getModel(),
+                MetricNames.OPERATION, operationName,
+                MetricNames.OUTCOME, trace.isHasError() ? MetricNames.ERROR : MetricNames.SUCCESS)
+            .record(elapsedNanos);
+
+        // Responses served by a CachingModelClient used no provider tokens
+        if (!trace.isHasError() && !Boolean.TRUE.equals(trace.getResponseCacheHit())) {
+            metrics.counter(MetricNames.LLM_TOKENS, MetricNames.MODEL, trace.getModel(), MetricNames.TOKEN_TYPE, "prompt")
+                .add(trace.getPromptTokens());
+            metrics.counter(MetricNames.LLM_TOKENS, MetricNames.MODEL, trace.getModel(), MetricNames.TOKEN_TYPE, "completion")
+                .add(trace.getCompletionTokens());
+        }
+    }
+    
+    /**
+     * Keeps the response cache fields of a trace set by a wrapped {@link CachingModelClient},
+     * since the trace built here replaces it.
+     */
+    private static void copyResponseCacheFields(Object response, ModelTrace trace) {
+        ModelTrace existing = null;
+        if (response instanceof ModelTextResponse textResponse) {
+            existing = textResponse.getTrace();
+        } else if (response instanceof ModelImageResponse imageResponse) {
+            existing = imageResponse.getTrace();
+        }
+        if (existing == null) {
+            return;
+        }
+
+        trace.setResponseCacheHit(existing.getResponseCacheHit());
+        trace.setResponseCacheHitRate(existing.getResponseCacheHitRate());
+        trace.setResponseCacheSavedTokens(existing.getResponseCacheSavedTokens());
+    }
+
     private void attachTraceToResponse(Object response, ModelTrace trace) {
         if (response instanceof ModelTextResponse) {
             ((ModelTextResponse) response).setTrace(trace);
@@ -0,0 +1,282 @@
+package ai.driftkit.clients.streaming;
+
+import ai.driftkit.common.domain.client.ModelTextResponse.Usage;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Streaming parser for OpenAI-compatible {@code chat.completion.chunk} payloads.
+ * <p>
+ * Reads the raw bytes of one SSE {@code data:} payload with a Jackson {@link JsonParser}
+ * and keeps only what a stream consumer needs: the delta content and reasoning content of
+ * the first choice, its finish reason, tool-call deltas, usage and an API error message.
+ * Unknown fields and other choices are skipped without being materialized, and Jackson
+ * recycles its parse buffers between chunks, so a token costs little more than the
+ * {@code String} of its text.
+ * <p>
+ * An instance holds the result of the last {@link #parse} call and is meant to be reused
+ * for every chunk of one stream. It is not thread-safe.
+ */
+public class ChatCompletionChunkParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final List<ToolCallDelta> toolCalls = new ArrayList<>();
+
+    private String content;
+    private String reasoningContent;
+    private String finishReason;
+    private Usage usage;
+    private String errorMessage;
+
+    /**
+     * Tool-call fragment of a delta. {@code id} and {@code name} are only present in the first
+     * fragment of a call; {@code arguments} carries the next piece of the JSON arguments.
+     */
+    public record ToolCallDelta(int index, String id, String name, String arguments) {
+    }
+
+    public boolean parse(String data) throws IOException {
+        reset();
+        try (JsonParser parser = JSON_FACTORY.createParser(data)) {
+            return read(parser);
+        }
+    }
+
+    /**
+     * Parses one chunk from {@code data[offset, offset + length)}.
+     *
+     * @return false if the payload is not a JSON object
+     */
+    public boolean parse(byte[] data, int offset, int length) throws IOException {
+        reset();
+        try (JsonParser parser = JSON_FACTORY.createParser(data, offset, length)) {
+            return read(parser);
+        }
+    }
+
+    /**
+     * Content token of the first choice, or null if the chunk carries none.
+     */
+    public String getContent() {
+        return content;
+    }
+
+    /**
+     * Reasoning token of the first choice ({@code reasoning_content}, sent by DeepSeek reasoning models).
+     */
+    public String getReasoningContent() {
+        return reasoningContent;
+    }
+
+    public String getFinishReason() {
+        return finishReason;
+    }
+
+    public List<ToolCallDelta> getToolCalls() {
+        return toolCalls.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(toolCalls);
+    }
+
+    /**
+     * Token usage, present only in the final chunk when usage reporting is enabled.
+     */
+    public Usage getUsage() {
+        return usage;
+    }
+
+    /**
+     * Message of an {@code error} object sent in place of a chunk.
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    private void reset() {
+        toolCalls.clear();
+        content = null;
+        reasoningContent = null;
+        finishReason = null;
+        usage = null;
+        errorMessage = null;
+    }
+
+    private boolean read(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            switch (field) {
+                case "choices" -> readChoices(parser, value);
+                case "usage" -> readUsage(parser, value);
+                case "error" -> readError(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+        return true;
+    }
+
+    private void readChoices(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+
+        boolean first = true;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            if (!first) {
+                parser.skipChildren();
+                continue;
+            }
+            first = false;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+
+                switch (field) {
+                    case "delta" -> readDelta(parser, token);
+                    case "finish_reason" -> finishReason = textOrNull(parser, token);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private void readDelta(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+
+            switch (field) {
+                case "content" -> content = textOrNull(parser, token);
+                case "reasoning_content" -> reasoningContent = textOrNull(parser, token);
+                case "tool_calls" -> readToolCalls(parser, token);
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private void readToolCalls(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            int index = toolCalls.size();
+            String id = null;
+            String name = null;
+            String arguments = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+
+                switch (field) {
+                    case "index" -> index = parser.getValueAsInt(index);
+                    case "id" -> id = textOrNull(parser, token);
+                    case "function" -> {
+                        if (token != JsonToken.START_OBJECT) {
+                            parser.skipChildren();
+                            break;
+                        }
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String functionField = parser.currentName();
+                            JsonToken functionToken = parser.nextToken();
+                            switch (functionField) {
+                                case "name" -> name = textOrNull(parser, functionToken);
+                                case "arguments" -> arguments = textOrNull(parser, functionToken);
+                                default -> parser.skipChildren();
+                            }
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+
+            toolCalls.add(new ToolCallDelta(index, id, name, arguments));
+        }
+    }
+
+    private void readUsage(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+
+        Integer promptTokens = null;
+        Integer completionTokens = null;
+        Integer totalTokens = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+
+            switch (field) {
+                case "prompt_tokens" -> promptTokens = intOrNull(parser, token);
+                case "completion_tokens" -> completionTokens = intOrNull(parser, token);
+                case "total_tokens" -> totalTokens = intOrNull(parser, token);
+                default -> parser.skipChildren();
+            }
+        }
+
+        usage = new Usage(promptTokens, completionTokens, totalTokens);
+    }
+
+    private void readError(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            errorMessage = parser.getText();
+            return;
+        }
+        if (value != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+
+            if ("message".equals(field)) {
+                errorMessage = textOrNull(parser, token);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (errorMessage == null) {
+            errorMessage = "Unknown error";
+        }
+    }
+
+    private static String textOrNull(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static Integer intOrNull(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        parser.skipChildren();
+        return null;
+    }
+}
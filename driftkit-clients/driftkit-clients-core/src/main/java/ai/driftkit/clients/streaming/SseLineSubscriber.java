@@ -0,0 +1,137 @@
+package ai.driftkit.clients.streaming;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+/**
+ * Splits a server-sent events body into lines without decoding them to {@code String}s.
+ * <p>
+ * Meant for {@code HttpResponse.BodyHandlers.fromSubscriber(...)}: the body arrives as byte
+ * buffers and every complete line is handed to {@link #onLine(byte[], int)} as a view of one
+ * reusable buffer, which is overwritten by the next line. Combined with
+ * {@link ChatCompletionChunkParser} a chunk goes from network bytes to its delta token
+ * without intermediate strings.
+ */
+public abstract class SseLineSubscriber implements Flow.Subscriber<List<ByteBuffer>> {
+
+    private static final byte[] DATA_PREFIX = "data:".getBytes(StandardCharsets.US_ASCII);
+
+    private Flow.Subscription subscription;
+    private byte[] line = new byte[1024];
+    private int length;
+    private volatile boolean cancelled;
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> buffers) {
+        for (ByteBuffer buffer : buffers) {
+            while (buffer.hasRemaining()) {
+                if (cancelled) {
+                    return;
+                }
+
+                byte b = buffer.get();
+                if (b == '\n') {
+                    emitLine();
+                } else {
+                    append(b);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (length > 0 && !cancelled) {
+            emitLine();
+        }
+        onEndOfStream();
+    }
+
+    /**
+     * Called for every line, without the line terminator. Only the first {@code length} bytes are valid
+     * and the array is reused after the call returns.
+     */
+    protected abstract void onLine(byte[] line, int length);
+
+    /**
+     * Called when the body has been read completely.
+     */
+    protected abstract void onEndOfStream();
+
+    /**
+     * Stops reading the body. No further lines are delivered.
+     */
+    protected void cancel() {
+        cancelled = true;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+    /**
+     * Returns the offset of the payload of a {@code data:} line, skipping one optional space, or -1 for other lines.
+     */
+    public static int dataOffset(byte[] line, int length) {
+        if (length < DATA_PREFIX.length) {
+            return -1;
+        }
+        for (int i = 0; i < DATA_PREFIX.length; i++) {
+            if (line[i] != DATA_PREFIX[i]) {
+                return -1;
+            }
+        }
+        int offset = DATA_PREFIX.length;
+        if (offset < length && line[offset] == ' ') {
+            offset++;
+        }
+        return offset;
+    }
+
+    /**
+     * Checks whether {@code line[offset, offset + length)} equals the ASCII {@code text}, ignoring surrounding whitespace.
+     */
+    public static boolean contentEquals(byte[] line, int offset, int length, String text) {
+        int start = offset;
+        int end = offset + length;
+        while (start < end && line[start] <= ' ') {
+            start++;
+        }
+        while (end > start && line[end - 1] <= ' ') {
+            end--;
+        }
+        if (end - start != text.length()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (line[start + i] != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void emitLine() {
+        int lineLength = length;
+        if (lineLength > 0 && line[lineLength - 1] == '\r') {
+            lineLength--;
+        }
+        length = 0;
+        onLine(line, lineLength);
+    }
+
+    private void append(byte b) {
+        if (length == line.length) {
+            line = Arrays.copyOf(line, line.length * 2);
+        }
+        line[length++] = b;
+    }
+}
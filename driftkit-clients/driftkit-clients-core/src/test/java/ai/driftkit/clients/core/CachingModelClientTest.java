@@ -0,0 +1,211 @@
+package ai.driftkit.clients.core;
+
+import ai.driftkit.clients.cache.FileResponseCache;
+import ai.driftkit.clients.cache.InMemoryResponseCache;
+import ai.driftkit.clients.cache.ResponseCache;
+import ai.driftkit.common.domain.client.*;
+import ai.driftkit.common.domain.client.ModelTextResponse.ResponseMessage;
+import ai.driftkit.common.domain.client.ModelTextResponse.Usage;
+import ai.driftkit.common.metrics.MetricCounter;
+import ai.driftkit.common.metrics.MetricNames;
+import ai.driftkit.common.metrics.MetricsRegistry;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class CachingModelClientTest {
+
+    @Test
+    public void servesDeterministicRequestsFromCache() {
+        CountingClient delegate = new CountingClient();
+        CachingModelClient<Void> client = new CachingModelClient<>(delegate, new InMemoryResponseCache());
+
+        ModelTextResponse first = client.textToText(request("hello", 0d));
+        ModelTextResponse second = client.textToText(request("hello", 0d));
+
+        assertEquals(1, delegate.calls.get());
+        assertEquals("answer 1", second.getResponse());
+        assertNotSame(first, second);
+        assertFalse(first.getTrace().getResponseCacheHit());
+        assertTrue(second.getTrace().getResponseCacheHit());
+        assertEquals(15, (int) second.getTrace().getResponseCacheSavedTokens());
+        assertEquals(0.5, client.getHitRate(), 1e-9);
+        assertEquals(15, client.getSavedTokens());
+    }
+
+    @Test
+    public void outerTracingKeepsCacheFieldsAndSkipsTokensOfHits() {
+        TraceableModelClient<Void> client = new TraceableModelClient<>(
+                new CachingModelClient<>(new CountingClient(), new InMemoryResponseCache()));
+        ModelTextRequest request = request("hello", 0d);
+        request.setModel("traced-cache-model");
+        MetricCounter promptTokens = MetricsRegistry.global().counter(MetricNames.LLM_TOKENS,
+                MetricNames.MODEL, "traced-cache-model", MetricNames.TOKEN_TYPE, "prompt");
+
+        ModelTextResponse miss = client.textToText(request);
+        long afterMiss = promptTokens.count();
+        ModelTextResponse hit = client.textToText(request);
+
+        assertFalse(miss.getTrace().getResponseCacheHit());
+        assertTrue(hit.getTrace().getResponseCacheHit());
+        assertEquals(15, (int) hit.getTrace().getResponseCacheSavedTokens());
+        assertEquals(0.5, hit.getTrace().getResponseCacheHitRate(), 1e-9);
+        assertEquals(afterMiss, promptTokens.count());
+    }
+
+    @Test
+    public void bypassesCacheForSampledRequestsUnlessOptedIn() {
+        CountingClient delegate = new CountingClient();
+        CachingModelClient<Void> client = new CachingModelClient<>(delegate, new InMemoryResponseCache());
+
+        client.textToText(request("hello", 0.7));
+        client.textToText(request("hello", 0.7));
+        assertEquals(2, delegate.calls.get());
+
+        ModelTextRequest optIn = request("hello", 0.7);
+        optIn.setCacheResponse(true);
+        client.textToText(optIn);
+        client.textToText(optIn);
+        assertEquals(3, delegate.calls.get());
+
+        ModelTextRequest optOut = request("hello", 0d);
+        optOut.setCacheResponse(false);
+        client.textToText(optOut);
+        client.textToText(optOut);
+        assertEquals(5, delegate.calls.get());
+    }
+
+    @Test
+    public void keysDifferOnlyWhenOutputCanDiffer() {
+        CountingClient delegate = new CountingClient();
+
+        ModelTextRequest request = request("hello", 0d);
+        ModelTextRequest same = request("hello", 0d);
+        same.setCachePolicy(CachePolicy.AUTO);
+
+        assertEquals(ModelRequestKey.of(delegate, request), ModelRequestKey.of(delegate, same));
+        assertNotEquals(ModelRequestKey.of(delegate, request), ModelRequestKey.of(delegate, request("hello!", 0d)));
+
+        ModelTextRequest otherModel = request("hello", 0d);
+        otherModel.setModel("other-model");
+        assertNotEquals(ModelRequestKey.of(delegate, request), ModelRequestKey.of(delegate, otherModel));
+
+        ModelTextRequest json = request("hello", 0d);
+        json.setResponseFormat(new ResponseFormat(ResponseFormat.ResponseType.JSON_OBJECT, null));
+        assertNotEquals(ModelRequestKey.of(delegate, request), ModelRequestKey.of(delegate, json));
+    }
+
+    @Test
+    public void doesNotCacheFailedResponses() {
+        CountingClient delegate = new CountingClient();
+        delegate.empty = true;
+        CachingModelClient<Void> client = new CachingModelClient<>(delegate, new InMemoryResponseCache());
+
+        client.textToText(request("hello", 0d));
+        client.textToText(request("hello", 0d));
+
+        assertEquals(2, delegate.calls.get());
+    }
+
+    @Test
+    public void inMemoryCacheEvictsLeastRecentlyUsedAndExpired() throws InterruptedException {
+        InMemoryResponseCache cache = new InMemoryResponseCache(2);
+        cache.put("a", bytes("a"), null);
+        cache.put("b", bytes("b"), null);
+        cache.get("a");
+        cache.put("c", bytes("c"), null);
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+
+        cache.put("short", bytes("short"), Duration.ofMillis(20));
+        Thread.sleep(40);
+        assertNull(cache.get("short"));
+    }
+
+    @Test
+    public void fileCacheSurvivesNewInstancesAndExpires() throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("response-cache");
+        try {
+            CountingClient delegate = new CountingClient();
+            new CachingModelClient<>(delegate, new FileResponseCache(directory)).textToText(request("hello", 0d));
+
+            ModelTextResponse cached = new CachingModelClient<>(delegate, new FileResponseCache(directory))
+                    .textToText(request("hello", 0d));
+            assertEquals(1, delegate.calls.get());
+            assertEquals("answer 1", cached.getResponse());
+            assertEquals(15, (int) cached.getUsage().getTotalTokens());
+
+            ResponseCache cache = new FileResponseCache(directory);
+            cache.put("expiring", bytes("value"), Duration.ofMillis(20));
+            assertArrayEquals(bytes("value"), cache.get("expiring"));
+            Thread.sleep(40);
+            assertNull(cache.get("expiring"));
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static ModelTextRequest request(String text, Double temperature) {
+        return ModelTextRequest.builder()
+                .model("test-model")
+                .temperature(temperature)
+                .messages(List.of(ModelContentMessage.create(Role.user, text)))
+                .build();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static class CountingClient extends ModelClient<Void> {
+        private final AtomicInteger calls = new AtomicInteger();
+        private boolean empty;
+
+        @Override
+        public Set<Capability> getCapabilities() {
+            return Set.of(Capability.TEXT_TO_TEXT);
+        }
+
+        @Override
+        public ModelTextResponse textToText(ModelTextRequest prompt) {
+            int call = calls.incrementAndGet();
+            if (empty) {
+                return ModelTextResponse.builder().model(prompt.getModel()).build();
+            }
+
+            return new TraceableModelClient<>(new ModelClient<Void>() {
+                @Override
+                public Set<Capability> getCapabilities() {
+                    return Set.of(Capability.TEXT_TO_TEXT);
+                }
+
+                @Override
+                public ModelTextResponse textToText(ModelTextRequest request) {
+                    return ModelTextResponse.builder()
+                            .model(request.getModel())
+                            .usage(new Usage(10, 5, 15))
+                            .choices(List.of(ResponseMessage.builder()
+                                    .index(0)
+                                    .message(ModelMessage.assistant("answer " + call))
+                                    .build()))
+                            .build();
+                }
+            }).textToText(prompt);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package ai.driftkit.clients.core;
+
+import ai.driftkit.common.domain.ModelTrace;
+import ai.driftkit.common.domain.client.*;
+import ai.driftkit.common.domain.client.ModelTextResponse.ResponseMessage;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.Assert.*;
+
+public class CoalescingModelClientTest {
+
+    private static final int CALLERS = 16;
+
+    @Test
+    public void identicalConcurrentRequestsShareOneCall() throws Exception {
+        CountingClient delegate = new CountingClient();
+        CoalescingModelClient<Void> client = new CoalescingModelClient<>(delegate);
+
+        List<ModelTextResponse> responses = runConcurrently(client, delegate, CALLERS, i -> request("hello"));
+
+        assertEquals(1, delegate.calls.get());
+        assertEquals(CALLERS - 1, client.getCoalesced());
+        for (ModelTextResponse response : responses) {
+            assertEquals("answer 1", response.getResponse());
+        }
+        // Every caller gets its own copy
+        Set<ModelTextResponse> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        instances.addAll(responses);
+        assertEquals(CALLERS, instances.size());
+    }
+
+    @Test
+    public void differentRequestsAreNotCoalesced() throws Exception {
+        CountingClient delegate = new CountingClient();
+        CoalescingModelClient<Void> client = new CoalescingModelClient<>(delegate);
+
+        runConcurrently(client, delegate, 4, i -> request("hello " + i));
+
+        assertEquals(4, delegate.calls.get());
+        assertEquals(0, client.getCoalesced());
+    }
+
+    @Test
+    public void windowSharesCompletedResponse() throws InterruptedException {
+        CountingClient delegate = new CountingClient();
+        delegate.release.countDown();
+        CoalescingModelClient<Void> client = new CoalescingModelClient<>(delegate, Duration.ofMillis(200));
+
+        client.textToText(request("hello"));
+        client.textToText(request("hello"));
+        assertEquals(1, delegate.calls.get());
+
+        Thread.sleep(400);
+        client.textToText(request("hello"));
+        assertEquals(2, delegate.calls.get());
+    }
+
+    @Test
+    public void leaderMutatingItsResponseDoesNotLeakIntoFollowers() throws Exception {
+        CountingClient delegate = new CountingClient();
+        delegate.release.countDown();
+        CoalescingModelClient<Void> client = new CoalescingModelClient<>(delegate, Duration.ofSeconds(10));
+        ModelTextResponse leaderResponse = client.textToText(request("hello"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            AtomicBoolean followersDone = new AtomicBoolean();
+            Future<?> mutator = executor.submit(() -> {
+                // As TraceableModelClient does with the response it returns
+                for (int i = 0; !followersDone.get(); i++) {
+                    leaderResponse.setTrace(ModelTrace.builder().executionTimeMs(i).build());
+                    leaderResponse.getChoices().add(ResponseMessage.builder()
+                            .index(i + 1)
+                            .message(ModelMessage.assistant("mutated " + i))
+                            .build());
+                }
+            });
+
+            List<Future<ModelTextResponse>> followers = new ArrayList<>();
+            for (int i = 0; i < CALLERS - 1; i++) {
+                followers.add(executor.submit(() -> {
+                    ModelTextResponse last = null;
+                    for (int j = 0; j < 100; j++) {
+                        last = client.textToText(request("hello"));
+                    }
+                    return last;
+                }));
+            }
+            for (Future<ModelTextResponse> follower : followers) {
+                ModelTextResponse response = follower.get(10, TimeUnit.SECONDS);
+                assertNotSame(leaderResponse, response);
+                assertNull(response.getTrace());
+                assertEquals(1, response.getChoices().size());
+                assertEquals("answer 1", response.getResponse());
+            }
+            followersDone.set(true);
+            mutator.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, delegate.calls.get());
+        assertTrue(leaderResponse.getChoices().size() > 1);
+    }
+
+    @Test
+    public void failuresAreNotRetainedAndOptOutBypasses() {
+        CountingClient delegate = new CountingClient();
+        delegate.release.countDown();
+        delegate.fail = true;
+        CoalescingModelClient<Void> client = new CoalescingModelClient<>(delegate, Duration.ofSeconds(10));
+
+        assertThrows(IllegalStateException.class, () -> client.textToText(request("hello")));
+        assertThrows(IllegalStateException.class, () -> client.textToText(request("hello")));
+        assertEquals(2, delegate.calls.get());
+
+        delegate.fail = false;
+        ModelTextRequest optOut = request("hello");
+        optOut.setCacheResponse(false);
+        client.textToText(optOut);
+        client.textToText(optOut);
+        assertEquals(4, delegate.calls.get());
+        assertEquals(2, client.getCalls());
+    }
+
+    private static List<ModelTextResponse> runConcurrently(CoalescingModelClient<Void> client, CountingClient delegate,
+                                                           int callers, IntFunction<ModelTextRequest> requests)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            CountDownLatch ready = new CountDownLatch(callers);
+            List<Future<ModelTextResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                ModelTextRequest request = requests.apply(i);
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    return client.textToText(request);
+                }));
+            }
+
+            // Hold the model call until every caller has issued its request
+            ready.await(5, TimeUnit.SECONDS);
+            Thread.sleep(100);
+            delegate.release.countDown();
+
+            List<ModelTextResponse> responses = new ArrayList<>();
+            for (Future<ModelTextResponse> future : futures) {
+                responses.add(future.get(5, TimeUnit.SECONDS));
+            }
+            return responses;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ModelTextRequest request(String text) {
+        return ModelTextRequest.builder()
+                .model("test-model")
+                .messages(List.of(ModelContentMessage.create(Role.user, text)))
+                .build();
+    }
+
+    private static class CountingClient extends ModelClient<Void> {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile boolean fail;
+
+        @Override
+        public Set<Capability> getCapabilities() {
+            return Set.of(Capability.TEXT_TO_TEXT);
+        }
+
+        @Override
+        public ModelTextResponse textToText(ModelTextRequest prompt) {
+            int call = calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (fail) {
+                throw new IllegalStateException("model unavailable");
+            }
+
+            return ModelTextResponse.builder()
+                    .model(prompt.getModel())
+                    .choices(List.of(ResponseMessage.builder()
+                            .index(0)
+                            .message(ModelMessage.assistant("answer " + call))
+                            .build()))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package ai.driftkit.clients.core;
+
+import ai.driftkit.common.domain.client.*;
+import ai.driftkit.common.domain.client.ModelTextResponse.ResponseMessage;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the hedging client against a mock model whose latency is drawn from an injected distribution.
+ * Assertions are on hedge, win and cancel counts rather than on measured latencies.
+ */
+public class HedgingModelClientTest {
+
+    // Latency of a call that only returns once it is cancelled
+    private static final long STUCK = -1;
+
+    private static final int REQUESTS = 300;
+    private static final int CALLERS = 16;
+
+    @Test
+    public void stuckCallsAreHedgedAndCancelledWithinBudget() throws Exception {
+        // Five 100 ms calls set the hedge delay, then calls return at once except every tenth,
+        // which hangs until it is cancelled
+        AtomicInteger calls = new AtomicInteger();
+        LatencyClient primary = new LatencyClient("primary", () -> {
+            int call = calls.incrementAndGet();
+            return call <= 5 ? 100 : call % 10 == 0 ? STUCK : 0;
+        });
+        LatencyClient fallback = new LatencyClient("fallback", () -> 0);
+        HedgingModelClient<Void> client = new HedgingModelClient<>(primary, fallback, HedgingPolicy.builder()
+                .percentile(0.9)
+                .minSamples(5)
+                .maxHedgeRatio(0.2)
+                .build());
+
+        int answeredByFallback = 0;
+        for (int i = 0; i < 100; i++) {
+            if ("fallback".equals(client.textToText(request()).getResponse())) {
+                answeredByFallback++;
+            }
+        }
+
+        assertEquals(10, answeredByFallback);
+        assertEquals(10, client.getHedged());
+        assertEquals(10, client.getHedgeWins());
+        assertTrue(client.getHedged() <= 100 * 0.2);
+        assertTrue(primary.cancelled.tryAcquire(10, 30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void originalBeatenByHedgeIsRecordedAsLowerBound() throws Exception {
+        // A two-sample window read at its minimum: the fast warm-up call is only evicted
+        // when both the hedge and the original it beat are recorded
+        MutableLatency primaryLatency = new MutableLatency(0);
+        LatencyClient primary = new LatencyClient("primary", primaryLatency);
+        LatencyClient fallback = new LatencyClient("fallback", () -> 100);
+        HedgingModelClient<Void> client = new HedgingModelClient<>(primary, fallback, HedgingPolicy.builder()
+                .percentile(0)
+                .minSamples(1)
+                .sampleWindow(2)
+                .maxHedgeRatio(1)
+                .build());
+
+        assertEquals("primary", client.textToText(request()).getResponse());
+        primaryLatency.value = STUCK;
+        assertEquals("fallback", client.textToText(request()).getResponse());
+
+        // Both samples include the fallback's 100 ms
+        assertTrue("hedge delay " + client.getHedgeDelayMillis(), client.getHedgeDelayMillis() >= 100);
+        assertTrue(primary.cancelled.tryAcquire(1, 30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void hedgesNeverExceedBudget() throws Exception {
+        // Half of all calls run past the median, far more than the budget allows to hedge
+        Random random = new Random(7);
+        LatencyClient model = new LatencyClient("primary", () -> 20 + random.nextInt(20));
+        HedgingModelClient<Void> client = new HedgingModelClient<>(model, HedgingPolicy.builder()
+                .percentile(0.5)
+                .maxHedgeRatio(0.05)
+                .build());
+
+        run(client);
+
+        assertEquals(REQUESTS, client.getRequests());
+        assertTrue("hedged " + client.getHedged(), client.getHedged() <= REQUESTS * 0.05);
+        assertTrue(client.getHedged() > 0);
+    }
+
+    @Test
+    public void slowCallIsHedgedToFallback() throws Exception {
+        MutableLatency primaryLatency = new MutableLatency(10);
+        LatencyClient primary = new LatencyClient("primary", primaryLatency);
+        LatencyClient fallback = new LatencyClient("fallback", () -> 10);
+        HedgingModelClient<Void> client = new HedgingModelClient<>(primary, fallback, HedgingPolicy.builder()
+                .minSamples(10)
+                .maxHedgeRatio(0.5)
+                .build());
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("primary", client.textToText(request()).getResponse());
+        }
+        assertTrue(client.getHedgeDelayMillis() >= 0);
+
+        primaryLatency.value = STUCK;
+        assertEquals("fallback", client.textToText(request()).getResponse());
+        assertEquals(1, client.getHedgeWins());
+        assertEquals(1, fallback.calls.get());
+        assertTrue(primary.cancelled.tryAcquire(1, 30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void closedClientRejectsCalls() {
+        HedgingModelClient<Void> client = new HedgingModelClient<>(new LatencyClient("primary", () -> 0));
+        assertEquals("primary", client.textToText(request()).getResponse());
+
+        client.close();
+
+        assertThrows(RejectedExecutionException.class, () -> client.textToText(request()));
+    }
+
+    @Test
+    public void failureIsReportedWhenNoHedgeIsSent() {
+        LatencyClient model = new LatencyClient("primary", () -> 5);
+        model.fail = true;
+        HedgingModelClient<Void> client = new HedgingModelClient<>(model);
+
+        assertThrows(IllegalStateException.class, () -> client.textToText(request()));
+        assertEquals(0, client.getHedged());
+    }
+
+    private static void run(ModelClient<Void> client) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                futures.add(callers.submit(() -> assertNotNull(client.textToText(request()))));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static ModelTextRequest request() {
+        return ModelTextRequest.builder()
+                .model("test-model")
+                .messages(List.of(ModelContentMessage.create(Role.user, "hello")))
+                .build();
+    }
+
+    private static class MutableLatency implements LongSupplier {
+        private volatile long value;
+
+        MutableLatency(long value) {
+            this.value = value;
+        }
+
+        @Override
+        public long getAsLong() {
+            return value;
+        }
+    }
+
+    private static class LatencyClient extends ModelClient<Void> {
+        private final String answer;
+        private final LongSupplier latencyMs;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final Semaphore cancelled = new Semaphore(0);
+        private volatile boolean fail;
+
+        LatencyClient(String answer, LongSupplier latencyMs) {
+            this.answer = answer;
+            this.latencyMs = latencyMs;
+        }
+
+        @Override
+        public Set<Capability> getCapabilities() {
+            return Set.of(Capability.TEXT_TO_TEXT);
+        }
+
+        @Override
+        public ModelTextResponse textToText(ModelTextRequest prompt) {
+            calls.incrementAndGet();
+            long latency;
+            synchronized (latencyMs) {
+                latency = latencyMs.getAsLong();
+            }
+            try {
+                if (latency == STUCK) {
+                    new CountDownLatch(1).await();
+                }
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                cancelled.release();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("cancelled", e);
+            }
+            if (fail) {
+                throw new IllegalStateException("model unavailable");
+            }
+
+            return ModelTextResponse.builder()
+                    .model(prompt.getModel())
+                    .choices(List.of(ResponseMessage.builder()
+                            .index(0)
+                            .message(ModelMessage.assistant(answer))
+                            .build()))
+                    .build();
+        }
+    }
+}
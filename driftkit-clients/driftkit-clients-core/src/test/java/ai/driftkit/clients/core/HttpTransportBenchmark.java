@@ -0,0 +1,132 @@
+package ai.driftkit.clients.core;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Feign;
+import feign.Request;
+import feign.RequestLine;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Latency of the pooled transport against a local stub server, compared with Feign's default client.
+ * Not part of the test suite; run with {@code mvn test -Dtest=HttpTransportBenchmark}.
+ */
+public class HttpTransportBenchmark {
+
+    private static final int THREADS = 16;
+    private static final int REQUESTS_PER_THREAD = 100;
+
+    private HttpServer server;
+    private HttpTransport transport;
+
+    interface StubApi {
+        @RequestLine("GET /ping")
+        String ping();
+    }
+
+    @BeforeClass
+    public static void disableNagle() {
+        // The JDK stub server otherwise delays small responses by the delayed-ACK timeout
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 128);
+        server.createContext("/ping", HttpTransportBenchmark::ping);
+        server.setExecutor(Executors.newFixedThreadPool(THREADS * 2));
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        if (transport != null) {
+            transport.shutdown();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    public void comparesLatencyWithDefaultClient() throws Exception {
+        transport = HttpTransport.builder()
+                .maxConnectionsPerHost(THREADS)
+                .maxIdleConnections(THREADS)
+                .keepAliveSeconds(60)
+                .http2(true)
+                .build();
+
+        // Warm up both clients so that class loading does not skew the comparison
+        run(new Client.Default(null, null), 2, 20);
+        run(transport.feignClient(), 2, 20);
+
+        List<Long> defaultLatencies = run(new Client.Default(null, null), THREADS, REQUESTS_PER_THREAD);
+        List<Long> pooledLatencies = run(transport.feignClient(), THREADS, REQUESTS_PER_THREAD);
+
+        System.out.printf("Default client: p50=%.2fms p99=%.2fms%n",
+                percentile(defaultLatencies, 0.50), percentile(defaultLatencies, 0.99));
+        System.out.printf("Pooled transport: p50=%.2fms p99=%.2fms, %d pooled connections%n",
+                percentile(pooledLatencies, 0.50), percentile(pooledLatencies, 0.99), transport.getConnectionCount());
+    }
+
+    private List<Long> run(Client client, int threads, int requestsPerThread) throws Exception {
+        StubApi api = Feign.builder()
+                .client(client)
+                .options(new Request.Options(5_000, TimeUnit.MILLISECONDS, 5_000, TimeUnit.MILLISECONDS, true))
+                .target(StubApi.class, "http://127.0.0.1:" + server.getAddress().getPort());
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < requestsPerThread; i++) {
+                        long start = System.nanoTime();
+                        assertEquals("pong", api.ping());
+                        latencies.add(System.nanoTime() - start);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return latencies;
+    }
+
+    private static double percentile(List<Long> latencies, double percentile) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1_000_000.0;
+    }
+
+    private static void ping(HttpExchange exchange) throws IOException {
+        try {
+            Thread.sleep(1);
+            byte[] body = "pong".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+}
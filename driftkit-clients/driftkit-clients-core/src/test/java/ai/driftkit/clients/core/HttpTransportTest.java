@@ -0,0 +1,135 @@
+package ai.driftkit.clients.core;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Feign;
+import feign.Request;
+import feign.RequestLine;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Load test of the pooled transport against a local stub server.
+ */
+public class HttpTransportTest {
+
+    private static final int THREADS = 16;
+    private static final int REQUESTS_PER_THREAD = 100;
+
+    private HttpServer server;
+    private HttpTransport transport;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    interface StubApi {
+        @RequestLine("GET /ping")
+        String ping();
+    }
+
+    @BeforeClass
+    public static void disableNagle() {
+        // The JDK stub server otherwise delays small responses by the delayed-ACK timeout
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 128);
+        server.createContext("/ping", this::ping);
+        server.setExecutor(Executors.newFixedThreadPool(THREADS * 2));
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        if (transport != null) {
+            transport.shutdown();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    public void reusesPooledConnectionsUnderLoad() throws Exception {
+        transport = HttpTransport.builder()
+                .maxConnectionsPerHost(THREADS)
+                .maxIdleConnections(THREADS)
+                .keepAliveSeconds(60)
+                .http2(true)
+                .build();
+
+        assertEquals(THREADS * REQUESTS_PER_THREAD, run(transport.feignClient(), THREADS, REQUESTS_PER_THREAD));
+        assertTrue(transport.getConnectionCount() > 0);
+        assertTrue(transport.getConnectionCount() <= THREADS);
+    }
+
+    @Test
+    public void limitsConcurrentRequestsPerHost() throws Exception {
+        transport = HttpTransport.builder()
+                .maxConnectionsPerHost(3)
+                .maxIdleConnections(8)
+                .keepAliveSeconds(60)
+                .http2(false)
+                .build();
+
+        maxInFlight.set(0);
+        run(transport.feignClient(), 12, 10);
+
+        assertTrue("more than 3 requests in flight: " + maxInFlight.get(), maxInFlight.get() <= 3);
+        assertTrue(transport.getConnectionCount() <= 3);
+    }
+
+    private int run(Client client, int threads, int requestsPerThread) throws Exception {
+        StubApi api = Feign.builder()
+                .client(client)
+                .options(new Request.Options(5_000, TimeUnit.MILLISECONDS, 5_000, TimeUnit.MILLISECONDS, true))
+                .target(StubApi.class, "http://127.0.0.1:" + server.getAddress().getPort());
+
+        AtomicInteger completed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < requestsPerThread; i++) {
+                        assertEquals("pong", api.ping());
+                        completed.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return completed.get();
+    }
+
+    private void ping(HttpExchange exchange) throws IOException {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(1);
+            byte[] body = "pong".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package ai.driftkit.clients.core;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Downloads large images from a local stub server.
+ */
+public class ImageDownloaderTest {
+
+    private static final int IMAGE_BYTES = 8 * 1024 * 1024;
+
+    private HttpServer server;
+    private ImageDownloader downloader;
+    private Path directory;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 64);
+        server.createContext("/image.png", exchange -> serve(exchange, true));
+        server.createContext("/chunked.png", exchange -> serve(exchange, false));
+        server.createContext("/missing.png", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newFixedThreadPool(16));
+        server.start();
+
+        directory = Files.createTempDirectory("images");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (downloader != null) {
+            downloader.shutdown();
+        }
+        server.stop(0);
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void downloadsImageIntoMemory() {
+        downloader = downloader(4, 0);
+
+        ImageDownloader.Image image = downloader.download(url("/image.png")).join();
+
+        assertEquals("image/png", image.mimeType());
+        assertEquals(IMAGE_BYTES, image.bytes().length);
+        assertEquals(pattern(IMAGE_BYTES - 1), image.bytes()[IMAGE_BYTES - 1]);
+    }
+
+    @Test
+    public void streamsImageToOutputStreamAndFile() throws IOException {
+        downloader = downloader(4, 0);
+
+        CountingOutputStream out = new CountingOutputStream();
+        assertEquals("image/png", downloader.download(url("/chunked.png"), out).join());
+        assertEquals(IMAGE_BYTES, out.count);
+
+        Path target = directory.resolve("image.png");
+        assertEquals("image/png", downloader.download(url("/image.png"), target).join());
+        assertEquals(IMAGE_BYTES, Files.size(target));
+    }
+
+    @Test
+    public void rejectsImageAboveLimitFromContentLength() {
+        downloader = downloader(4, IMAGE_BYTES / 2);
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> downloader.download(url("/image.png")).join());
+        assertTrue(error.getCause() instanceof IOException);
+    }
+
+    @Test
+    public void abortsChunkedImageAboveLimitWithoutPartialFile() throws IOException {
+        downloader = downloader(4, IMAGE_BYTES / 2);
+
+        Path target = directory.resolve("chunked.png");
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> downloader.download(url("/chunked.png"), target).join());
+        assertTrue(error.getCause() instanceof IOException);
+
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void failsOnErrorStatus() {
+        downloader = downloader(4, 0);
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> downloader.download(url("/missing.png")).join());
+        assertTrue(error.getCause().getMessage().contains("404"));
+    }
+
+    @Test
+    public void limitsConcurrentDownloadsPerHost() {
+        downloader = downloader(2, 0);
+
+        List<CompletableFuture<String>> downloads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            downloads.add(downloader.download(url("/chunked.png"), new CountingOutputStream()));
+        }
+        downloads.forEach(CompletableFuture::join);
+
+        assertTrue("max in flight " + maxInFlight.get(), maxInFlight.get() <= 2);
+        assertEquals(0, downloader.getActiveDownloads());
+    }
+
+    private ImageDownloader downloader(int maxDownloadsPerHost, long maxImageBytes) {
+        return ImageDownloader.builder()
+                .maxConcurrentDownloads(16)
+                .maxDownloadsPerHost(maxDownloadsPerHost)
+                .maxImageBytes(maxImageBytes)
+                .timeoutSeconds(10)
+                .build();
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private void serve(HttpExchange exchange, boolean contentLength) throws IOException {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            exchange.getResponseHeaders().add("Content-Type", "image/png");
+            exchange.sendResponseHeaders(200, contentLength ? IMAGE_BYTES : 0);
+
+            byte[] chunk = new byte[64 * 1024];
+            OutputStream body = exchange.getResponseBody();
+            try {
+                for (int offset = 0; offset < IMAGE_BYTES; offset += chunk.length) {
+                    for (int i = 0; i < chunk.length; i++) {
+                        chunk[i] = pattern(offset + i);
+                    }
+                    body.write(chunk);
+                }
+            } catch (IOException e) {
+                // Client aborted an oversized download
+            }
+        } finally {
+            // Closing the exchange ends the response, so the client can start its next download right after
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private static byte pattern(int position) {
+        return (byte) (position * 31);
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package ai.driftkit.clients.core;
+
+import ai.driftkit.config.EtlConfig.VaultConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Provider lookup time and first-call latency, cold versus after {@link ModelClientFactory#warmUp}, against the
+ * test providers of {@link ModelClientFactoryTest}.
+ * Not part of the test suite; run with {@code mvn test -Dtest=ModelClientFactoryBenchmark}.
+ */
+public class ModelClientFactoryBenchmark {
+
+    private HttpServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 16);
+        server.createContext("/", ModelClientFactoryBenchmark::handle);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void lookupAndFirstCallLatency() throws IOException {
+        // Clients are cached by name, so each lookup is measured on its first call
+        long lightLookup = nanos(() -> ModelClientFactory.fromConfig(config("warmtest", null)));
+        long heavyLookup = nanos(() -> ModelClientFactory.fromConfig(config("heavytest", null)));
+
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        long cold = firstCallNanos(HttpTransport.builder().maxIdleConnections(4).build(), baseUrl);
+
+        HttpTransport transport = HttpTransport.getDefault();
+        ModelClientFactory.warmUp(List.of(config("warmtestmodel", baseUrl)));
+        long warm = firstCallNanos(transport, baseUrl);
+
+        System.out.printf("Model client lookup: %.2f ms skipping the heavy provider, %.2f ms constructing it%n",
+                lightLookup / 1e6, heavyLookup / 1e6);
+        System.out.printf("First call: %.2f ms cold, %.2f ms after warm-up%n", cold / 1e6, warm / 1e6);
+    }
+
+    private static long firstCallNanos(HttpTransport transport, String baseUrl) throws IOException {
+        OkHttpClient client = transport.httpClient();
+        long start = System.nanoTime();
+        try (Response response = client.newCall(new Request.Builder().url(baseUrl + "/ping").build()).execute()) {
+            assertEquals(200, response.code());
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long nanos(Runnable body) {
+        long start = System.nanoTime();
+        body.run();
+        return System.nanoTime() - start;
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(404, -1);
+        } else {
+            byte[] body = "pong".getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+        exchange.close();
+    }
+
+    private static VaultConfig config(String name, String baseUrl) {
+        return VaultConfig.builder()
+                .name(name)
+                .baseUrl(baseUrl)
+                .build();
+    }
+}
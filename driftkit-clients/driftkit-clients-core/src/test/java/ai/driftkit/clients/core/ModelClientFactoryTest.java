@@ -0,0 +1,148 @@
+package ai.driftkit.clients.core;
+
+import ai.driftkit.common.domain.client.ModelClient;
+import ai.driftkit.config.EtlConfig.VaultConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks provider discovery and warm-up against test providers registered in
+ * {@code META-INF/services}. The heavy provider is listed first and is slow to construct.
+ */
+public class ModelClientFactoryTest {
+
+    private HttpServer server;
+    private final AtomicInteger headRequests = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 16);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void onlyRequestedProviderIsInstantiated() {
+        int heavyBefore = HeavyTestModelClient.constructed.get();
+
+        ModelClient<Object> client = ModelClientFactory.fromConfig(config("warmtest"));
+
+        assertTrue(client instanceof WarmTestModelClient);
+        assertEquals(heavyBefore, HeavyTestModelClient.constructed.get());
+        assertSame(client, ModelClientFactory.fromConfig(config("warmtest")));
+    }
+
+    @Test
+    public void warmUpOpensProviderConnection() throws IOException {
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        HttpTransport transport = HttpTransport.getDefault();
+        ModelClientFactory.warmUp(List.of(config("warmtestmodel", baseUrl)));
+        assertEquals(1, headRequests.get());
+        assertTrue(transport.getIdleConnectionCount() >= 1);
+
+        ping(transport, baseUrl);
+    }
+
+    @Test
+    public void unknownClientFails() {
+        assertThrows(IllegalArgumentException.class, () -> ModelClientFactory.fromConfig(config("missing")));
+    }
+
+    private static void ping(HttpTransport transport, String baseUrl) throws IOException {
+        OkHttpClient client = transport.httpClient();
+        try (Response response = client.newCall(new Request.Builder().url(baseUrl + "/ping").build()).execute()) {
+            assertEquals(200, response.code());
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            headRequests.incrementAndGet();
+            exchange.sendResponseHeaders(404, -1);
+        } else {
+            byte[] body = "pong".getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+        exchange.close();
+    }
+
+    private static VaultConfig config(String name) {
+        return config(name, null);
+    }
+
+    private static VaultConfig config(String name, String baseUrl) {
+        return VaultConfig.builder()
+                .name(name)
+                .baseUrl(baseUrl)
+                .build();
+    }
+
+    public static class HeavyTestModelClient extends ModelClient<Object> implements ModelClient.ModelClientInit {
+        static final AtomicInteger constructed = new AtomicInteger();
+
+        public HeavyTestModelClient() {
+            constructed.incrementAndGet();
+            try {
+                // Stands in for a provider that loads SDKs or credentials when constructed
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public ModelClient init(VaultConfig config) {
+            return this;
+        }
+
+        @Override
+        public Set<Capability> getCapabilities() {
+            return Set.of(Capability.TEXT_TO_TEXT);
+        }
+    }
+
+    public static class WarmTestModelClient extends ModelClient<Object> implements ModelClient.ModelClientInit {
+        private VaultConfig config;
+
+        @Override
+        public ModelClient init(VaultConfig config) {
+            this.config = config;
+            return this;
+        }
+
+        @Override
+        public Set<Capability> getCapabilities() {
+            return Set.of(Capability.TEXT_TO_TEXT);
+        }
+
+        @Override
+        public void warmUp() {
+            if (config.getBaseUrl() != null) {
+                HttpTransport.getDefault().preconnect(config.getBaseUrl());
+            }
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package ai.driftkit.clients.core;
+
+import ai.driftkit.common.domain.client.*;
+import ai.driftkit.common.domain.client.ModelTextResponse.ResponseMessage;
+import ai.driftkit.common.domain.streaming.StreamingCallback;
+import ai.driftkit.common.domain.streaming.StreamingResponse;
+import feign.FeignException;
+import feign.Request;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * Drives the limiter against a simulated provider that enforces a request rate and a concurrency cap with 429s.
+ */
+public class RateLimitedModelClientTest {
+
+    private static final int REQUESTS_PER_SECOND = 50;
+    private static final int PROVIDER_CONCURRENCY = 4;
+    private static final long LATENCY_MS = 40;
+
+    @Test
+    public void allCallsAreServedWithoutRateRejections() throws Exception {
+        SimulatedProvider provider = new SimulatedProvider(REQUESTS_PER_SECOND, PROVIDER_CONCURRENCY, LATENCY_MS);
+        RateLimitedModelClient<Void> client = new RateLimitedModelClient<>(provider, RateLimits.builder()
+                .requestsPerMinute(REQUESTS_PER_SECOND * 60)
+                .initialConcurrency(16)
+                .maxRetries(10)
+                .build());
+
+        int total = 200;
+        ExecutorService callers = Executors.newFixedThreadPool(32);
+        List<Future<ModelTextResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            futures.add(callers.submit(() -> client.textToText(request())));
+        }
+        for (Future<ModelTextResponse> future : futures) {
+            assertNotNull(future.get(30, TimeUnit.SECONDS));
+        }
+        callers.shutdownNow();
+
+        AdaptiveRateLimiter limiter = client.getLimiter("test-model");
+        assertEquals(total, provider.served.get());
+        assertEquals(0, provider.rateRejections.get());
+        assertEquals(total + limiter.getThrottled(), limiter.getAdmitted());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void admitsOneSecondOfBurstThenTheRefillRate() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(RateLimits.builder()
+                .requestsPerMinute(REQUESTS_PER_SECOND * 60)
+                .build(), clock::get);
+
+        int total = 200;
+        ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < total; i++) {
+            callers.submit(() -> {
+                limiter.onSuccess(limiter.acquire(0), -1);
+                return null;
+            });
+        }
+
+        try {
+            awaitAdmitted(limiter, total, REQUESTS_PER_SECOND);
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+            awaitAdmitted(limiter, total, REQUESTS_PER_SECOND + 5);
+            // An idle bucket refills to one second of requests, not more
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+            awaitAdmitted(limiter, total, 2 * REQUESTS_PER_SECOND + 5);
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            awaitAdmitted(limiter, total, 3 * REQUESTS_PER_SECOND + 5);
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            awaitAdmitted(limiter, total, total);
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(12_100, limiter.getMaxQueueWaitMillis(), 0);
+    }
+
+    @Test
+    public void throttlingHalvesConcurrencyAndHonoursRetryAfter() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(RateLimits.builder().initialConcurrency(8).build(), clock::get);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+
+        AdaptiveRateLimiter.Permit first = limiter.acquire(0);
+        AdaptiveRateLimiter.Permit second = limiter.acquire(0);
+        limiter.onThrottled(first, Duration.ofMillis(200));
+        limiter.onThrottled(second, Duration.ofMillis(200));
+
+        // Both calls were admitted at the old limit, so the limit is halved once
+        assertEquals(4, limiter.getConcurrencyLimit());
+        assertEquals(2, limiter.getThrottled());
+
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<AdaptiveRateLimiter.Permit> next = caller.submit(() -> limiter.acquire(0));
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(199));
+            awaitAdmitted(limiter, 3, 2);
+            assertFalse(next.isDone());
+
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+            limiter.onSuccess(next.get(10, TimeUnit.SECONDS), -1);
+        } finally {
+            caller.shutdownNow();
+        }
+        assertEquals(3, limiter.getAdmitted());
+    }
+
+    @Test
+    public void streamHoldsPermitFromSubscribeUntilItEnds() {
+        List<StreamingCallback<String>> subscribers = new ArrayList<>();
+        ModelClient<Void> streaming = new ModelClient<>() {
+            @Override
+            public Set<Capability> getCapabilities() {
+                return Set.of(Capability.TEXT_TO_TEXT);
+            }
+
+            @Override
+            public StreamingResponse<String> streamTextToText(ModelTextRequest prompt) {
+                return new StreamingResponse<>() {
+                    @Override
+                    public void subscribe(StreamingCallback<String> callback) {
+                        subscribers.add(callback);
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+
+                    @Override
+                    public boolean isActive() {
+                        return true;
+                    }
+                };
+            }
+        };
+        RateLimitedModelClient<Void> client = new RateLimitedModelClient<>(streaming, RateLimits.builder().build());
+        AdaptiveRateLimiter limiter = client.getLimiter("test-model");
+        List<String> events = new ArrayList<>();
+        StreamingCallback<String> callback = new StreamingCallback<>() {
+            @Override
+            public void onNext(String item) {
+                events.add(item);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                events.add("error");
+            }
+
+            @Override
+            public void onComplete() {
+                events.add("complete");
+            }
+        };
+
+        client.streamTextToText(request()).subscribe(callback);
+        assertEquals(1, limiter.getInFlight());
+        subscribers.get(0).onNext("hello");
+        assertEquals(1, limiter.getInFlight());
+        subscribers.get(0).onComplete();
+        assertEquals(0, limiter.getInFlight());
+
+        client.streamTextToText(request()).subscribe(callback);
+        subscribers.get(1).onError(new IllegalStateException("connection reset"));
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(0, limiter.getThrottled());
+
+        // A stream that is returned but never subscribed holds no permit
+        client.streamTextToText(request());
+        assertEquals(0, limiter.getInFlight());
+
+        StreamingResponse<String> cancelled = client.streamTextToText(request());
+        cancelled.subscribe(callback);
+        assertEquals(1, limiter.getInFlight());
+        cancelled.cancel();
+        assertEquals(0, limiter.getInFlight());
+
+        client.streamTextToText(request()).subscribe(callback);
+        subscribers.get(3).onError(tooManyRequests(Map.of()));
+        // The permit is returned once even if the stream also reports completion
+        subscribers.get(3).onComplete();
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(1, limiter.getThrottled());
+        assertEquals(List.of("hello", "complete", "error", "error", "complete"), events);
+    }
+
+    @Test
+    public void readsRetryAfterFromProviderHeaders() {
+        assertEquals(Duration.ofMillis(250), RateLimitedModelClient.throttledRetryAfter(tooManyRequests(Map.of("retry-after-ms", List.of("250")))));
+        assertEquals(Duration.ofSeconds(2), RateLimitedModelClient.throttledRetryAfter(tooManyRequests(Map.of("Retry-After", List.of("2")))));
+        assertEquals(Duration.ZERO, RateLimitedModelClient.throttledRetryAfter(tooManyRequests(Map.of())));
+        assertNull(RateLimitedModelClient.throttledRetryAfter(new IllegalStateException("boom")));
+    }
+
+    @Test
+    public void nonThrottlingErrorsAreNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+        ModelClient<Void> failing = new ModelClient<>() {
+            @Override
+            public Set<Capability> getCapabilities() {
+                return Set.of(Capability.TEXT_TO_TEXT);
+            }
+
+            @Override
+            public ModelTextResponse textToText(ModelTextRequest prompt) {
+                calls.incrementAndGet();
+                throw new IllegalStateException("bad request");
+            }
+        };
+        RateLimitedModelClient<Void> client = new RateLimitedModelClient<>(failing, RateLimits.builder().build());
+
+        assertThrows(IllegalStateException.class, () -> client.textToText(request()));
+        assertEquals(1, calls.get());
+        assertEquals(0, client.getLimiter("test-model").getInFlight());
+    }
+
+    /**
+     * Waits until every caller has been admitted or is waiting, then checks how many were admitted.
+     * The clock does not move meanwhile, so no further caller can be admitted.
+     */
+    private static void awaitAdmitted(AdaptiveRateLimiter limiter, int callers, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((limiter.getAdmitted() < expected || limiter.getAdmitted() + limiter.getWaiting() < callers)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(expected, limiter.getAdmitted());
+        assertEquals(callers - expected, limiter.getWaiting());
+    }
+
+    private static ModelTextRequest request() {
+        return ModelTextRequest.builder()
+                .model("test-model")
+                .messages(List.of(ModelContentMessage.create(Role.user, "hello")))
+                .build();
+    }
+
+    private static FeignException tooManyRequests(Map<String, Collection<String>> headers) {
+        Request request = Request.create(Request.HttpMethod.POST, "http://provider/v1/chat", Map.of(),
+                new byte[0], StandardCharsets.UTF_8, null);
+        return new FeignException.TooManyRequests("rate limited", request, new byte[0], headers);
+    }
+
+    /**
+     * Provider with a token-bucket request rate (one second of burst) and a concurrency cap.
+     */
+    private static class SimulatedProvider extends ModelClient<Void> {
+        private final int requestsPerSecond;
+        private final int maxConcurrency;
+        private final long latencyMs;
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger served = new AtomicInteger();
+        private final AtomicInteger rateRejections = new AtomicInteger();
+        private final AtomicInteger concurrencyRejections = new AtomicInteger();
+
+        private double available;
+        private long lastRefill = System.nanoTime();
+
+        SimulatedProvider(int requestsPerSecond, int maxConcurrency, long latencyMs) {
+            this.requestsPerSecond = requestsPerSecond;
+            this.maxConcurrency = maxConcurrency;
+            this.latencyMs = latencyMs;
+            this.available = requestsPerSecond;
+        }
+
+        @Override
+        public Set<Capability> getCapabilities() {
+            return Set.of(Capability.TEXT_TO_TEXT);
+        }
+
+        @Override
+        public ModelTextResponse textToText(ModelTextRequest prompt) {
+            if (inFlight.incrementAndGet() > maxConcurrency) {
+                inFlight.decrementAndGet();
+                concurrencyRejections.incrementAndGet();
+                throw tooManyRequests(Map.of("retry-after-ms", List.of("50")));
+            }
+            try {
+                if (!takeRequest()) {
+                    rateRejections.incrementAndGet();
+                    throw tooManyRequests(Map.of("retry-after", List.of("1")));
+                }
+                Thread.sleep(latencyMs);
+                served.incrementAndGet();
+                return ModelTextResponse.builder()
+                        .model(prompt.getModel())
+                        .choices(List.of(ResponseMessage.builder()
+                                .index(0)
+                                .message(ModelMessage.assistant("ok"))
+                                .build()))
+                        .build();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        private synchronized boolean takeRequest() {
+            long now = System.nanoTime();
+            available = Math.min(requestsPerSecond, available + (now - lastRefill) * requestsPerSecond / 1e9);
+            lastRefill = now;
+            if (available < 1) {
+                return false;
+            }
+            available -= 1;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package ai.driftkit.clients.core;
+
+import ai.driftkit.config.EtlConfig.LoggingPolicy;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.Headers;
+import feign.Logger;
+import feign.RequestLine;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.LegacyAbstractLogger;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+public class SampledFeignLoggerTest {
+
+    private static final String RESPONSE = "{\"data\":\"" + "x".repeat(1000) + "\"}";
+
+    private HttpServer server;
+
+    interface StubApi {
+        @RequestLine("POST /echo")
+        @Headers({"Authorization: Bearer secret-key", "Content-Type: application/json"})
+        String echo(String body);
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/echo", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void truncatesBodiesAndRedactsAuthHeaders() {
+        RecordingLogger output = new RecordingLogger(true);
+        LoggingPolicy policy = LoggingPolicy.builder()
+                .level(LoggingPolicy.Level.FULL)
+                .maxBodyBytes(32)
+                .build();
+
+        String response = client(new SampledFeignLogger(output, policy)).echo("{\"prompt\":\"" + "y".repeat(500) + "\"}");
+
+        assertEquals(RESPONSE, response);
+        String log = String.join("\n", output.messages);
+        assertFalse(log.contains("secret-key"));
+        assertTrue(log.contains("Authorization: <redacted>"));
+        assertTrue(log.contains("Content-Type: application/json"));
+        assertTrue(log.contains("more bytes)"));
+        assertFalse(log.contains("x".repeat(100)));
+        assertFalse(log.contains("y".repeat(100)));
+    }
+
+    @Test
+    public void samplesRequests() {
+        RecordingLogger output = new RecordingLogger(true);
+        LoggingPolicy policy = LoggingPolicy.builder()
+                .level(LoggingPolicy.Level.BASIC)
+                .sampleRate(0.25)
+                .build();
+
+        StubApi api = client(new SampledFeignLogger(output, policy));
+        for (int i = 0; i < 200; i++) {
+            api.echo("{}");
+        }
+
+        long logged = output.messages.stream().filter(m -> m.contains("---> POST")).count();
+        long responses = output.messages.stream().filter(m -> m.contains("<--- HTTP/1.1 200")).count();
+        assertTrue("logged " + logged + " of 200", logged > 10 && logged < 110);
+        assertEquals(logged, responses);
+    }
+
+    @Test
+    public void disablesFeignLoggingWhenDebugIsOff() {
+        LoggingPolicy full = LoggingPolicy.builder().level(LoggingPolicy.Level.FULL).build();
+
+        assertEquals(Logger.Level.NONE, new SampledFeignLogger(new RecordingLogger(false), full).level());
+        assertEquals(Logger.Level.FULL, new SampledFeignLogger(new RecordingLogger(true), full).level());
+        assertEquals(Logger.Level.NONE, new SampledFeignLogger(new RecordingLogger(true),
+                LoggingPolicy.builder().level(LoggingPolicy.Level.FULL).sampleRate(0).build()).level());
+        assertEquals(Logger.Level.BASIC, new SampledFeignLogger(new RecordingLogger(true), null).level());
+    }
+
+    @Test
+    public void noArgsConstructorKeepsDefaults() {
+        LoggingPolicy policy = new LoggingPolicy();
+
+        assertEquals(LoggingPolicy.Level.BASIC, policy.getLevel());
+        assertEquals(1.0, policy.getSampleRate(), 0);
+        assertEquals(LoggingPolicy.DEFAULT_REDACTED_HEADERS, policy.getRedactedHeaders());
+    }
+
+    private StubApi client(SampledFeignLogger logger) {
+        return Feign.builder()
+                .client(HttpTransport.getDefault().feignClient())
+                .logger(logger)
+                .logLevel(logger.level())
+                .target(StubApi.class, "http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    private static class RecordingLogger extends LegacyAbstractLogger {
+        private final boolean debugEnabled;
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+
+        RecordingLogger(boolean debugEnabled) {
+            this.debugEnabled = debugEnabled;
+        }
+
+        @Override
+        public boolean isDebugEnabled() {
+            return debugEnabled;
+        }
+
+        @Override
+        public boolean isTraceEnabled() {
+            return false;
+        }
+
+        @Override
+        public boolean isInfoEnabled() {
+            return false;
+        }
+
+        @Override
+        public boolean isWarnEnabled() {
+            return false;
+        }
+
+        @Override
+        public boolean isErrorEnabled() {
+            return false;
+        }
+
+        @Override
+        protected String getFullyQualifiedCallerName() {
+            return null;
+        }
+
+        @Override
+        protected void handleNormalizedLoggingCall(Level level, Marker marker, String messagePattern,
+                                                   Object[] arguments, Throwable throwable) {
+            messages.add(MessageFormatter.basicArrayFormat(messagePattern, arguments));
+        }
+    }
+}
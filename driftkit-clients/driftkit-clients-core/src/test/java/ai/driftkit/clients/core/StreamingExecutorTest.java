@@ -0,0 +1,155 @@
+package ai.driftkit.clients.core;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.*;
+
+public class StreamingExecutorTest {
+
+    private static final int EVENTS_PER_STREAM = 5;
+    private static final long EVENT_DELAY_MS = 40;
+
+    private HttpServer server;
+    private HttpClient httpClient;
+    private StreamingExecutor executor;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/stream", this::slowStream);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @After
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    public void capsConcurrentStreamsAndReportsQueueWait() throws Exception {
+        int maxStreams = 4;
+        executor = StreamingExecutor.builder().maxConcurrentStreams(maxStreams).virtualThreads(true).build();
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger receivedEvents = new AtomicInteger();
+        List<Boolean> virtualThreads = new CopyOnWriteArrayList<>();
+
+        List<CompletableFuture<Void>> streams = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            streams.add(executor.submit(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                virtualThreads.add(Thread.currentThread().isVirtual());
+                try {
+                    receivedEvents.addAndGet(readStream());
+                } finally {
+                    running.decrementAndGet();
+                }
+            }));
+        }
+
+        assertTrue(awaitCondition(() -> executor.getActiveStreams() == maxStreams));
+        assertEquals(16 - maxStreams, executor.getWaitingStreams());
+
+        CompletableFuture.allOf(streams.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        assertEquals(16 * EVENTS_PER_STREAM, receivedEvents.get());
+        assertTrue("more than " + maxStreams + " streams ran at once: " + maxRunning.get(), maxRunning.get() <= maxStreams);
+        assertTrue(virtualThreads.stream().allMatch(Boolean::booleanValue));
+
+        assertEquals(0, executor.getActiveStreams());
+        assertEquals(0, executor.getWaitingStreams());
+        assertEquals(16, executor.getCompletedStreams());
+        // Later waves wait for at least one full stream before they start
+        assertTrue(executor.getMaxQueueWaitMillis() >= EVENTS_PER_STREAM * EVENT_DELAY_MS);
+        assertTrue(executor.getAverageQueueWaitMillis() > 0);
+    }
+
+    @Test
+    public void cancelInterruptsBlockedStream() throws Exception {
+        executor = StreamingExecutor.builder().maxConcurrentStreams(1).virtualThreads(true).build();
+
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Void> stream = executor.submit(() -> {
+            started.countDown();
+            readStream();
+        });
+        CompletableFuture<Void> queued = executor.submit(this::readStream);
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        stream.cancel(true);
+        queued.cancel(true);
+
+        assertTrue(stream.isCancelled());
+        // The interrupted stream ends long before the server would finish sending
+        assertTrue(awaitCondition(() -> executor.getActiveStreams() == 0 && executor.getWaitingStreams() == 0));
+        assertEquals(1, executor.getStartedStreams());
+    }
+
+    private static boolean awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    private int readStream() {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/stream"))
+                .build();
+        try {
+            return (int) httpClient.send(request, HttpResponse.BodyHandlers.ofLines()).body()
+                    .filter(line -> line.startsWith("data:"))
+                    .count();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private void slowStream(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int i = 0; i < EVENTS_PER_STREAM; i++) {
+                Thread.sleep(EVENT_DELAY_MS);
+                out.write(("data: {\"index\":" + i + "}\n\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ignored) {
+            // Client went away
+        }
+    }
+}
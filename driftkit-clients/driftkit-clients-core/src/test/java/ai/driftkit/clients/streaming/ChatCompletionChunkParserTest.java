@@ -0,0 +1,139 @@
+package ai.driftkit.clients.streaming;
+
+import ai.driftkit.clients.streaming.ChatCompletionChunkParser.ToolCallDelta;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ChatCompletionChunkParserTest {
+
+    private final ChatCompletionChunkParser parser = new ChatCompletionChunkParser();
+
+    @Test
+    public void extractsContentAndSkipsUnknownFields() throws IOException {
+        String chunk = "{\"id\":\"chatcmpl-1\",\"object\":\"chat.completion.chunk\",\"created\":1,"
+                + "\"model\":\"gpt-4o\",\"system_fingerprint\":\"fp\",\"extra\":{\"nested\":[1,{\"a\":null}]},"
+                + "\"choices\":[{\"index\":0,\"delta\":{\"role\":\"assistant\",\"content\":\"Hel\\u006co\"},"
+                + "\"logprobs\":null,\"finish_reason\":null}]}";
+
+        assertTrue(parse(chunk));
+        assertEquals("Hello", parser.getContent());
+        assertNull(parser.getFinishReason());
+        assertTrue(parser.getToolCalls().isEmpty());
+        assertNull(parser.getUsage());
+    }
+
+    @Test
+    public void keepsOnlyTheFirstChoice() throws IOException {
+        assertTrue(parse("{\"choices\":[{\"delta\":{\"content\":\"a\"}},{\"delta\":{\"content\":\"b\"}}]}"));
+        assertEquals("a", parser.getContent());
+    }
+
+    @Test
+    public void extractsToolCallDeltas() throws IOException {
+        String first = "{\"choices\":[{\"index\":0,\"delta\":{\"tool_calls\":[{\"index\":0,\"id\":\"call_1\","
+                + "\"type\":\"function\",\"function\":{\"name\":\"get_weather\",\"arguments\":\"\"}}]}}]}";
+        String next = "{\"choices\":[{\"index\":0,\"delta\":{\"tool_calls\":[{\"index\":0,"
+                + "\"function\":{\"arguments\":\"{\\\"city\\\":\"}}]}}]}";
+
+        assertTrue(parse(first));
+        assertEquals(List.of(new ToolCallDelta(0, "call_1", "get_weather", "")), parser.getToolCalls());
+        assertNull(parser.getContent());
+
+        assertTrue(parse(next));
+        assertEquals(List.of(new ToolCallDelta(0, null, null, "{\"city\":")), parser.getToolCalls());
+    }
+
+    @Test
+    public void extractsFinishReasonUsageAndReasoning() throws IOException {
+        assertTrue(parse("{\"choices\":[{\"delta\":{\"reasoning_content\":\"think\",\"content\":null},"
+                + "\"finish_reason\":\"stop\"}],\"usage\":{\"prompt_tokens\":12,\"completion_tokens\":5,"
+                + "\"total_tokens\":17,\"prompt_tokens_details\":{\"cached_tokens\":0}}}"));
+
+        assertEquals("think", parser.getReasoningContent());
+        assertNull(parser.getContent());
+        assertEquals("stop", parser.getFinishReason());
+        assertEquals(Integer.valueOf(12), parser.getUsage().getPromptTokens());
+        assertEquals(Integer.valueOf(5), parser.getUsage().getCompletionTokens());
+        assertEquals(Integer.valueOf(17), parser.getUsage().getTotalTokens());
+
+        // Usage is null in intermediate chunks when stream_options.include_usage is set
+        assertTrue(parse("{\"choices\":[{\"delta\":{\"content\":\"x\"}}],\"usage\":null}"));
+        assertNull(parser.getUsage());
+        assertNull(parser.getReasoningContent());
+    }
+
+    @Test
+    public void extractsErrorMessage() throws IOException {
+        assertTrue(parse("{\"error\":{\"message\":\"Rate limit reached\",\"type\":\"requests\",\"code\":null}}"));
+        assertEquals("Rate limit reached", parser.getErrorMessage());
+    }
+
+    @Test
+    public void rejectsNonObjectPayloads() throws IOException {
+        assertFalse(parse("[1,2]"));
+        assertFalse(parser.parse("\"text\""));
+    }
+
+    @Test
+    public void splitsLinesAcrossBuffers() {
+        String body = "data: {\"choices\":[{\"delta\":{\"content\":\"Hi\"}}]}\r\n\r\n"
+                + ": keep-alive\n"
+                + "data:{\"choices\":[{\"delta\":{\"content\":\" there\"}}]}\n\n"
+                + "data: [DONE]";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        List<String> tokens = new ArrayList<>();
+        List<String> events = new ArrayList<>();
+        SseLineSubscriber subscriber = new SseLineSubscriber() {
+            @Override
+            protected void onLine(byte[] line, int length) {
+                int offset = dataOffset(line, length);
+                if (offset < 0) {
+                    return;
+                }
+                if (contentEquals(line, offset, length - offset, "[DONE]")) {
+                    events.add("done");
+                    return;
+                }
+                try {
+                    parser.parse(line, offset, length - offset);
+                } catch (IOException e) {
+                    throw new AssertionError(e);
+                }
+                tokens.add(parser.getContent());
+            }
+
+            @Override
+            protected void onEndOfStream() {
+                events.add("end");
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throw new AssertionError(throwable);
+            }
+        };
+
+        // Deliver the body in 7-byte pieces so that lines and multi-byte sequences straddle buffers
+        for (int i = 0; i < bytes.length; i += 7) {
+            subscriber.onNext(List.of(ByteBuffer.wrap(bytes, i, Math.min(7, bytes.length - i))));
+        }
+        subscriber.onComplete();
+
+        assertEquals(List.of("Hi", " there"), tokens);
+        assertEquals(List.of("done", "end"), events);
+    }
+
+    private boolean parse(String chunk) throws IOException {
+        byte[] bytes = ("data: " + chunk).getBytes(StandardCharsets.UTF_8);
+        int offset = SseLineSubscriber.dataOffset(bytes, bytes.length);
+        return parser.parse(bytes, offset, bytes.length - offset);
+    }
+}
@@ -1,10 +1,16 @@
 package ai.driftkit.clients.deepseek.client;
 
+import ai.driftkit.clients.core.HttpTransport;
+import ai.driftkit.clients.core.SampledFeignLogger;
+import ai.driftkit.common.utils.ObjectMappers;
+import ai.driftkit.config.EtlConfig.LoggingPolicy;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import feign.Feign;
 import feign.Request;
 import feign.jackson.JacksonDecoder;
 import feign.jackson.JacksonEncoder;
-import feign.slf4j.Slf4jLogger;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -20,6 +26,13 @@ public class DeepSeekClientFactory {
     public static DeepSeekApiClient createClient(String apiKey, String host,
                                                   Integer connectTimeoutSeconds,
                                                   Integer readTimeoutSeconds) {
+        return createClient(apiKey, host, connectTimeoutSeconds, readTimeoutSeconds, null);
+    }
+
+    public static DeepSeekApiClient createClient(String apiKey, String host,
+                                                  Integer connectTimeoutSeconds,
+                                                  Integer readTimeoutSeconds,
+                                                  LoggingPolicy logging) {
         int connectTimeout = (connectTimeoutSeconds != null && connectTimeoutSeconds > 0)
                 ? connectTimeoutSeconds : DEFAULT_CONNECT_TIMEOUT_SECONDS;
         int readTimeout = (readTimeoutSeconds != null && readTimeoutSeconds > 0)
@@ -27,12 +40,19 @@ public class DeepSeekClientFactory {
 
         log.debug("Creating DeepSeek client with connectTimeout={}s, readTimeout={}s", connectTimeout, readTimeout);
 
+        ObjectMapper objectMapper = ObjectMappers.create()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        SampledFeignLogger logger = new SampledFeignLogger(DeepSeekApiClient.class, logging);
+
         return Feign.builder()
-                .encoder(new JacksonEncoder())
-                .decoder(new JacksonDecoder())
+                .client(HttpTransport.getDefault().feignClient())
+                .encoder(new JacksonEncoder(objectMapper))
+                .decoder(new JacksonDecoder(objectMapper))
                 .requestInterceptor(template -> template.header("Authorization", "Bearer " + apiKey))
-                .logger(new Slf4jLogger(DeepSeekApiClient.class))
-                .logLevel(feign.Logger.Level.FULL)
+                .logger(logger)
+                .logLevel(logger.level())
                 .options(new Request.Options(connectTimeout * 1000, readTimeout * 1000))
                 .target(DeepSeekApiClient.class, host);
     }
@@ -1,5 +1,9 @@
 package ai.driftkit.clients.deepseek.client;
 
+import ai.driftkit.clients.core.HttpTransport;
+import ai.driftkit.clients.core.StreamingExecutor;
+import ai.driftkit.clients.streaming.ChatCompletionChunkParser;
+import ai.driftkit.clients.streaming.SseLineSubscriber;
 import ai.driftkit.clients.deepseek.domain.DeepSeekChatCompletionRequest;
 import ai.driftkit.clients.deepseek.domain.DeepSeekChatCompletionResponse;
 import ai.driftkit.clients.deepseek.domain.DeepSeekChatCompletionResponse.DeepSeekUsage;
@@ -27,10 +31,10 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Flow;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
@@ -67,7 +71,8 @@ public class DeepSeekModelClient extends ModelClient implements ModelClient.Mode
                 config.getApiKey(),
                 baseUrl,
                 config.getConnectTimeout(),
-                config.getReadTimeout()
+                config.getReadTimeout(),
+                config.getLogging()
         );
         this.setTemperature(config.getTemperature());
         this.setModel(config.getModel());
@@ -98,6 +103,13 @@ public class DeepSeekModelClient extends ModelClient implements ModelClient.Mode
         return true;
     }
 
+    @Override
+    public void warmUp() {
+        if (config != null) {
+            HttpTransport.getDefault().preconnect(Optional.ofNullable(config.getBaseUrl()).orElse(DEFAULT_BASE_URL));
+        }
+    }
+
     @Override
     public ModelTextResponse textToText(ModelTextRequest prompt) {
         super.textToText(prompt);
@@ -127,7 +139,7 @@ public class DeepSeekModelClient extends ModelClient implements ModelClient.Mode
                     callback.onError(new IllegalStateException("Stream already subscribed"));
                     return;
                 }
-                streamFuture = CompletableFuture.runAsync(() -> {
+                streamFuture = StreamingExecutor.getDefault().submit(() -> {
                     try {
                         processStreamingPrompt(prompt, callback, cancelled);
                     } catch (Exception e) {
@@ -487,7 +499,7 @@ public class DeepSeekModelClient extends ModelClient implements ModelClient.Mode
                 .build();
 
         SSESubscriber sseSubscriber = new SSESubscriber(callback, cancelled);
-        HttpResponse<Void> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.fromLineSubscriber(sseSubscriber));
+        HttpResponse<Void> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.fromSubscriber(sseSubscriber));
 
         if (response.statusCode() >= 400) {
             // Re-send to get the error body
@@ -507,10 +519,10 @@ public class DeepSeekModelClient extends ModelClient implements ModelClient.Mode
      * SSE Subscriber for DeepSeek streaming (OpenAI-compatible format).
      * Handles both reasoning_content and content deltas.
      */
-    private static class SSESubscriber implements Flow.Subscriber<String> {
+    private static class SSESubscriber extends SseLineSubscriber {
         private final StreamingCallback<String> callback;
         private final AtomicBoolean cancelled;
-        private Flow.Subscription subscription;
+        private final ChatCompletionChunkParser parser = new ChatCompletionChunkParser();
         private boolean completed = false;
 
         SSESubscriber(StreamingCallback<String> callback, AtomicBoolean cancelled) {
@@ -519,45 +531,32 @@ public class DeepSeekModelClient extends ModelClient implements ModelClient.Mode
         }
 
         @Override
-        public void onSubscribe(Flow.Subscription subscription) {
-            this.subscription = subscription;
-            subscription.request(Long.MAX_VALUE);
-        }
-
-        @Override
-        public void onNext(String line) {
+        protected void onLine(byte[] line, int length) {
             if (cancelled.get() || completed) {
-                if (cancelled.get() && !completed) subscription.cancel();
+                if (cancelled.get() && !completed) cancel();
                 return;
             }
             try {
-                if (line.startsWith("data: ")) {
-                    String data = line.substring(6).trim();
-                    if ("[DONE]".equals(data)) {
+                int offset = dataOffset(line, length);
+                if (offset >= 0) {
+                    if (contentEquals(line, offset, length - offset, "[DONE]")) {
                         completed = true;
                         callback.onComplete();
                         return;
                     }
 
-                    JsonNode chunk = JsonUtils.fromJson(data, JsonNode.class);
-                    if (chunk != null && chunk.has("choices") && !chunk.get("choices").isEmpty()) {
-                        JsonNode delta = chunk.get("choices").get(0).path("delta");
-
-                        // Emit reasoning_content first if present
-                        String reasoning = delta.path("reasoning_content").asText(null);
-                        if (reasoning != null) {
-                            // Optionally could emit via separate callback, for now skip reasoning in stream
-                        }
+                    if (parser.parse(line, offset, length - offset)) {
+                        // reasoning_content is available via parser.getReasoningContent(), for now skip reasoning in stream
 
                         // Emit content
-                        String content = delta.path("content").asText(null);
+                        String content = parser.getContent();
                         if (content != null) {
                             callback.onNext(content);
                         }
                     }
                 }
             } catch (Exception e) {
-                log.error("Error processing DeepSeek SSE line: {}", line, e);
+                log.error("Error processing DeepSeek SSE line: {}", new String(line, 0, length, StandardCharsets.UTF_8), e);
             }
         }
 
@@ -570,7 +569,7 @@ public class DeepSeekModelClient extends ModelClient implements ModelClient.Mode
         }
 
         @Override
-        public void onComplete() {
+        protected void onEndOfStream() {
             if (!cancelled.get() && !completed) {
                 completed = true;
                 callback.onComplete();
@@ -1,5 +1,9 @@
 package ai.driftkit.clients.gemini.client;
 
+import ai.driftkit.clients.core.HttpTransport;
+import ai.driftkit.clients.core.SampledFeignLogger;
+import ai.driftkit.common.utils.ObjectMappers;
+import ai.driftkit.config.EtlConfig.LoggingPolicy;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
@@ -8,7 +12,6 @@ import feign.Request;
 import feign.RequestInterceptor;
 import feign.jackson.JacksonDecoder;
 import feign.jackson.JacksonEncoder;
-import feign.slf4j.Slf4jLogger;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -38,9 +41,21 @@ public class GeminiClientFactory {
     public static GeminiApiClient createClient(String apiKey, String baseUrl,
                                                 Integer connectTimeoutSeconds,
                                                 Integer readTimeoutSeconds) {
+        return createClient(apiKey, baseUrl, connectTimeoutSeconds, readTimeoutSeconds, null);
+    }
+
+    /**
+     * Creates a Gemini API client with configurable timeouts and request logging.
+     *
+     * @param logging Request logging policy (default: {@link LoggingPolicy#defaults()})
+     */
+    public static GeminiApiClient createClient(String apiKey, String baseUrl,
+                                                Integer connectTimeoutSeconds,
+                                                Integer readTimeoutSeconds,
+                                                LoggingPolicy logging) {
         RequestInterceptor apiKeyInterceptor = requestTemplate ->
                 requestTemplate.header("x-goog-api-key", apiKey);
-        return createClient(apiKeyInterceptor, baseUrl, connectTimeoutSeconds, readTimeoutSeconds);
+        return createClient(apiKeyInterceptor, baseUrl, connectTimeoutSeconds, readTimeoutSeconds, logging);
     }
 
     /**
@@ -49,6 +64,16 @@ public class GeminiClientFactory {
     public static GeminiApiClient createClient(RequestInterceptor authInterceptor, String baseUrl,
                                                 Integer connectTimeoutSeconds,
                                                 Integer readTimeoutSeconds) {
+        return createClient(authInterceptor, baseUrl, connectTimeoutSeconds, readTimeoutSeconds, null);
+    }
+
+    /**
+     * Creates a Gemini API client with a custom auth interceptor and request logging.
+     */
+    public static GeminiApiClient createClient(RequestInterceptor authInterceptor, String baseUrl,
+                                                Integer connectTimeoutSeconds,
+                                                Integer readTimeoutSeconds,
+                                                LoggingPolicy logging) {
         int connectTimeout = (connectTimeoutSeconds != null && connectTimeoutSeconds > 0)
                 ? connectTimeoutSeconds : DEFAULT_CONNECT_TIMEOUT_SECONDS;
         int readTimeout = (readTimeoutSeconds != null && readTimeoutSeconds > 0)
@@ -56,15 +81,18 @@ public class GeminiClientFactory {
 
         log.debug("Creating Gemini client with connectTimeout={}s, readTimeout={}s", connectTimeout, readTimeout);
 
-        ObjectMapper objectMapper = new ObjectMapper()
+        ObjectMapper objectMapper = ObjectMappers.create()
                 .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
                 .setPropertyNamingStrategy(PropertyNamingStrategies.LOWER_CAMEL_CASE);
 
+        SampledFeignLogger logger = new SampledFeignLogger(GeminiApiClient.class, logging);
+
         return Feign.builder()
+                .client(HttpTransport.getDefault().feignClient())
                 .encoder(new JacksonEncoder(objectMapper))
                 .decoder(new JacksonDecoder(objectMapper))
-                .logger(new Slf4jLogger(GeminiApiClient.class))
-                .logLevel(feign.Logger.Level.BASIC)
+                .logger(logger)
+                .logLevel(logger.level())
                 .requestInterceptor(authInterceptor)
                 .options(new Request.Options(connectTimeout * 1000, readTimeout * 1000))
                 .target(GeminiApiClient.class, baseUrl != null ? baseUrl : DEFAULT_BASE_URL);
@@ -1,5 +1,7 @@
 package ai.driftkit.clients.gemini.client;
 
+import ai.driftkit.clients.core.HttpTransport;
+import ai.driftkit.clients.core.StreamingExecutor;
 import ai.driftkit.clients.gemini.domain.*;
 import ai.driftkit.clients.gemini.domain.GeminiContent.Part;
 import ai.driftkit.clients.gemini.domain.GeminiGenerationConfig.ThinkingConfig;
@@ -19,10 +21,11 @@ import ai.driftkit.common.domain.client.Role;
 import ai.driftkit.common.tools.ToolCall;
 import ai.driftkit.common.utils.JsonUtils;
 import ai.driftkit.common.utils.ModelUtils;
+import ai.driftkit.common.utils.ObjectMappers;
 import ai.driftkit.config.EtlConfig.VaultConfig;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.google.auth.oauth2.GoogleCredentials;
 import feign.RequestInterceptor;
 import lombok.extern.slf4j.Slf4j;
@@ -55,13 +58,13 @@ public class GeminiModelClient extends ModelClient implements ModelClientInit {
     private static final String VERTEX_LOCATION_GLOBAL = "global";
 
     /**
-     * Lenient mapper for SSE stream chunks. Gemini adds fields over time (e.g.
+     * Lenient reader for SSE stream chunks. Gemini adds fields over time (e.g.
      * {@code thoughtSignature} on think-model parts) that the domain classes don't model;
      * the Feign/unary decoder ignores unknown fields, so streaming must too — otherwise a
      * chunk silently drops and its text is lost from the accumulated response.
      */
-    private static final ObjectMapper STREAM_CHUNK_MAPPER =
-            new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final ObjectReader STREAM_CHUNK_READER = ObjectMappers.reader(GeminiChatResponse.class)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
 
     private GeminiApiClient client;
     private VaultConfig config;
@@ -76,7 +79,7 @@ public class GeminiModelClient extends ModelClient implements ModelClientInit {
             .build();
 
     private static GeminiChatResponse parseStreamChunk(String data) throws IOException {
-        return STREAM_CHUNK_MAPPER.readValue(data, GeminiChatResponse.class);
+        return STREAM_CHUNK_READER.readValue(data);
     }
     
     @Override
@@ -96,7 +99,7 @@ public class GeminiModelClient extends ModelClient implements ModelClientInit {
 
                 this.client = GeminiClientFactory.createClient(
                         createBearerInterceptor(), resolveBaseUrl(),
-                        config.getConnectTimeout(), config.getReadTimeout());
+                        config.getConnectTimeout(), config.getReadTimeout(), config.getLogging());
                 log.info("Gemini client initialized in Vertex AI mode: project={}, location={}",
                         vertexProject, vertexLocation);
             } catch (IOException e) {
@@ -110,7 +113,8 @@ public class GeminiModelClient extends ModelClient implements ModelClientInit {
                     config.getApiKey(),
                     Optional.ofNullable(config.getBaseUrl()).orElse(null),
                     config.getConnectTimeout(),
-                    config.getReadTimeout()
+                    config.getReadTimeout(),
+                    config.getLogging()
             );
             log.info("Gemini client initialized in API key mode");
         }
@@ -192,6 +196,13 @@ public class GeminiModelClient extends ModelClient implements ModelClientInit {
     public boolean supportsToolMessages() {
         return true;
     }
+
+    @Override
+    public void warmUp() {
+        if (config != null) {
+            HttpTransport.getDefault().preconnect(resolveBaseUrl());
+        }
+    }
     
     @Override
     public ModelTextResponse textToText(ModelTextRequest prompt) {
@@ -864,7 +875,7 @@ public class GeminiModelClient extends ModelClient implements ModelClientInit {
                     return;
                 }
                 
-                streamFuture = CompletableFuture.runAsync(() -> {
+                streamFuture = StreamingExecutor.getDefault().submit(() -> {
                     try {
                         sseSubscriber = processStreamingPrompt(prompt, callback, cancelled);
                     } catch (Exception e) {
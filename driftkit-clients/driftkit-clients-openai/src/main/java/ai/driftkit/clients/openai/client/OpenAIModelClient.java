@@ -1,5 +1,10 @@
 package ai.driftkit.clients.openai.client;
 
+import ai.driftkit.clients.core.HttpTransport;
+import ai.driftkit.clients.core.ImageDownloader;
+import ai.driftkit.clients.core.StreamingExecutor;
+import ai.driftkit.clients.streaming.ChatCompletionChunkParser;
+import ai.driftkit.clients.streaming.SseLineSubscriber;
 import ai.driftkit.common.domain.client.*;
 import ai.driftkit.common.domain.client.ModelClient.ModelClientInit;
 import ai.driftkit.common.domain.client.ModelTextRequest.ReasoningEffort;
@@ -22,7 +27,6 @@ import ai.driftkit.clients.openai.domain.ChatCompletionRequest.Message.ImageCont
 import ai.driftkit.clients.openai.domain.ChatCompletionRequest.Message.TextContentElement;
 import ai.driftkit.clients.openai.domain.ChatCompletionRequest.StringMessage;
 import ai.driftkit.clients.openai.domain.ChatCompletionResponse;
-import ai.driftkit.clients.openai.domain.ChatCompletionChunk;
 import ai.driftkit.clients.openai.domain.CreateImageRequest;
 import ai.driftkit.clients.openai.domain.CreateImageRequest.CreateImageRequestBuilder;
 import ai.driftkit.clients.openai.domain.CreateImageRequest.Quality;
@@ -39,15 +43,17 @@ import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
-import java.util.concurrent.Flow;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
@@ -61,7 +67,7 @@ public class OpenAIModelClient extends ModelClient implements ModelClientInit {
     public static final String OPENAI_PREFIX = "openai";
     public static final String GPT_IMAGE_1 = "gpt-image-1";
     
-    // Shared HttpClient for downloading images
+    // Shared HttpClient for streaming chat completions
     private static final HttpClient httpClient = HttpClient.newBuilder()
         .connectTimeout(Duration.ofSeconds(10))
         .followRedirects(HttpClient.Redirect.NORMAL)
@@ -77,7 +83,8 @@ public class OpenAIModelClient extends ModelClient implements ModelClientInit {
                 config.getApiKey(),
                 Optional.ofNullable(config.getBaseUrl()).orElse("https://api.openai.com"),
                 config.getConnectTimeout(),
-                config.getReadTimeout()
+                config.getReadTimeout(),
+                config.getLogging()
         );
         this.setTemperature(config.getTemperature());
         this.setModel(config.getModel());
@@ -110,6 +117,13 @@ public class OpenAIModelClient extends ModelClient implements ModelClientInit {
         return true;
     }
 
+    @Override
+    public void warmUp() {
+        if (config != null) {
+            HttpTransport.getDefault().preconnect(Optional.ofNullable(config.getBaseUrl()).orElse("https://api.openai.com"));
+        }
+    }
+
     @Override
     public ModelTextResponse imageToText(ModelTextRequest prompt) throws UnsupportedCapabilityException {
         super.imageToText(prompt);
@@ -121,6 +135,83 @@ public class OpenAIModelClient extends ModelClient implements ModelClientInit {
     public ModelImageResponse textToImage(ModelImageRequest prompt) {
         super.textToImage(prompt);
 
+        GeneratedImages generated = createImages(prompt);
+        List<CreateImageResponse.ImageData> results = generated.response().getData();
+
+        // Decode base64 images right away, download URL images concurrently on the bounded downloader
+        List<CompletableFuture<ModelContentElement.ImageData>> imageFutures = results.stream()
+                .map(e -> {
+                    if (StringUtils.isNotBlank(e.getB64Json())) {
+                        ImageData openAIImage = OpenAIUtils.base64toBytes("image/jpeg", e.getB64Json());
+                        return CompletableFuture.completedFuture(
+                                new ModelContentElement.ImageData(openAIImage.getImage(), openAIImage.getMimeType()));
+                    } else if (StringUtils.isNotBlank(e.getUrl())) {
+                        return ImageDownloader.getDefault().download(e.getUrl())
+                                .thenApply(image -> new ModelContentElement.ImageData(image.bytes(), image.mimeType()));
+                    } else {
+                        log.warn("Image data has neither base64 nor URL");
+                        return CompletableFuture.<ModelContentElement.ImageData>completedFuture(null);
+                    }
+                })
+                .toList();
+
+        List<ModelContentElement.ImageData> images = imageFutures.stream()
+                .map(OpenAIModelClient::joinImage)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return ModelImageResponse.builder()
+                .model(generated.model())
+                .bytes(images)
+                .createdTime(generated.response().getCreated())
+                .revisedPrompt(results.getFirst().getRevisedPrompt())
+                .build();
+    }
+
+    /**
+     * Generates images like {@link #textToImage(ModelImageRequest)} but writes each one to the
+     * stream opened by {@code sink} for its index instead of keeping it in memory. Downloaded
+     * images are copied as they arrive, so only one buffer per download is held at a time.
+     * Every opened stream is closed once its image is written. Entries of the returned
+     * response carry the MIME type only, their image bytes are null; images that failed are
+     * logged and left out.
+     */
+    public ModelImageResponse textToImage(ModelImageRequest prompt, ImageSink sink) {
+        super.textToImage(prompt);
+
+        GeneratedImages generated = createImages(prompt);
+        List<CreateImageResponse.ImageData> results = generated.response().getData();
+
+        List<CompletableFuture<ModelContentElement.ImageData>> imageFutures = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            imageFutures.add(writeImage(results.get(i), i, sink));
+        }
+
+        List<ModelContentElement.ImageData> images = imageFutures.stream()
+                .map(OpenAIModelClient::joinImage)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return ModelImageResponse.builder()
+                .model(generated.model())
+                .bytes(images)
+                .createdTime(generated.response().getCreated())
+                .revisedPrompt(results.getFirst().getRevisedPrompt())
+                .build();
+    }
+
+    /**
+     * Opens the output stream for the image at {@code index} of a generation request.
+     */
+    @FunctionalInterface
+    public interface ImageSink {
+        OutputStream open(int index) throws IOException;
+    }
+
+    private record GeneratedImages(String model, CreateImageResponse response) {
+    }
+
+    private GeneratedImages createImages(ModelImageRequest prompt) {
         String message = prompt.getPrompt();
         
         // Determine which model to use
@@ -191,41 +282,52 @@ public class OpenAIModelClient extends ModelClient implements ModelClientInit {
 
         CreateImageResponse imageResponse = client.createImage(style.build());
 
-        // Process images in parallel for performance
-        List<CompletableFuture<ModelContentElement.ImageData>> imageFutures = imageResponse.getData()
-                .stream()
-                .map(e -> CompletableFuture.supplyAsync(() -> {
-                    try {
-                        if (StringUtils.isNotBlank(e.getB64Json())) {
-                            // Handle base64 encoded image
-                            ImageData openAIImage = OpenAIUtils.base64toBytes("image/jpeg", e.getB64Json());
-                            return new ModelContentElement.ImageData(openAIImage.getImage(), openAIImage.getMimeType());
-                        } else if (StringUtils.isNotBlank(e.getUrl())) {
-                            // Handle URL - download the image
-                            return downloadImage(e.getUrl());
-                        } else {
-                            log.warn("Image data has neither base64 nor URL");
-                            return null;
-                        }
-                    } catch (Exception ex) {
-                        log.error("Error processing image data", ex);
-                        return null;
-                    }
-                }))
-                .toList();
-        
-        // Wait for all downloads to complete
-        List<ModelContentElement.ImageData> image = imageFutures.stream()
-                .map(CompletableFuture::join)
-                .filter(Objects::nonNull)
-                .toList();
+        return new GeneratedImages(imageModel, imageResponse);
+    }
 
-        return ModelImageResponse.builder()
-                .model(imageModel)
-                .bytes(image)
-                .createdTime(imageResponse.getCreated())
-                .revisedPrompt(imageResponse.getData().getFirst().getRevisedPrompt())
-                .build();
+    private static CompletableFuture<ModelContentElement.ImageData> writeImage(CreateImageResponse.ImageData result, int index, ImageSink sink) {
+        OutputStream out = null;
+        try {
+            if (StringUtils.isNotBlank(result.getB64Json())) {
+                ImageData openAIImage = OpenAIUtils.base64toBytes("image/jpeg", result.getB64Json());
+                try (OutputStream stream = sink.open(index)) {
+                    stream.write(openAIImage.getImage());
+                }
+                return CompletableFuture.completedFuture(new ModelContentElement.ImageData(null, openAIImage.getMimeType()));
+            } else if (StringUtils.isNotBlank(result.getUrl())) {
+                out = sink.open(index);
+                OutputStream stream = out;
+                return ImageDownloader.getDefault().download(result.getUrl(), stream)
+                        .whenComplete((mimeType, error) -> closeQuietly(stream))
+                        .thenApply(mimeType -> new ModelContentElement.ImageData(null, mimeType));
+            } else {
+                log.warn("Image data has neither base64 nor URL");
+                return CompletableFuture.completedFuture(null);
+            }
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(out);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static ModelContentElement.ImageData joinImage(CompletableFuture<ModelContentElement.ImageData> future) {
+        try {
+            return future.join();
+        } catch (CompletionException | CancellationException e) {
+            log.error("Error processing image data", e.getCause() != null ? e.getCause() : e);
+            return null;
+        }
+    }
+
+    private static void closeQuietly(OutputStream out) {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.warn("Failed to close image output stream", e);
+        }
     }
 
     @Override
@@ -249,7 +351,7 @@ public class OpenAIModelClient extends ModelClient implements ModelClientInit {
                     return;
                 }
                 
-                streamFuture = CompletableFuture.runAsync(() -> {
+                streamFuture = StreamingExecutor.getDefault().submit(() -> {
                     try {
                         processStreamingPrompt(prompt, callback, cancelled);
                     } catch (Exception e) {
@@ -338,7 +440,7 @@ public class OpenAIModelClient extends ModelClient implements ModelClientInit {
         SSESubscriber sseSubscriber = new SSESubscriber(callback, cancelled);
         
         // Send request with streaming response
-        HttpResponse<Void> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.fromLineSubscriber(sseSubscriber));
+        HttpResponse<Void> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.fromSubscriber(sseSubscriber));
         
         // Check for errors
         if (response.statusCode() >= 400) {
@@ -358,10 +460,10 @@ public class OpenAIModelClient extends ModelClient implements ModelClientInit {
     /**
      * SSE Subscriber for handling streaming responses
      */
-    private static class SSESubscriber implements Flow.Subscriber<String> {
+    private static class SSESubscriber extends SseLineSubscriber {
         private final StreamingCallback<String> callback;
         private final AtomicBoolean cancelled;
-        private Flow.Subscription subscription;
+        private final ChatCompletionChunkParser parser = new ChatCompletionChunkParser();
         private boolean completed = false;
         
         public SSESubscriber(StreamingCallback<String> callback, AtomicBoolean cancelled) {
@@ -370,67 +472,50 @@ public class OpenAIModelClient extends ModelClient implements ModelClientInit {
         }
         
         @Override
-        public void onSubscribe(Flow.Subscription subscription) {
-            this.subscription = subscription;
-            subscription.request(Long.MAX_VALUE);
-        }
-        
-        @Override
-        public void onNext(String line) {
+        protected void onLine(byte[] line, int length) {
             
             if (cancelled.get() || completed) {
                 // Don't cancel if already completed - just ignore further messages
                 if (cancelled.get() && !completed) {
-                    subscription.cancel();
+                    cancel();
                 }
                 return;
             }
             
             try {
+                int offset = dataOffset(line, length);
+
                 // Check if this is an error response (JSON object starting with {)
-                if (line.trim().startsWith("{") && line.contains("\"error\"")) {
-                    // This is an error response, not SSE
-                    log.error("Received error response: {}", line);
-                    completed = true;
-                    callback.onError(new RuntimeException("OpenAI API error: " + line));
-                    // Cancel subscription for error case
-                    if (subscription != null) {
-                        subscription.cancel();
+                if (offset < 0 && startsWithObject(line, length)) {
+                    String body = new String(line, 0, length, StandardCharsets.UTF_8);
+                    if (body.contains("\"error\"")) {
+                        // This is an error response, not SSE
+                        log.error("Received error response: {}", body);
+                        completed = true;
+                        callback.onError(new RuntimeException("OpenAI API error: " + body));
+                        // Cancel subscription for error case
+                        cancel();
+                        return;
                     }
-                    return;
                 }
                 
                 // SSE format: lines starting with "data: "
-                if (line.startsWith("data: ")) {
-                    String data = line.substring(6).trim();
-                    
+                if (offset >= 0) {
                     // Check for end of stream
-                    if ("[DONE]".equals(data)) {
+                    if (contentEquals(line, offset, length - offset, "[DONE]")) {
                         completed = true;
                         callback.onComplete();
                         return;  // Don't cancel subscription yet - let it complete naturally
                     }
                     
-                    // Parse the JSON chunk
-                    ChatCompletionChunk chunk = JsonUtils.fromJson(data, ChatCompletionChunk.class);
-                    
-                    // Extract content from the chunk
-                    if (chunk != null && chunk.getChoices() != null && !chunk.getChoices().isEmpty()) {
-                        ChatCompletionChunk.ChunkChoice choice = chunk.getChoices().get(0);
-                        if (choice != null && choice.getDelta() != null && choice.getDelta().getContent() != null) {
-                            String content = choice.getDelta().getContent();
-                            callback.onNext(content);
-                        }
-                        
-                        // Check if stream is finished
-                        if (choice != null && choice.getFinishReason() != null) {
-                            // Don't call onComplete here - wait for [DONE] message
-                        }
+                    // Parse only the fields needed from the raw chunk bytes
+                    if (parser.parse(line, offset, length - offset) && parser.getContent() != null) {
+                        callback.onNext(parser.getContent());
                     }
                 }
                 // Empty lines are part of SSE format, ignore them
             } catch (Exception e) {
-                log.error("Error processing SSE line: {}", line, e);
+                log.error("Error processing SSE line: {}", new String(line, 0, length, StandardCharsets.UTF_8), e);
                 // Continue processing other lines
             }
         }
@@ -444,12 +529,21 @@ public class OpenAIModelClient extends ModelClient implements ModelClientInit {
         }
         
         @Override
-        public void onComplete() {
+        protected void onEndOfStream() {
             if (!cancelled.get() && !completed) {
                 completed = true;
                 callback.onComplete();
             }
         }
+
+        private static boolean startsWithObject(byte[] line, int length) {
+            for (int i = 0; i < length; i++) {
+                if (line[i] > ' ') {
+                    return line[i] == '{';
+                }
+            }
+            return false;
+        }
     }
 
     @Nullable
@@ -880,36 +974,4 @@ public class OpenAIModelClient extends ModelClient implements ModelClientInit {
                 })
                 .toList();
     }
-    
-    /**
-     * Download image from URL asynchronously
-     */
-    private static ModelContentElement.ImageData downloadImage(String url) {
-        try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .timeout(Duration.ofSeconds(30))
-                    .GET()
-                    .build();
-            
-            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
-            
-            if (response.statusCode() == 200) {
-                // Detect MIME type from Content-Type header
-                String contentType = response.headers().firstValue("Content-Type")
-                        .orElse("image/jpeg");
-                
-                return new ModelContentElement.ImageData(response.body(), contentType);
-            } else {
-                log.error("Failed to download image from URL: {}, status: {}", url, response.statusCode());
-                return null;
-            }
-        } catch (IOException | InterruptedException e) {
-            log.error("Error downloading image from URL: {}", url, e);
-            if (e instanceof InterruptedException) {
-                Thread.currentThread().interrupt();
-            }
-            throw new CompletionException("Failed to download image", e);
-        }
-    }
 }
@@ -0,0 +1,19 @@
+package ai.driftkit.common.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class whose JSON schema is generated at build time.
+ * <p>
+ * When {@code ai.driftkit.common.annotation.processing.JsonSchemaProcessor} runs during
+ * compilation, it writes the schema of every annotated class to the class output, where
+ * {@link ai.driftkit.common.utils.JsonSchemaGenerator} picks it up instead of reflecting over
+ * the class. Without the processor the annotation has no effect.
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.SOURCE)
+public @interface PrecompiledJsonSchema {
+}
@@ -0,0 +1,367 @@
+package ai.driftkit.common.annotation.processing;
+
+import ai.driftkit.common.annotation.PrecompiledJsonSchema;
+import ai.driftkit.common.utils.JsonSchemaGenerator;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes the JSON schema of classes annotated with {@link PrecompiledJsonSchema} to
+ * {@value JsonSchemaGenerator#PRECOMPILED_SCHEMA_PREFIX}{@code <binary name>.json} in the class
+ * output, so that {@link JsonSchemaGenerator} reads it instead of reflecting over the class.
+ * <p>
+ * The schema follows the rules of {@link JsonSchemaGenerator}, applied to the source model.
+ * Enum values are the constant names, so enums that override {@code toString()} differ from
+ * the reflective schema.
+ * <p>
+ * The processor is not registered as a service; enable it explicitly, e.g. in the
+ * {@code annotationProcessorPaths} and {@code annotationProcessors} of the Maven compiler plugin.
+ */
+@SupportedAnnotationTypes("ai.driftkit.common.annotation.PrecompiledJsonSchema")
+public class JsonSchemaProcessor extends AbstractProcessor {
+
+    private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+    private static final String JSON_PROPERTY_DESCRIPTION = "com.fasterxml.jackson.annotation.JsonPropertyDescription";
+    private static final String NOT_NULL = "javax.validation.constraints.NotNull";
+    private static final String JSON_SCHEMA_STRICT = "ai.driftkit.common.annotation.JsonSchemaStrict";
+
+    private static final Map<String, String> BOXED_TYPES = Map.of(
+            "java.lang.String", "string",
+            "java.lang.Integer", "integer",
+            "java.lang.Long", "integer",
+            "java.lang.Double", "number",
+            "java.lang.Float", "number",
+            "java.lang.Boolean", "boolean"
+    );
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(PrecompiledJsonSchema.class)) {
+            if (!element.getKind().isClass()) {
+                error(element, "@PrecompiledJsonSchema applies to classes only");
+                continue;
+            }
+
+            TypeElement type = (TypeElement) element;
+            try {
+                Map<String, Object> schema = schema(type, new HashSet<>());
+                String name = JsonSchemaGenerator.PRECOMPILED_SCHEMA_PREFIX
+                        + processingEnv.getElementUtils().getBinaryName(type) + ".json";
+                FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", name, type);
+                try (Writer writer = file.openWriter()) {
+                    StringBuilder json = new StringBuilder();
+                    writeJson(json, schema);
+                    writer.write(json.toString());
+                }
+            } catch (IllegalStateException | IOException e) {
+                error(type, "Cannot generate JSON schema: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private Map<String, Object> schema(TypeElement type, Set<TypeElement> visiting) {
+        if (!visiting.add(type)) {
+            throw new IllegalStateException("recursive reference to " + type.getQualifiedName());
+        }
+
+        boolean strict = annotation(type, JSON_SCHEMA_STRICT) != null;
+        Map<String, Object> properties = new LinkedHashMap<>();
+        List<String> required = new ArrayList<>();
+
+        for (VariableElement field : fields(type)) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+
+            String name = propertyName(field);
+            properties.put(name, property(field, visiting));
+            if (strict || isRequired(field)) {
+                required.add(name);
+            }
+        }
+        visiting.remove(type);
+
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("title", type.getSimpleName().toString());
+        schema.put("type", "object");
+        schema.put("properties", properties);
+        if (!required.isEmpty()) {
+            schema.put("required", required);
+        }
+        schema.put("additionalProperties", false);
+        if (!properties.isEmpty() && required.size() == properties.size()) {
+            schema.put("strict", true);
+        }
+        return schema;
+    }
+
+    private Map<String, Object> property(VariableElement field, Set<TypeElement> visiting) {
+        Map<String, Object> property = new LinkedHashMap<>();
+        TypeMirror type = field.asType();
+
+        AnnotationMirror description = annotation(field, JSON_PROPERTY_DESCRIPTION);
+        if (description != null) {
+            property.put("description", value(description, "value"));
+        }
+
+        String simpleType = simpleType(type);
+        if (simpleType != null) {
+            property.put("type", simpleType);
+        } else if (isEnum(type)) {
+            property.put("type", "string");
+            property.put("enum", enumConstants(type));
+        } else if (isSubtype(type, "java.util.List") || isSubtype(type, "java.util.Set")) {
+            property.put("type", "array");
+            TypeMirror itemType = typeArgument(type, 0);
+            if (itemType != null) {
+                property.put("items", itemSchema(itemType, visiting));
+            }
+        } else if (isSubtype(type, "java.util.Map")) {
+            property.put("type", "object");
+            TypeMirror valueType = typeArgument(type, 1);
+            String valueSimpleType = valueType != null ? simpleType(valueType) : null;
+            if (valueSimpleType != null) {
+                property.put("additionalProperties", Map.of("type", valueSimpleType));
+            }
+        } else {
+            property.put("type", "object");
+            putNested(property, type, visiting);
+        }
+        return property;
+    }
+
+    private Map<String, Object> itemSchema(TypeMirror itemType, Set<TypeElement> visiting) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        String simpleType = simpleType(itemType);
+        if (simpleType != null) {
+            item.put("type", simpleType);
+        } else if (isEnum(itemType)) {
+            item.put("type", "string");
+            item.put("enum", enumConstants(itemType));
+        } else {
+            item.put("type", "object");
+            putNested(item, itemType, visiting);
+        }
+        return item;
+    }
+
+    private void putNested(Map<String, Object> property, TypeMirror type, Set<TypeElement> visiting) {
+        // Arrays, type variables and the primitives without a JSON type have no fields, as at runtime
+        Map<String, Object> nested = type.getKind() == TypeKind.DECLARED
+                ? schema((TypeElement) ((DeclaredType) type).asElement(), visiting)
+                : Map.of("properties", Map.of());
+        property.put("properties", nested.get("properties"));
+        if (nested.containsKey("required")) {
+            property.put("required", nested.get("required"));
+        }
+        property.put("additionalProperties", false);
+    }
+
+    /**
+     * JSON type of strings, numbers and booleans, or {@code null} for other types.
+     */
+    private String simpleType(TypeMirror type) {
+        switch (type.getKind()) {
+            case INT:
+            case LONG:
+                return "integer";
+            case DOUBLE:
+            case FLOAT:
+                return "number";
+            case BOOLEAN:
+                return "boolean";
+            case DECLARED:
+                TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+                return BOXED_TYPES.get(element.getQualifiedName().toString());
+            default:
+                return null;
+        }
+    }
+
+    private static boolean isEnum(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((DeclaredType) type).asElement().getKind() == ElementKind.ENUM;
+    }
+
+    private static List<String> enumConstants(TypeMirror type) {
+        List<String> constants = new ArrayList<>();
+        for (Element enclosed : ((DeclaredType) type).asElement().getEnclosedElements()) {
+            if (enclosed.getKind() == ElementKind.ENUM_CONSTANT) {
+                constants.add(enclosed.getSimpleName().toString());
+            }
+        }
+        return constants;
+    }
+
+    private boolean isSubtype(TypeMirror type, String interfaceName) {
+        TypeElement target = processingEnv.getElementUtils().getTypeElement(interfaceName);
+        return type.getKind() == TypeKind.DECLARED && target != null
+                && processingEnv.getTypeUtils().isAssignable(
+                        processingEnv.getTypeUtils().erasure(type),
+                        processingEnv.getTypeUtils().erasure(target.asType()));
+    }
+
+    /**
+     * Type argument of a parameterized field type, if it is a plain class as in the reflective
+     * generator, which only follows arguments that are {@code Class} instances.
+     */
+    private static TypeMirror typeArgument(TypeMirror type, int index) {
+        List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+        if (arguments.size() <= index) {
+            return null;
+        }
+        TypeMirror argument = arguments.get(index);
+        if (argument.getKind() != TypeKind.DECLARED || !((DeclaredType) argument).getTypeArguments().isEmpty()) {
+            return null;
+        }
+        return argument;
+    }
+
+    private static List<VariableElement> fields(TypeElement type) {
+        List<VariableElement> fields = new ArrayList<>();
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+            fields.addAll(ElementFilter.fieldsIn(current.getEnclosedElements()));
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ((DeclaredType) superclass).asElement()
+                    : null;
+        }
+        return fields;
+    }
+
+    private String propertyName(VariableElement field) {
+        AnnotationMirror jsonProperty = annotation(field, JSON_PROPERTY);
+        if (jsonProperty != null) {
+            String value = (String) value(jsonProperty, "value");
+            if (value != null && !value.isEmpty()) {
+                return value;
+            }
+        }
+        return field.getSimpleName().toString();
+    }
+
+    private boolean isRequired(VariableElement field) {
+        if (annotation(field, NOT_NULL) != null) {
+            return true;
+        }
+
+        AnnotationMirror jsonProperty = annotation(field, JSON_PROPERTY);
+        if (jsonProperty != null && Boolean.TRUE.equals(value(jsonProperty, "required"))) {
+            return true;
+        }
+
+        // Lombok's @NonNull is not retained at runtime, so the reflective generator never sees it
+        return field.asType().getKind().isPrimitive();
+    }
+
+    private static AnnotationMirror annotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private Object value(AnnotationMirror mirror, String name) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static void writeJson(StringBuilder out, Object value) {
+        if (value instanceof Map<?, ?> map) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                writeString(out, entry.getKey().toString());
+                out.append(':');
+                writeJson(out, entry.getValue());
+            }
+            out.append('}');
+        } else if (value instanceof List<?> list) {
+            out.append('[');
+            for (int i = 0; i < list.size(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                writeJson(out, list.get(i));
+            }
+            out.append(']');
+        } else if (value instanceof Boolean) {
+            out.append(value);
+        } else {
+            writeString(out, String.valueOf(value));
+        }
+    }
+
+    private static void writeString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+}
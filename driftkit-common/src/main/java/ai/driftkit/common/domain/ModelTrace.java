@@ -35,4 +35,9 @@ public class ModelTrace {
 
     // Cost estimate
     private Double estimatedCostUSD;
+
+    // Response cache metrics, set only when the call went through a caching client
+    private Boolean responseCacheHit;
+    private Double responseCacheHitRate;
+    private Integer responseCacheSavedTokens;
 }
\ No newline at end of file
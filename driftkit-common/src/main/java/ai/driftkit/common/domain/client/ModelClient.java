@@ -153,6 +153,13 @@ public abstract class ModelClient<T> {
         return false;
     }
 
+    /**
+     * Prepares the client for its first call, e.g. by opening a connection to the provider,
+     * so that startup rather than the first request pays for it. Does nothing by default.
+     */
+    public void warmUp() {
+    }
+
 
     public ModelTextResponse textToText(ModelTextRequest prompt) throws UnsupportedCapabilityException {
         checkCapability(Capability.TEXT_TO_TEXT);
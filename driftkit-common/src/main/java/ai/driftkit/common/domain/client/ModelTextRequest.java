@@ -59,6 +59,13 @@ public class ModelTextRequest {
 
     private CachePolicy cachePolicy;
 
+    /*
+    Opt-in (true) or opt-out (false) of client-side response reuse. When unset, only deterministic
+    requests (temperature 0) are served from the response cache. False also keeps the request from
+    being coalesced with identical in-flight requests.
+     */
+    private Boolean cacheResponse;
+
     public static ModelTextRequestBuilder create(Role role, String model, String str) {
         return create(role, model, List.of(str), Collections.emptyList());
     }
@@ -77,6 +77,8 @@ public class ModelTextResponse {
 
     @Data
     @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class ResponseMessage {
         private Integer index;
         private ModelMessage message;
@@ -0,0 +1,84 @@
+package ai.driftkit.common.domain.streaming;
+
+import ai.driftkit.common.utils.IncrementalJsonParser;
+import ai.driftkit.common.utils.ModelUtils;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Adapts a stream of text deltas carrying a JSON document into a stream of partially
+ * populated objects.
+ * <p>
+ * Deltas are parsed incrementally by {@link IncrementalJsonParser}. After every delta that
+ * completes at least one value, the fields received so far are bound to {@code T} and passed
+ * to the delegate, so each emitted object carries every field of the previous one. Fields that
+ * are still streaming stay unset. Invalid JSON is reported once through {@link #onError} and
+ * the rest of the stream is ignored.
+ *
+ * @param <T> Type of the object described by the streamed JSON
+ */
+public class PartialObjectStreamingCallback<T> implements StreamingCallback<String> {
+
+    private final ObjectReader reader;
+    private final StreamingCallback<T> delegate;
+    private final IncrementalJsonParser parser = new IncrementalJsonParser(event -> changed = true);
+
+    private boolean changed;
+    private boolean failed;
+
+    public PartialObjectStreamingCallback(Class<T> type, StreamingCallback<T> delegate) {
+        this.reader = ModelUtils.OBJECT_MAPPER.readerFor(type)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void onNext(String item) {
+        if (failed || item == null) {
+            return;
+        }
+        try {
+            parser.feed(item);
+            emitIfChanged();
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        if (!failed) {
+            failed = true;
+            delegate.onError(error);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (failed) {
+            return;
+        }
+        try {
+            parser.endOfInput();
+            emitIfChanged();
+        } catch (Exception e) {
+            fail(e);
+            return;
+        }
+        delegate.onComplete();
+    }
+
+    private void emitIfChanged() throws Exception {
+        if (!changed) {
+            return;
+        }
+        changed = false;
+        T value = reader.readValue(parser.getRoot());
+        delegate.onNext(value);
+    }
+
+    private void fail(Exception e) {
+        failed = true;
+        delegate.onError(e);
+    }
+}
@@ -25,4 +25,16 @@ public interface StreamingCallback<T> {
      * Called when the stream completes normally.
      */
     void onComplete();
+
+    /**
+     * Creates a callback for a stream of JSON text deltas that delivers the described object to
+     * {@code callback} as it fills in, one partially populated instance per completed value.
+     *
+     * @param type Type of the object described by the streamed JSON
+     * @param callback Callback receiving the partial objects
+     * @see PartialObjectStreamingCallback
+     */
+    static <T> StreamingCallback<String> partialObjects(Class<T> type, StreamingCallback<T> callback) {
+        return new PartialObjectStreamingCallback<>(type, callback);
+    }
 }
\ No newline at end of file
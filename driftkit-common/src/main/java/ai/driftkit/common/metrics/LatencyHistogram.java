@@ -0,0 +1,156 @@
+package ai.driftkit.common.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency distribution in nanoseconds with log-linear buckets, in the manner of HdrHistogram.
+ * <p>
+ * Durations are bucketed by their highest set bit, and each power of two is split into
+ * {@value #SUB_BUCKETS} linear sub-buckets, so percentiles are within about 3% of the recorded
+ * value from nanoseconds up to {@link #HIGHEST_TRACKABLE_NANOS about 73 minutes}. Longer
+ * durations count in the last bucket; count, total and max stay exact.
+ * <p>
+ * Recording is wait-free apart from the rare new maximum: bucket counts are spread over a few
+ * stripes picked by thread, and count and total are {@link LongAdder}s. Percentiles are computed
+ * when read and see a recent, not necessarily atomic, state.
+ */
+public final class LatencyHistogram implements Meter {
+
+    static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    public static final long HIGHEST_TRACKABLE_NANOS = (1L << 42) - 1;
+
+    static final int BUCKETS = bucketIndex(HIGHEST_TRACKABLE_NANOS) + 1;
+
+    private static final int STRIPES = Math.min(4, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors())));
+
+    private final MetricId id;
+    private final AtomicLongArray[] stripes = new AtomicLongArray[STRIPES];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    LatencyHistogram(MetricId id) {
+        this.id = id;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new AtomicLongArray(BUCKETS);
+        }
+    }
+
+    @Override
+    public MetricId id() {
+        return id;
+    }
+
+    /**
+     * Records a duration; negative durations are ignored.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        int stripe = (int) Thread.currentThread().threadId() & (STRIPES - 1);
+        stripes[stripe].incrementAndGet(bucketIndex(Math.min(nanos, HIGHEST_TRACKABLE_NANOS)));
+        count.increment();
+        totalNanos.add(nanos);
+        if (nanos > maxNanos.get()) {
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    public void record(Duration duration) {
+        record(duration.toNanos());
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos}, a value taken from {@link System#nanoTime()}.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long maxNanos() {
+        return maxNanos.get();
+    }
+
+    public double meanNanos() {
+        long n = count();
+        return n == 0 ? 0 : (double) totalNanos() / n;
+    }
+
+    /**
+     * @param quantile between 0 and 1, e.g. {@code 0.99}
+     * @return the duration at or below which {@code quantile} of the recorded durations fall, 0 if empty
+     */
+    public long percentileNanos(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + quantile);
+        }
+        long[] buckets = buckets();
+        long total = 0;
+        for (long bucket : buckets) {
+            total += bucket;
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long max = maxNanos();
+        int maxBucket = bucketIndex(Math.min(max, HIGHEST_TRACKABLE_NANOS));
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < maxBucket; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return bucketMidpoint(i);
+            }
+        }
+        // The highest bucket in use holds the exact maximum
+        return max;
+    }
+
+    private long[] buckets() {
+        long[] buckets = new long[BUCKETS];
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] += stripe.get(i);
+            }
+        }
+        return buckets;
+    }
+
+    static int bucketIndex(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(nanos) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (nanos >>> shift);
+    }
+
+    static long bucketMidpoint(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long lower = (long) ((index & (SUB_BUCKETS - 1)) + SUB_BUCKETS) << shift;
+        return lower + ((1L << shift) - 1) / 2;
+    }
+
+    @Override
+    public String toString() {
+        return id + "{count=" + count() + ", p50=" + percentileNanos(0.5) + "ns, p99=" + percentileNanos(0.99)
+                + "ns, max=" + maxNanos() + "ns}";
+    }
+}
@@ -0,0 +1,9 @@
+package ai.driftkit.common.metrics;
+
+/**
+ * A value tracked by a {@link MetricsRegistry}.
+ */
+public sealed interface Meter permits MetricCounter, LatencyHistogram, MetricGauge {
+
+    MetricId id();
+}
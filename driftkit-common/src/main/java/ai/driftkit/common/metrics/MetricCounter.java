@@ -0,0 +1,44 @@
+package ai.driftkit.common.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic count backed by a {@link LongAdder}, so concurrent increments touch separate cells
+ * instead of contending on one value.
+ */
+public final class MetricCounter implements Meter {
+
+    private final MetricId id;
+    private final LongAdder count = new LongAdder();
+
+    MetricCounter(MetricId id) {
+        this.id = id;
+    }
+
+    @Override
+    public MetricId id() {
+        return id;
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * Adds {@code amount}; negative amounts are ignored.
+     */
+    public void add(long amount) {
+        if (amount > 0) {
+            count.add(amount);
+        }
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    @Override
+    public String toString() {
+        return id + "=" + count();
+    }
+}
@@ -0,0 +1,39 @@
+package ai.driftkit.common.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Current value read from a supplier whenever the gauge is sampled. Nothing is stored on the
+ * hot path; the supplier should be cheap and must be thread-safe.
+ */
+public final class MetricGauge implements Meter {
+
+    private final MetricId id;
+    private final DoubleSupplier value;
+
+    MetricGauge(MetricId id, DoubleSupplier value) {
+        this.id = id;
+        this.value = value;
+    }
+
+    @Override
+    public MetricId id() {
+        return id;
+    }
+
+    /**
+     * @return the supplier's value, or {@link Double#NaN} if it failed
+     */
+    public double value() {
+        try {
+            return value.getAsDouble();
+        } catch (RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return id + "=" + value();
+    }
+}
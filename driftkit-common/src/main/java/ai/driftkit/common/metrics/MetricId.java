@@ -0,0 +1,36 @@
+package ai.driftkit.common.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Name and tags identifying a meter in a {@link MetricsRegistry}. Tag order does not matter.
+ */
+public record MetricId(String name, Map<String, String> tags) {
+
+    static final String UNKNOWN_TAG_VALUE = "unknown";
+
+    public MetricId {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Metric name must not be blank");
+        }
+        tags = Map.copyOf(tags);
+    }
+
+    /**
+     * @param tags alternating keys and values; a {@code null} value is recorded as {@value #UNKNOWN_TAG_VALUE}
+     */
+    public static MetricId of(String name, String... tags) {
+        if (tags.length == 0) {
+            return new MetricId(name, Map.of());
+        }
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("Tags must be key/value pairs, got " + tags.length + " strings");
+        }
+        Map<String, String> map = new HashMap<>(tags.length);
+        for (int i = 0; i < tags.length; i += 2) {
+            map.put(tags[i], tags[i + 1] != null ? tags[i + 1] : UNKNOWN_TAG_VALUE);
+        }
+        return new MetricId(name, map);
+    }
+}
@@ -0,0 +1,41 @@
+package ai.driftkit.common.metrics;
+
+/**
+ * Names and tag keys of the meters DriftKit modules record into {@link MetricsRegistry#global()}.
+ */
+public final class MetricNames {
+
+    /**
+     * Latency of model client calls, tagged with {@link #MODEL}, {@link #OPERATION} and {@link #OUTCOME}.
+     */
+    public static final String LLM_LATENCY = "driftkit.llm.latency";
+
+    /**
+     * Tokens used by model client calls, tagged with {@link #MODEL} and {@link #TOKEN_TYPE}.
+     */
+    public static final String LLM_TOKENS = "driftkit.llm.tokens";
+
+    /**
+     * Latency of vector store similarity queries, tagged with {@link #STORE} and {@link #OUTCOME}.
+     */
+    public static final String VECTOR_QUERY = "driftkit.vector.query";
+
+    /**
+     * Duration of workflow step executions, tagged with {@link #WORKFLOW}, {@link #STEP} and {@link #OUTCOME}.
+     */
+    public static final String WORKFLOW_STEP = "driftkit.workflow.step";
+
+    public static final String MODEL = "model";
+    public static final String OPERATION = "operation";
+    public static final String OUTCOME = "outcome";
+    public static final String TOKEN_TYPE = "type";
+    public static final String STORE = "store";
+    public static final String WORKFLOW = "workflow";
+    public static final String STEP = "step";
+
+    public static final String SUCCESS = "success";
+    public static final String ERROR = "error";
+
+    private MetricNames() {
+    }
+}
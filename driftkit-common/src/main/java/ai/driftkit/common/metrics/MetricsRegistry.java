@@ -0,0 +1,161 @@
+package ai.driftkit.common.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+/**
+ * In-process registry of counters, latency histograms and gauges.
+ * <p>
+ * Meters are created on first use and then live as long as the registry. Recording costs a
+ * {@link java.util.concurrent.atomic.LongAdder} update or two; looking a meter up by name and
+ * tags costs a hash map read, so hot paths with fixed tags keep the meter in a field.
+ * <p>
+ * The number of meters is bounded so that a tag with unexpectedly many values, such as a
+ * free-form model name, cannot grow memory without limit: once {@code maxMeters} exist, new
+ * name and tag combinations are folded into one meter per name tagged {@code overflow=true}.
+ * <p>
+ * Nothing is exported by itself. {@link #meters()} reads the current values, and
+ * {@link MicrometerMetricsBridge} publishes them to a Micrometer registry when Micrometer is on
+ * the classpath. {@link #global()} is the registry DriftKit modules record into.
+ */
+@Slf4j
+public class MetricsRegistry {
+
+    public static final int DEFAULT_MAX_METERS = 2_000;
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final int maxMeters;
+    private final Map<MetricId, Meter> meters = new ConcurrentHashMap<>();
+    private final List<Consumer<Meter>> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean overflowLogged = new AtomicBoolean();
+
+    public MetricsRegistry() {
+        this(DEFAULT_MAX_METERS);
+    }
+
+    /**
+     * @param maxMeters number of distinct name and tag combinations kept before overflowing
+     */
+    public MetricsRegistry(int maxMeters) {
+        if (maxMeters < 1) {
+            throw new IllegalArgumentException("maxMeters must be positive");
+        }
+        this.maxMeters = maxMeters;
+    }
+
+    /**
+     * Process-wide registry shared by all DriftKit modules.
+     */
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    /**
+     * @param tags alternating keys and values
+     */
+    public MetricCounter counter(String name, String... tags) {
+        return register(MetricId.of(name, tags), MetricCounter.class, MetricCounter::new);
+    }
+
+    /**
+     * @param tags alternating keys and values
+     */
+    public LatencyHistogram histogram(String name, String... tags) {
+        return register(MetricId.of(name, tags), LatencyHistogram.class, LatencyHistogram::new);
+    }
+
+    /**
+     * Registers a gauge sampling {@code value}. If the gauge exists already, the existing one is
+     * returned and {@code value} is ignored.
+     *
+     * @param tags alternating keys and values
+     */
+    public MetricGauge gauge(String name, DoubleSupplier value, String... tags) {
+        return register(MetricId.of(name, tags), MetricGauge.class, id -> new MetricGauge(id, value));
+    }
+
+    /**
+     * Calls {@code call} and records its duration in the histogram {@code name}, with the given
+     * tags plus {@link MetricNames#OUTCOME} set to {@link MetricNames#SUCCESS} or {@link MetricNames#ERROR}.
+     *
+     * @param tags alternating keys and values
+     */
+    public <T> T time(Callable<T> call, String name, String... tags) throws Exception {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = call.call();
+            success = true;
+            return result;
+        } finally {
+            String[] outcomeTags = Arrays.copyOf(tags, tags.length + 2);
+            outcomeTags[tags.length] = MetricNames.OUTCOME;
+            outcomeTags[tags.length + 1] = success ? MetricNames.SUCCESS : MetricNames.ERROR;
+            histogram(name, outcomeTags).recordSince(start);
+        }
+    }
+
+    /**
+     * @return the meter with exactly this name and tags, or {@code null}
+     */
+    public Meter find(String name, String... tags) {
+        return meters.get(MetricId.of(name, tags));
+    }
+
+    public Collection<Meter> meters() {
+        return List.copyOf(meters.values());
+    }
+
+    /**
+     * Calls {@code listener} with every meter registered so far and every meter registered later.
+     * A meter registered while the listener is being added may be passed to it twice.
+     */
+    public void onMeterAdded(Consumer<Meter> listener) {
+        listeners.add(listener);
+        meters.values().forEach(listener);
+    }
+
+    private <M extends Meter> M register(MetricId id, Class<M> type, Function<MetricId, M> factory) {
+        Meter meter = meters.get(id);
+        if (meter == null) {
+            if (meters.size() >= maxMeters) {
+                id = overflow(id);
+            }
+            boolean[] created = new boolean[1];
+            meter = meters.computeIfAbsent(id, key -> {
+                created[0] = true;
+                return factory.apply(key);
+            });
+            if (created[0]) {
+                for (Consumer<Meter> listener : listeners) {
+                    listener.accept(meter);
+                }
+            }
+        }
+        if (!type.isInstance(meter)) {
+            throw new IllegalArgumentException("Meter " + id + " is a " + meter.getClass().getSimpleName()
+                    + ", not a " + type.getSimpleName());
+        }
+        return type.cast(meter);
+    }
+
+    private MetricId overflow(MetricId id) {
+        if (overflowLogged.compareAndSet(false, true)) {
+            log.warn("Metrics registry reached {} meters, folding new tag combinations into overflow meters "
+                    + "(first: {})", maxMeters, id);
+        }
+        return MetricId.of(id.name(), "overflow", "true");
+    }
+}
@@ -0,0 +1,84 @@
+package ai.driftkit.common.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the meters of a {@link MetricsRegistry} to a Micrometer {@link MeterRegistry}.
+ * <p>
+ * Micrometer meters are registered as function meters that read the DriftKit meters when the
+ * registry is scraped, so recording stays as cheap as without Micrometer. Counters become
+ * {@link FunctionCounter}s, gauges {@link Gauge}s, and each latency histogram a
+ * {@link FunctionTimer} plus a {@code .max} time gauge and {@code .percentile} time gauges tagged
+ * {@code phi=0.5}, {@code 0.95} and {@code 0.99}. Meters registered after binding are published
+ * as they appear.
+ * <p>
+ * Micrometer is an optional dependency: this class may only be used when it is on the classpath.
+ * In a Spring Boot application with Actuator, declaring the bridge as a bean is enough:
+ * <pre>{@code
+ * @Bean
+ * MeterBinder driftKitMetrics() {
+ *     return new MicrometerMetricsBridge(MetricsRegistry.global());
+ * }
+ * }</pre>
+ */
+public class MicrometerMetricsBridge implements MeterBinder {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MetricsRegistry metrics;
+
+    public MicrometerMetricsBridge(MetricsRegistry metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        metrics.onMeterAdded(meter -> publish(meter, registry));
+    }
+
+    private static void publish(Meter meter, MeterRegistry registry) {
+        String name = meter.id().name();
+        Tags tags = tags(meter.id());
+
+        switch (meter) {
+            case MetricCounter counter -> FunctionCounter.builder(name, counter, MetricCounter::count)
+                    .tags(tags)
+                    .register(registry);
+            case MetricGauge gauge -> Gauge.builder(name, gauge, MetricGauge::value)
+                    .tags(tags)
+                    .register(registry);
+            case LatencyHistogram histogram -> {
+                FunctionTimer.builder(name, histogram, LatencyHistogram::count,
+                                LatencyHistogram::totalNanos, TimeUnit.NANOSECONDS)
+                        .tags(tags)
+                        .register(registry);
+                TimeGauge.builder(name + ".max", histogram, TimeUnit.NANOSECONDS, LatencyHistogram::maxNanos)
+                        .tags(tags)
+                        .register(registry);
+                for (double percentile : PERCENTILES) {
+                    TimeGauge.builder(name + ".percentile", histogram, TimeUnit.NANOSECONDS,
+                                    h -> h.percentileNanos(percentile))
+                            .tags(tags.and("phi", String.valueOf(percentile)))
+                            .register(registry);
+                }
+            }
+        }
+    }
+
+    private static Tags tags(MetricId id) {
+        List<Tag> tags = id.tags().entrySet().stream()
+                .map(tag -> Tag.of(tag.getKey(), tag.getValue()))
+                .toList();
+        return Tags.of(tags);
+    }
+}
@@ -0,0 +1,376 @@
+package ai.driftkit.common.service.impl;
+
+import ai.driftkit.common.service.TextTokenizer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Byte-pair encoding tokenizer compatible with OpenAI's {@code cl100k_base} and
+ * {@code o200k_base} encodings, for exact rather than estimated token counts.
+ * <p>
+ * Text is split into pieces with the encoding's pre-tokenization pattern. A piece that is a
+ * token of its own (most words) is resolved with a single lookup; other pieces are merged with
+ * a priority queue of adjacent pairs ordered by merge rank, and their tokens are kept in a
+ * small LRU cache. Special tokens such as {@code <|endoftext|>} are encoded as ordinary text.
+ * <p>
+ * Vocabularies are bundled under {@value #VOCABULARY_PREFIX} and loaded on first use of each
+ * encoding; use {@link #cl100k()} or {@link #o200k()} to share the loaded instance.
+ * Instances are thread-safe.
+ */
+public class BpeTextTokenizer implements TextTokenizer {
+
+    public static final String VOCABULARY_PREFIX = "META-INF/driftkit/tokenizer/";
+
+    private static final int CACHE_SIZE = 4096;
+    private static final Map<Encoding, BpeTextTokenizer> SHARED = new ConcurrentHashMap<>();
+
+    public enum Encoding {
+        /** GPT-4, GPT-3.5 and the text-embedding-3 models */
+        CL100K_BASE("cl100k_base",
+                "(?i:'s|'t|'re|'ve|'m|'ll|'d)|[^\\r\\n\\p{L}\\p{N}]?\\p{L}+|\\p{N}{1,3}"
+                        + "| ?[^\\s\\p{L}\\p{N}]+[\\r\\n]*|\\s*[\\r\\n]+|\\s+(?!\\S)|\\s+"),
+        /** GPT-4o and later models */
+        O200K_BASE("o200k_base",
+                "[^\\r\\n\\p{L}\\p{N}]?[\\p{Lu}\\p{Lt}\\p{Lm}\\p{Lo}\\p{M}]*[\\p{Ll}\\p{Lm}\\p{Lo}\\p{M}]+(?i:'s|'t|'re|'ve|'m|'ll|'d)?"
+                        + "|[^\\r\\n\\p{L}\\p{N}]?[\\p{Lu}\\p{Lt}\\p{Lm}\\p{Lo}\\p{M}]+[\\p{Ll}\\p{Lm}\\p{Lo}\\p{M}]*(?i:'s|'t|'re|'ve|'m|'ll|'d)?"
+                        + "|\\p{N}{1,3}| ?[^\\s\\p{L}\\p{N}]+[\\r\\n/]*|\\s*[\\r\\n]+|\\s+(?!\\S)|\\s+");
+
+        private final String name;
+        private final String pattern;
+
+        Encoding(String name, String pattern) {
+            this.name = name;
+            this.pattern = pattern;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private final Encoding encoding;
+    private final Pattern pattern;
+    private final Ranks ranks;
+    private final Map<String, int[]> cache = Collections.synchronizedMap(new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    });
+
+    /**
+     * Load the vocabulary of an encoding. Prefer the shared instances from {@link #of}.
+     */
+    public BpeTextTokenizer(Encoding encoding) {
+        this.encoding = encoding;
+        this.pattern = Pattern.compile(encoding.pattern, Pattern.UNICODE_CHARACTER_CLASS);
+        this.ranks = Ranks.load(VOCABULARY_PREFIX + encoding.name + ".tiktoken");
+    }
+
+    /**
+     * Shared tokenizer for an encoding, loading its vocabulary on first use.
+     */
+    public static BpeTextTokenizer of(Encoding encoding) {
+        return SHARED.computeIfAbsent(encoding, BpeTextTokenizer::new);
+    }
+
+    public static BpeTextTokenizer cl100k() {
+        return of(Encoding.CL100K_BASE);
+    }
+
+    public static BpeTextTokenizer o200k() {
+        return of(Encoding.O200K_BASE);
+    }
+
+    public Encoding getEncoding() {
+        return encoding;
+    }
+
+    @Override
+    public int estimateTokens(String text) {
+        return countTokens(text);
+    }
+
+    /**
+     * Count the tokens of a text.
+     */
+    public int countTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+
+        int count = 0;
+        Matcher matcher = pattern.matcher(text);
+        while (matcher.find()) {
+            byte[] piece = text.substring(matcher.start(), matcher.end()).getBytes(StandardCharsets.UTF_8);
+            count += ranks.get(piece, 0, piece.length) >= 0 ? 1 : mergedTokens(piece).length;
+        }
+        return count;
+    }
+
+    /**
+     * Encode a text into token ids.
+     */
+    public int[] encode(String text) {
+        if (text == null || text.isEmpty()) {
+            return new int[0];
+        }
+
+        int[] tokens = new int[Math.max(16, text.length() / 3)];
+        int size = 0;
+        Matcher matcher = pattern.matcher(text);
+        while (matcher.find()) {
+            byte[] piece = text.substring(matcher.start(), matcher.end()).getBytes(StandardCharsets.UTF_8);
+            int rank = ranks.get(piece, 0, piece.length);
+            int[] merged = rank >= 0 ? null : mergedTokens(piece);
+            int needed = size + (merged == null ? 1 : merged.length);
+            if (needed > tokens.length) {
+                tokens = Arrays.copyOf(tokens, Math.max(needed, tokens.length * 2));
+            }
+            if (merged == null) {
+                tokens[size++] = rank;
+            } else {
+                System.arraycopy(merged, 0, tokens, size, merged.length);
+                size += merged.length;
+            }
+        }
+        return Arrays.copyOf(tokens, size);
+    }
+
+    private int[] mergedTokens(byte[] piece) {
+        String key = new String(piece, StandardCharsets.ISO_8859_1);
+        int[] tokens = cache.get(key);
+        if (tokens == null) {
+            tokens = merge(piece);
+            cache.put(key, tokens);
+        }
+        return tokens;
+    }
+
+    /**
+     * Apply merges to a piece, always merging the adjacent pair with the lowest rank first
+     * (leftmost on ties). Parts are kept as a linked list over byte offsets, and each part
+     * remembers the rank of the pair it starts, so stale queue entries are recognised on
+     * removal.
+     */
+    private int[] merge(byte[] piece) {
+        int n = piece.length;
+        int[] next = new int[n];
+        int[] previous = new int[n];
+        int[] pairRank = new int[n];
+        LongHeap queue = new LongHeap(n * 2);
+        for (int i = 0; i < n; i++) {
+            next[i] = i + 1;
+            previous[i] = i - 1;
+            pairRank[i] = i + 1 < n ? ranks.get(piece, i, i + 2) : -1;
+            if (pairRank[i] >= 0) {
+                queue.push(key(pairRank[i], i));
+            }
+        }
+
+        int parts = n;
+        while (!queue.isEmpty()) {
+            long key = queue.pop();
+            int start = (int) key;
+            if (pairRank[start] != (int) (key >>> 32)) {
+                continue;
+            }
+
+            // Merge the part at start with the part after it
+            int removed = next[start];
+            int end = next[removed];
+            next[start] = end;
+            if (end < n) {
+                previous[end] = start;
+            }
+            pairRank[removed] = -1;
+            parts--;
+
+            pairRank[start] = end < n ? ranks.get(piece, start, next[end]) : -1;
+            if (pairRank[start] >= 0) {
+                queue.push(key(pairRank[start], start));
+            }
+            int before = previous[start];
+            if (before >= 0) {
+                pairRank[before] = ranks.get(piece, before, end);
+                if (pairRank[before] >= 0) {
+                    queue.push(key(pairRank[before], before));
+                }
+            }
+        }
+
+        int[] tokens = new int[parts];
+        for (int i = 0, t = 0; i < n; i = next[i]) {
+            tokens[t++] = ranks.get(piece, i, next[i]);
+        }
+        return tokens;
+    }
+
+    private static long key(int rank, int position) {
+        return (long) rank << 32 | position;
+    }
+
+    /**
+     * Binary min-heap of primitive longs.
+     */
+    private static final class LongHeap {
+        private long[] values;
+        private int size;
+
+        LongHeap(int capacity) {
+            values = new long[Math.max(4, capacity)];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (values[parent] <= value) {
+                    break;
+                }
+                values[i] = values[parent];
+                i = parent;
+            }
+            values[i] = value;
+        }
+
+        long pop() {
+            long top = values[0];
+            long last = values[--size];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && values[child + 1] < values[child]) {
+                    child++;
+                }
+                if (values[child] >= last) {
+                    break;
+                }
+                values[i] = values[child];
+                i = child;
+            }
+            values[i] = last;
+            return top;
+        }
+    }
+
+    /**
+     * Token ranks keyed by byte sequence, in an open-addressing table over a single byte pool
+     * so lookups of sub-ranges allocate nothing.
+     */
+    private static final class Ranks {
+        private final byte[] pool;
+        private final int[] offsets;
+        private final int[] lengths;
+        private final int[] ranks;
+        private final int[] table;
+        private final int mask;
+
+        private Ranks(byte[] pool, int[] offsets, int[] lengths, int[] ranks) {
+            this.pool = pool;
+            this.offsets = offsets;
+            this.lengths = lengths;
+            this.ranks = ranks;
+            this.table = new int[Integer.highestOneBit(ranks.length * 3) * 2];
+            this.mask = table.length - 1;
+            Arrays.fill(table, -1);
+            for (int entry = 0; entry < ranks.length; entry++) {
+                int slot = hash(pool, offsets[entry], offsets[entry] + lengths[entry]) & mask;
+                while (table[slot] >= 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = entry;
+            }
+        }
+
+        static Ranks load(String resource) {
+            InputStream stream = BpeTextTokenizer.class.getClassLoader().getResourceAsStream(resource);
+            if (stream == null) {
+                throw new IllegalStateException("Tokenizer vocabulary not found on the classpath: " + resource);
+            }
+
+            byte[] pool = new byte[1 << 20];
+            int[] offsets = new int[1 << 17];
+            int[] lengths = new int[offsets.length];
+            int[] ranks = new int[offsets.length];
+            int entries = 0;
+            int used = 0;
+            Base64.Decoder decoder = Base64.getDecoder();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.US_ASCII))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int space = line.indexOf(' ');
+                    if (space < 0) {
+                        continue;
+                    }
+                    byte[] token = decoder.decode(line.substring(0, space));
+                    if (entries == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, entries * 2);
+                        lengths = Arrays.copyOf(lengths, entries * 2);
+                        ranks = Arrays.copyOf(ranks, entries * 2);
+                    }
+                    if (used + token.length > pool.length) {
+                        pool = Arrays.copyOf(pool, Math.max(pool.length * 2, used + token.length));
+                    }
+                    System.arraycopy(token, 0, pool, used, token.length);
+                    offsets[entries] = used;
+                    lengths[entries] = token.length;
+                    ranks[entries] = Integer.parseInt(line, space + 1, line.length(), 10);
+                    used += token.length;
+                    entries++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read tokenizer vocabulary " + resource, e);
+            }
+
+            return new Ranks(Arrays.copyOf(pool, used), Arrays.copyOf(offsets, entries),
+                    Arrays.copyOf(lengths, entries), Arrays.copyOf(ranks, entries));
+        }
+
+        /**
+         * @return Rank of the token spelled by {@code bytes[from, to)}, or -1 if it is not a token
+         */
+        int get(byte[] bytes, int from, int to) {
+            int length = to - from;
+            int slot = hash(bytes, from, to) & mask;
+            int entry;
+            while ((entry = table[slot]) >= 0) {
+                if (lengths[entry] == length
+                        && Arrays.equals(pool, offsets[entry], offsets[entry] + length, bytes, from, to)) {
+                    return ranks[entry];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private static int hash(byte[] bytes, int from, int to) {
+            int hash = 0x811c9dc5;
+            for (int i = from; i < to; i++) {
+                hash = (hash ^ bytes[i]) * 0x01000193;
+            }
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -4,7 +4,8 @@ import ai.driftkit.common.service.TextTokenizer;
 
 /**
  * Simple implementation of TextTokenizer using character count approximation.
- * Estimates ~4 characters per token on average.
+ * Estimates ~4 characters per token on average, which undercounts code, non-English text
+ * and numbers; use {@link BpeTextTokenizer} where counts must be exact.
  */
 public class SimpleTextTokenizer implements TextTokenizer {
     
@@ -0,0 +1,194 @@
+package ai.driftkit.common.tools;
+
+import ai.driftkit.common.utils.ModelUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A registered tool prepared for repeated invocation: the target method is resolved once into
+ * a {@link MethodHandle} bound to the tool instance, and every parameter gets a prebuilt
+ * Jackson {@link ObjectReader}, so a call only reads its arguments and invokes the handle.
+ * <p>
+ * Two kinds of tools are supported: methods analyzed by {@link ToolAnalyzer}, whose parameters
+ * are read one by one from the argument object, and tool objects without a method, such as
+ * agents wrapped as tools, whose {@code execute} method takes the whole argument object.
+ */
+@Slf4j
+final class CompiledTool {
+
+    private final ToolInfo toolInfo;
+    private final MethodHandle invoker;
+    private final String[] parameterNames;
+    private final ObjectReader[] readers;
+    private final boolean objectStyle;
+
+    private CompiledTool(ToolInfo toolInfo, MethodHandle invoker, String[] parameterNames,
+                         ObjectReader[] readers, boolean objectStyle) {
+        this.toolInfo = toolInfo;
+        this.invoker = invoker;
+        this.parameterNames = parameterNames;
+        this.readers = readers;
+        this.objectStyle = objectStyle;
+    }
+
+    /**
+     * Resolves the tool's method handle and argument readers.
+     *
+     * @throws IllegalArgumentException if the tool's target method cannot be resolved
+     */
+    static CompiledTool compile(ToolInfo toolInfo) {
+        List<Type> parameterTypes = toolInfo.getParameterTypes() != null ? toolInfo.getParameterTypes() : List.of();
+        boolean objectStyle = toolInfo.getMethod() == null && toolInfo.getInstance() != null;
+
+        Method method;
+        if (objectStyle) {
+            if (parameterTypes.isEmpty()) {
+                throw new IllegalArgumentException("No parameter types defined for tool: " + toolInfo.getFunctionName());
+            }
+            Type argumentType = parameterTypes.get(0);
+            Class<?> argumentClass = argumentType instanceof Class<?> c ? c : Object.class;
+            try {
+                method = toolInfo.getInstance().getClass().getMethod("execute", argumentClass);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException("Tool " + toolInfo.getFunctionName() + " has no execute("
+                        + argumentClass.getSimpleName() + ") method", e);
+            }
+        } else if (toolInfo.getMethod() != null) {
+            method = toolInfo.getMethod();
+        } else {
+            throw new IllegalArgumentException("Tool " + toolInfo.getFunctionName() + " has neither a method nor an instance");
+        }
+
+        MethodHandle handle = unreflect(method, toolInfo.getFunctionName());
+        if (!Modifier.isStatic(method.getModifiers())) {
+            handle = handle.bindTo(toolInfo.getInstance());
+        }
+        int arity = objectStyle ? 1 : parameterTypes.size();
+        MethodHandle invoker = handle
+                .asSpreader(Object[].class, arity)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+
+        List<String> names = toolInfo.getParameterNames() != null ? toolInfo.getParameterNames() : List.of();
+        if (!objectStyle && names.size() != parameterTypes.size()) {
+            throw new IllegalArgumentException("Parameter names and types differ in length for tool: " + toolInfo.getFunctionName());
+        }
+        ObjectReader[] readers = new ObjectReader[objectStyle ? 1 : parameterTypes.size()];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = ModelUtils.OBJECT_MAPPER.readerFor(ModelUtils.OBJECT_MAPPER.constructType(parameterTypes.get(i)));
+        }
+
+        return new CompiledTool(toolInfo, invoker, names.toArray(String[]::new), readers, objectStyle);
+    }
+
+    ToolInfo getToolInfo() {
+        return toolInfo;
+    }
+
+    /**
+     * Invokes the tool with arguments already parsed into a map of JSON nodes.
+     */
+    Object invoke(Map<String, JsonNode> arguments) {
+        Object[] values;
+        if (objectStyle) {
+            ObjectNode node = ModelUtils.OBJECT_MAPPER.createObjectNode();
+            if (arguments != null) {
+                node.setAll(arguments);
+            }
+            values = new Object[]{readArgument(0, node)};
+        } else {
+            values = new Object[readers.length];
+            for (int i = 0; i < values.length; i++) {
+                JsonNode node = arguments != null ? arguments.get(parameterNames[i]) : null;
+                values[i] = node == null || node.isNull() ? null : readArgument(i, node);
+            }
+        }
+        return invokeHandle(values);
+    }
+
+    /**
+     * Invokes the tool with the raw JSON arguments of a tool call.
+     */
+    Object invoke(String argumentsJson) {
+        String json = argumentsJson == null || argumentsJson.isBlank() ? "{}" : argumentsJson;
+        if (objectStyle) {
+            // The argument object maps onto the single parameter without building a tree
+            try {
+                return invokeHandle(new Object[]{readers[0].readValue(json)});
+            } catch (IOException e) {
+                throw argumentError(0, e);
+            }
+        }
+
+        JsonNode tree;
+        try {
+            tree = ModelUtils.OBJECT_MAPPER.readTree(json);
+        } catch (IOException e) {
+            throw new RuntimeException("Invalid arguments JSON for function " + toolInfo.getFunctionName(), e);
+        }
+
+        Object[] values = new Object[readers.length];
+        for (int i = 0; i < values.length; i++) {
+            JsonNode node = tree.get(parameterNames[i]);
+            values[i] = node == null || node.isNull() ? null : readArgument(i, node);
+        }
+        return invokeHandle(values);
+    }
+
+    private Object readArgument(int index, JsonNode node) {
+        try {
+            return readers[index].readValue(node);
+        } catch (Exception e) {
+            throw argumentError(index, e);
+        }
+    }
+
+    private RuntimeException argumentError(int index, Exception cause) {
+        String typeName = toolInfo.getParameterTypes().get(index).getTypeName();
+        if (objectStyle) {
+            // Object-style tools report conversion failures as execution failures
+            return new RuntimeException("Failed to execute tool: " + toolInfo.getFunctionName(),
+                    new RuntimeException("Failed to convert arguments to type " + typeName + " for tool "
+                            + toolInfo.getFunctionName(), cause));
+        }
+        return new RuntimeException("Failed to convert argument '" + parameterNames[index] + "' to type "
+                + typeName + " for function " + toolInfo.getFunctionName(), cause);
+    }
+
+    private Object invokeHandle(Object[] values) {
+        try {
+            return (Object) invoker.invokeExact(values);
+        } catch (Throwable e) {
+            if (objectStyle) {
+                throw new RuntimeException("Failed to execute tool: " + toolInfo.getFunctionName(), e);
+            }
+            log.error("Error invoking tool function {}: {}", toolInfo.getFunctionName(), e.getMessage(), e);
+            throw new RuntimeException("Tool function execution failed: " + toolInfo.getFunctionName(), e);
+        }
+    }
+
+    private static MethodHandle unreflect(Method method, String functionName) {
+        try {
+            return MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            // Public methods of non-public classes, e.g. tools declared as nested or anonymous classes
+            try {
+                method.setAccessible(true);
+                return MethodHandles.lookup().unreflect(method);
+            } catch (RuntimeException | IllegalAccessException inaccessible) {
+                throw new IllegalArgumentException("Tool method is not accessible: " + functionName, inaccessible);
+            }
+        }
+    }
+}
@@ -1,12 +1,9 @@
 package ai.driftkit.common.tools;
 
 import ai.driftkit.common.domain.client.ModelClient;
-import ai.driftkit.common.utils.ModelUtils;
-import com.fasterxml.jackson.databind.JsonNode;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -19,6 +16,8 @@ import java.util.concurrent.ConcurrentHashMap;
 public class ToolRegistry {
     
     private final Map<String, ToolInfo> tools = new ConcurrentHashMap<>();
+    // Method handles and argument readers, prepared when a tool is registered
+    private final Map<String, CompiledTool> compiledTools = new ConcurrentHashMap<>();
     
     /**
      * Registers a single method as a tool function.
@@ -32,6 +31,13 @@ public class ToolRegistry {
         }
         
         tools.put(functionName, toolInfo);
+        try {
+            compiledTools.put(functionName, CompiledTool.compile(toolInfo));
+        } catch (RuntimeException e) {
+            // Reported again when the tool is called
+            compiledTools.remove(functionName);
+            log.warn("Tool function {} cannot be prepared for invocation: {}", functionName, e.getMessage());
+        }
         log.info("Registered tool function: {}", functionName);
     }
     
@@ -168,95 +174,35 @@ public class ToolRegistry {
      */
     public Object executeToolCall(ToolCall toolCall) {
         String functionName = toolCall.getFunction().getName();
-        Map<String, JsonNode> argumentsMap = toolCall.getFunction().getArguments();
-        
-        ToolInfo toolInfo = tools.get(functionName);
-        if (toolInfo == null) {
-            throw new RuntimeException("Function not found: " + functionName);
-        }
-        
-        // Check if this is a tool with no method (e.g., AgentAsTool)
-        if (toolInfo.getMethod() == null && toolInfo.getInstance() != null) {
-            try {
-                // For tools without methods, we expect the instance to have an execute method
-                // Convert arguments to the tool's argument type
-                Object arguments = convertArgumentsToToolType(toolInfo, argumentsMap);
-                
-                // Use reflection to call execute method
-                Type paramType = toolInfo.getParameterTypes().get(0);
-                Class<?> paramClass = (paramType instanceof Class<?>) ? (Class<?>) paramType : Object.class;
-                Method executeMethod = toolInfo.getInstance().getClass().getMethod("execute", paramClass);
-                return executeMethod.invoke(toolInfo.getInstance(), arguments);
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to execute tool: " + functionName, e);
-            }
-        } else {
-            // Standard method invocation
-            Object[] methodArgs = convertArgumentsToArray(toolInfo, argumentsMap);
-            return ToolAnalyzer.invokeToolFunction(toolInfo, methodArgs);
-        }
+        return compiledTool(functionName).invoke(toolCall.getFunction().getArguments());
     }
     
     /**
-     * Converts Map arguments to typed array for method invocation.
+     * Executes a tool function with the raw JSON arguments of a tool call, as sent by the model.
+     * Avoids building an intermediate argument map when the caller still has the JSON text.
+     * 
+     * @param functionName Function name
+     * @param argumentsJson Function arguments as a JSON object
+     * @return Function execution result
      */
-    private Object[] convertArgumentsToArray(ToolInfo toolInfo, Map<String, JsonNode> argumentsMap) {
-        List<String> parameterNames = toolInfo.getParameterNames();
-        List<Type> parameterTypes = toolInfo.getParameterTypes();
-        
-        Object[] methodArgs = new Object[parameterNames.size()];
-        
-        for (int i = 0; i < parameterNames.size(); i++) {
-            Type type = parameterTypes.get(i);
-            String paramName = parameterNames.get(i);
-            JsonNode jsonNode = argumentsMap.get(paramName);
-            
-            if (jsonNode == null || jsonNode.isNull()) {
-                methodArgs[i] = null;
-            } else {
-                try {
-                    // Convert JsonNode to the actual parameter type
-                    if (type instanceof Class<?>) {
-                        Class<?> paramClass = (Class<?>) type;
-                        methodArgs[i] = ModelUtils.OBJECT_MAPPER.treeToValue(jsonNode, paramClass);
-                    } else {
-                        // For generic types, use TypeReference
-                        methodArgs[i] = ModelUtils.OBJECT_MAPPER.convertValue(jsonNode, 
-                            ModelUtils.OBJECT_MAPPER.constructType(type));
-                    }
-                } catch (Exception e) {
-                    throw new RuntimeException("Failed to convert argument '" + paramName + 
-                        "' to type " + type.getTypeName() + " for function " + 
-                        toolInfo.getFunctionName(), e);
-                }
-            }
-        }
-        
-        return methodArgs;
+    public Object executeToolCall(String functionName, String argumentsJson) {
+        return compiledTool(functionName).invoke(argumentsJson);
     }
     
-    /**
-     * Converts Map arguments to tool's argument type.
-     */
-    private Object convertArgumentsToToolType(ToolInfo toolInfo, Map<String, JsonNode> argumentsMap) {
+    private CompiledTool compiledTool(String functionName) {
+        CompiledTool compiled = compiledTools.get(functionName);
+        if (compiled != null) {
+            return compiled;
+        }
+        
+        ToolInfo toolInfo = tools.get(functionName);
+        if (toolInfo == null) {
+            throw new RuntimeException("Function not found: " + functionName);
+        }
         try {
-            // Get the first parameter type which should be the argument type
-            if (toolInfo.getParameterTypes() == null || toolInfo.getParameterTypes().isEmpty()) {
-                throw new RuntimeException("No parameter types defined for tool: " + toolInfo.getFunctionName());
-            }
-            
-            Type argumentType = toolInfo.getParameterTypes().get(0);
-            
-            // Convert the entire argumentsMap to the tool's argument type
-            if (argumentType instanceof Class<?>) {
-                return ModelUtils.OBJECT_MAPPER.convertValue(argumentsMap, (Class<?>) argumentType);
-            } else {
-                return ModelUtils.OBJECT_MAPPER.convertValue(argumentsMap, 
-                    ModelUtils.OBJECT_MAPPER.constructType(argumentType));
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to convert arguments to type " + 
-                toolInfo.getParameterTypes().get(0).getTypeName() + " for tool " + toolInfo.getFunctionName(), e);
+            return CompiledTool.compile(toolInfo);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Failed to execute tool: " + functionName, e);
         }
     }
     
@@ -299,6 +245,7 @@ public class ToolRegistry {
      */
     public boolean removeFunction(String functionName) {
         ToolInfo removed = tools.remove(functionName);
+        compiledTools.remove(functionName);
         if (removed != null) {
             log.info("Removed tool function: {}", functionName);
             return true;
@@ -312,6 +259,7 @@ public class ToolRegistry {
     public void clearAll() {
         int count = tools.size();
         tools.clear();
+        compiledTools.clear();
         log.info("Cleared {} tool functions from registry", count);
     }
     
@@ -1,16 +1,175 @@
 package ai.driftkit.common.util;
 
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
- * Utility class for retrying operations with exponential backoff
+ * Retries operations with jittered exponential backoff.
+ * <p>
+ * Delays follow the "decorrelated jitter" schedule: each delay is drawn uniformly between the
+ * base delay and three times the previous delay, capped at the maximum delay. Callers that
+ * failed at the same moment therefore spread their retries out instead of hitting a recovering
+ * service together again.
+ * <p>
+ * A configured instance also draws every retry from a {@link RetryBudget}, shared process-wide
+ * by default, so retries stay a small share of the traffic during an outage. {@link #callAsync}
+ * retries without blocking a thread: waits are scheduled on the JDK's shared
+ * {@link CompletableFuture#delayedExecutor delayed executor} and attempts run on the configured
+ * executor, a new virtual thread by default.
+ * <p>
+ * The static methods keep their original contract of a fixed number of attempts and are not
+ * limited by a budget; their delays are jittered between the given delay and three times the
+ * longest delay of the old fixed schedule.
  */
+@Slf4j
 public class Retrier {
     private static final int DEFAULT_TRIALS = 3;
-    private static final int DEFAULT_DELAY = 3000;
+    private static final long DEFAULT_DELAY = 1000;
+    private static final long DEFAULT_MAX_DELAY = 30_000;
+
+    private static final Executor VIRTUAL_THREAD_EXECUTOR = command -> Thread.ofVirtual().name("driftkit-retry").start(command);
+
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final RetryBudget budget;
+    private final Predicate<Throwable> retryOn;
+    private final Executor executor;
+
+    /**
+     * @param maxAttempts attempts including the first one, 3 when not positive
+     * @param baseDelayMs shortest delay before a retry, 1 second when not positive
+     * @param maxDelayMs  longest delay before a retry, 30 seconds when not positive
+     * @param budget      budget every retry is drawn from, {@link RetryBudget#global()} when null
+     * @param retryOn     failures worth retrying, all when null
+     * @param executor    executor running asynchronous retries, a new virtual thread per retry when null
+     */
+    @Builder
+    public Retrier(int maxAttempts, long baseDelayMs, long maxDelayMs, RetryBudget budget,
+                   Predicate<Throwable> retryOn, Executor executor) {
+        this.maxAttempts = maxAttempts > 0 ? maxAttempts : DEFAULT_TRIALS;
+        this.baseDelayMs = baseDelayMs > 0 ? baseDelayMs : DEFAULT_DELAY;
+        this.maxDelayMs = Math.max(this.baseDelayMs, maxDelayMs > 0 ? maxDelayMs : DEFAULT_MAX_DELAY);
+        this.budget = budget != null ? budget : RetryBudget.global();
+        this.retryOn = retryOn != null ? retryOn : failure -> true;
+        this.executor = executor != null ? executor : VIRTUAL_THREAD_EXECUTOR;
+    }
+
+    /**
+     * Calls {@code callable} until it succeeds, blocking the calling thread between attempts.
+     *
+     * @throws Exception the last failure once attempts or the budget run out, or a failure not worth retrying
+     */
+    public <R> R call(Callable<R> callable) throws Exception {
+        budget.onRequest();
+        long delay = baseDelayMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return callable.call();
+            } catch (Exception e) {
+                if (!shouldRetry(e, attempt)) {
+                    throw e;
+                }
+                delay = nextDelay(delay);
+                Thread.sleep(delay);
+            }
+        }
+    }
+
+    /**
+     * Runs {@code runnable} until it succeeds, blocking the calling thread between attempts.
+     */
+    public void run(Runnable runnable) throws Exception {
+        call(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * Starts {@code attempt} until the stage it returns completes normally, without blocking
+     * between attempts. The first attempt is started on the calling thread.
+     * <p>
+     * Cancelling the returned future stops further retries. It fails with the last failure,
+     * unwrapped from {@link CompletionException}, once attempts or the budget run out.
+     */
+    public <R> CompletableFuture<R> callAsync(Supplier<? extends CompletionStage<R>> attempt) {
+        budget.onRequest();
+        CompletableFuture<R> result = new CompletableFuture<>();
+        attemptAsync(attempt, 1, baseDelayMs, result);
+        return result;
+    }
+
+    private <R> void attemptAsync(Supplier<? extends CompletionStage<R>> attempt, int number,
+                                  long previousDelay, CompletableFuture<R> result) {
+        if (result.isDone()) {
+            return;
+        }
+
+        CompletionStage<R> stage;
+        try {
+            stage = attempt.get();
+        } catch (Throwable e) {
+            stage = CompletableFuture.failedFuture(e);
+        }
+
+        stage.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+                return;
+            }
+
+            Throwable failure = unwrap(error);
+            if (result.isDone() || !shouldRetry(failure, number)) {
+                result.completeExceptionally(failure);
+                return;
+            }
 
-    private Retrier() {
+            long delay = nextDelay(previousDelay);
+            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, executor)
+                    .execute(() -> attemptAsync(attempt, number + 1, delay, result));
+        });
+    }
+
+    private boolean shouldRetry(Throwable failure, int attempt) {
+        if (attempt >= maxAttempts || !retryOn.test(failure)) {
+            return false;
+        }
+        if (!budget.tryRetry()) {
+            log.debug("Retry budget exhausted, giving up after attempt {}: {}", attempt, failure.toString());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Decorrelated jitter: uniform between the base delay and three times the previous delay, capped.
+     */
+    long nextDelay(long previousDelay) {
+        long upper = previousDelay > maxDelayMs / 3 ? maxDelayMs : Math.min(maxDelayMs, previousDelay * 3);
+        if (upper <= baseDelayMs) {
+            return baseDelayMs;
+        }
+        return ThreadLocalRandom.current().nextLong(baseDelayMs, upper + 1);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
     }
 
     public static void retry(Runnable runnable) throws Exception {
@@ -72,37 +231,29 @@ public class Retrier {
     }
 
     public static <R> R retry(Callable<R> callable, int trials, long delay, int multiplier) throws Exception {
-        for(int trial = 0; trial < trials; delay *= (long)multiplier) {
-            ++trial;
-
-            try {
-                return callable.call();
-            } catch (Exception e) {
-                if (trial >= trials) {
-                    throw e;
-                }
-
-                Thread.sleep(delay);
-            }
+        if (trials <= 0) {
+            return null;
         }
-
-        return null;
+        return fixedAttempts(trials, delay, multiplier).call(callable);
     }
 
     public static void retry(Runnable runnable, int trials, long delay, int multiplier) throws Exception {
-        for(int trial = 0; trial < trials; delay *= (long)multiplier) {
-            ++trial;
-
-            try {
-                runnable.run();
-                return;
-            } catch (Exception e) {
-                if (trial >= trials) {
-                    throw e;
-                }
+        if (trials <= 0) {
+            return;
+        }
+        fixedAttempts(trials, delay, multiplier).run(runnable);
+    }
 
-                Thread.sleep(delay);
-            }
+    /**
+     * Retrier for the static methods: unlimited budget, and delays from {@code delay} up to three
+     * times the longest delay of the fixed {@code delay * multiplier^n} schedule.
+     */
+    private static Retrier fixedAttempts(int trials, long delay, int multiplier) {
+        long base = Math.max(delay, 1);
+        long longest = base;
+        for (int retry = 1; retry < trials - 1 && longest < DEFAULT_MAX_DELAY; retry++) {
+            longest *= Math.max(multiplier, 1);
         }
+        return new Retrier(trials, base, longest * 3, RetryBudget.unlimited(), null, null);
     }
-}
\ No newline at end of file
+}
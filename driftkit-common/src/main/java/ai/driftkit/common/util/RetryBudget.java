@@ -0,0 +1,146 @@
+package ai.driftkit.common.util;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits retries to a share of the requests sent, so that callers failing together do not
+ * multiply the load on a service that is trying to recover.
+ * <p>
+ * Every request deposits {@code ratio} credits and every retry withdraws one; a retry is refused
+ * when less than one credit is left. Credits also accrue at {@code minRetriesPerSecond}, which
+ * lets a low-traffic caller retry at all. The balance is capped, so a long quiet period cannot
+ * save up a burst of retries.
+ * <p>
+ * One budget is meant to be shared by everything that calls the same service;
+ * {@link #global()} is shared by all {@link Retrier retriers} that do not set their own.
+ * Instances are thread-safe.
+ */
+public class RetryBudget {
+
+    public static final double DEFAULT_RATIO = 0.1;
+    public static final double DEFAULT_MIN_RETRIES_PER_SECOND = 10;
+
+    private static final RetryBudget GLOBAL = new RetryBudget(DEFAULT_RATIO, DEFAULT_MIN_RETRIES_PER_SECOND);
+    private static final RetryBudget UNLIMITED = new RetryBudget(0, 0, 1, System::nanoTime, true);
+
+    private final double ratio;
+    private final double minRetriesPerSecond;
+    private final double maxCredits;
+    private final LongSupplier nanoClock;
+    private final boolean unlimited;
+
+    private final Object lock = new Object();
+    private double credits;
+    private long lastRefillNanos;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Budget capped at ten seconds' worth of the minimum retry rate, and at least ten credits.
+     *
+     * @param ratio maximum share of requests that may be retried, e.g. {@code 0.1} for 10%
+     * @param minRetriesPerSecond retries allowed per second regardless of traffic
+     */
+    public RetryBudget(double ratio, double minRetriesPerSecond) {
+        this(ratio, minRetriesPerSecond, Math.max(10, minRetriesPerSecond * 10));
+    }
+
+    /**
+     * @param ratio maximum share of requests that may be retried, e.g. {@code 0.1} for 10%
+     * @param minRetriesPerSecond retries allowed per second regardless of traffic
+     * @param maxCredits largest number of retries that can be saved up
+     */
+    public RetryBudget(double ratio, double minRetriesPerSecond, double maxCredits) {
+        this(ratio, minRetriesPerSecond, maxCredits, System::nanoTime, false);
+    }
+
+    RetryBudget(double ratio, double minRetriesPerSecond, double maxCredits, LongSupplier nanoClock, boolean unlimited) {
+        if (ratio < 0 || minRetriesPerSecond < 0 || maxCredits < 1) {
+            throw new IllegalArgumentException("ratio and minRetriesPerSecond must not be negative, "
+                    + "maxCredits must be at least 1");
+        }
+        this.ratio = ratio;
+        this.minRetriesPerSecond = minRetriesPerSecond;
+        this.maxCredits = maxCredits;
+        this.nanoClock = nanoClock;
+        this.unlimited = unlimited;
+        this.credits = Math.min(maxCredits, minRetriesPerSecond);
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Process-wide budget allowing 10% retries plus ten retries per second.
+     */
+    public static RetryBudget global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Budget that never refuses a retry, for callers whose attempts must not depend on other traffic.
+     */
+    public static RetryBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * Records a first attempt.
+     */
+    public void onRequest() {
+        requests.increment();
+        if (unlimited) {
+            return;
+        }
+        synchronized (lock) {
+            refill();
+            credits = Math.min(maxCredits, credits + ratio);
+        }
+    }
+
+    /**
+     * Withdraws one credit for a retry.
+     *
+     * @return {@code true} if the retry may go ahead
+     */
+    public boolean tryRetry() {
+        if (unlimited) {
+            retries.increment();
+            return true;
+        }
+        synchronized (lock) {
+            refill();
+            if (credits >= 1) {
+                credits -= 1;
+                retries.increment();
+                return true;
+            }
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    /**
+     * Number of retries refused because the budget was exhausted.
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        if (minRetriesPerSecond > 0) {
+            credits = Math.min(maxCredits, credits + (now - lastRefillNanos) / 1e9 * minRetriesPerSecond);
+        }
+        lastRefillNanos = now;
+    }
+}
@@ -1,17 +1,36 @@
 package ai.driftkit.common.utils;
 
-import lombok.Data;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.extern.slf4j.Slf4j;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
-@Data
+/**
+ * Named counts backed by {@link LongAdder}s, so threads incrementing the same name do not
+ * contend on a single value.
+ * <p>
+ * The number of distinct names is bounded: once {@code maxKeys} names exist, updates to new
+ * names are dropped, counted in {@link #getDropped()} and logged once. Under concurrent updates
+ * the totals returned by {@link #increment} and {@link #add} may include other threads' updates.
+ */
+@Slf4j
 public class Counter<T> {
-    Map<T, AtomicInteger> counters;
+
+    public static final int DEFAULT_MAX_KEYS = 10_000;
+
+    private final Map<T, LongAdder> counters = new ConcurrentHashMap<>();
+    private final AtomicInteger keys = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicBoolean droppedLogged = new AtomicBoolean();
+    private final int maxKeys;
 
     public static class CounterNamed extends Counter<String> {
         public CounterNamed() {
@@ -25,31 +44,89 @@ public class Counter<T> {
     }
 
     public Counter() {
-        this.counters = new ConcurrentHashMap<>();
+        this(DEFAULT_MAX_KEYS);
+    }
+
+    public Counter(int maxKeys) {
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("maxKeys must be positive");
+        }
+        this.maxKeys = maxKeys;
     }
 
     public int increment(T name) {
-        return getMutableInt(name).incrementAndGet();
+        return add(name, 1);
     }
 
     public int add(T name, int add) {
-        return getMutableInt(name).addAndGet(add);
+        LongAdder counter = getAdder(name);
+        if (counter == null) {
+            return add;
+        }
+        counter.add(add);
+        return counter.intValue();
     }
 
     public int get(T name) {
-        return getMutableInt(name).intValue();
+        LongAdder counter = counters.get(name);
+        return counter != null ? counter.intValue() : 0;
+    }
+
+    /**
+     * Snapshot of the current counts.
+     */
+    public Set<Entry<T, Long>> entrySet() {
+        return getCounters().entrySet();
     }
 
-    public Set<Entry<T, AtomicInteger>> entrySet() {
-        return counters.entrySet();
+    /**
+     * Snapshot of the current counts.
+     */
+    public Map<T, Long> getCounters() {
+        Map<T, Long> snapshot = new LinkedHashMap<>();
+        counters.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+        return snapshot;
     }
 
-    private AtomicInteger getMutableInt(T name) {
-        return counters.computeIfAbsent(name, k -> new AtomicInteger());
+    /**
+     * Replaces all counts, e.g. when restoring a serialized counter.
+     */
+    public void setCounters(Map<T, ? extends Number> values) {
+        counters.clear();
+        keys.set(0);
+        if (values != null) {
+            values.forEach((name, value) -> add(name, value.intValue()));
+        }
+    }
+
+    /**
+     * Number of updates dropped because {@code maxKeys} names existed already.
+     */
+    @JsonIgnore
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    private LongAdder getAdder(T name) {
+        LongAdder counter = counters.get(name);
+        if (counter != null) {
+            return counter;
+        }
+        if (keys.get() >= maxKeys) {
+            dropped.increment();
+            if (droppedLogged.compareAndSet(false, true)) {
+                log.warn("Counter reached {} names, dropping updates to new names such as [{}]", maxKeys, name);
+            }
+            return null;
+        }
+        return counters.computeIfAbsent(name, k -> {
+            keys.incrementAndGet();
+            return new LongAdder();
+        });
     }
 
     @Override
     public String toString() {
         return String.valueOf(counters);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,235 @@
+package ai.driftkit.common.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.Value;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Push-based JSON parser for documents that arrive in pieces, such as structured output
+ * streamed by a model.
+ * <p>
+ * Deltas are handed to Jackson's non-blocking parser as they arrive, so each character is
+ * tokenized once, and the tokens are assembled into a tree that grows with the document.
+ * Whenever a field value or an array element is complete the listener receives an
+ * {@link Event} with its JSON Pointer path and value; an object or array joins the tree as soon
+ * as it opens but is reported once, after its own fields and elements. Text before the first
+ * {@code {} or {@code [}, such as a Markdown fence, and text after the top-level value are
+ * ignored.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public class IncrementalJsonParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    public enum EventType {
+        /** A field of an object received its complete value. */
+        FIELD_COMPLETED,
+        /** A complete element was appended to an array. */
+        ELEMENT_APPENDED,
+        /** The top-level value is complete. */
+        DOCUMENT_COMPLETED
+    }
+
+    @Value
+    public static class Event {
+        EventType type;
+        /** JSON Pointer of the value, empty for the document itself. */
+        String path;
+        JsonNode value;
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+        void onEvent(Event event);
+    }
+
+    private final Listener listener;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final Deque<Container> containers = new ArrayDeque<>();
+
+    private JsonNode root;
+    private boolean started;
+    private boolean complete;
+    private char pendingHighSurrogate;
+
+    public IncrementalJsonParser(Listener listener) {
+        this.listener = listener;
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Parses the next piece of the document and reports the values it completes.
+     *
+     * @throws UncheckedIOException if the input is not valid JSON
+     */
+    public void feed(CharSequence delta) {
+        if (complete || delta.isEmpty()) {
+            return;
+        }
+
+        int from = 0;
+        if (!started) {
+            while (from < delta.length() && delta.charAt(from) != '{' && delta.charAt(from) != '[') {
+                from++;
+            }
+            if (from == delta.length()) {
+                return;
+            }
+            started = true;
+        }
+
+        StringBuilder text = new StringBuilder(delta.length() - from + 1);
+        if (pendingHighSurrogate != 0) {
+            text.append(pendingHighSurrogate);
+            pendingHighSurrogate = 0;
+        }
+        text.append(delta, from, delta.length());
+        // A surrogate pair split between deltas is encoded once both halves are here
+        if (Character.isHighSurrogate(text.charAt(text.length() - 1))) {
+            pendingHighSurrogate = text.charAt(text.length() - 1);
+            text.setLength(text.length() - 1);
+        }
+
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            drain();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Signals that no more input follows.
+     *
+     * @throws UncheckedIOException if the document ends inside an object or array
+     */
+    public void endOfInput() {
+        if (complete) {
+            return;
+        }
+        feeder.endOfInput();
+        try {
+            drain();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the tree parsed so far, or {@code null} before the document starts. It holds every
+     * completed scalar and every object and array opened so far, and is updated in place as
+     * more input arrives.
+     */
+    public JsonNode getRoot() {
+        return root;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while (!complete && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case START_OBJECT -> open(JsonNodeFactory.instance.objectNode());
+                case START_ARRAY -> open(JsonNodeFactory.instance.arrayNode());
+                case FIELD_NAME -> containers.peek().field = parser.currentName();
+                case END_OBJECT, END_ARRAY -> close();
+                case VALUE_STRING -> attach(JsonNodeFactory.instance.textNode(parser.getText()));
+                case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> attach(number());
+                case VALUE_TRUE -> attach(JsonNodeFactory.instance.booleanNode(true));
+                case VALUE_FALSE -> attach(JsonNodeFactory.instance.booleanNode(false));
+                case VALUE_NULL -> attach(JsonNodeFactory.instance.nullNode());
+                default -> {
+                    // Embedded objects do not occur in textual JSON
+                }
+            }
+        }
+    }
+
+    private JsonNode number() throws IOException {
+        return switch (parser.getNumberType()) {
+            case INT -> JsonNodeFactory.instance.numberNode(parser.getIntValue());
+            case LONG -> JsonNodeFactory.instance.numberNode(parser.getLongValue());
+            case BIG_INTEGER -> JsonNodeFactory.instance.numberNode(parser.getBigIntegerValue());
+            case BIG_DECIMAL -> JsonNodeFactory.instance.numberNode(parser.getDecimalValue());
+            default -> JsonNodeFactory.instance.numberNode(parser.getDoubleValue());
+        };
+    }
+
+    private void open(JsonNode node) {
+        Container parent = containers.peek();
+        if (parent == null) {
+            root = node;
+            containers.push(new Container(node, ""));
+            return;
+        }
+        // Containers join the tree as soon as they open, so partial arrays and objects are visible
+        containers.push(new Container(node, parent.add(node)));
+    }
+
+    private void close() {
+        Container closed = containers.pop();
+        Container parent = containers.peek();
+        if (parent == null) {
+            complete = true;
+            listener.onEvent(new Event(EventType.DOCUMENT_COMPLETED, "", closed.node));
+        } else {
+            listener.onEvent(new Event(parent.completedType(), closed.path, closed.node));
+        }
+    }
+
+    private void attach(JsonNode value) {
+        // Scalars always have a parent: the document starts at the first '{' or '['
+        Container parent = containers.peek();
+        listener.onEvent(new Event(parent.completedType(), parent.add(value), value));
+    }
+
+    private static final class Container {
+        final JsonNode node;
+        final String path;
+        String field;
+
+        Container(JsonNode node, String path) {
+            this.node = node;
+            this.path = path;
+        }
+
+        /**
+         * Adds a child value and returns its JSON Pointer.
+         */
+        String add(JsonNode value) {
+            if (node instanceof ObjectNode object) {
+                object.set(field, value);
+                return path + "/" + field.replace("~", "~0").replace("/", "~1");
+            }
+            ((ArrayNode) node).add(value);
+            return path + "/" + (node.size() - 1);
+        }
+
+        EventType completedType() {
+            return node instanceof ObjectNode ? EventType.FIELD_COMPLETED : EventType.ELEMENT_APPENDED;
+        }
+    }
+}
@@ -64,25 +64,6 @@ public class JsonRepairer {
         return JsonUtils.isMatchingBracket(openingBracket, closingBracket);
     }
 
-    static boolean handleOpenBrackets(char jc, Deque<Character> bracketStack) {
-        if (JsonUtils.isOpenBracket(jc)) {
-            bracketStack.push(jc);
-        } else if (JsonUtils.isCloseBracket(jc)) {
-            Character topChar = bracketStack.peek();
-
-            if (topChar == null) {
-                return false;
-            }
-
-            if (JsonUtils.isMatchingBracket(topChar, jc)) {
-                bracketStack.pop();
-                return true;
-            }
-        }
-
-        return false;
-    }
-
     public static void appendRemainingClosingBrackets(StringBuilder fixedJson, Deque<Character> bracketStack) {
         while (!bracketStack.isEmpty()) {
             char element = bracketStack.pop();
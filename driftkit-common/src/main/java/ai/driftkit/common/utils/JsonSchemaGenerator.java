@@ -8,6 +8,8 @@ import com.fasterxml.jackson.annotation.JsonPropertyDescription;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
@@ -26,14 +28,25 @@ public class JsonSchemaGenerator {
             Boolean.class, int.class, long.class, double.class, float.class, boolean.class
     );
 
+    /**
+     * Location of schemas emitted at build time by {@code JsonSchemaProcessor}, followed by the
+     * binary class name and {@code .json}.
+     */
+    public static final String PRECOMPILED_SCHEMA_PREFIX = "META-INF/driftkit/json-schema/";
+
+    private static final SchemaCache<ResponseFormat.JsonSchema> SCHEMAS = new SchemaCache<>(JsonSchemaGenerator::loadOrGenerate);
+
     /**
      * Generates a JSON schema from a Java class.
+     * <p>
+     * Schemas are cached per class and shared between callers, so the returned schema and its
+     * collections are read-only.
      *
      * @param clazz The class to generate schema from
      * @return ResponseFormat.JsonSchema representing the class structure
      */
     public static ResponseFormat.JsonSchema generateSchema(Class<?> clazz) {
-        return generateSchema(clazz, clazz.getSimpleName());
+        return SCHEMAS.get(clazz);
     }
 
     /**
@@ -44,8 +57,100 @@ public class JsonSchemaGenerator {
      * @return ResponseFormat.JsonSchema representing the class structure
      */
     public static ResponseFormat.JsonSchema generateSchema(Class<?> clazz, String title) {
+        ResponseFormat.JsonSchema cached = SCHEMAS.get(clazz);
+        if (Objects.equals(cached.getTitle(), title)) {
+            return cached;
+        }
+
+        // Shares the read-only properties of the cached schema
         ResponseFormat.JsonSchema schema = new ResponseFormat.JsonSchema();
         schema.setTitle(title);
+        schema.setType(cached.getType());
+        schema.setProperties(cached.getProperties());
+        schema.setRequired(cached.getRequired());
+        schema.setAdditionalProperties(cached.getAdditionalProperties());
+        schema.setStrict(cached.getStrict());
+        return schema;
+    }
+
+    /**
+     * Drops cached schemas, e.g. after classes were redefined.
+     */
+    public static void clearCache() {
+        SCHEMAS.clear();
+    }
+
+    private static ResponseFormat.JsonSchema loadOrGenerate(Class<?> clazz) {
+        ResponseFormat.JsonSchema schema = loadPrecompiled(clazz);
+        if (schema == null) {
+            schema = generate(clazz);
+        }
+        return freeze(schema);
+    }
+
+    private static ResponseFormat.JsonSchema loadPrecompiled(Class<?> clazz) {
+        ClassLoader loader = clazz.getClassLoader();
+        if (loader == null) {
+            return null;
+        }
+
+        try (InputStream in = loader.getResourceAsStream(PRECOMPILED_SCHEMA_PREFIX + clazz.getName() + ".json")) {
+            if (in == null) {
+                return null;
+            }
+            return ModelUtils.OBJECT_MAPPER.readValue(in, ResponseFormat.JsonSchema.class);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable precompiled schema for {}: {}", clazz.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static ResponseFormat.JsonSchema freeze(ResponseFormat.JsonSchema schema) {
+        schema.setProperties(freeze(schema.getProperties()));
+        schema.setRequired(freezeList(schema.getRequired()));
+        return schema;
+    }
+
+    private static Map<String, ResponseFormat.SchemaProperty> freeze(Map<String, ResponseFormat.SchemaProperty> properties) {
+        if (properties == null) {
+            return null;
+        }
+
+        Map<String, ResponseFormat.SchemaProperty> frozen = new LinkedHashMap<>();
+        for (Map.Entry<String, ResponseFormat.SchemaProperty> entry : properties.entrySet()) {
+            frozen.put(entry.getKey(), freeze(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(frozen);
+    }
+
+    private static ResponseFormat.SchemaProperty freeze(ResponseFormat.SchemaProperty property) {
+        if (property == null) {
+            return null;
+        }
+
+        // Copies rather than updates, since nested properties may belong to another cached schema
+        Object additionalProperties = property.getAdditionalProperties();
+        if (additionalProperties instanceof Map<?, ?> additional) {
+            additionalProperties = Collections.unmodifiableMap(new LinkedHashMap<>(additional));
+        }
+        return ResponseFormat.SchemaProperty.builder()
+                .type(property.getType())
+                .description(property.getDescription())
+                .enumValues(freezeList(property.getEnumValues()))
+                .properties(freeze(property.getProperties()))
+                .required(freezeList(property.getRequired()))
+                .items(freeze(property.getItems()))
+                .additionalProperties(additionalProperties)
+                .build();
+    }
+
+    private static List<String> freezeList(List<String> values) {
+        return values != null ? Collections.unmodifiableList(new ArrayList<>(values)) : null;
+    }
+
+    private static ResponseFormat.JsonSchema generate(Class<?> clazz) {
+        ResponseFormat.JsonSchema schema = new ResponseFormat.JsonSchema();
+        schema.setTitle(clazz.getSimpleName());
         schema.setType(ResponseFormatType.Object.getType());
         schema.setAdditionalProperties(false);
         
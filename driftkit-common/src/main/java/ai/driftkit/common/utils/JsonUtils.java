@@ -1,34 +1,15 @@
 package ai.driftkit.common.utils;
 
-import com.fasterxml.jackson.core.JsonParser.Feature;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.StreamReadFeature;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectReader;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 @Slf4j
 public class JsonUtils {
-    private static final ObjectMapper mapper = new ObjectMapper();
-    private static final ObjectReader mapperRelaxed = mapper.reader()
-            .with(Feature.ALLOW_COMMENTS)
-            .with(Feature.ALLOW_MISSING_VALUES)
-            .with(Feature.ALLOW_TRAILING_COMMA)
-            .with(Feature.ALLOW_COMMENTS)
-            .with(Feature.ALLOW_SINGLE_QUOTES)
-            .with(Feature.ALLOW_YAML_COMMENTS)
-            .with(Feature.ALLOW_UNQUOTED_FIELD_NAMES)
-            .with(StreamReadFeature.AUTO_CLOSE_SOURCE)
-            .with(StreamReadFeature.INCLUDE_SOURCE_IN_LOCATION);
-
     private static final Pattern JSON_PATTERN = Pattern.compile("\\{[^\\{\\}]*\\}");
     private static final Pattern EXTRACT_JSON_PATTERN = Pattern.compile("\\{");
     public static final String JSON_PREFIX = "```json";
@@ -141,7 +122,7 @@ public class JsonUtils {
 
     public static boolean isValidJSON(String jsonString) {
         try {
-            mapper.readTree(jsonString);
+            ObjectMappers.shared().readTree(jsonString);
             return true;
         } catch (Exception e) {
             return false;
@@ -149,129 +130,43 @@ public class JsonUtils {
     }
 
     /**
-     * 1. Add missing brackets
-     * 2. Remove uncompleted fields
-     * 3. Add correct double quotes
-     * 4. Remove extra comma
+     * Repairs JSON written by a language model in one pass with {@link StreamingJsonRepairer}:
+     * missing closing brackets and quotes are added, an unfinished trailing field is removed,
+     * trailing commas are dropped and text around the JSON value, such as Markdown fences, is
+     * skipped. Only the last {@code ```json} block is considered, and a JSON document wrapped in
+     * a string literal is unwrapped first.
+     *
+     * @throws IllegalArgumentException if the text contains no JSON object or array
      */
-    @SneakyThrows
     public static String fixIncompleteJSON(String jsonString) {
-        if (isValidJSON(jsonString) && !jsonString.startsWith("\"{")) {
-            return jsonString;
-        }
-
-        if (jsonString.contains(JSON_PREFIX)) {
-            jsonString = jsonString.substring(jsonString.lastIndexOf(JSON_PREFIX));
-        }
+        String json = jsonString;
 
-        if (jsonString.startsWith("\"{") || jsonString.startsWith("\"[")) {
-            jsonString = jsonString.replace("\\\"", "\"").substring(1);
-            jsonString = jsonString.substring(0, jsonString.length() - 1);
+        int fence = json.lastIndexOf(JSON_PREFIX);
+        if (fence >= 0) {
+            json = json.substring(fence + JSON_PREFIX.length());
         }
 
-        jsonString = jsonString
-                .replace(JSON_PREFIX, "")
-                .replace(JSON_POSTFIX, "");
-        //.replace("\\\"", "\"");
-
-        for (int i = 4; i > 0; i--) {
-            String open = StringUtils.repeat('[', i);
-            String close = StringUtils.repeat(']', i);
-
-            if (jsonString.startsWith(open)) {
-                jsonString = jsonString.substring(open.length());
-            }
-
-            if (jsonString.endsWith(close)) {
-                jsonString = jsonString.substring(0, jsonString.length() - close.length());
+        if (json.startsWith("\"{") || json.startsWith("\"[")) {
+            json = json.replace("\\\"", "\"").substring(1);
+            if (json.endsWith("\"")) {
+                json = json.substring(0, json.length() - 1);
             }
         }
 
-        if (jsonString.startsWith("{") && !jsonString.endsWith("}")) {
-            jsonString += "}";
-        }
-
-        StringBuilder fixedJson = new StringBuilder();
-        Deque<Character> bracketStack = new ArrayDeque<>();
-
-        char[] jsonChars = jsonString.toCharArray();
-
-        for (char jc : jsonChars) {
-            JsonRepairer.handleOpenBrackets(jc, bracketStack);
-
-            //Fix absent ] in array
-            if (jc == ':' && bracketStack.peek() != null && bracketStack.peek() == '[') {
-                String arrayContent = fixedJson.substring(fixedJson.lastIndexOf("["));
-
-                if (!arrayContent.contains("\":")) {
-                    int commaIndex = fixedJson.lastIndexOf(",");
-
-                    if (commaIndex > 0) {
-                        fixedJson.replace(commaIndex, commaIndex + 1, "],");
-                        bracketStack.pop();
-                    }
-                }
-            }
-
-            fixedJson.append(jc);
-        }
-
-        JsonRepairer.appendRemainingClosingBrackets(fixedJson, bracketStack);
-
-        //String fixed = fixDoubleQuotesAndCommas(fixedJson.toString());
-        String result = fixedJson.toString().trim();
-
-        String fixed = null;
-
-        if (JsonUtils.isValidJSON(result)) {
-            fixed = result;
-        } else {
-            String[] lines = result.split("\n");
-
-            int startIdx = -1;
-            int endIdx = -1;
-
-            for (int i = 0; i < lines.length; i++) {
-                String line = lines[i].trim();
-
-                if (endIdx < 0 && line.startsWith("{")) {
-                    startIdx = i;
-                }
-
-                if (startIdx > 0 && line.endsWith("}")) {
-                    endIdx = i;
-                }
-            }
-
-            if (startIdx > 0 && endIdx > 0) {
-                String currentResult = Arrays.asList(lines).subList(startIdx, endIdx + 1).stream().collect(Collectors.joining("\n"));
-
-                if (JsonUtils.isValidJSON(currentResult)) {
-                    fixed = currentResult;
-                }
-            }
-
-            if (fixed == null) {
-                fixed = extractJsonFromText(fixed);
-            }
-        }
-
-        try {
-            JsonNode jsonNode = mapperRelaxed.readTree(fixed);
-
-            return mapper.writeValueAsString(jsonNode);
-        } catch (Exception e) {
-            log.error("[json-repair] Failed json repair input: [%s], output: [%s]".formatted(jsonString, fixed), e);
-            throw e;
+        String fixed = StreamingJsonRepairer.repair(json);
+        if (fixed == null) {
+            log.error("[json-repair] Failed json repair input: [{}]", jsonString);
+            throw new IllegalArgumentException("No JSON object or array found in text");
         }
+        return fixed;
     }
 
     public static String toJson(Object context) throws JsonProcessingException {
-        return mapper.writeValueAsString(context);
+        return ObjectMappers.writer().writeValueAsString(context);
     }
 
     public static <T> T fromJson(String str, Class<T> cls) throws JsonProcessingException {
-        return mapper.readValue(str, cls);
+        return ObjectMappers.reader(cls).readValue(str);
     }
 
     /**
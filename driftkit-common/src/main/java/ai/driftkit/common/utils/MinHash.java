@@ -0,0 +1,165 @@
+package ai.driftkit.common.utils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures for estimating the Jaccard similarity of texts without comparing them
+ * directly.
+ * <p>
+ * A text is lower-cased, split into whitespace tokens and turned into the set of its word
+ * shingles ({@code shingleSize} consecutive tokens). Each shingle is hashed once, and the
+ * signature keeps, for every one of {@code numHashes} random hash functions, the minimum value
+ * over all shingles. The fraction of positions on which two signatures agree is an unbiased
+ * estimate of the Jaccard similarity of the shingle sets, with a standard error of about
+ * {@code 1 / sqrt(numHashes)}.
+ * <p>
+ * Signatures are only comparable between instances created with the same parameters.
+ * Instances are immutable and thread-safe.
+ */
+public class MinHash {
+
+    public static final int DEFAULT_NUM_HASHES = 128;
+    public static final int DEFAULT_SHINGLE_SIZE = 5;
+    public static final long DEFAULT_SEED = 0x5DEECE66DL;
+
+    private final int shingleSize;
+    private final long[] multipliers;
+    private final long[] increments;
+
+    public MinHash() {
+        this(DEFAULT_NUM_HASHES, DEFAULT_SHINGLE_SIZE, DEFAULT_SEED);
+    }
+
+    /**
+     * @param numHashes Signature length; more hashes give a more precise estimate
+     * @param shingleSize Number of consecutive tokens per shingle
+     * @param seed Seed for the hash functions
+     */
+    public MinHash(int numHashes, int shingleSize, long seed) {
+        if (numHashes <= 0) {
+            throw new IllegalArgumentException("numHashes must be positive");
+        }
+        if (shingleSize <= 0) {
+            throw new IllegalArgumentException("shingleSize must be positive");
+        }
+
+        this.shingleSize = shingleSize;
+        this.multipliers = new long[numHashes];
+        this.increments = new long[numHashes];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < numHashes; i++) {
+            // Odd multipliers keep every hash function a permutation of the 64-bit space
+            multipliers[i] = random.nextLong() | 1;
+            increments[i] = random.nextLong();
+        }
+    }
+
+    public int getNumHashes() {
+        return multipliers.length;
+    }
+
+    public int getShingleSize() {
+        return shingleSize;
+    }
+
+    /**
+     * Compute the signature of a text's word shingles.
+     * A text shorter than one shingle is treated as a single shingle.
+     *
+     * @param text Input text
+     * @return Signature of {@link #getNumHashes()} values
+     */
+    public int[] signature(String text) {
+        String[] tokens = TextSimilarityUtil.tokenize(text == null ? null : text.toLowerCase(Locale.ROOT));
+        long[] tokenHashes = new long[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            tokenHashes[i] = hash(tokens[i]);
+        }
+
+        int[] signature = emptySignature();
+        int width = Math.min(shingleSize, tokens.length);
+        for (int start = 0; start + width <= tokens.length && width > 0; start++) {
+            long shingle = 0;
+            for (int i = start; i < start + width; i++) {
+                shingle = mix(shingle * 31 + tokenHashes[i]);
+            }
+            update(signature, shingle);
+        }
+        return signature;
+    }
+
+    /**
+     * Compute the signature of a set of shingles produced by the caller.
+     *
+     * @param shingles Shingles; duplicates do not change the signature
+     * @return Signature of {@link #getNumHashes()} values
+     */
+    public int[] signature(Collection<String> shingles) {
+        int[] signature = emptySignature();
+        for (String shingle : shingles) {
+            update(signature, hash(shingle));
+        }
+        return signature;
+    }
+
+    /**
+     * Estimate the Jaccard similarity of the texts behind two signatures.
+     *
+     * @param signature1 First signature
+     * @param signature2 Second signature, of the same length
+     * @return Estimated Jaccard similarity (0-1)
+     */
+    public static double similarity(int[] signature1, int[] signature2) {
+        if (signature1.length != signature2.length) {
+            throw new IllegalArgumentException("Signatures have different lengths: "
+                    + signature1.length + " and " + signature2.length);
+        }
+
+        int equal = 0;
+        for (int i = 0; i < signature1.length; i++) {
+            if (signature1[i] == signature2[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / signature1.length;
+    }
+
+    private int[] emptySignature() {
+        int[] signature = new int[multipliers.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        return signature;
+    }
+
+    private void update(int[] signature, long shingle) {
+        for (int i = 0; i < signature.length; i++) {
+            // The high half of a multiply-add is the best mixed part of the product
+            int value = (int) ((multipliers[i] * shingle + increments[i]) >>> 32);
+            if (value < signature[i]) {
+                signature[i] = value;
+            }
+        }
+    }
+
+    private static long hash(String value) {
+        // FNV-1a over UTF-16 code units, finished with a 64-bit mix
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        // Finalizer from MurmurHash3
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,212 @@
+package ai.driftkit.common.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Locality-sensitive hashing index over {@link MinHash} signatures for finding near-duplicate
+ * texts without comparing every pair.
+ * <p>
+ * Each signature is cut into {@code bands} bands of {@code rows} values, and every band is
+ * hashed into its own bucket table. Two texts become candidates when they share a bucket in at
+ * least one band, which happens with probability {@code 1 - (1 - J^rows)^bands} for Jaccard
+ * similarity {@code J}. Candidates are then confirmed against the full signatures, so a lookup
+ * costs a few hash probes plus one comparison per candidate rather than one per indexed text.
+ * <p>
+ * Instances are thread-safe.
+ */
+public class MinHashLshIndex {
+
+    /**
+     * Minimum probability of becoming a candidate for a pair right at the threshold,
+     * used when choosing the band layout.
+     */
+    private static final double TARGET_RECALL = 0.95;
+
+    private final MinHash minHash;
+    private final double threshold;
+    private final int bands;
+    private final int rows;
+    private final List<Map<Long, List<Integer>>> buckets;
+    private final List<String> ids = new ArrayList<>();
+    private final List<int[]> signatures = new ArrayList<>();
+    private int duplicatesFound;
+
+    /**
+     * Create an index whose band layout is chosen for the threshold.
+     *
+     * @param minHash Signature generator shared by all texts in the index
+     * @param threshold Estimated Jaccard similarity at or above which texts are duplicates
+     */
+    public MinHashLshIndex(MinHash minHash, double threshold) {
+        this(minHash, threshold, bandsFor(minHash.getNumHashes(), threshold));
+    }
+
+    /**
+     * @param minHash Signature generator shared by all texts in the index
+     * @param threshold Estimated Jaccard similarity at or above which texts are duplicates
+     * @param bands Number of bands; each band uses {@code numHashes / bands} signature values
+     */
+    public MinHashLshIndex(MinHash minHash, double threshold, int bands) {
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("threshold must be in (0, 1]: " + threshold);
+        }
+        if (bands <= 0 || bands > minHash.getNumHashes()) {
+            throw new IllegalArgumentException("bands must be between 1 and " + minHash.getNumHashes() + ": " + bands);
+        }
+
+        this.minHash = minHash;
+        this.threshold = threshold;
+        this.bands = bands;
+        this.rows = minHash.getNumHashes() / bands;
+        this.buckets = new ArrayList<>(bands);
+        for (int band = 0; band < bands; band++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Choose the band layout with the most rows per band, and therefore the fewest false
+     * candidates, that still makes a pair at the threshold a candidate with high probability.
+     */
+    static int bandsFor(int numHashes, double threshold) {
+        for (int rows = numHashes; rows > 1; rows--) {
+            int bands = numHashes / rows;
+            double recall = 1 - Math.pow(1 - Math.pow(threshold, rows), bands);
+            if (recall >= TARGET_RECALL) {
+                return bands;
+            }
+        }
+        return numHashes;
+    }
+
+    public MinHash getMinHash() {
+        return minHash;
+    }
+
+    public int getBands() {
+        return bands;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Index a text unless a near-duplicate of it is already indexed.
+     *
+     * @param id Identifier of the text; a text indexed again under the same id is not its own duplicate
+     * @param text Text to check and index
+     * @return Identifier of the indexed near-duplicate, or {@code null} if the text was unique and has been indexed
+     */
+    public String addIfUnique(String id, String text) {
+        return addIfUnique(id, minHash.signature(text));
+    }
+
+    /**
+     * Index a signature unless a near-duplicate of it is already indexed.
+     *
+     * @param id Identifier of the text; a text indexed again under the same id is not its own duplicate
+     * @param signature Signature produced by {@link #getMinHash()}
+     * @return Identifier of the indexed near-duplicate, or {@code null} if the text was unique and has been indexed
+     */
+    public synchronized String addIfUnique(String id, int[] signature) {
+        long[] keys = bandKeys(signature);
+        boolean indexed = false;
+        for (int band = 0; band < bands; band++) {
+            List<Integer> bucket = buckets.get(band).get(keys[band]);
+            if (bucket == null) {
+                continue;
+            }
+            for (int candidate : bucket) {
+                if (ids.get(candidate).equals(id)) {
+                    indexed = true;
+                } else if (MinHash.similarity(signature, signatures.get(candidate)) >= threshold) {
+                    duplicatesFound++;
+                    return ids.get(candidate);
+                }
+            }
+        }
+
+        if (!indexed) {
+            add(id, signature, keys);
+        }
+        return null;
+    }
+
+    /**
+     * Find an indexed near-duplicate of a text without indexing it.
+     *
+     * @param text Text to look up
+     * @return Identifier of the indexed near-duplicate, or {@code null} if there is none
+     */
+    public String findDuplicate(String text) {
+        return findDuplicate(null, minHash.signature(text));
+    }
+
+    /**
+     * Find an indexed near-duplicate of a signature without indexing it.
+     *
+     * @param id Identifier of the text, or {@code null}; the text indexed under the same id is not its own duplicate
+     * @param signature Signature produced by {@link #getMinHash()}
+     * @return Identifier of the indexed near-duplicate, or {@code null} if there is none
+     */
+    public synchronized String findDuplicate(String id, int[] signature) {
+        long[] keys = bandKeys(signature);
+        for (int band = 0; band < bands; band++) {
+            List<Integer> bucket = buckets.get(band).get(keys[band]);
+            if (bucket == null) {
+                continue;
+            }
+            for (int candidate : bucket) {
+                if (!ids.get(candidate).equals(id)
+                        && MinHash.similarity(signature, signatures.get(candidate)) >= threshold) {
+                    return ids.get(candidate);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Number of indexed texts.
+     */
+    public synchronized int size() {
+        return ids.size();
+    }
+
+    /**
+     * Number of times {@link #addIfUnique} rejected a text as a near-duplicate.
+     */
+    public synchronized int getDuplicatesFound() {
+        return duplicatesFound;
+    }
+
+    private void add(String id, int[] signature, long[] keys) {
+        int position = ids.size();
+        ids.add(id);
+        signatures.add(signature);
+        for (int band = 0; band < bands; band++) {
+            buckets.get(band).computeIfAbsent(keys[band], key -> new ArrayList<>(1)).add(position);
+        }
+    }
+
+    private long[] bandKeys(int[] signature) {
+        if (signature.length != minHash.getNumHashes()) {
+            throw new IllegalArgumentException("Signature has " + signature.length
+                    + " values, expected " + minHash.getNumHashes());
+        }
+
+        long[] keys = new long[bands];
+        for (int band = 0; band < bands; band++) {
+            long key = band;
+            for (int i = band * rows; i < (band + 1) * rows; i++) {
+                key = (key ^ signature[i]) * 0x9E3779B97F4A7C15L;
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+}
@@ -21,7 +21,7 @@ import java.util.Map;
 
 public class ModelUtils {
 
-    public static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    public static final ObjectMapper OBJECT_MAPPER = ObjectMappers.shared();
 
     @Retention(RetentionPolicy.RUNTIME)
     @Target(ElementType.METHOD)
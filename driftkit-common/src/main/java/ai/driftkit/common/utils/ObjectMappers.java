@@ -0,0 +1,149 @@
+package ai.driftkit.common.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide Jackson mapper shared by all DriftKit modules, with cached per-type readers and writers.
+ * <p>
+ * Jackson keeps serializers and deserializers in caches owned by the {@link ObjectMapper}, so every
+ * private {@code new ObjectMapper()} pays for introspecting the same classes again. Hot paths use
+ * {@link #shared()} or, better, {@link #reader(Class)} and {@link #writer(Class)}: a cached
+ * {@link ObjectReader} has its root deserializer resolved already, so a read skips the lookup that
+ * {@code readValue} repeats on every call.
+ * <p>
+ * The shared mapper keeps Jackson's default features, so switching a plain {@code new ObjectMapper()}
+ * to it does not change what is accepted or produced. It additionally registers {@link JavaTimeModule}
+ * and, when found on the classpath, the Blackbird module (or Afterburner where Blackbird is absent),
+ * which replaces reflective property access with generated accessors. Setting the system property
+ * {@value #BYTECODE_MODULES_PROPERTY} to {@code false} skips those.
+ * <p>
+ * Callers that need other features derive them per call, e.g.
+ * {@code reader(type).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)}, which keeps the
+ * cached deserializers. Code that needs a differently configured mapper of its own, such as an HTTP
+ * client with its own naming strategy, starts from {@link #create()}. The shared mapper itself must
+ * not be reconfigured.
+ */
+@Slf4j
+public final class ObjectMappers {
+
+    public static final String BYTECODE_MODULES_PROPERTY = "driftkit.jackson.bytecode-modules";
+
+    private static final String[] BYTECODE_MODULES = {
+            "com.fasterxml.jackson.module.blackbird.BlackbirdModule",
+            "com.fasterxml.jackson.module.afterburner.AfterburnerModule"
+    };
+
+    private static final ObjectMapper SHARED = create();
+
+    private static final ClassValue<ObjectReader> READERS = new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return SHARED.readerFor(type);
+        }
+    };
+
+    private static final ClassValue<ObjectWriter> WRITERS = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return SHARED.writerFor(type);
+        }
+    };
+
+    private static final Map<Type, ObjectReader> GENERIC_READERS = new ConcurrentHashMap<>();
+    private static final Map<Type, ObjectWriter> GENERIC_WRITERS = new ConcurrentHashMap<>();
+
+    private static final ObjectWriter WRITER = SHARED.writer();
+
+    private ObjectMappers() {
+    }
+
+    /**
+     * The shared mapper. It must not be reconfigured; derive readers and writers instead.
+     */
+    public static ObjectMapper shared() {
+        return SHARED;
+    }
+
+    /**
+     * Creates a new mapper with the same modules as the shared one, for callers that need
+     * their own configuration.
+     */
+    public static ObjectMapper create() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        if (!"false".equalsIgnoreCase(System.getProperty(BYTECODE_MODULES_PROPERTY))) {
+            Module module = bytecodeModule();
+            if (module != null) {
+                mapper.registerModule(module);
+            }
+        }
+        return mapper;
+    }
+
+    /**
+     * Reader bound to {@code type}, created once per class.
+     */
+    public static ObjectReader reader(Class<?> type) {
+        return READERS.get(type);
+    }
+
+    /**
+     * Reader bound to a generic type such as {@code List<Prompt>}, created once per type.
+     */
+    public static ObjectReader reader(TypeReference<?> type) {
+        return GENERIC_READERS.computeIfAbsent(type.getType(), key -> SHARED.readerFor(type));
+    }
+
+    /**
+     * Reader bound to a type built with the shared mapper's {@link com.fasterxml.jackson.databind.type.TypeFactory}.
+     */
+    public static ObjectReader reader(JavaType type) {
+        return GENERIC_READERS.computeIfAbsent(type, key -> SHARED.readerFor(type));
+    }
+
+    /**
+     * Writer that serializes values as {@code type} regardless of their runtime class, created once per class.
+     */
+    public static ObjectWriter writer(Class<?> type) {
+        return WRITERS.get(type);
+    }
+
+    /**
+     * Writer bound to a generic type, created once per type.
+     */
+    public static ObjectWriter writer(TypeReference<?> type) {
+        return GENERIC_WRITERS.computeIfAbsent(type.getType(), key -> SHARED.writerFor(type));
+    }
+
+    /**
+     * Writer that serializes values by their runtime class.
+     */
+    public static ObjectWriter writer() {
+        return WRITER;
+    }
+
+    private static Module bytecodeModule() {
+        for (String className : BYTECODE_MODULES) {
+            try {
+                Class<?> moduleClass = Class.forName(className, true, ObjectMappers.class.getClassLoader());
+                return (Module) moduleClass.getDeclaredConstructor().newInstance();
+            } catch (ClassNotFoundException e) {
+                // Not on the classpath, try the next one
+            } catch (ReflectiveOperationException | LinkageError e) {
+                log.warn("Could not register Jackson module {}: {}", className, e.toString());
+            }
+        }
+        return null;
+    }
+}
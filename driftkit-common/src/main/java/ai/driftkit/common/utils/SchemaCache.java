@@ -0,0 +1,53 @@
+package ai.driftkit.common.utils;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Per-class cache for generated schemas, shared by the schema generators of all modules.
+ * <p>
+ * Values are held in a {@link ClassValue}, so a lookup is a field read on the class once the
+ * schema has been computed, and a cached schema never keeps its class or class loader reachable.
+ * Generators are expected to return schemas that are not modified afterwards, because one
+ * instance is handed to every caller.
+ * <p>
+ * A generator may look up other classes while computing a schema, but it must not look up the
+ * class it is computing: {@link ClassValue} would compute it again and keep whichever result
+ * finishes first. Generators that follow cyclic references break the cycle before calling
+ * {@link #get(Class)}.
+ *
+ * @param <S> schema type
+ */
+public final class SchemaCache<S> {
+
+    private final Function<Class<?>, S> generator;
+    private volatile ClassValue<S> values;
+
+    public SchemaCache(Function<Class<?>, S> generator) {
+        this.generator = Objects.requireNonNull(generator, "generator");
+        this.values = newValues();
+    }
+
+    /**
+     * Returns the schema of {@code type}, generating it on first use.
+     */
+    public S get(Class<?> type) {
+        return values.get(type);
+    }
+
+    /**
+     * Drops all cached schemas; they are generated again on next use.
+     */
+    public void clear() {
+        values = newValues();
+    }
+
+    private ClassValue<S> newValues() {
+        return new ClassValue<>() {
+            @Override
+            protected S computeValue(Class<?> type) {
+                return generator.apply(type);
+            }
+        };
+    }
+}
@@ -0,0 +1,558 @@
+package ai.driftkit.common.utils;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass repair of JSON written by language models.
+ * <p>
+ * Text is fed in chunks with {@link #append(CharSequence)}, and every character is looked at
+ * once: the repairer copies the first JSON object or array to its output and keeps a stack of
+ * open containers with the position after the last complete member of each. {@link #result()}
+ * can be called at any point, including in the middle of a stream, and returns the output with
+ * an unfinished trailing member dropped and the open strings and containers closed.
+ * <p>
+ * Along the way it skips text before and after the JSON value, comments and trailing commas,
+ * inserts missing commas and colons, converts single-quoted strings and unquoted keys, escapes
+ * control characters in strings and quotes bare words that are not JSON literals. A document
+ * that is already valid JSON is copied unchanged.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public class StreamingJsonRepairer {
+
+    private static final byte OBJECT_START = 0;
+    private static final byte OBJECT_KEY = 1;
+    private static final byte OBJECT_COLON = 2;
+    private static final byte OBJECT_VALUE = 3;
+    private static final byte OBJECT_NEXT = 4;
+    private static final byte ARRAY_START = 5;
+    private static final byte ARRAY_VALUE = 6;
+    private static final byte ARRAY_NEXT = 7;
+
+    private static final byte NO_LITERAL = 0;
+    private static final byte VALUE_LITERAL = 1;
+    private static final byte KEY_LITERAL = 2;
+
+    private final StringBuilder out = new StringBuilder();
+
+    // Open containers: bracket, expected token and output length after the last complete member
+    private char[] kinds = new char[16];
+    private byte[] states = new byte[16];
+    private int[] rollbacks = new int[16];
+    private int depth;
+
+    private boolean started;
+    private boolean skippedText;
+    private boolean done;
+
+    private boolean inString;
+    private boolean stringIsKey;
+    private char quote;
+    private boolean escape;
+    private final StringBuilder unicode = new StringBuilder(4);
+    private boolean inUnicode;
+
+    private byte literal = NO_LITERAL;
+    private int literalStart;
+
+    private boolean pendingSlash;
+    private boolean lineComment;
+    private boolean blockComment;
+    private boolean blockCommentStar;
+
+    /**
+     * Repairs a complete or truncated document.
+     *
+     * @return the repaired JSON, or {@code null} if the text contains no JSON object or array
+     */
+    public static String repair(CharSequence text) {
+        return new StreamingJsonRepairer().append(text).result();
+    }
+
+    /**
+     * Consumes the next chunk of text.
+     */
+    public StreamingJsonRepairer append(CharSequence chunk) {
+        for (int i = 0, length = chunk.length(); i < length && !done; i++) {
+            accept(chunk.charAt(i));
+        }
+        return this;
+    }
+
+    /**
+     * Whether the top-level value has been closed; further input is ignored.
+     */
+    public boolean isComplete() {
+        return done;
+    }
+
+    /**
+     * Returns the repaired JSON for the text consumed so far without changing the state, so
+     * it can be called again after more chunks arrive.
+     *
+     * @return the repaired JSON, or {@code null} if no JSON object or array has started yet
+     */
+    public String result() {
+        if (!started) {
+            return null;
+        }
+        if (done) {
+            return out.toString();
+        }
+
+        StringBuilder result = new StringBuilder(out.length() + depth + 2);
+        int end = out.length();
+        String pending = null;
+
+        if (inString) {
+            if (stringIsKey) {
+                end = rollbacks[depth - 1];
+            } else {
+                pending = "\"";
+            }
+        } else if (literal == KEY_LITERAL) {
+            end = rollbacks[depth - 1];
+        } else if (literal == VALUE_LITERAL) {
+            String value = normalizeLiteral(out.substring(literalStart).trim(), true);
+            if (value != null) {
+                end = literalStart;
+                pending = value;
+            } else {
+                end = rollbacks[depth - 1];
+            }
+        } else if (depth > 0 && isIncomplete(states[depth - 1])) {
+            end = rollbacks[depth - 1];
+        }
+
+        result.append(out, 0, end);
+        if (pending != null) {
+            result.append(pending);
+        }
+        for (int level = depth - 1; level >= 0; level--) {
+            result.append(kinds[level] == '{' ? '}' : ']');
+        }
+        return result.toString();
+    }
+
+    private void accept(char c) {
+        if (inString) {
+            acceptInString(c);
+            return;
+        }
+        if (lineComment) {
+            lineComment = c != '\n' && c != '\r';
+            return;
+        }
+        if (blockComment) {
+            if (blockCommentStar && c == '/') {
+                blockComment = false;
+            }
+            blockCommentStar = c == '*';
+            return;
+        }
+        if (pendingSlash) {
+            pendingSlash = false;
+            if (c == '/') {
+                lineComment = true;
+                return;
+            }
+            if (c == '*') {
+                blockComment = true;
+                blockCommentStar = false;
+                return;
+            }
+            acceptToken('/');
+            if (done) {
+                return;
+            }
+        }
+
+        if (!started) {
+            acceptBeforeValue(c);
+            return;
+        }
+        if (literal != NO_LITERAL) {
+            acceptInLiteral(c);
+            return;
+        }
+        if (c == '/') {
+            pendingSlash = true;
+            return;
+        }
+        if (c == '#') {
+            lineComment = true;
+            return;
+        }
+        acceptToken(c);
+    }
+
+    private void acceptBeforeValue(char c) {
+        if (c == '{' || c == '[') {
+            started = true;
+            openContainer(c);
+        } else if (c == '"' && !skippedText) {
+            // A top-level string is only taken when nothing but whitespace precedes it
+            started = true;
+            startString(c, false);
+        } else if (!Character.isWhitespace(c)) {
+            skippedText = true;
+        }
+    }
+
+    private void acceptToken(char c) {
+        if (Character.isWhitespace(c)) {
+            out.append(c);
+            return;
+        }
+
+        byte state = states[depth - 1];
+        switch (c) {
+            case '{', '[' -> {
+                if (prepareValue(state)) {
+                    openContainer(c);
+                }
+            }
+            case '}', ']' -> closeContainer(c);
+            case '"', '\'' -> {
+                if (state == OBJECT_START || state == OBJECT_KEY) {
+                    startString(c, true);
+                } else if (state == OBJECT_NEXT) {
+                    out.append(',');
+                    states[depth - 1] = OBJECT_KEY;
+                    startString(c, true);
+                } else if (prepareValue(state)) {
+                    startString(c, false);
+                }
+            }
+            case ':' -> {
+                if (state == OBJECT_COLON) {
+                    out.append(':');
+                    states[depth - 1] = OBJECT_VALUE;
+                }
+            }
+            case ',' -> {
+                if (state == OBJECT_NEXT) {
+                    out.append(',');
+                    states[depth - 1] = OBJECT_KEY;
+                } else if (state == ARRAY_NEXT) {
+                    out.append(',');
+                    states[depth - 1] = ARRAY_VALUE;
+                }
+            }
+            default -> {
+                if (state == OBJECT_START || state == OBJECT_KEY) {
+                    literal = KEY_LITERAL;
+                    literalStart = out.length();
+                    out.append('"');
+                    appendEscaped(c);
+                } else if (prepareValue(state)) {
+                    literal = VALUE_LITERAL;
+                    literalStart = out.length();
+                    out.append(c);
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the current container to a value position, inserting a missing colon or comma.
+     *
+     * @return whether a value may start here
+     */
+    private boolean prepareValue(byte state) {
+        switch (state) {
+            case OBJECT_VALUE, ARRAY_START, ARRAY_VALUE -> {
+                return true;
+            }
+            case OBJECT_COLON -> {
+                out.append(':');
+                states[depth - 1] = OBJECT_VALUE;
+                return true;
+            }
+            case ARRAY_NEXT -> {
+                out.append(',');
+                states[depth - 1] = ARRAY_VALUE;
+                return true;
+            }
+            default -> {
+                // A container where a key is expected, or a bare word after a complete member
+                return false;
+            }
+        }
+    }
+
+    private void acceptInLiteral(char c) {
+        if (literal == KEY_LITERAL) {
+            switch (c) {
+                case ':' -> {
+                    trimTrailingWhitespace(literalStart + 1);
+                    out.append('"');
+                    literal = NO_LITERAL;
+                    states[depth - 1] = OBJECT_COLON;
+                    acceptToken(c);
+                }
+                case ',', '}', ']' -> {
+                    // A key without a value
+                    out.setLength(literalStart);
+                    literal = NO_LITERAL;
+                    acceptToken(c);
+                }
+                case '\\' -> out.append("\\\\");
+                default -> appendEscaped(c);
+            }
+            return;
+        }
+
+        switch (c) {
+            case ',', '}', ']', '\n', '\r' -> {
+                finishLiteral();
+                acceptToken(c);
+            }
+            case ' ', '\t' -> {
+                // A literal ends at whitespace, while a bare word may continue with more words
+                if (normalizeLiteral(out.substring(literalStart), false) != null) {
+                    finishLiteral();
+                    acceptToken(c);
+                } else {
+                    out.append(c);
+                }
+            }
+            default -> out.append(c);
+        }
+    }
+
+    private void finishLiteral() {
+        int end = out.length();
+        while (end > literalStart && Character.isWhitespace(out.charAt(end - 1))) {
+            end--;
+        }
+        String raw = out.substring(literalStart, end);
+        String whitespace = out.substring(end);
+        out.setLength(literalStart);
+        literal = NO_LITERAL;
+
+        String value = normalizeLiteral(raw, false);
+        out.append(value != null ? value : quoted(raw));
+        valueCompleted();
+        out.append(whitespace);
+    }
+
+    /**
+     * Returns the JSON form of a bare word, or {@code null} if it is not a literal. A truncated
+     * word that may still become a literal yields {@code null} when {@code partial} is set.
+     */
+    private static String normalizeLiteral(String raw, boolean partial) {
+        switch (raw) {
+            case "true", "True" -> {
+                return "true";
+            }
+            case "false", "False" -> {
+                return "false";
+            }
+            case "null", "None" -> {
+                return "null";
+            }
+            default -> {
+                if (isNumber(raw)) {
+                    return raw;
+                }
+                if (partial) {
+                    return isLiteralPrefix(raw) ? null : quoted(raw);
+                }
+                return null;
+            }
+        }
+    }
+
+    private static boolean isLiteralPrefix(String raw) {
+        if (raw.isEmpty() || "true".startsWith(raw) || "false".startsWith(raw) || "null".startsWith(raw)
+                || "True".startsWith(raw) || "False".startsWith(raw) || "None".startsWith(raw)) {
+            return true;
+        }
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (!(c >= '0' && c <= '9') && c != '-' && c != '+' && c != '.' && c != 'e' && c != 'E') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNumber(String raw) {
+        int i = 0;
+        int length = raw.length();
+        if (i < length && raw.charAt(i) == '-') {
+            i++;
+        }
+        if (i >= length) {
+            return false;
+        }
+        if (raw.charAt(i) == '0') {
+            i++;
+        } else if (raw.charAt(i) >= '1' && raw.charAt(i) <= '9') {
+            i = skipDigits(raw, i);
+        } else {
+            return false;
+        }
+        if (i < length && raw.charAt(i) == '.') {
+            int digits = skipDigits(raw, i + 1);
+            if (digits == i + 1) {
+                return false;
+            }
+            i = digits;
+        }
+        if (i < length && (raw.charAt(i) == 'e' || raw.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (raw.charAt(i) == '+' || raw.charAt(i) == '-')) {
+                i++;
+            }
+            int digits = skipDigits(raw, i);
+            if (digits == i) {
+                return false;
+            }
+            i = digits;
+        }
+        return i == length;
+    }
+
+    private static int skipDigits(String raw, int from) {
+        int i = from;
+        while (i < raw.length() && raw.charAt(i) >= '0' && raw.charAt(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+    private static String quoted(String raw) {
+        StringBuilder quoted = new StringBuilder(raw.length() + 2).append('"');
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\');
+            }
+            quoted.append(c);
+        }
+        return quoted.append('"').toString();
+    }
+
+    private void startString(char quoteChar, boolean key) {
+        inString = true;
+        stringIsKey = key;
+        quote = quoteChar;
+        out.append('"');
+    }
+
+    private void acceptInString(char c) {
+        if (inUnicode) {
+            if (Character.digit(c, 16) >= 0) {
+                unicode.append(c);
+                if (unicode.length() == 4) {
+                    out.append("\\u").append(unicode);
+                    unicode.setLength(0);
+                    inUnicode = false;
+                }
+                return;
+            }
+            // Not an escape after all; keep the backslash as a character
+            out.append("\\\\u").append(unicode);
+            unicode.setLength(0);
+            inUnicode = false;
+        }
+
+        if (escape) {
+            escape = false;
+            switch (c) {
+                case '"', '\\', '/', 'b', 'f', 'n', 'r', 't' -> out.append('\\').append(c);
+                case 'u' -> inUnicode = true;
+                case '\'' -> out.append('\'');
+                default -> out.append("\\\\").append(c);
+            }
+            return;
+        }
+
+        if (c == '\\') {
+            escape = true;
+        } else if (c == quote) {
+            out.append('"');
+            inString = false;
+            if (stringIsKey) {
+                states[depth - 1] = OBJECT_COLON;
+            } else {
+                valueCompleted();
+            }
+        } else {
+            appendEscaped(c);
+        }
+    }
+
+    private void appendEscaped(char c) {
+        switch (c) {
+            case '"' -> out.append("\\\"");
+            case '\n' -> out.append("\\n");
+            case '\r' -> out.append("\\r");
+            case '\t' -> out.append("\\t");
+            default -> {
+                if (c < 0x20) {
+                    out.append(String.format("\\u%04x", (int) c));
+                } else {
+                    out.append(c);
+                }
+            }
+        }
+    }
+
+    private void openContainer(char bracket) {
+        if (depth == kinds.length) {
+            kinds = Arrays.copyOf(kinds, depth * 2);
+            states = Arrays.copyOf(states, depth * 2);
+            rollbacks = Arrays.copyOf(rollbacks, depth * 2);
+        }
+        out.append(bracket);
+        kinds[depth] = bracket;
+        states[depth] = bracket == '{' ? OBJECT_START : ARRAY_START;
+        rollbacks[depth] = out.length();
+        depth++;
+    }
+
+    private void closeContainer(char closer) {
+        char opener = closer == '}' ? '{' : '[';
+        int match = depth - 1;
+        while (match >= 0 && kinds[match] != opener) {
+            match--;
+        }
+        if (match < 0) {
+            // A closing bracket without an opening one
+            return;
+        }
+
+        while (depth > match) {
+            if (isIncomplete(states[depth - 1])) {
+                out.setLength(rollbacks[depth - 1]);
+            }
+            out.append(kinds[depth - 1] == '{' ? '}' : ']');
+            depth--;
+            valueCompleted();
+        }
+    }
+
+    private void valueCompleted() {
+        if (depth == 0) {
+            done = true;
+            return;
+        }
+        states[depth - 1] = kinds[depth - 1] == '{' ? OBJECT_NEXT : ARRAY_NEXT;
+        rollbacks[depth - 1] = out.length();
+    }
+
+    private static boolean isIncomplete(byte state) {
+        return state == OBJECT_KEY || state == OBJECT_COLON || state == OBJECT_VALUE || state == ARRAY_VALUE;
+    }
+
+    private void trimTrailingWhitespace(int floor) {
+        int length = out.length();
+        while (length > floor && Character.isWhitespace(out.charAt(length - 1))) {
+            length--;
+        }
+        out.setLength(length);
+    }
+}
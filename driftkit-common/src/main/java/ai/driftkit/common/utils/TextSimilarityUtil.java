@@ -1,8 +1,12 @@
 package ai.driftkit.common.utils;
 
 import java.text.Normalizer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 
@@ -61,6 +65,37 @@ public class TextSimilarityUtil {
         return sb.toString().trim();
     }
 
+    /**
+     * Split text into whitespace-separated tokens.
+     * The result can be passed to the token-based similarity methods to avoid re-tokenizing
+     * the same text for every comparison.
+     *
+     * @param text Input text
+     * @return Tokens in order of appearance, empty for null or blank text
+     */
+    public static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                if (start >= 0) {
+                    tokens.add(text.substring(start, i));
+                    start = -1;
+                }
+            } else if (start < 0) {
+                start = i;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(text.substring(start));
+        }
+        return tokens.toArray(new String[0]);
+    }
+
     /**
      * Calculate Levenshtein distance between two strings
      *
@@ -69,24 +104,150 @@ public class TextSimilarityUtil {
      * @return Levenshtein distance
      */
     public static int levenshteinDistance(String s1, String s2) {
-        int[][] dp = new int[s1.length() + 1][s2.length() + 1];
-
-        for (int i = 0; i <= s1.length(); i++) {
-            for (int j = 0; j <= s2.length(); j++) {
-                if (i == 0) {
-                    dp[i][j] = j;
-                } else if (j == 0) {
-                    dp[i][j] = i;
-                } else {
-                    dp[i][j] = Math.min(
-                            Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1),
-                            dp[i - 1][j - 1] + (s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1)
-                    );
+        return levenshteinDistance(s1, s2, Math.max(s1.length(), s2.length()));
+    }
+
+    /**
+     * Calculate Levenshtein distance between two strings, giving up once it exceeds a threshold.
+     * Memory is linear in the shorter string; with a threshold only a diagonal band of width
+     * {@code 2 * maxDistance + 1} is computed.
+     *
+     * @param s1 First string
+     * @param s2 Second string
+     * @param maxDistance Largest distance of interest
+     * @return Levenshtein distance, or {@code maxDistance + 1} if it is larger than {@code maxDistance}
+     */
+    public static int levenshteinDistance(String s1, String s2, int maxDistance) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("maxDistance must not be negative: " + maxDistance);
+        }
+
+        // Keep the shorter string as the inner dimension
+        String longer = s1.length() >= s2.length() ? s1 : s2;
+        String shorter = longer == s1 ? s2 : s1;
+        if (longer.length() - shorter.length() > maxDistance) {
+            return maxDistance + 1;
+        }
+        if (shorter.isEmpty()) {
+            return longer.length();
+        }
+
+        if (shorter.length() <= Long.SIZE) {
+            return myersDistance(shorter, longer, maxDistance);
+        }
+        return bandedDistance(longer, shorter, maxDistance);
+    }
+
+    /**
+     * Bit-parallel edit distance (Myers, in Hyyrö's formulation) for a pattern of at most
+     * 64 characters: one column of the matrix per text character, held in two words.
+     */
+    private static int myersDistance(String pattern, String text, int maxDistance) {
+        int m = pattern.length();
+        long[] asciiMasks = new long[128];
+        char[] otherChars = new char[m];
+        long[] otherMasks = new long[m];
+        int others = 0;
+        for (int i = 0; i < m; i++) {
+            char c = pattern.charAt(i);
+            if (c < 128) {
+                asciiMasks[c] |= 1L << i;
+                continue;
+            }
+            int k = 0;
+            while (k < others && otherChars[k] != c) {
+                k++;
+            }
+            if (k == others) {
+                otherChars[others++] = c;
+            }
+            otherMasks[k] |= 1L << i;
+        }
+
+        long last = 1L << (m - 1);
+        long pv = m == Long.SIZE ? -1L : (1L << m) - 1;
+        long mv = 0;
+        int score = m;
+        int n = text.length();
+        for (int j = 0; j < n; j++) {
+            char c = text.charAt(j);
+            long eq = 0;
+            if (c < 128) {
+                eq = asciiMasks[c];
+            } else {
+                for (int k = 0; k < others; k++) {
+                    if (otherChars[k] == c) {
+                        eq = otherMasks[k];
+                        break;
+                    }
                 }
             }
+
+            long xv = eq | mv;
+            long xh = (((eq & pv) + pv) ^ pv) | eq;
+            long ph = mv | ~(xh | pv);
+            long mh = pv & xh;
+            if ((ph & last) != 0) {
+                score++;
+            } else if ((mh & last) != 0) {
+                score--;
+            }
+            // Each remaining character lowers the distance by at most one
+            if (score - (n - j - 1) > maxDistance) {
+                return maxDistance + 1;
+            }
+
+            ph = (ph << 1) | 1;
+            mh <<= 1;
+            pv = mh | ~(xv | ph);
+            mv = ph & xv;
+        }
+
+        return score > maxDistance ? maxDistance + 1 : score;
+    }
+
+    /**
+     * Two-row dynamic programming restricted to the diagonal band that can stay within
+     * {@code maxDistance}; values above the threshold are clamped to {@code maxDistance + 1}.
+     */
+    private static int bandedDistance(String s1, String s2, int maxDistance) {
+        int m = s2.length();
+        int limit = maxDistance + 1;
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = Math.min(j, limit);
+        }
+
+        for (int i = 1; i <= s1.length(); i++) {
+            int from = Math.max(1, i - maxDistance);
+            int to = Math.min(m, i + maxDistance);
+            current[from - 1] = from == 1 ? Math.min(i, limit) : limit;
+            int rowMin = current[from - 1];
+
+            char c = s1.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int value = Math.min(
+                        Math.min(previous[j] + 1, current[j - 1] + 1),
+                        previous[j - 1] + (c == s2.charAt(j - 1) ? 0 : 1)
+                );
+                current[j] = Math.min(value, limit);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < m) {
+                // The next row reads one cell past this band
+                current[to + 1] = limit;
+            }
+            if (rowMin > maxDistance) {
+                return limit;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
         }
 
-        return dp[s1.length()][s2.length()];
+        return previous[m];
     }
 
     /**
@@ -102,20 +263,33 @@ public class TextSimilarityUtil {
             return 0.0;
         }
 
-        // Get normalized strings and tokenize
-        Set<String> set1 = new HashSet<>(Arrays.asList(s1.split("\\s+")));
-        Set<String> set2 = new HashSet<>(Arrays.asList(s2.split("\\s+")));
-
-        // Calculate intersection size
-        Set<String> intersection = new HashSet<>(set1);
-        intersection.retainAll(set2);
+        return jaccardSimilarity(tokenize(s1), tokenize(s2));
+    }
 
-        // Calculate union size
-        Set<String> union = new HashSet<>(set1);
-        union.addAll(set2);
+    /**
+     * Calculate Jaccard similarity between two token sequences, as returned by {@link #tokenize}
+     *
+     * @param tokens1 First token sequence
+     * @param tokens2 Second token sequence
+     * @return Jaccard similarity index (0-1)
+     */
+    public static double jaccardSimilarity(String[] tokens1, String[] tokens2) {
+        Set<String> set1 = new HashSet<>(Arrays.asList(tokens1));
+        Set<String> set2 = new HashSet<>(Arrays.asList(tokens2));
+
+        // Count the intersection by probing the larger set with the smaller one
+        Set<String> smaller = set1.size() <= set2.size() ? set1 : set2;
+        Set<String> larger = smaller == set1 ? set2 : set1;
+        int intersection = 0;
+        for (String token : smaller) {
+            if (larger.contains(token)) {
+                intersection++;
+            }
+        }
+        int union = set1.size() + set2.size() - intersection;
 
         // Calculate Jaccard index
-        return union.isEmpty() ? 1.0 : (double) intersection.size() / union.size();
+        return union == 0 ? 1.0 : (double) intersection / union;
     }
 
     /**
@@ -130,22 +304,33 @@ public class TextSimilarityUtil {
             return 0.0;
         }
 
-        // Simple implementation using word vectors
-        String[] tokens1 = s1.split("\\s+");
-        String[] tokens2 = s2.split("\\s+");
-
-        Set<String> allTokens = new HashSet<>();
-        for (String token : tokens1) allTokens.add(token);
-        for (String token : tokens2) allTokens.add(token);
+        return cosineSimilarity(tokenize(s1), tokenize(s2));
+    }
 
-        // Create vectors based on token frequencies
-        int[] vector1 = new int[allTokens.size()];
-        int[] vector2 = new int[allTokens.size()];
+    /**
+     * Calculate cosine similarity between the term frequency vectors of two token sequences,
+     * as returned by {@link #tokenize}
+     *
+     * @param tokens1 First token sequence
+     * @param tokens2 Second token sequence
+     * @return Cosine similarity (-1 to 1)
+     */
+    public static double cosineSimilarity(String[] tokens1, String[] tokens2) {
+        // Token frequencies for both sequences: {count in first, count in second}
+        Map<String, int[]> counts = new HashMap<>();
+        for (String token : tokens1) {
+            counts.computeIfAbsent(token, t -> new int[2])[0]++;
+        }
+        for (String token : tokens2) {
+            counts.computeIfAbsent(token, t -> new int[2])[1]++;
+        }
 
+        int[] vector1 = new int[counts.size()];
+        int[] vector2 = new int[counts.size()];
         int i = 0;
-        for (String token : allTokens) {
-            vector1[i] = countOccurrences(tokens1, token);
-            vector2[i] = countOccurrences(tokens2, token);
+        for (int[] count : counts.values()) {
+            vector1[i] = count[0];
+            vector2[i] = count[1];
             i++;
         }
 
@@ -153,14 +338,6 @@ public class TextSimilarityUtil {
         return calculateCosineSimilarity(vector1, vector2);
     }
 
-    private static int countOccurrences(String[] tokens, String token) {
-        int count = 0;
-        for (String t : tokens) {
-            if (t.equals(token)) count++;
-        }
-        return count;
-    }
-
     private static double calculateCosineSimilarity(int[] vectorA, int[] vectorB) {
         double dotProduct = 0.0;
         double normA = 0.0;
@@ -189,6 +366,24 @@ public class TextSimilarityUtil {
             return 0.0;
         }
 
+        return calculateSimilarity(s1, tokenize(s1), s2, tokenize(s2));
+    }
+
+    /**
+     * Calculate similarity between two strings using a combined approach, reusing tokens
+     * computed earlier with {@link #tokenize}
+     *
+     * @param s1 First string
+     * @param tokens1 Tokens of the first string
+     * @param s2 Second string
+     * @param tokens2 Tokens of the second string
+     * @return Similarity score (0-1)
+     */
+    public static double calculateSimilarity(String s1, String[] tokens1, String s2, String[] tokens2) {
+        if (s1 == null || s2 == null) {
+            return 0.0;
+        }
+
         if (s1.equals(s2)) {
             return 1.0;
         }
@@ -198,8 +393,8 @@ public class TextSimilarityUtil {
         String ns2 = s2.trim();
 
         // Calculate different similarity metrics
-        double jaccardScore = jaccardSimilarity(ns1, ns2);
-        double cosineScore = cosineSimilarity(ns1, ns2);
+        double jaccardScore = jaccardSimilarity(tokens1, tokens2);
+        double cosineScore = ns1.isEmpty() || ns2.isEmpty() ? 0.0 : cosineSimilarity(tokens1, tokens2);
 
         // Calculate Levenshtein distance based similarity (1 - normalized distance)
         int maxLength = Math.max(ns1.length(), ns2.length());
@@ -128,5 +128,55 @@ public class EtlConfig {
          * Regional (e.g. "us-central1") uses {location}-aiplatform.googleapis.com.
          */
         private String vertexLocation;
+        /**
+         * HTTP request/response logging of the provider API client. Default: {@link LoggingPolicy#defaults()}.
+         */
+        private LoggingPolicy logging;
+    }
+
+    /**
+     * Controls how much of the provider API traffic is logged. Logging happens at debug level
+     * and is skipped entirely, including body formatting, when debug is disabled.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LoggingPolicy {
+        public static final List<String> DEFAULT_REDACTED_HEADERS = List.of(
+                "Authorization", "Proxy-Authorization", "x-api-key", "x-goog-api-key", "api-key"
+        );
+
+        /**
+         * Amount of detail: request line and status, plus headers, plus bodies.
+         */
+        @Builder.Default
+        private Level level = Level.BASIC;
+        /**
+         * Fraction of requests to log, from 0.0 to 1.0.
+         */
+        @Builder.Default
+        private double sampleRate = 1.0;
+        /**
+         * Maximum number of body bytes written per request or response at {@link Level#FULL}.
+         */
+        @Builder.Default
+        private int maxBodyBytes = 4096;
+        /**
+         * Headers whose values are replaced with a placeholder. Case-insensitive.
+         */
+        @Builder.Default
+        private List<String> redactedHeaders = DEFAULT_REDACTED_HEADERS;
+
+        public static LoggingPolicy defaults() {
+            return LoggingPolicy.builder().build();
+        }
+
+        public enum Level {
+            NONE,
+            BASIC,
+            HEADERS,
+            FULL
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package ai.driftkit.common.annotation.processing;
+
+import ai.driftkit.common.annotation.JsonSchemaStrict;
+import ai.driftkit.common.domain.client.ResponseFormat;
+import ai.driftkit.common.utils.JsonSchemaGenerator;
+import ai.driftkit.common.utils.ModelUtils;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import javax.validation.constraints.NotNull;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonSchemaProcessorTest {
+
+    private static final String ORDER_SOURCE = """
+            package sample;
+
+            import ai.driftkit.common.annotation.PrecompiledJsonSchema;
+            import com.fasterxml.jackson.annotation.JsonProperty;
+            import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+            import javax.validation.constraints.NotNull;
+            import java.util.List;
+            import java.util.Map;
+            import java.util.Set;
+
+            @PrecompiledJsonSchema
+            public class Order {
+                public enum Status { NEW, PAID }
+
+                public static class Line {
+                    @NotNull
+                    public String sku;
+                    public int quantity;
+                    public List<String> tags;
+                }
+
+                public static int created;
+
+                @JsonProperty(value = "order_id", required = true)
+                public String id;
+                @JsonPropertyDescription("Current \\"status\\"")
+                public Status status;
+                public List<Line> lines;
+                public Set<Status> history;
+                public Map<String, Double> totals;
+                public Line primary;
+                public double amount;
+                public Boolean paid;
+                public transient String note;
+            }
+            """;
+
+    @TempDir
+    Path output;
+
+    @Test
+    void precompiledSchemaMatchesReflectiveSchema() throws Exception {
+        Path resource = compile();
+        ResponseFormat.JsonSchema precompiled = ModelUtils.OBJECT_MAPPER.readValue(
+                resource.toFile(), ResponseFormat.JsonSchema.class);
+
+        // Without the resource the generator falls back to reflection
+        byte[] json = Files.readAllBytes(resource);
+        Files.delete(resource);
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            ResponseFormat.JsonSchema reflected = JsonSchemaGenerator.generateSchema(loader.loadClass("sample.Order"));
+            assertEquals(reflected, precompiled);
+            assertEquals("Current \"status\"", precompiled.getProperties().get("status").getDescription());
+            assertEquals(List.of("order_id", "amount"), precompiled.getRequired());
+        }
+
+        // With the resource in place it is used as is
+        Files.write(resource, new String(json).replace("\"title\":\"Order\"", "\"title\":\"Precompiled\"").getBytes());
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            assertEquals("Precompiled", JsonSchemaGenerator.generateSchema(loader.loadClass("sample.Order")).getTitle());
+        }
+    }
+
+    private Path compile() throws Exception {
+        Path source = output.resolve("src/sample/Order.java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, ORDER_SOURCE);
+
+        String classPath = Stream.of(JsonSchemaStrict.class, JsonProperty.class, NotNull.class)
+                .map(JsonSchemaProcessorTest::location)
+                .collect(Collectors.joining(File.pathSeparator));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        ByteArrayOutputStream diagnostics = new ByteArrayOutputStream();
+        int result = compiler.run(null, null, diagnostics,
+                "-proc:full",
+                "-processor", JsonSchemaProcessor.class.getName(),
+                "-classpath", classPath,
+                "-d", output.toString(),
+                source.toString());
+        assertEquals(0, result, diagnostics.toString());
+
+        Path resource = output.resolve(JsonSchemaGenerator.PRECOMPILED_SCHEMA_PREFIX + "sample.Order.json");
+        assertTrue(Files.exists(resource));
+        return resource;
+    }
+
+    private static String location(Class<?> type) {
+        try {
+            return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
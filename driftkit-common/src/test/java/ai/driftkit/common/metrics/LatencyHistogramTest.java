@@ -0,0 +1,97 @@
+package ai.driftkit.common.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testBucketsAreContiguousAndWithinRelativeError() {
+        int previous = -1;
+        for (long value = 0; value < 1 << 20; value++) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(index == previous || index == previous + 1, "gap at " + value);
+            previous = index;
+
+            long midpoint = LatencyHistogram.bucketMidpoint(index);
+            assertTrue(Math.abs(midpoint - value) <= value / (2.0 * LatencyHistogram.SUB_BUCKETS),
+                    value + " -> " + midpoint);
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketIndex(LatencyHistogram.HIGHEST_TRACKABLE_NANOS));
+    }
+
+    @Test
+    void testPercentilesMatchExactValues() {
+        LatencyHistogram histogram = new LatencyHistogram(MetricId.of("test"));
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            // Log-normal-ish latencies between ~100 us and ~10 s
+            values[i] = (long) Math.exp(ThreadLocalRandom.current().nextDouble(Math.log(100_000), Math.log(10_000_000_000L)));
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double quantile : new double[]{0.5, 0.9, 0.95, 0.99, 0.999}) {
+            long exact = values[(int) Math.ceil(quantile * values.length) - 1];
+            long estimate = histogram.percentileNanos(quantile);
+            assertEquals(exact, estimate, exact * 0.035, "p" + quantile);
+        }
+        assertEquals(values.length, histogram.count());
+        assertEquals(values[values.length - 1], histogram.maxNanos());
+        assertEquals(Arrays.stream(values).sum(), histogram.totalNanos());
+        assertEquals(values[values.length - 1], histogram.percentileNanos(1));
+    }
+
+    @Test
+    void testEmptyLongAndNegativeDurations() {
+        LatencyHistogram histogram = new LatencyHistogram(MetricId.of("test"));
+        assertEquals(0, histogram.percentileNanos(0.99));
+        assertEquals(0, histogram.meanNanos());
+
+        histogram.record(-5);
+        assertEquals(0, histogram.count());
+
+        histogram.record(Duration.ofHours(5));
+        assertEquals(Duration.ofHours(5).toNanos(), histogram.maxNanos());
+        assertEquals(Duration.ofHours(5).toNanos(), histogram.percentileNanos(0.5));
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentileNanos(1.5));
+    }
+
+    @Test
+    void testConcurrentRecordsAreAllCounted() throws Exception {
+        int threads = 8;
+        int perThread = 50_000;
+        LatencyHistogram histogram = new LatencyHistogram(MetricId.of("test"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                futures[t] = executor.submit(() -> {
+                    for (int i = 1; i <= perThread; i++) {
+                        histogram.record(i * 1_000L);
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals((long) threads * perThread, histogram.count());
+        assertEquals(threads * 1_000L * perThread * (perThread + 1) / 2, histogram.totalNanos());
+        assertEquals(perThread * 1_000L, histogram.maxNanos());
+        assertEquals(perThread * 500L, histogram.percentileNanos(0.5), perThread * 500L * 0.035);
+    }
+}
@@ -0,0 +1,87 @@
+package ai.driftkit.common.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Cost of recording metrics. Not part of the test suite; run with {@code mvn test -Dtest=MetricsBenchmark}.
+ */
+class MetricsBenchmark {
+
+    @Test
+    void counterIncrements() {
+        MetricsRegistry metrics = new MetricsRegistry();
+        MetricCounter held = metrics.counter("requests", "model", "gpt-4o");
+        int rounds = 2_000_000;
+
+        double fieldNanos = nanosPer(rounds, held::increment);
+        double lookupNanos = nanosPer(rounds, () -> metrics.counter("requests", "model", "gpt-4o").increment());
+
+        System.out.printf("Counter increment: held meter %.1f ns, looked up by name and tags %.1f ns%n",
+                fieldNanos, lookupNanos);
+    }
+
+    @Test
+    void concurrentRecording() throws Exception {
+        // Eight threads record into one meter: a lock-free histogram against a synchronized one
+        int threads = 8;
+        int perThread = 500_000;
+        LatencyHistogram histogram = new LatencyHistogram(MetricId.of("test"));
+        long[] lockedBuckets = new long[LatencyHistogram.BUCKETS];
+        AtomicLong lockedCount = new AtomicLong();
+
+        double striped = nanosPerRecord(threads, perThread, histogram::record);
+        double locked = nanosPerRecord(threads, perThread, value -> {
+            synchronized (lockedBuckets) {
+                lockedBuckets[LatencyHistogram.bucketIndex(value)]++;
+                lockedCount.incrementAndGet();
+            }
+        });
+
+        System.out.printf("Recording from %d threads on %d CPUs, wall time per record: LatencyHistogram %.1f ns, "
+                + "synchronized histogram %.1f ns%n", threads, Runtime.getRuntime().availableProcessors(), striped, locked);
+    }
+
+    private static double nanosPer(int rounds, Runnable body) {
+        for (int i = 0; i < rounds; i++) {
+            body.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            body.run();
+        }
+        return (double) (System.nanoTime() - start) / rounds;
+    }
+
+    private static double nanosPerRecord(int threads, int perThread, LongConsumer record) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long elapsed = 0;
+            for (int round = 0; round < 2; round++) {
+                long start = System.nanoTime();
+                Future<?>[] futures = new Future<?>[threads];
+                for (int t = 0; t < threads; t++) {
+                    futures[t] = executor.submit(() -> {
+                        for (int i = 0; i < perThread; i++) {
+                            record.accept(1_000 + (i & 0xFFFF) * 1_000L);
+                        }
+                    });
+                }
+                for (Future<?> future : futures) {
+                    future.get(1, TimeUnit.MINUTES);
+                }
+                // First round warms up
+                elapsed = System.nanoTime() - start;
+            }
+            return (double) elapsed / ((long) threads * perThread);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package ai.driftkit.common.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsRegistryTest {
+
+    @Test
+    void testMetersAreSharedByNameAndTagsInAnyOrder() {
+        MetricsRegistry metrics = new MetricsRegistry();
+
+        MetricCounter counter = metrics.counter("requests", "model", "gpt-4o", "outcome", "success");
+        counter.increment();
+        metrics.counter("requests", "outcome", "success", "model", "gpt-4o").add(2);
+        metrics.counter("requests", "model", "gpt-4o", "outcome", "error").increment();
+
+        assertEquals(3, counter.count());
+        assertSame(counter, metrics.find("requests", "outcome", "success", "model", "gpt-4o"));
+        assertEquals(2, metrics.meters().size());
+        assertNotNull(metrics.find("requests", "model", "gpt-4o", "outcome", "error"));
+        assertEquals(MetricId.UNKNOWN_TAG_VALUE, metrics.counter("requests", "model", null).id().tags().get("model"));
+    }
+
+    @Test
+    void testMismatchedTypesAndTagsAreRejected() {
+        MetricsRegistry metrics = new MetricsRegistry();
+        metrics.counter("calls");
+
+        assertThrows(IllegalArgumentException.class, () -> metrics.histogram("calls"));
+        assertThrows(IllegalArgumentException.class, () -> metrics.counter("calls", "model"));
+        assertThrows(IllegalArgumentException.class, () -> metrics.counter(" "));
+    }
+
+    @Test
+    void testMetersBeyondLimitFoldIntoOverflow() {
+        MetricsRegistry metrics = new MetricsRegistry(10);
+        for (int i = 0; i < 100; i++) {
+            metrics.counter("requests", "model", "model-" + i).increment();
+        }
+
+        assertEquals(11, metrics.meters().size());
+        MetricCounter overflow = (MetricCounter) metrics.find("requests", "overflow", "true");
+        assertEquals(90, overflow.count());
+        assertEquals(1, ((MetricCounter) metrics.find("requests", "model", "model-3")).count());
+    }
+
+    @Test
+    void testTimeRecordsOutcome() throws Exception {
+        MetricsRegistry metrics = new MetricsRegistry();
+
+        assertEquals("ok", metrics.time(() -> "ok", "query", "store", "memory"));
+        assertThrows(IOException.class, () -> metrics.time(() -> {
+            throw new IOException("down");
+        }, "query", "store", "memory"));
+
+        assertEquals(1, metrics.histogram("query", "store", "memory", MetricNames.OUTCOME, MetricNames.SUCCESS).count());
+        assertEquals(1, metrics.histogram("query", "store", "memory", MetricNames.OUTCOME, MetricNames.ERROR).count());
+    }
+
+    @Test
+    void testListenersSeeExistingAndNewMeters() {
+        MetricsRegistry metrics = new MetricsRegistry();
+        metrics.counter("first");
+        List<MetricId> seen = new ArrayList<>();
+
+        metrics.onMeterAdded(meter -> seen.add(meter.id()));
+        metrics.counter("first").increment();
+        metrics.histogram("second");
+
+        assertEquals(List.of(MetricId.of("first"), MetricId.of("second")), seen);
+    }
+
+    @Test
+    void testMicrometerBridgeReadsMetersWhenScraped() {
+        MetricsRegistry metrics = new MetricsRegistry();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MetricCounter tokens = metrics.counter(MetricNames.LLM_TOKENS, MetricNames.MODEL, "gpt-4o", MetricNames.TOKEN_TYPE, "prompt");
+        AtomicInteger queueSize = new AtomicInteger(3);
+        metrics.gauge("queue.size", queueSize::get);
+
+        new MicrometerMetricsBridge(metrics).bindTo(registry);
+        LatencyHistogram latency = metrics.histogram(MetricNames.LLM_LATENCY, MetricNames.MODEL, "gpt-4o");
+        for (int i = 1; i <= 100; i++) {
+            latency.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        tokens.add(120);
+        queueSize.set(7);
+
+        FunctionCounter counter = registry.get(MetricNames.LLM_TOKENS).tag(MetricNames.TOKEN_TYPE, "prompt").functionCounter();
+        assertEquals(120, counter.count());
+        Gauge gauge = registry.get("queue.size").gauge();
+        assertEquals(7, gauge.value());
+
+        FunctionTimer timer = registry.get(MetricNames.LLM_LATENCY).tag(MetricNames.MODEL, "gpt-4o").functionTimer();
+        assertEquals(100, timer.count());
+        assertEquals(5_050, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        TimeGauge max = registry.get(MetricNames.LLM_LATENCY + ".max").timeGauge();
+        assertEquals(100, max.value(TimeUnit.MILLISECONDS), 0.001);
+        TimeGauge p99 = registry.get(MetricNames.LLM_LATENCY + ".percentile").tag("phi", "0.99").timeGauge();
+        assertEquals(99, p99.value(TimeUnit.MILLISECONDS), 99 * 0.035);
+    }
+
+    @Test
+    void testHeldAndLookedUpCountersShareIncrements() {
+        MetricsRegistry metrics = new MetricsRegistry();
+        MetricCounter held = metrics.counter("requests", "model", "gpt-4o");
+
+        for (int i = 0; i < 1_000; i++) {
+            held.increment();
+            metrics.counter("requests", "model", "gpt-4o").increment();
+        }
+
+        assertEquals(2_000, held.count());
+    }
+}
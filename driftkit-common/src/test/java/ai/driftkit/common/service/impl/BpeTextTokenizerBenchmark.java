@@ -0,0 +1,45 @@
+package ai.driftkit.common.service.impl;
+
+import ai.driftkit.common.service.impl.BpeTextTokenizer.Encoding;
+import org.junit.jupiter.api.Test;
+
+import static ai.driftkit.common.service.impl.BpeTextTokenizerTest.mixedCorpus;
+import static ai.driftkit.common.service.impl.BpeTextTokenizerTest.reference;
+
+/**
+ * Token counting throughput of the BPE tokenizer, jtokkit and the length/4 heuristic.
+ * Not part of the test suite; run with {@code mvn test -Dtest=BpeTextTokenizerBenchmark}.
+ */
+class BpeTextTokenizerBenchmark {
+
+    @Test
+    void againstCharacterHeuristic() {
+        String text = mixedCorpus();
+        BpeTextTokenizer tokenizer = BpeTextTokenizer.cl100k();
+        SimpleTextTokenizer heuristic = new SimpleTextTokenizer();
+        com.knuddels.jtokkit.api.Encoding reference = reference(Encoding.CL100K_BASE);
+
+        double bpe = megabytesPerSecond(text, () -> tokenizer.countTokens(text));
+        double simple = megabytesPerSecond(text, () -> heuristic.estimateTokens(text));
+        double jtokkit = megabytesPerSecond(text, () -> reference.countTokensOrdinary(text));
+
+        int exact = tokenizer.countTokens(text);
+        int estimated = heuristic.estimateTokens(text);
+        System.out.printf("Token counting over %d KB: BPE %.1f MB/s (%d tokens), jtokkit %.1f MB/s, "
+                        + "length/4 heuristic %.0f MB/s (%d tokens, %+.0f%%)%n",
+                text.length() / 1024, bpe, exact, jtokkit, simple, estimated, 100.0 * (estimated - exact) / exact);
+    }
+
+    private static double megabytesPerSecond(String text, Runnable body) {
+        for (int i = 0; i < 5; i++) {
+            body.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            long start = System.nanoTime();
+            body.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return text.length() / 1e6 / (best / 1e9);
+    }
+}
@@ -0,0 +1,97 @@
+package ai.driftkit.common.service.impl;
+
+import ai.driftkit.common.service.impl.BpeTextTokenizer.Encoding;
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.EncodingRegistry;
+import com.knuddels.jtokkit.api.EncodingType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BpeTextTokenizerTest {
+
+    private static final EncodingRegistry REFERENCE = Encodings.newDefaultEncodingRegistry();
+
+    private static final List<String> SAMPLES = List.of(
+            "Hello, world!",
+            "The quick brown fox jumps over the lazy dog. It's 12:45 and they'll arrive by 1999-12-31.",
+            "    indented\n\n\ttabs\r\nand   trailing spaces   ",
+            "public static void main(String[] args) { System.out.println(\"x\" + 42 * 3.14159); }",
+            "{\"id\": 1234567, \"tags\": [\"a/b\", \"c_d\"], \"url\": \"https://example.com/path?q=1&r=2\"}",
+            "Привет, мир! Ça va? Größe, naïve café — 東京は日本の首都です。 한국어 텍스트",
+            "Emoji 🚀🔥👩‍👩‍👧‍👦 and symbols ∑∫√≠ ⟨x⟩",
+            "I'M SHOUTING, DON'T YOU'LL WE'VE they'RE",
+            "<|endoftext|> is encoded as ordinary text",
+            "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa",
+            "antidisestablishmentarianism pneumonoultramicroscopicsilicovolcanoconiosis",
+            ""
+    );
+
+    @ParameterizedTest
+    @EnumSource(Encoding.class)
+    void testTokensMatchReferenceImplementation(Encoding encoding) {
+        BpeTextTokenizer tokenizer = BpeTextTokenizer.of(encoding);
+        com.knuddels.jtokkit.api.Encoding reference = reference(encoding);
+
+        for (String sample : SAMPLES) {
+            assertArrayEquals(reference.encodeOrdinary(sample).toArray(), tokenizer.encode(sample), sample);
+            assertEquals(reference.countTokensOrdinary(sample), tokenizer.countTokens(sample), sample);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Encoding.class)
+    void testRandomTextMatchesReferenceImplementation(Encoding encoding) {
+        BpeTextTokenizer tokenizer = BpeTextTokenizer.of(encoding);
+        com.knuddels.jtokkit.api.Encoding reference = reference(encoding);
+        Random random = new Random(17);
+        String alphabet = "abcdeXYZ 0123 \n\t.,'!?-/_éжß東🚀";
+
+        for (int round = 0; round < 2000; round++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(80);
+            for (int i = 0; i < length; i++) {
+                text.appendCodePoint(alphabet.codePointAt(alphabet.offsetByCodePoints(0,
+                        random.nextInt(alphabet.codePointCount(0, alphabet.length())))));
+            }
+            String sample = text.toString();
+            assertArrayEquals(reference.encodeOrdinary(sample).toArray(), tokenizer.encode(sample), sample);
+        }
+    }
+
+    @Test
+    void testSharedInstancesAndNullInput() {
+        assertSame(BpeTextTokenizer.cl100k(), BpeTextTokenizer.of(Encoding.CL100K_BASE));
+        assertEquals(Encoding.O200K_BASE, BpeTextTokenizer.o200k().getEncoding());
+        assertEquals(0, BpeTextTokenizer.cl100k().estimateTokens(null));
+        assertEquals(0, BpeTextTokenizer.cl100k().encode("").length);
+        assertEquals(3, BpeTextTokenizer.cl100k().estimateTokens("Hello, world"));
+    }
+
+    @Test
+    void testMixedCorpusMatchesReferenceImplementation() {
+        String text = mixedCorpus();
+
+        assertEquals(reference(Encoding.CL100K_BASE).countTokensOrdinary(text), BpeTextTokenizer.cl100k().countTokens(text));
+    }
+
+    static String mixedCorpus() {
+        StringBuilder text = new StringBuilder();
+        List<String> parts = new ArrayList<>(SAMPLES);
+        Random random = new Random(3);
+        while (text.length() < 512 * 1024) {
+            text.append(parts.get(random.nextInt(parts.size()))).append(random.nextBoolean() ? " " : "\n");
+        }
+        return text.toString();
+    }
+
+    static com.knuddels.jtokkit.api.Encoding reference(Encoding encoding) {
+        return REFERENCE.getEncoding(encoding == Encoding.CL100K_BASE ? EncodingType.CL100K_BASE : EncodingType.O200K_BASE);
+    }
+}
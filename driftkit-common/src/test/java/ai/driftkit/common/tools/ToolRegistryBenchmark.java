@@ -0,0 +1,56 @@
+package ai.driftkit.common.tools;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static ai.driftkit.common.tools.ToolRegistryTest.*;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Compares the per-call overhead of the compiled path with the reflective conversion it replaced.
+ * Not part of the test suite; run with {@code mvn test -Dtest=ToolRegistryBenchmark}.
+ */
+class ToolRegistryBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    @Test
+    void perCallOverhead() throws Exception {
+        ToolRegistry registry = registry();
+        ToolInfo forecast = registry.getToolInfo("forecast");
+        ToolInfo search = registry.getToolInfo("search");
+        Map<String, JsonNode> forecastArgs = forecastArguments(forecast);
+        Map<String, JsonNode> searchArgs = searchArguments();
+        ToolCall forecastCall = call("forecast", forecastArgs);
+        ToolCall searchCall = call("search", searchArgs);
+
+        double reflectiveMethod = nanosPerCall(() -> reflectiveMethodCall(forecast, forecastArgs));
+        double compiledMethod = nanosPerCall(() -> registry.executeToolCall(forecastCall));
+        double reflectiveObject = nanosPerCall(() -> reflectiveObjectCall(search, searchArgs));
+        double compiledObject = nanosPerCall(() -> registry.executeToolCall(searchCall));
+
+        System.out.printf("Tool call overhead: method tool %.0f ns -> %.0f ns, object tool %.0f ns -> %.0f ns%n",
+                reflectiveMethod, compiledMethod, reflectiveObject, compiledObject);
+    }
+
+    private static double nanosPerCall(ThrowingCall call) throws Exception {
+        Object sink = null;
+        for (int i = 0; i < WARMUP; i++) {
+            sink = call.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = call.run();
+        }
+        assertNotNull(sink);
+        return (System.nanoTime() - start) / (double) ITERATIONS;
+    }
+
+    @FunctionalInterface
+    private interface ThrowingCall {
+        Object run() throws Exception;
+    }
+}
@@ -0,0 +1,166 @@
+package ai.driftkit.common.tools;
+
+import ai.driftkit.common.utils.ModelUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ToolRegistryTest {
+
+    static class Fixture {
+        @Tool(description = "Get forecast")
+        public String forecast(String city, int days) {
+            return city + ":" + days;
+        }
+
+        @Tool(description = "Fails")
+        public String broken(String input) {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    public static class Query {
+        public String text;
+        public int limit;
+    }
+
+    public static class SearchTool {
+        public String execute(Query query) {
+            return query.text + "/" + query.limit;
+        }
+    }
+
+    @Test
+    void executesMethodToolFromParsedAndRawArguments() {
+        ToolRegistry registry = new ToolRegistry();
+        registry.registerClass(new Fixture());
+        List<String> names = registry.getToolInfo("forecast").getParameterNames();
+
+        assertEquals("Paris:3", registry.executeToolCall(call("forecast", Map.of(
+                names.get(0), TextNode.valueOf("Paris"),
+                names.get(1), IntNode.valueOf(3)))));
+        assertEquals("Oslo:5", registry.executeToolCall("forecast",
+                "{\"" + names.get(0) + "\":\"Oslo\",\"" + names.get(1) + "\":5}"));
+    }
+
+    @Test
+    void executesObjectStyleTool() {
+        ToolRegistry registry = new ToolRegistry();
+        registry.registerTool(searchTool());
+
+        assertEquals("java/7", registry.executeToolCall(call("search", Map.of(
+                "text", TextNode.valueOf("java"),
+                "limit", IntNode.valueOf(7)))));
+        assertEquals("kotlin/2", registry.executeToolCall("search", "{\"text\":\"kotlin\",\"limit\":2}"));
+    }
+
+    @Test
+    void reportsFailuresWithToolName() {
+        ToolRegistry registry = new ToolRegistry();
+        registry.registerClass(new Fixture());
+        String input = registry.getToolInfo("broken").getParameterNames().get(0);
+
+        RuntimeException failure = assertThrows(RuntimeException.class,
+                () -> registry.executeToolCall(call("broken", Map.of(input, TextNode.valueOf("x")))));
+        assertEquals("Tool function execution failed: broken", failure.getMessage());
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+
+        RuntimeException missing = assertThrows(RuntimeException.class,
+                () -> registry.executeToolCall(call("unknown", Map.of())));
+        assertEquals("Function not found: unknown", missing.getMessage());
+
+        assertThrows(RuntimeException.class, () -> registry.executeToolCall("forecast", "{\"" +
+                registry.getToolInfo("forecast").getParameterNames().get(1) + "\":\"many\"}"));
+    }
+
+    @Test
+    void reportsObjectStyleConversionFailuresAsExecutionFailures() {
+        ToolRegistry registry = new ToolRegistry();
+        registry.registerTool(searchTool());
+
+        RuntimeException parsed = assertThrows(RuntimeException.class,
+                () -> registry.executeToolCall(call("search", Map.of("limit", TextNode.valueOf("many")))));
+        RuntimeException raw = assertThrows(RuntimeException.class,
+                () -> registry.executeToolCall("search", "{\"limit\":\"many\"}"));
+
+        for (RuntimeException failure : List.of(parsed, raw)) {
+            assertEquals("Failed to execute tool: search", failure.getMessage());
+            assertEquals("Failed to convert arguments to type " + Query.class.getTypeName() + " for tool search",
+                    failure.getCause().getMessage());
+        }
+    }
+
+    @Test
+    void compiledCallsMatchReflectiveConversion() throws Exception {
+        ToolRegistry registry = registry();
+        ToolInfo forecast = registry.getToolInfo("forecast");
+        Map<String, JsonNode> forecastArgs = forecastArguments(forecast);
+        Map<String, JsonNode> searchArgs = searchArguments();
+
+        assertEquals(reflectiveMethodCall(forecast, forecastArgs), registry.executeToolCall(call("forecast", forecastArgs)));
+        assertEquals(reflectiveObjectCall(registry.getToolInfo("search"), searchArgs),
+                registry.executeToolCall(call("search", searchArgs)));
+    }
+
+    static ToolRegistry registry() {
+        ToolRegistry registry = new ToolRegistry();
+        registry.registerClass(new Fixture());
+        registry.registerTool(searchTool());
+        return registry;
+    }
+
+    static Map<String, JsonNode> forecastArguments(ToolInfo forecast) {
+        Map<String, JsonNode> arguments = new LinkedHashMap<>();
+        arguments.put(forecast.getParameterNames().get(0), TextNode.valueOf("Paris"));
+        arguments.put(forecast.getParameterNames().get(1), IntNode.valueOf(3));
+        return arguments;
+    }
+
+    static Map<String, JsonNode> searchArguments() {
+        return Map.of("text", TextNode.valueOf("java"), "limit", IntNode.valueOf(7));
+    }
+
+    /**
+     * The conversion tool calls used before arguments were compiled per tool.
+     */
+    static Object reflectiveMethodCall(ToolInfo toolInfo, Map<String, JsonNode> arguments) throws Exception {
+        Object[] values = new Object[toolInfo.getParameterNames().size()];
+        for (int i = 0; i < values.length; i++) {
+            JsonNode node = arguments.get(toolInfo.getParameterNames().get(i));
+            values[i] = ModelUtils.OBJECT_MAPPER.treeToValue(node, (Class<?>) toolInfo.getParameterTypes().get(i));
+        }
+        return ToolAnalyzer.invokeToolFunction(toolInfo, values);
+    }
+
+    static Object reflectiveObjectCall(ToolInfo toolInfo, Map<String, JsonNode> arguments) throws Exception {
+        Object value = ModelUtils.OBJECT_MAPPER.convertValue(arguments, (Class<?>) toolInfo.getParameterTypes().get(0));
+        Method execute = toolInfo.getInstance().getClass().getMethod("execute", (Class<?>) toolInfo.getParameterTypes().get(0));
+        return execute.invoke(toolInfo.getInstance(), value);
+    }
+
+    private static ToolInfo searchTool() {
+        return ToolInfo.builder()
+                .functionName("search")
+                .description("Search")
+                .parameterNames(List.of("arguments"))
+                .parameterTypes(List.of(Query.class))
+                .returnType(String.class)
+                .instance(new SearchTool())
+                .build();
+    }
+
+    static ToolCall call(String name, Map<String, JsonNode> arguments) {
+        return ToolCall.builder()
+                .id("call-1")
+                .function(new ToolCall.FunctionCall(name, arguments))
+                .build();
+    }
+}
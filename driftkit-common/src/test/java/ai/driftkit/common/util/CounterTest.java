@@ -0,0 +1,64 @@
+package ai.driftkit.common.util;
+
+import ai.driftkit.common.utils.Counter;
+import ai.driftkit.common.utils.ObjectMappers;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CounterTest {
+
+    @Test
+    void testCountsConcurrentUpdates() throws Exception {
+        Counter<String> counter = new Counter<>();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counter.increment("step" + (i % 4));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(20_000, counter.get("step" + i));
+        }
+        assertEquals(0, counter.get("missing"));
+        assertEquals(20_005, counter.add("step0", 5));
+    }
+
+    @Test
+    void testUpdatesToNewNamesBeyondLimitAreDropped() {
+        Counter<String> counter = new Counter<>(2);
+        counter.increment("a");
+        counter.increment("b");
+
+        assertEquals(1, counter.increment("c"));
+        assertEquals(0, counter.get("c"));
+        assertEquals(2, counter.increment("a"));
+        assertEquals(1, counter.getDropped());
+        assertEquals(Map.of("a", 2L, "b", 1L), counter.getCounters());
+    }
+
+    @Test
+    void testJsonRoundTrip() throws Exception {
+        Counter<String> counter = new Counter<>();
+        counter.add("aInvocation", 3);
+        counter.increment("StartEvent");
+
+        String json = ObjectMappers.writer().writeValueAsString(counter);
+        Counter<String> read = ObjectMappers.reader(new TypeReference<Counter<String>>() {}).readValue(json);
+
+        assertEquals(Map.of("counters", Map.of("aInvocation", 3, "StartEvent", 1)),
+                ObjectMappers.shared().readValue(json, Map.class));
+        assertEquals(counter.getCounters(), read.getCounters());
+    }
+}
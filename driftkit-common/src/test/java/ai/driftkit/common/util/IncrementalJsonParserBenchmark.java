@@ -0,0 +1,59 @@
+package ai.driftkit.common.util;
+
+import ai.driftkit.common.utils.IncrementalJsonParser;
+import ai.driftkit.common.utils.JsonUtils;
+import ai.driftkit.common.utils.ModelUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * Partial parsing of a streamed document: incremental parser against repairing and re-parsing
+ * the accumulated text on every delta. Not part of the test suite; run with
+ * {@code mvn test -Dtest=IncrementalJsonParserBenchmark}.
+ */
+class IncrementalJsonParserBenchmark {
+
+    @Test
+    void perDeltaPartialParsing() throws Exception {
+        String document = IncrementalJsonParserTest.itemsDocument(400);
+        List<String> deltas = IncrementalJsonParserTest.deltas(document, 4);
+
+        // Repairing and re-parsing the accumulated text on every delta is quadratic in the document
+        long repairNanos = timed(() -> {
+            StringBuilder accumulated = new StringBuilder();
+            for (String delta : deltas) {
+                accumulated.append(delta);
+                ModelUtils.OBJECT_MAPPER.readTree(JsonUtils.fixIncompleteJSON(accumulated.toString()));
+            }
+        });
+        long incrementalNanos = timed(() -> {
+            IncrementalJsonParser parser = new IncrementalJsonParser(event -> {
+            });
+            for (String delta : deltas) {
+                parser.feed(delta);
+            }
+        });
+
+        System.out.printf("%d deltas over %d chars: repair and re-parse %.2f ms, incremental %.2f ms%n",
+                deltas.size(), document.length(), repairNanos / 1e6, incrementalNanos / 1e6);
+    }
+
+    private static long timed(ThrowingRunnable body) throws Exception {
+        for (int i = 0; i < 5; i++) {
+            body.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            long start = System.nanoTime();
+            body.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,185 @@
+package ai.driftkit.common.util;
+
+import ai.driftkit.common.domain.streaming.StreamingCallback;
+import ai.driftkit.common.utils.IncrementalJsonParser;
+import ai.driftkit.common.utils.IncrementalJsonParser.Event;
+import ai.driftkit.common.utils.IncrementalJsonParser.EventType;
+import ai.driftkit.common.utils.ModelUtils;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalJsonParserTest {
+
+    @Test
+    void testEventsCarryPathsInCompletionOrder() {
+        List<Event> events = new ArrayList<>();
+        IncrementalJsonParser parser = new IncrementalJsonParser(events::add);
+
+        parser.feed("```json\n{\"title\": \"Plan\", \"steps\": [{\"n\": 1}, \"two\"], \"a/b\": null}\n```");
+
+        assertEquals(List.of(
+                "FIELD_COMPLETED /title \"Plan\"",
+                "FIELD_COMPLETED /steps/0/n 1",
+                "ELEMENT_APPENDED /steps/0 {\"n\":1}",
+                "ELEMENT_APPENDED /steps/1 \"two\"",
+                "FIELD_COMPLETED /steps [{\"n\":1},\"two\"]",
+                "FIELD_COMPLETED /a~1b null",
+                "DOCUMENT_COMPLETED  {\"title\":\"Plan\",\"steps\":[{\"n\":1},\"two\"],\"a/b\":null}"
+        ), events.stream().map(e -> e.getType() + " " + e.getPath() + " " + e.getValue()).toList());
+        assertTrue(parser.isComplete());
+    }
+
+    @Test
+    void testCharacterDeltasBuildTheSameTree() throws Exception {
+        String json = "{\"text\": \"naïve 🚀 \\u00e9\", \"values\": [1, -2.5e3, true, false, null], \"big\": 12345678901234567890}";
+        IncrementalJsonParser parser = new IncrementalJsonParser(event -> {
+        });
+
+        for (int i = 0; i < json.length(); i++) {
+            parser.feed(json.substring(i, i + 1));
+            if (i < json.length() - 1) {
+                assertFalse(parser.isComplete());
+            }
+        }
+
+        assertTrue(parser.isComplete());
+        assertEquals(ModelUtils.OBJECT_MAPPER.readTree(json), parser.getRoot());
+    }
+
+    @Test
+    void testRootGrowsWithTheDocument() {
+        IncrementalJsonParser parser = new IncrementalJsonParser(event -> {
+        });
+
+        parser.feed("{\"a\": \"done\", \"b\": \"stream");
+        assertEquals("{\"a\":\"done\"}", parser.getRoot().toString());
+
+        parser.feed("ing\", \"c\": [1, 2");
+        assertEquals("{\"a\":\"done\",\"b\":\"streaming\",\"c\":[1]}", parser.getRoot().toString());
+
+        parser.feed("], \"d\": {\"e\": ");
+        assertEquals("{\"a\":\"done\",\"b\":\"streaming\",\"c\":[1,2],\"d\":{}}", parser.getRoot().toString());
+    }
+
+    @Test
+    void testMalformedInputFails() {
+        IncrementalJsonParser parser = new IncrementalJsonParser(event -> {
+        });
+
+        assertThrows(UncheckedIOException.class, () -> parser.feed("{\"a\": tru}"));
+
+        IncrementalJsonParser truncated = new IncrementalJsonParser(event -> {
+        });
+        truncated.feed("{\"a\": [1");
+        assertThrows(UncheckedIOException.class, truncated::endOfInput);
+    }
+
+    @Test
+    void testPartialObjectsAreDeliveredAsFieldsComplete() {
+        List<Answer> answers = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        boolean[] completed = new boolean[1];
+        StreamingCallback<String> callback = StreamingCallback.partialObjects(Answer.class, new StreamingCallback<>() {
+            @Override
+            public void onNext(Answer item) {
+                answers.add(item);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                errors.add(error);
+            }
+
+            @Override
+            public void onComplete() {
+                completed[0] = true;
+            }
+        });
+
+        for (String delta : List.of("{\"sum", "mary\": \"Sho", "rt\", \"sources\": [\"a\"", ", \"b\"], \"extra\": 1, \"confidence\": 0.9", "}")) {
+            callback.onNext(delta);
+        }
+        callback.onComplete();
+
+        assertEquals(List.of(), errors);
+        assertTrue(completed[0]);
+        assertEquals(3, answers.size());
+        assertEquals("Short", answers.get(0).getSummary());
+        assertEquals(List.of("a"), answers.get(0).getSources());
+        assertEquals(List.of("a", "b"), answers.get(1).getSources());
+        assertNull(answers.get(1).getConfidence());
+        assertEquals("Short", answers.get(2).getSummary());
+        assertEquals(0.9, answers.get(2).getConfidence());
+    }
+
+    @Test
+    void testPartialObjectsReportInvalidJsonOnce() {
+        List<Throwable> errors = new ArrayList<>();
+        boolean[] completed = new boolean[1];
+        StreamingCallback<String> callback = StreamingCallback.partialObjects(Answer.class, new StreamingCallback<>() {
+            @Override
+            public void onNext(Answer item) {
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                errors.add(error);
+            }
+
+            @Override
+            public void onComplete() {
+                completed[0] = true;
+            }
+        });
+
+        callback.onNext("{\"summary\": }");
+        callback.onNext("\"more\"");
+        callback.onComplete();
+
+        assertEquals(1, errors.size());
+        assertFalse(completed[0]);
+    }
+
+    @Test
+    void testLargeDocumentInSmallDeltasBuildsTheSameTree() throws Exception {
+        String document = itemsDocument(400);
+        IncrementalJsonParser parser = new IncrementalJsonParser(event -> {
+        });
+
+        for (String delta : deltas(document, 4)) {
+            parser.feed(delta);
+        }
+
+        assertTrue(parser.isComplete());
+        assertEquals(ModelUtils.OBJECT_MAPPER.readTree(document), parser.getRoot());
+    }
+
+    static String itemsDocument(int items) {
+        StringBuilder json = new StringBuilder("{\"items\": [");
+        for (int i = 0; i < items; i++) {
+            json.append(i == 0 ? "" : ", ").append("{\"id\": ").append(i).append(", \"name\": \"item ").append(i).append("\"}");
+        }
+        return json.append("]}").toString();
+    }
+
+    static List<String> deltas(String document, int size) {
+        List<String> deltas = new ArrayList<>();
+        for (int i = 0; i < document.length(); i += size) {
+            deltas.add(document.substring(i, Math.min(document.length(), i + size)));
+        }
+        return deltas;
+    }
+
+    @Data
+    public static class Answer {
+        private String summary;
+        private List<String> sources;
+        private Double confidence;
+    }
+}
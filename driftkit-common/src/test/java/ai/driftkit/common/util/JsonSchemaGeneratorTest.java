@@ -148,4 +148,25 @@ class JsonSchemaGeneratorTest {
         assertEquals(ResponseFormat.ResponseType.JSON_OBJECT, responseFormat.getType());
         assertNull(responseFormat.getJsonSchema());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSchemasAreCachedAndReadOnly() {
+        ResponseFormat.JsonSchema schema = JsonSchemaGenerator.generateSchema(Person.class);
+
+        assertSame(schema, JsonSchemaGenerator.generateSchema(Person.class));
+        assertThrows(UnsupportedOperationException.class,
+                () -> schema.getProperties().put("extra", new ResponseFormat.SchemaProperty()));
+        assertThrows(UnsupportedOperationException.class, () -> schema.getRequired().add("extra"));
+        assertThrows(UnsupportedOperationException.class,
+                () -> schema.getProperties().get("address").getRequired().clear());
+
+        ResponseFormat.JsonSchema titled = JsonSchemaGenerator.generateSchema(Person.class, "CustomPerson");
+        assertSame(schema.getProperties(), titled.getProperties());
+        assertEquals("Person", JsonSchemaGenerator.generateSchema(Person.class).getTitle());
+
+        JsonSchemaGenerator.clearCache();
+        ResponseFormat.JsonSchema regenerated = JsonSchemaGenerator.generateSchema(Person.class);
+        assertNotSame(schema, regenerated);
+        assertEquals(schema, regenerated);
+    }
+}
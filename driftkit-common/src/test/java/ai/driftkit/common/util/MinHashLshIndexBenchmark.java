@@ -0,0 +1,35 @@
+package ai.driftkit.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static ai.driftkit.common.util.MinHashLshIndexTest.*;
+
+/**
+ * Near-duplicate detection with the LSH index against pairwise shingle Jaccard.
+ * Not part of the test suite; run with {@code mvn test -Dtest=MinHashLshIndexBenchmark}.
+ */
+class MinHashLshIndexBenchmark {
+
+    @Test
+    void indexAgainstPairwiseJaccard() {
+        List<String> corpus = nearDuplicateCorpus();
+
+        long start = System.nanoTime();
+        int pairwiseDuplicates = pairwiseDuplicates(corpus);
+        long pairwise = System.nanoTime() - start;
+
+        long lsh = Long.MAX_VALUE;
+        int lshDuplicates = 0;
+        for (int round = 0; round < 3; round++) {
+            start = System.nanoTime();
+            lshDuplicates = lshDuplicates(corpus);
+            lsh = Math.min(lsh, System.nanoTime() - start);
+        }
+
+        System.out.printf("Near-duplicates in %d texts: pairwise shingle Jaccard found %d in %.1f ms, "
+                        + "MinHash LSH found %d in %.1f ms%n",
+                corpus.size(), pairwiseDuplicates, pairwise / 1e6, lshDuplicates, lsh / 1e6);
+    }
+}
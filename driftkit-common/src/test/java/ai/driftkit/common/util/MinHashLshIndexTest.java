@@ -0,0 +1,174 @@
+package ai.driftkit.common.util;
+
+import ai.driftkit.common.utils.MinHash;
+import ai.driftkit.common.utils.MinHashLshIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinHashLshIndexTest {
+
+    private static final String[] WORDS = ("alpha beta gamma delta epsilon zeta eta theta iota kappa lambda mu "
+            + "nu xi omicron pi rho sigma tau upsilon phi chi psi omega vector index chunk embed store query "
+            + "model token prompt answer retrieve document").split(" ");
+
+    @Test
+    void testSignatureEstimatesShingleJaccard() {
+        MinHash minHash = new MinHash(256, 3, 1);
+        Random random = new Random(3);
+        for (int round = 0; round < 50; round++) {
+            String text1 = randomText(random, 200);
+            String text2 = edit(random, text1, random.nextInt(60));
+
+            double exact = shingleJaccard(text1, text2, 3);
+            double estimated = MinHash.similarity(minHash.signature(text1), minHash.signature(text2));
+            // Four standard errors of a 256 value signature
+            assertEquals(exact, estimated, 0.125, "round " + round);
+        }
+    }
+
+    @Test
+    void testSignatureIgnoresCaseAndWhitespace() {
+        MinHash minHash = new MinHash();
+        assertArrayEquals(minHash.signature("The quick  brown fox\njumps over the lazy dog"),
+                minHash.signature("the quick brown fox\njumps OVER the lazy dog "));
+        assertEquals(1.0, MinHash.similarity(minHash.signature("short"), minHash.signature("Short")));
+        assertTrue(MinHash.similarity(minHash.signature("one two three four five six"),
+                minHash.signature("seven eight nine ten eleven twelve")) < 0.1);
+    }
+
+    @Test
+    void testIndexFindsNearDuplicatesOnly() {
+        MinHashLshIndex index = new MinHashLshIndex(new MinHash(), 0.8);
+        Random random = new Random(5);
+        String original = randomText(random, 300);
+
+        assertNull(index.addIfUnique("original", original));
+        assertEquals("original", index.addIfUnique("copy", original.replace("alpha", "ALPHA")));
+        assertEquals("original", index.addIfUnique("near", edit(random, original, 3)));
+        assertNull(index.addIfUnique("other", randomText(random, 300)));
+        // Indexing the same id again, as a retry does, is not a duplicate
+        assertNull(index.addIfUnique("original", original));
+
+        assertEquals(2, index.size());
+        assertEquals(2, index.getDuplicatesFound());
+        assertEquals("original", index.findDuplicate(original));
+        assertNull(index.findDuplicate("original", index.getMinHash().signature(original)));
+        assertEquals("original", index.findDuplicate("copy", index.getMinHash().signature(original)));
+        assertEquals(2, index.size());
+        assertEquals(2, index.getDuplicatesFound());
+    }
+
+    @Test
+    void testBandLayoutFavoursRecallAtThreshold() {
+        MinHashLshIndex index = new MinHashLshIndex(new MinHash(), 0.8);
+        double recall = 1 - Math.pow(1 - Math.pow(0.8, index.getRows()), index.getBands());
+        assertTrue(recall >= 0.95, "recall " + recall);
+        assertTrue(index.getRows() > 1);
+
+        assertThrows(IllegalArgumentException.class, () -> new MinHashLshIndex(new MinHash(), 0));
+        assertThrows(IllegalArgumentException.class, () -> new MinHashLshIndex(new MinHash(), 0.5, 129));
+    }
+
+    @Test
+    void testIndexFindsNearlyAllPairwiseDuplicates() {
+        List<String> corpus = nearDuplicateCorpus();
+
+        int pairwiseDuplicates = pairwiseDuplicates(corpus);
+        int lshDuplicates = lshDuplicates(corpus);
+
+        // Edits of edits can drift below the threshold, and the estimate is noisy near it
+        assertTrue(pairwiseDuplicates > 240);
+        assertTrue(lshDuplicates >= pairwiseDuplicates * 0.95, lshDuplicates + " of " + pairwiseDuplicates);
+    }
+
+    static List<String> nearDuplicateCorpus() {
+        Random random = new Random(11);
+        List<String> corpus = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            // Every fourth text is a one-word edit of an earlier one
+            corpus.add(i % 4 == 3 ? replaceWord(random, corpus.get(random.nextInt(i))) : vocabularyText(random, 150));
+        }
+        return corpus;
+    }
+
+    /**
+     * Texts whose shingle Jaccard similarity to an earlier kept text reaches 0.8, compared pair by pair.
+     */
+    static int pairwiseDuplicates(List<String> corpus) {
+        int duplicates = 0;
+        List<Set<String>> kept = new ArrayList<>();
+        for (String text : corpus) {
+            Set<String> shingles = shingles(text, MinHash.DEFAULT_SHINGLE_SIZE);
+            if (kept.stream().anyMatch(other -> jaccard(shingles, other) >= 0.8)) {
+                duplicates++;
+            } else {
+                kept.add(shingles);
+            }
+        }
+        return duplicates;
+    }
+
+    static int lshDuplicates(List<String> corpus) {
+        MinHashLshIndex index = new MinHashLshIndex(new MinHash(), 0.8);
+        for (int i = 0; i < corpus.size(); i++) {
+            index.addIfUnique(String.valueOf(i), corpus.get(i));
+        }
+        return index.getDuplicatesFound();
+    }
+
+    private static String vocabularyText(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            sb.append('w').append(random.nextInt(100_000)).append(' ');
+        }
+        return sb.toString().trim();
+    }
+
+    private static String replaceWord(Random random, String text) {
+        String[] words = text.split(" ");
+        words[random.nextInt(words.length)] = "edited";
+        return String.join(" ", words);
+    }
+
+    private static String randomText(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            sb.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return sb.toString().trim();
+    }
+
+    private static String edit(Random random, String text, int edits) {
+        List<String> words = new ArrayList<>(List.of(text.split(" ")));
+        for (int i = 0; i < edits; i++) {
+            words.set(random.nextInt(words.size()), WORDS[random.nextInt(WORDS.length)]);
+        }
+        return String.join(" ", words);
+    }
+
+    private static double shingleJaccard(String text1, String text2, int size) {
+        return jaccard(shingles(text1, size), shingles(text2, size));
+    }
+
+    private static double jaccard(Set<String> shingles1, Set<String> shingles2) {
+        Set<String> intersection = new HashSet<>(shingles1);
+        intersection.retainAll(shingles2);
+        return (double) intersection.size() / (shingles1.size() + shingles2.size() - intersection.size());
+    }
+
+    private static Set<String> shingles(String text, int size) {
+        String[] tokens = text.toLowerCase().split(" ");
+        Set<String> shingles = new HashSet<>();
+        for (int i = 0; i + size <= tokens.length; i++) {
+            shingles.add(String.join(" ", List.of(tokens).subList(i, i + size)));
+        }
+        return shingles;
+    }
+}
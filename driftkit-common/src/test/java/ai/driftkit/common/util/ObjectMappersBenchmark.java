@@ -0,0 +1,66 @@
+package ai.driftkit.common.util;
+
+import ai.driftkit.common.domain.client.ModelTextRequest;
+import ai.driftkit.common.domain.client.ModelTextResponse;
+import ai.driftkit.common.utils.ObjectMappers;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.junit.jupiter.api.Test;
+
+import static ai.driftkit.common.util.ObjectMappersTest.*;
+
+/**
+ * Cost of a request/response round trip by mapper setup.
+ * Not part of the test suite; run with {@code mvn test -Dtest=ObjectMappersBenchmark}.
+ */
+class ObjectMappersBenchmark {
+
+    @Test
+    void requestResponseRoundTrips() throws Exception {
+        ModelTextRequest request = request();
+        ModelTextResponse response = response();
+        ObjectReader requestReader = ObjectMappers.reader(ModelTextRequest.class);
+        ObjectWriter requestWriter = ObjectMappers.writer(ModelTextRequest.class);
+        ObjectReader responseReader = responseReader();
+        ObjectWriter responseWriter = ObjectMappers.writer(ModelTextResponse.class);
+        int rounds = 2_000;
+
+        // Each call site with its own short-lived mapper, as several did before
+        double fresh = microsPerRoundTrip(rounds / 10, () -> {
+            ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+            mapper.readValue(mapper.writeValueAsString(request), ModelTextRequest.class);
+            mapper.readValue(mapper.writeValueAsString(response), ModelTextResponse.class);
+        });
+
+        ObjectMapper mapper = ObjectMappers.create().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        double sharedMapper = microsPerRoundTrip(rounds, () -> {
+            mapper.readValue(mapper.writeValueAsString(request), ModelTextRequest.class);
+            mapper.readValue(mapper.writeValueAsString(response), ModelTextResponse.class);
+        });
+
+        double cached = microsPerRoundTrip(rounds, () -> {
+            requestReader.readValue(requestWriter.writeValueAsString(request));
+            responseReader.readValue(responseWriter.writeValueAsString(response));
+        });
+
+        System.out.printf("ModelTextRequest/Response round trip: new mapper per call %.1f us, "
+                + "shared mapper %.1f us, cached reader/writer %.1f us%n", fresh, sharedMapper, cached);
+    }
+
+    private static double microsPerRoundTrip(int rounds, ThrowingRunnable body) throws Exception {
+        for (int i = 0; i < rounds; i++) {
+            body.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            body.run();
+        }
+        return (System.nanoTime() - start) / 1e3 / rounds;
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
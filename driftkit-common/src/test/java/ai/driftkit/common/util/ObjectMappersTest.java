@@ -0,0 +1,109 @@
+package ai.driftkit.common.util;
+
+import ai.driftkit.common.domain.client.ModelContentMessage;
+import ai.driftkit.common.domain.client.ModelMessage;
+import ai.driftkit.common.domain.client.ModelTextRequest;
+import ai.driftkit.common.domain.client.ModelTextResponse;
+import ai.driftkit.common.domain.client.ModelTextResponse.ResponseMessage;
+import ai.driftkit.common.domain.client.ModelTextResponse.Usage;
+import ai.driftkit.common.domain.client.Role;
+import ai.driftkit.common.utils.ModelUtils;
+import ai.driftkit.common.utils.ObjectMappers;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObjectMappersTest {
+
+    @Test
+    void testReadersAndWritersAreCachedPerType() {
+        assertSame(ObjectMappers.reader(ModelTextRequest.class), ObjectMappers.reader(ModelTextRequest.class));
+        assertSame(ObjectMappers.writer(ModelTextRequest.class), ObjectMappers.writer(ModelTextRequest.class));
+        assertSame(ObjectMappers.reader(new TypeReference<Map<String, Float>>() {}),
+                ObjectMappers.reader(new TypeReference<Map<String, Float>>() {}));
+        assertNotSame(ObjectMappers.reader(new TypeReference<Map<String, Float>>() {}),
+                ObjectMappers.reader(new TypeReference<Map<String, Double>>() {}));
+        assertSame(ObjectMappers.shared(), ModelUtils.OBJECT_MAPPER);
+    }
+
+    @Test
+    void testSharedMapperKeepsDefaultFeaturesAndSupportsJavaTime() throws Exception {
+        assertThrows(UnrecognizedPropertyException.class,
+                () -> ObjectMappers.reader(Usage.class).readValue("{\"unknown\": 1}"));
+        Usage usage = ObjectMappers.reader(Usage.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue("{\"unknown\": 1, \"total_tokens\": 7}");
+        assertEquals(7, usage.getTotalTokens());
+
+        Instant now = Instant.ofEpochSecond(1_700_000_000L, 123_000_000);
+        String json = ObjectMappers.writer().writeValueAsString(Map.of("at", now));
+        Map<String, Instant> read = ObjectMappers.reader(new TypeReference<Map<String, Instant>>() {}).readValue(json);
+        assertEquals(now, read.get("at"));
+    }
+
+    @Test
+    void testCreateReturnsIndependentMapper() {
+        ObjectMapper mapper = ObjectMappers.create();
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        assertNotSame(ObjectMappers.shared(), mapper);
+        assertTrue(ObjectMappers.shared().isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+    }
+
+    @Test
+    void testRequestAndResponseRoundTrip() throws Exception {
+        ModelTextRequest request = request();
+        String json = ObjectMappers.writer(ModelTextRequest.class).writeValueAsString(request);
+        assertEquals(request, ObjectMappers.reader(ModelTextRequest.class).readValue(json));
+
+        ModelTextResponse response = response();
+        json = ObjectMappers.writer(ModelTextResponse.class).writeValueAsString(response);
+        assertEquals(response, responseReader().readValue(json));
+    }
+
+    static ObjectReader responseReader() {
+        // Responses also serialize derived getters such as getResponse()
+        return ObjectMappers.reader(ModelTextResponse.class).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    static ModelTextRequest request() {
+        List<ModelContentMessage> messages = new ArrayList<>();
+        messages.add(ModelContentMessage.create(Role.system, "You are a helpful assistant that answers in JSON."));
+        for (int i = 0; i < 5; i++) {
+            messages.add(ModelContentMessage.create(Role.user, "Question " + i + ": what is the capital of country " + i + "?"));
+            messages.add(ModelContentMessage.create(Role.assistant, "{\"capital\": \"City " + i + "\"}"));
+        }
+        return ModelTextRequest.builder()
+                .messages(messages)
+                .model("gpt-4o")
+                .temperature(0.2)
+                .reasoningEffort(ModelTextRequest.ReasoningEffort.low)
+                .logprobs(false)
+                .build();
+    }
+
+    static ModelTextResponse response() {
+        return ModelTextResponse.builder()
+                .id("chatcmpl-123")
+                .method("chat.completion")
+                .createdTime(1_700_000_000L)
+                .model("gpt-4o")
+                .choices(List.of(ResponseMessage.builder()
+                        .index(0)
+                        .message(ModelMessage.assistant("{\"capital\": \"Paris\", \"population\": 2102650}"))
+                        .finishReason("stop")
+                        .build()))
+                .usage(Usage.builder().promptTokens(120).completionTokens(14).totalTokens(134).build())
+                .build();
+    }
+}
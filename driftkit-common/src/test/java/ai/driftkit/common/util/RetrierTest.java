@@ -0,0 +1,230 @@
+package ai.driftkit.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetrierTest {
+
+    @Test
+    void testDelaysAreDecorrelatedAndCapped() {
+        Retrier retrier = Retrier.builder().baseDelayMs(100).maxDelayMs(1_000).build();
+
+        long previous = 100;
+        long distinct = 0;
+        for (int i = 0; i < 1_000; i++) {
+            long delay = retrier.nextDelay(previous);
+            assertTrue(delay >= 100 && delay <= Math.min(1_000, previous * 3), previous + " -> " + delay);
+            distinct += delay != previous ? 1 : 0;
+            previous = delay;
+        }
+        assertTrue(distinct > 900);
+        assertTrue(retrier.nextDelay(Long.MAX_VALUE / 2) <= 1_000);
+    }
+
+    @Test
+    void testCallRetriesUntilSuccess() throws Exception {
+        Retrier retrier = Retrier.builder().maxAttempts(4).baseDelayMs(1).maxDelayMs(5).budget(RetryBudget.unlimited()).build();
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retrier.call(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IOException("unavailable");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void testFailuresNotWorthRetryingAreThrownAtOnce() {
+        Retrier retrier = Retrier.builder()
+                .maxAttempts(5)
+                .baseDelayMs(1)
+                .budget(RetryBudget.unlimited())
+                .retryOn(failure -> failure instanceof IOException)
+                .build();
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalArgumentException.class, () -> retrier.call(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("bad request");
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void testBudgetLimitsRetriesToRatio() {
+        RetryBudget budget = new RetryBudget(0.1, 0, 10, () -> 0L, false);
+
+        for (int i = 0; i < 1_000; i++) {
+            budget.onRequest();
+            budget.tryRetry();
+        }
+
+        assertEquals(1_000, budget.getRequests());
+        assertTrue(budget.getRetries() >= 99 && budget.getRetries() <= 100, "retries " + budget.getRetries());
+        assertEquals(1_000 - budget.getRetries(), budget.getRejected());
+    }
+
+    @Test
+    void testBudgetRefillsAtMinimumRate() {
+        AtomicLong now = new AtomicLong();
+        RetryBudget budget = new RetryBudget(0.1, 2, 4, now::get, false);
+
+        assertTrue(budget.tryRetry());
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+
+        // A long quiet period saves up no more than the cap
+        now.addAndGet(TimeUnit.HOURS.toNanos(1));
+        for (int i = 0; i < 4; i++) {
+            assertTrue(budget.tryRetry());
+        }
+        assertFalse(budget.tryRetry());
+    }
+
+    @Test
+    void testExhaustedBudgetStopsRetries() {
+        RetryBudget budget = new RetryBudget(0, 0, 1, () -> 0L, false);
+        Retrier retrier = Retrier.builder().maxAttempts(5).baseDelayMs(1).budget(budget).build();
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IOException.class, () -> retrier.call(() -> {
+            attempts.incrementAndGet();
+            throw new IOException("unavailable");
+        }));
+        assertEquals(1, attempts.get());
+        assertEquals(1, budget.getRejected());
+    }
+
+    @Test
+    void testCallAsyncRetriesOnSchedulerWithoutBlockingCaller() throws Exception {
+        Retrier retrier = Retrier.builder().maxAttempts(3).baseDelayMs(20).maxDelayMs(50).budget(RetryBudget.unlimited()).build();
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger virtualAttempts = new AtomicInteger();
+        CountDownLatch callerChecked = new CountDownLatch(1);
+
+        CompletableFuture<String> result = retrier.callAsync(() -> {
+            if (Thread.currentThread().isVirtual()) {
+                // Retries wait until the caller has looked at the returned future
+                awaitQuietly(callerChecked);
+                virtualAttempts.incrementAndGet();
+            }
+            return attempts.incrementAndGet() < 3
+                    ? CompletableFuture.failedFuture(new IOException("unavailable"))
+                    : CompletableFuture.completedFuture("ok");
+        });
+
+        // The first attempt failed on the calling thread; the retries are only scheduled
+        assertFalse(result.isDone());
+        assertEquals(1, attempts.get());
+        callerChecked.countDown();
+
+        assertEquals("ok", result.get(5, TimeUnit.SECONDS));
+        assertEquals(3, attempts.get());
+        assertEquals(2, virtualAttempts.get());
+    }
+
+    @Test
+    void testCallAsyncFailsWithUnwrappedLastFailure() {
+        Retrier retrier = Retrier.builder().maxAttempts(2).baseDelayMs(1).budget(RetryBudget.unlimited()).build();
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = retrier.callAsync(() -> CompletableFuture.supplyAsync(() -> {
+            throw new IllegalStateException("attempt " + attempts.incrementAndGet());
+        }));
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertEquals("attempt 2", failure.getCause().getMessage());
+    }
+
+    @Test
+    void testCancellingStopsAsyncRetries() throws Exception {
+        Retrier retrier = Retrier.builder().maxAttempts(10).baseDelayMs(30).budget(RetryBudget.unlimited()).build();
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = retrier.callAsync(() -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(new IOException("unavailable"));
+        });
+        result.cancel(false);
+        Thread.sleep(200);
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void testStaticRetryKeepsFixedAttempts() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IOException.class, () -> Retrier.retry(() -> {
+            attempts.incrementAndGet();
+            throw new IOException("unavailable");
+        }, 4, 1, 2));
+        assertEquals(4, attempts.get());
+
+        assertEquals("ok", Retrier.retry(() -> "ok", 1, 1));
+        assertNull(Retrier.retry(() -> "never called", 0, 1, 1));
+    }
+
+    @Test
+    void testJitterSpreadsRetryWave() {
+        // 10,000 callers fail at the same instant and retry three times against a provider that
+        // stays down; count the largest number of retries landing in any 10 ms window
+        int callers = 10_000;
+        Retrier retrier = Retrier.builder().baseDelayMs(100).maxDelayMs(10_000).build();
+
+        int[] fixed = new int[100_000];
+        int[] jittered = new int[100_000];
+        for (int caller = 0; caller < callers; caller++) {
+            long fixedAt = 0;
+            long jitteredAt = 0;
+            long delay = 100;
+            for (int retry = 0; retry < 3; retry++) {
+                fixedAt += 100L << retry;
+                fixed[(int) (fixedAt / 10)]++;
+
+                delay = retrier.nextDelay(delay);
+                jitteredAt += delay;
+                jittered[(int) (jitteredAt / 10)]++;
+            }
+        }
+
+        int fixedPeak = max(fixed);
+        int jitteredPeak = max(jittered);
+        assertEquals(callers, fixedPeak);
+        assertTrue(jitteredPeak * 10 < fixedPeak, "jittered peak " + jitteredPeak);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int max(int[] buckets) {
+        int max = 0;
+        for (int count : buckets) {
+            max = Math.max(max, count);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,40 @@
+package ai.driftkit.common.util;
+
+import ai.driftkit.common.util.StreamingJsonRepairerTest.PreviousRepair;
+import ai.driftkit.common.utils.JsonUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Repair throughput on a large truncated response, against the multi-pass repair it replaced.
+ * Not part of the test suite; run with {@code mvn test -Dtest=StreamingJsonRepairerBenchmark}.
+ */
+class StreamingJsonRepairerBenchmark {
+
+    @Test
+    void throughputOn100KbResponse() throws Exception {
+        String truncated = StreamingJsonRepairerTest.truncatedResponse(100_000);
+
+        double previous = megabytesPerSecond(truncated, () -> PreviousRepair.fixIncompleteJSON(truncated));
+        double singlePass = megabytesPerSecond(truncated, () -> JsonUtils.fixIncompleteJSON(truncated));
+        System.out.printf("JSON repair of %d KB: previous %.1f MB/s, single pass %.1f MB/s%n",
+                truncated.length() / 1024, previous, singlePass);
+    }
+
+    private static double megabytesPerSecond(String input, ThrowingCall call) throws Exception {
+        int iterations = 200;
+        for (int i = 0; i < iterations; i++) {
+            call.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            call.run();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return input.length() * (double) iterations / seconds / (1024 * 1024);
+    }
+
+    @FunctionalInterface
+    private interface ThrowingCall {
+        Object run() throws Exception;
+    }
+}
@@ -0,0 +1,307 @@
+package ai.driftkit.common.util;
+
+import ai.driftkit.common.utils.JsonRepairer;
+import ai.driftkit.common.utils.JsonUtils;
+import ai.driftkit.common.utils.StreamingJsonRepairer;
+import com.fasterxml.jackson.core.JsonParser.Feature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingJsonRepairerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void repairsCommonDefects() throws Exception {
+        assertRepaired("{\"a\":1,\"b\":[1,2]}", "{\"a\":1,\"b\":[1,2]}");
+        assertRepaired("{\"a\":1,\"b\":[1,2", "{\"a\":1,\"b\":[1,2]}");
+        assertRepaired("{\"a\":1,\"b\":\"hel", "{\"a\":1,\"b\":\"hel\"}");
+        assertRepaired("{\"a\":1,\"b\"", "{\"a\":1}");
+        assertRepaired("{\"a\":1,\"bo", "{\"a\":1}");
+        assertRepaired("{\"a\":1,\"b\":", "{\"a\":1}");
+        assertRepaired("{\"a\":1,\"b\":tr", "{\"a\":1}");
+        assertRepaired("{\"a\":1,\"b\":-", "{\"a\":1}");
+        assertRepaired("{\"a\":[1,2,],\"b\":{\"c\":3,},}", "{\"a\":[1,2],\"b\":{\"c\":3}}");
+        assertRepaired("Sure:\n```json\n{\"a\": 1}\n```\nDone.", "{\"a\":1}");
+        assertRepaired("\"{\\\"a\\\": \\\"x\\\"}\"", "{\"a\":\"x\"}");
+        assertRepaired("{// comment\n\"a\": 1, /* note */ \"b\": 2 # trailing\n}", "{\"a\":1,\"b\":2}");
+        assertRepaired("{'a': 'it\"s', b: True, c: None}", "{\"a\":\"it\\\"s\",\"b\":true,\"c\":null}");
+        assertRepaired("{\"a\": 1 \"b\": [1 2]}", "{\"a\":1,\"b\":[1,2]}");
+        assertRepaired("{\"a\": ok then, \"b\": 1}", "{\"a\":\"ok then\",\"b\":1}");
+        assertRepaired("{\"a\": \"line\nbreak\\q\"}", "{\"a\":\"line\\nbreak\\\\q\"}");
+        assertRepaired("{\"a\": [1, {\"b\": 2}}", "{\"a\":[1,{\"b\":2}]}");
+        assertRepaired("[{\"a\":1},{\"b\":2}", "[{\"a\":1},{\"b\":2}]");
+
+        assertThrows(IllegalArgumentException.class, () -> JsonUtils.fixIncompleteJSON("no json here"));
+    }
+
+    @Test
+    void validDocumentIsCopiedUnchanged() {
+        String json = "{\n  \"a\" : [ 1, 2.5e3, -0.1 ],\n  \"b\" : { \"c\" : \"\\u00e9\\n\" }\n}";
+        assertEquals(json, StreamingJsonRepairer.repair(json));
+    }
+
+    @Test
+    void everyStreamingPrefixIsValidJson() throws Exception {
+        Random random = new Random(7);
+        for (int doc = 0; doc < 50; doc++) {
+            String json = document(random, 3);
+            StreamingJsonRepairer repairer = new StreamingJsonRepairer();
+            int position = 0;
+            while (position < json.length()) {
+                int next = Math.min(json.length(), position + 1 + random.nextInt(8));
+                repairer.append(json.subSequence(position, next));
+                position = next;
+
+                String partial = repairer.result();
+                assertNotNull(partial);
+                assertDoesNotThrow(() -> MAPPER.readTree(partial), partial);
+            }
+            assertTrue(repairer.isComplete());
+            assertEquals(MAPPER.readTree(json), MAPPER.readTree(repairer.result()));
+        }
+    }
+
+    /**
+     * Feeds random documents and truncations of them to both this repairer and the multi-pass
+     * repair it replaced. Wherever the previous repair produced a result, the results must agree.
+     */
+    @Test
+    void fuzzParityWithPreviousRepair() throws Exception {
+        Random random = new Random(42);
+        int compared = 0;
+
+        for (int doc = 0; doc < 300; doc++) {
+            String json = document(random, 4);
+            String pretty = MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(MAPPER.readTree(json));
+
+            List<String> inputs = new ArrayList<>(List.of(json, pretty,
+                    "```json\n" + pretty + "\n```",
+                    "Here you go:\n```json\n" + json + "\n```\nAnything else?",
+                    "\"" + json.replace("\"", "\\\"") + "\""));
+            for (int i = 0; i < 5; i++) {
+                inputs.add(pretty.substring(0, 1 + random.nextInt(pretty.length() - 1)));
+            }
+
+            for (String input : inputs) {
+                String previous;
+                try {
+                    previous = PreviousRepair.fixIncompleteJSON(input);
+                } catch (Exception e) {
+                    previous = null;
+                }
+
+                // Inputs only the new implementation repairs just have to parse
+                JsonNode tree = MAPPER.readTree(JsonUtils.fixIncompleteJSON(input));
+                if (previous != null) {
+                    assertEquals(MAPPER.readTree(previous), tree, input);
+                    compared++;
+                }
+            }
+        }
+
+        assertTrue(compared > 1000);
+    }
+
+    @Test
+    void truncated100KbResponseIsRepaired() throws Exception {
+        String truncated = truncatedResponse(100_000);
+
+        assertNotNull(MAPPER.readTree(JsonUtils.fixIncompleteJSON(truncated)).get("items"));
+    }
+
+    static String truncatedResponse(int length) throws Exception {
+        Random random = new Random(1);
+        StringBuilder items = new StringBuilder("{\"items\": [");
+        while (items.length() < length) {
+            items.append(MAPPER.writerWithDefaultPrettyPrinter()
+                    .writeValueAsString(MAPPER.readTree(document(random, 2)))).append(",\n");
+        }
+        // Truncated in the middle of a string, as a response cut off by the token limit
+        return items.substring(0, items.lastIndexOf("\"") - 3);
+    }
+
+    private static void assertRepaired(String input, String expected) throws Exception {
+        String repaired = JsonUtils.fixIncompleteJSON(input);
+        assertEquals(MAPPER.readTree(expected), MAPPER.readTree(repaired), repaired);
+    }
+
+    private static String document(Random random, int depth) {
+        StringBuilder json = new StringBuilder();
+        appendObject(json, random, depth);
+        return json.toString();
+    }
+
+    private static void appendObject(StringBuilder json, Random random, int depth) {
+        json.append('{');
+        int fields = 1 + random.nextInt(5);
+        for (int i = 0; i < fields; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("\"field").append(i).append("\":");
+            appendValue(json, random, depth - 1);
+        }
+        json.append('}');
+    }
+
+    private static void appendValue(StringBuilder json, Random random, int depth) {
+        int kind = random.nextInt(depth > 0 ? 7 : 5);
+        switch (kind) {
+            case 0 -> json.append('"').append(randomText(random)).append('"');
+            case 1 -> json.append(random.nextInt(2000) - 1000);
+            case 2 -> json.append(random.nextInt(10000) / 100.0);
+            case 3 -> json.append(random.nextBoolean());
+            case 4 -> json.append("null");
+            case 5 -> appendObject(json, random, depth);
+            default -> {
+                json.append('[');
+                int size = random.nextInt(4);
+                for (int i = 0; i < size; i++) {
+                    if (i > 0) {
+                        json.append(',');
+                    }
+                    appendValue(json, random, depth - 1);
+                }
+                json.append(']');
+            }
+        }
+    }
+
+    private static String randomText(Random random) {
+        String[] words = {"alpha", "beta", "gamma", "delta", "a b", "x:y", "semi;colon", "caf\\u00e9", "say \\\"hi\\\""};
+        return Arrays.stream(new int[1 + random.nextInt(3)])
+                .mapToObj(i -> words[random.nextInt(words.length)])
+                .collect(Collectors.joining(" "));
+    }
+
+    /**
+     * The multi-pass repair that {@link StreamingJsonRepairer} replaced, kept as the reference
+     * for the parity test and the benchmark.
+     */
+    static class PreviousRepair {
+        private static final ObjectReader RELAXED = MAPPER.reader()
+                .with(Feature.ALLOW_COMMENTS)
+                .with(Feature.ALLOW_MISSING_VALUES)
+                .with(Feature.ALLOW_TRAILING_COMMA)
+                .with(Feature.ALLOW_SINGLE_QUOTES)
+                .with(Feature.ALLOW_YAML_COMMENTS)
+                .with(Feature.ALLOW_UNQUOTED_FIELD_NAMES);
+
+        static String fixIncompleteJSON(String jsonString) throws Exception {
+            if (isValidJSON(jsonString) && !jsonString.startsWith("\"{")) {
+                return jsonString;
+            }
+
+            if (jsonString.contains(JsonUtils.JSON_PREFIX)) {
+                jsonString = jsonString.substring(jsonString.lastIndexOf(JsonUtils.JSON_PREFIX));
+            }
+
+            if (jsonString.startsWith("\"{") || jsonString.startsWith("\"[")) {
+                jsonString = jsonString.replace("\\\"", "\"").substring(1);
+                jsonString = jsonString.substring(0, jsonString.length() - 1);
+            }
+
+            jsonString = jsonString
+                    .replace(JsonUtils.JSON_PREFIX, "")
+                    .replace(JsonUtils.JSON_POSTFIX, "");
+
+            for (int i = 4; i > 0; i--) {
+                String open = StringUtils.repeat('[', i);
+                String close = StringUtils.repeat(']', i);
+
+                if (jsonString.startsWith(open)) {
+                    jsonString = jsonString.substring(open.length());
+                }
+
+                if (jsonString.endsWith(close)) {
+                    jsonString = jsonString.substring(0, jsonString.length() - close.length());
+                }
+            }
+
+            if (jsonString.startsWith("{") && !jsonString.endsWith("}")) {
+                jsonString += "}";
+            }
+
+            StringBuilder fixedJson = new StringBuilder();
+            Deque<Character> bracketStack = new ArrayDeque<>();
+
+            for (char jc : jsonString.toCharArray()) {
+                if (jc == '{' || jc == '[') {
+                    bracketStack.push(jc);
+                } else if ((jc == '}' || jc == ']') && bracketStack.peek() != null
+                        && (bracketStack.peek() == '{') == (jc == '}')) {
+                    bracketStack.pop();
+                }
+
+                if (jc == ':' && bracketStack.peek() != null && bracketStack.peek() == '[') {
+                    String arrayContent = fixedJson.substring(fixedJson.lastIndexOf("["));
+
+                    if (!arrayContent.contains("\":")) {
+                        int commaIndex = fixedJson.lastIndexOf(",");
+
+                        if (commaIndex > 0) {
+                            fixedJson.replace(commaIndex, commaIndex + 1, "],");
+                            bracketStack.pop();
+                        }
+                    }
+                }
+
+                fixedJson.append(jc);
+            }
+
+            JsonRepairer.appendRemainingClosingBrackets(fixedJson, bracketStack);
+            String result = fixedJson.toString().trim();
+
+            String fixed = null;
+            if (isValidJSON(result)) {
+                fixed = result;
+            } else {
+                String[] lines = result.split("\n");
+                int startIdx = -1;
+                int endIdx = -1;
+
+                for (int i = 0; i < lines.length; i++) {
+                    String line = lines[i].trim();
+                    if (endIdx < 0 && line.startsWith("{")) {
+                        startIdx = i;
+                    }
+                    if (startIdx > 0 && line.endsWith("}")) {
+                        endIdx = i;
+                    }
+                }
+
+                if (startIdx > 0 && endIdx > 0) {
+                    String currentResult = String.join("\n", Arrays.asList(lines).subList(startIdx, endIdx + 1));
+                    if (isValidJSON(currentResult)) {
+                        fixed = currentResult;
+                    }
+                }
+            }
+
+            return MAPPER.writeValueAsString(RELAXED.readTree(fixed));
+        }
+
+        private static boolean isValidJSON(String json) {
+            try {
+                MAPPER.readTree(json);
+                return true;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ai.driftkit.common.util;
+
+import ai.driftkit.common.utils.TextSimilarityUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static ai.driftkit.common.util.TextSimilarityUtilTest.*;
+
+/**
+ * Levenshtein distance on long outputs against the full-matrix implementation.
+ * Not part of the test suite; run with {@code mvn test -Dtest=TextSimilarityUtilBenchmark}.
+ */
+class TextSimilarityUtilBenchmark {
+
+    @Test
+    void levenshteinOnLongOutputs() {
+        Random random = new Random(7);
+        char[] alphabet = "abcdefghijklmnopqrstuvwxyz     ".toCharArray();
+        String s1 = randomString(random, alphabet, 3_000);
+        String s2 = mutate(random, s1, alphabet, 300);
+
+        long fullMatrix = nanos(() -> fullMatrixDistance(s1, s2));
+        long twoRow = nanos(() -> TextSimilarityUtil.levenshteinDistance(s1, s2));
+        long banded = nanos(() -> TextSimilarityUtil.levenshteinDistance(s1, s2, 400));
+        long rejected = nanos(() -> TextSimilarityUtil.levenshteinDistance(s1, s2, 50));
+
+        System.out.printf("Levenshtein of 3,000 chars: full matrix %.2f ms, two rows %.2f ms, "
+                        + "band of 400 %.2f ms, early exit at 50 %.3f ms%n",
+                fullMatrix / 1e6, twoRow / 1e6, banded / 1e6, rejected / 1e6);
+    }
+
+    private static long nanos(Runnable body) {
+        for (int i = 0; i < 3; i++) {
+            body.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            body.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,124 @@
+package ai.driftkit.common.util;
+
+import ai.driftkit.common.utils.TextSimilarityUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextSimilarityUtilTest {
+
+    @Test
+    void testLevenshteinKnownDistances() {
+        assertEquals(3, TextSimilarityUtil.levenshteinDistance("kitten", "sitting"));
+        assertEquals(0, TextSimilarityUtil.levenshteinDistance("", ""));
+        assertEquals(5, TextSimilarityUtil.levenshteinDistance("", "hello"));
+        assertEquals(5, TextSimilarityUtil.levenshteinDistance("hello", ""));
+        assertEquals(2, TextSimilarityUtil.levenshteinDistance("flaw", "lawn"));
+        assertEquals(1, TextSimilarityUtil.levenshteinDistance("naïve 🚀", "naive 🚀"));
+    }
+
+    @Test
+    void testLevenshteinMatchesFullMatrix() {
+        Random random = new Random(42);
+        // Lengths on both sides of the 64 character bit-parallel limit, with non-ASCII characters
+        char[] alphabet = {'a', 'b', 'c', 'd', ' ', 'é', 'ж'};
+        for (int round = 0; round < 2000; round++) {
+            String s1 = randomString(random, alphabet, random.nextInt(150));
+            String s2 = random.nextBoolean()
+                    ? mutate(random, s1, alphabet, random.nextInt(10))
+                    : randomString(random, alphabet, random.nextInt(150));
+            int expected = fullMatrixDistance(s1, s2);
+
+            assertEquals(expected, TextSimilarityUtil.levenshteinDistance(s1, s2), s1 + " / " + s2);
+            int threshold = random.nextInt(20);
+            int bounded = TextSimilarityUtil.levenshteinDistance(s1, s2, threshold);
+            assertEquals(expected <= threshold ? expected : threshold + 1, bounded, s1 + " / " + s2 + " / " + threshold);
+        }
+    }
+
+    @Test
+    void testLevenshteinRejectsNegativeThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> TextSimilarityUtil.levenshteinDistance("a", "b", -1));
+    }
+
+    @Test
+    void testTokenizeSkipsWhitespaceRuns() {
+        assertArrayEquals(new String[]{"a", "bc", "d"}, TextSimilarityUtil.tokenize("  a\tbc \n d "));
+        assertArrayEquals(new String[0], TextSimilarityUtil.tokenize("   "));
+        assertArrayEquals(new String[0], TextSimilarityUtil.tokenize(null));
+    }
+
+    @Test
+    void testTokenOverloadsMatchStringVersions() {
+        String s1 = "the quick brown fox jumps over the lazy dog";
+        String s2 = "the lazy dog sleeps while the quick fox runs";
+        String[] tokens1 = TextSimilarityUtil.tokenize(s1);
+        String[] tokens2 = TextSimilarityUtil.tokenize(s2);
+
+        assertEquals(TextSimilarityUtil.jaccardSimilarity(s1, s2), TextSimilarityUtil.jaccardSimilarity(tokens1, tokens2));
+        assertEquals(TextSimilarityUtil.cosineSimilarity(s1, s2), TextSimilarityUtil.cosineSimilarity(tokens1, tokens2));
+        assertEquals(TextSimilarityUtil.calculateSimilarity(s1, s2),
+                TextSimilarityUtil.calculateSimilarity(s1, tokens1, s2, tokens2));
+        assertEquals(5.0 / 11, TextSimilarityUtil.jaccardSimilarity(s1, s2), 1e-9);
+        assertEquals(1.0, TextSimilarityUtil.cosineSimilarity("a b a", "a a b"), 1e-9);
+        assertEquals(1.0, TextSimilarityUtil.jaccardSimilarity("", ""));
+        assertEquals(0.0, TextSimilarityUtil.cosineSimilarity("", "a"));
+    }
+
+    @Test
+    void testBandedLevenshteinOnLongOutputs() {
+        Random random = new Random(7);
+        char[] alphabet = "abcdefghijklmnopqrstuvwxyz     ".toCharArray();
+        String s1 = randomString(random, alphabet, 3_000);
+        String s2 = mutate(random, s1, alphabet, 300);
+
+        assertEquals(fullMatrixDistance(s1, s2), TextSimilarityUtil.levenshteinDistance(s1, s2));
+        assertEquals(fullMatrixDistance(s1, s2), TextSimilarityUtil.levenshteinDistance(s1, s2, 400));
+        assertEquals(51, TextSimilarityUtil.levenshteinDistance(s1, s2, 50));
+    }
+
+    static String randomString(Random random, char[] alphabet, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(alphabet[random.nextInt(alphabet.length)]);
+        }
+        return sb.toString();
+    }
+
+    static String mutate(Random random, String s, char[] alphabet, int edits) {
+        StringBuilder sb = new StringBuilder(s);
+        for (int i = 0; i < edits; i++) {
+            int position = sb.isEmpty() ? 0 : random.nextInt(sb.length());
+            switch (sb.isEmpty() ? 0 : random.nextInt(3)) {
+                case 0 -> sb.insert(position, alphabet[random.nextInt(alphabet.length)]);
+                case 1 -> sb.deleteCharAt(position);
+                default -> sb.setCharAt(position, alphabet[random.nextInt(alphabet.length)]);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Reference implementation: the textbook full matrix
+     */
+    static int fullMatrixDistance(String s1, String s2) {
+        int[][] dp = new int[s1.length() + 1][s2.length() + 1];
+        for (int i = 0; i <= s1.length(); i++) {
+            for (int j = 0; j <= s2.length(); j++) {
+                if (i == 0) {
+                    dp[i][j] = j;
+                } else if (j == 0) {
+                    dp[i][j] = i;
+                } else {
+                    dp[i][j] = Math.min(
+                            Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1),
+                            dp[i - 1][j - 1] + (s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1)
+                    );
+                }
+            }
+        }
+        return dp[s1.length()][s2.length()];
+    }
+}
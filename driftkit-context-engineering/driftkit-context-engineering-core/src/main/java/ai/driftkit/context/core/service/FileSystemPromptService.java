@@ -2,6 +2,7 @@ package ai.driftkit.context.core.service;
 
 import ai.driftkit.common.domain.Prompt;
 import ai.driftkit.common.domain.Prompt.State;
+import ai.driftkit.common.utils.ObjectMappers;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.SneakyThrows;
@@ -15,7 +16,7 @@ public class FileSystemPromptService implements PromptServiceBase {
 
     private final Map<String, Prompt> promptsById = new HashMap<>();
     private final Map<String, List<Prompt>> promptsByMethod = new HashMap<>();
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectMapper objectMapper = ObjectMappers.shared();
     private File promptsFile;
 
     public FileSystemPromptService() throws IOException {
@@ -1,8 +1,8 @@
 package ai.driftkit.context.spring.testsuite.domain;
 
+import ai.driftkit.common.utils.ObjectMappers;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.PathNotFoundException;
 import lombok.AllArgsConstructor;
@@ -204,7 +204,7 @@ public class ArrayLengthEvalConfig extends EvaluationConfig {
     
     private boolean isValidJson(String json) {
         try {
-            new ObjectMapper().readTree(json);
+            ObjectMappers.shared().readTree(json);
             return true;
         } catch (JsonProcessingException e) {
             return false;
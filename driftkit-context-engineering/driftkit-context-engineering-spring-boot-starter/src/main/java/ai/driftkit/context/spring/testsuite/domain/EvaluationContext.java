@@ -1,5 +1,6 @@
 package ai.driftkit.context.spring.testsuite.domain;
 
+import ai.driftkit.common.utils.TextSimilarityUtil;
 import ai.driftkit.context.spring.testsuite.domain.TestSetItem;
 import ai.driftkit.workflows.spring.service.AIService;
 import lombok.Builder;
@@ -26,6 +27,11 @@ public class EvaluationContext {
      */
     private String actualResult;
     
+    /**
+     * Whitespace tokens of the actual result, see {@link #getActualTokens()}
+     */
+    private String[] actualTokens;
+    
     /**
      * The AIService instance (for LLM evaluations)
      */
@@ -35,4 +41,15 @@ public class EvaluationContext {
      * Additional context data for evaluation (if needed)
      */
     private Object additionalContext;
+    
+    /**
+     * Tokens of the actual result as produced by {@link TextSimilarityUtil#tokenize}, computed on
+     * first use so that evaluations which never compare tokens do not pay for tokenizing
+     */
+    public String[] getActualTokens() {
+        if (actualTokens == null) {
+            actualTokens = TextSimilarityUtil.tokenize(actualResult);
+        }
+        return actualTokens;
+    }
 }
\ No newline at end of file
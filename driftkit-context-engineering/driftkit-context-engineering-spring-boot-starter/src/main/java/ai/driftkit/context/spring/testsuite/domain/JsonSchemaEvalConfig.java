@@ -1,5 +1,6 @@
 package ai.driftkit.context.spring.testsuite.domain;
 
+import ai.driftkit.common.utils.ObjectMappers;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -63,7 +64,7 @@ public class JsonSchemaEvalConfig extends EvaluationConfig {
         JsonSchemaEvalResult evalResult;
         
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
+            ObjectMapper objectMapper = ObjectMappers.shared();
             
             // Check if result is valid JSON
             boolean isValidJson = isValidJson(result, objectMapper);
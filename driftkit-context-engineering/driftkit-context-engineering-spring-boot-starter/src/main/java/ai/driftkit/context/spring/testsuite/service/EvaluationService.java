@@ -321,12 +321,7 @@ public class EvaluationService {
                     actualResult = processingResult.getModelResult();
 
                     for (Evaluation evaluation : evaluations) {
-                        EvaluationResult result;
-                        if (processingResult != null) {
-                            result = evaluateResult(item, actualResult, evaluation, run.getId(), processingResult);
-                        } else {
-                            result = evaluateResult(item, actualResult, evaluation, run.getId());
-                        }
+                        EvaluationResult result = evaluateResult(item, actualResult, evaluation, run.getId(), processingResult);
 
                         String statusKey = result.getStatus().toString();
                         statusCounts.put(statusKey, statusCounts.getOrDefault(statusKey, 0) + 1);
@@ -672,10 +667,6 @@ public class EvaluationService {
     /**
      * Evaluate a result against an evaluation
      */
-    private EvaluationResult evaluateResult(TestSetItem item, String actualResult, Evaluation evaluation, String runId) {
-        return evaluateResult(item, actualResult, evaluation, runId, null);
-    }
-    
     private EvaluationResult evaluateResult(TestSetItem item, String actualResult, Evaluation evaluation, String runId, ProcessingResult processingResult) {
         try {
             EvaluationContext.EvaluationContextBuilder contextBuilder = EvaluationContext.builder()
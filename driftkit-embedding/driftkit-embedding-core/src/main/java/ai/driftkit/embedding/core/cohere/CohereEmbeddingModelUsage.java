@@ -1,7 +1,11 @@
 package ai.driftkit.embedding.core.cohere;// CohereEmbeddingModelUsage.java
+import ai.driftkit.common.utils.ObjectMappers;
 import ai.driftkit.embedding.core.domain.Embedding;
 import ai.driftkit.embedding.core.domain.TextSegment;
 import ai.driftkit.embedding.core.domain.Response;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import feign.Feign;
 import feign.jackson.JacksonDecoder;
 import feign.jackson.JacksonEncoder;
@@ -12,9 +16,13 @@ public class CohereEmbeddingModelUsage {
 
         String apiKey = "YOUR_COHERE_API_KEY";
 
+        ObjectMapper objectMapper = ObjectMappers.create()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
         CohereApiClient apiClient = Feign.builder()
-                .encoder(new JacksonEncoder())
-                .decoder(new JacksonDecoder())
+                .encoder(new JacksonEncoder(objectMapper))
+                .decoder(new JacksonDecoder(objectMapper))
                 .requestInterceptor(new CohereAuthInterceptor(apiKey))
                 .target(CohereApiClient.class, "https://api.cohere.ai");
 
@@ -1,5 +1,7 @@
 package ai.driftkit.embedding.core.openai;
 
+import ai.driftkit.common.service.impl.BpeTextTokenizer;
+import ai.driftkit.common.utils.ObjectMappers;
 import ai.driftkit.config.EtlConfig;
 import ai.driftkit.config.EtlConfig.EmbeddingServiceConfig;
 import ai.driftkit.embedding.core.service.EmbeddingModel;
@@ -7,11 +9,13 @@ import ai.driftkit.embedding.core.domain.*;
 import ai.driftkit.embedding.core.local.AIOnnxBertBiEncoder;
 import ai.driftkit.embedding.core.domain.Response;
 import ai.driftkit.embedding.core.domain.TokenUsage;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import feign.Feign;
 import feign.jackson.JacksonDecoder;
 import feign.jackson.JacksonEncoder;
 import lombok.NoArgsConstructor;
-
 import java.util.ArrayList;
 import java.util.List;
 
@@ -39,9 +43,13 @@ public class OpenAIEmbeddingModel implements EmbeddingModel {
     @Override
     public void configure(EmbeddingServiceConfig config) {
         this.modelName = config.getConfig().get(EtlConfig.MODEL_NAME);
+        ObjectMapper objectMapper = ObjectMappers.create()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
         this.apiClient = Feign.builder()
-                .encoder(new JacksonEncoder())
-                .decoder(new JacksonDecoder())
+                .encoder(new JacksonEncoder(objectMapper))
+                .decoder(new JacksonDecoder(objectMapper))
                 .requestInterceptor(new OpenAIAuthInterceptor(config.get(EtlConfig.API_KEY)))
                 .target(EmbeddingOpenAIApiClient.class, config.get(EtlConfig.HOST, "https://api.openai.com"));
     }
@@ -72,9 +80,8 @@ public class OpenAIEmbeddingModel implements EmbeddingModel {
 
     @Override
     public int estimateTokenCount(String text) {
-        // OpenAI provides approximate token counts
-        // For more accurate counts, integrate with a tokenizer
-        return text.length() / 4; // Approximate estimation
+        // OpenAI embedding models use the cl100k_base encoding
+        return BpeTextTokenizer.cl100k().countTokens(text);
     }
 
     public Response<Embedding> embed(TextSegment segment) {
@@ -5,22 +5,39 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class EmbeddingFactory {
+    // Provider type that answered a name; later lookups instantiate only that provider
+    private static final Map<String, Class<?>> providerTypes = new ConcurrentHashMap<>();
+
     public static EmbeddingModel fromName(String name, Map<String, String> config) throws Exception {
         if (StringUtils.isBlank(name)) {
             throw new IllegalArgumentException("Name must not be null");
         }
 
         ServiceLoader<EmbeddingModel> loader = ServiceLoader.load(EmbeddingModel.class);
+        EmbeddingModel store = null;
+
+        Class<?> knownType = providerTypes.get(name);
+        if (knownType != null) {
+            store = loader.stream()
+                    .filter(provider -> provider.type() == knownType)
+                    .findFirst()
+                    .map(ServiceLoader.Provider::get)
+                    .orElse(null);
+        }
 
-        for (EmbeddingModel store : loader) {
-            if (store.supportsName(name)) {
-                store.configure(new EmbeddingServiceConfig(name, config));
-                return store;
-            }
+        if (store == null) {
+            store = loader.stream()
+                    .map(ServiceLoader.Provider::get)
+                    .filter(candidate -> candidate.supportsName(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown or unavailable prompt service: " + name));
+            providerTypes.put(name, store.getClass());
         }
 
-        throw new IllegalArgumentException("Unknown or unavailable prompt service: " + name);
+        store.configure(new EmbeddingServiceConfig(name, config));
+        return store;
     }
 }
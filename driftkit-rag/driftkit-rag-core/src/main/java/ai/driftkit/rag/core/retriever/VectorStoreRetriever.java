@@ -1,5 +1,7 @@
 package ai.driftkit.rag.core.retriever;
 
+import ai.driftkit.common.metrics.MetricNames;
+import ai.driftkit.common.metrics.MetricsRegistry;
 import ai.driftkit.embedding.core.domain.Embedding;
 import ai.driftkit.embedding.core.domain.Response;
 import ai.driftkit.embedding.core.domain.TextSegment;
@@ -49,7 +51,8 @@ public class VectorStoreRetriever implements Retriever {
         if (vectorStore instanceof TextVectorStore textStore) {
             // TextVectorStore handles embedding internally
             log.trace("Using TextVectorStore for retrieval");
-            results = textStore.findRelevant(index, effectiveQuery, config.topK());
+            results = MetricsRegistry.global().time(() -> textStore.findRelevant(index, effectiveQuery, config.topK()),
+                    MetricNames.VECTOR_QUERY, MetricNames.STORE, vectorStore.getClass().getSimpleName());
             
         } else if (vectorStore instanceof EmbeddingVectorStore embeddingStore) {
             // We need to create embedding ourselves
@@ -63,7 +66,8 @@ public class VectorStoreRetriever implements Retriever {
             Response<Embedding> response = embeddingModel.embed(TextSegment.from(effectiveQuery));
             float[] queryVector = response.content().vector();
             
-            results = embeddingStore.findRelevant(index, queryVector, config.topK());
+            results = MetricsRegistry.global().time(() -> embeddingStore.findRelevant(index, queryVector, config.topK()),
+                    MetricNames.VECTOR_QUERY, MetricNames.STORE, vectorStore.getClass().getSimpleName());
             
         } else {
             throw new IllegalStateException("BaseVectorStore without text/embedding support is not suitable for retrieval");
@@ -1,7 +1,10 @@
 package ai.driftkit.rag.ingestion;
 
 import ai.driftkit.common.util.Retrier;
+import ai.driftkit.common.util.RetryBudget;
 import ai.driftkit.common.utils.AIUtils;
+import ai.driftkit.common.utils.MinHash;
+import ai.driftkit.common.utils.MinHashLshIndex;
 import ai.driftkit.embedding.core.domain.Embedding;
 import ai.driftkit.embedding.core.domain.Response;
 import ai.driftkit.embedding.core.domain.TextSegment;
@@ -19,7 +22,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -53,12 +58,29 @@ public class IngestionPipeline {
     @Builder.Default
     private final int maxRetries = 3;
     
+    /**
+     * Shortest delay before retrying a document; later delays are jittered up to 30 seconds.
+     */
     @Builder.Default
     private final long retryDelayMs = 1000;
     
+    /**
+     * Budget document retries are drawn from. The process-wide default keeps retries to a tenth
+     * of all budgeted calls, so that many documents failing together do not retry in lockstep.
+     */
+    @Builder.Default
+    private final RetryBudget retryBudget = RetryBudget.global();
+    
     @Builder.Default
     private final boolean useVirtualThreads = true;
     
+    /**
+     * Estimated Jaccard similarity of word shingles at or above which a chunk is treated as a
+     * near-duplicate of a chunk already stored in the same run, or of an earlier chunk of the same
+     * document, and skipped before embedding. Null disables deduplication.
+     */
+    private final Double nearDuplicateThreshold;
+    
     /**
      * Progress listener for tracking ingestion progress.
      */
@@ -69,6 +91,12 @@ public class IngestionPipeline {
         void onChunkStored(String chunkId);
         void onProgress(long processed, long total);
         
+        /**
+         * Called when a chunk is skipped as a near-duplicate of an earlier chunk.
+         */
+        default void onChunkSkipped(String chunkId, String duplicateOfChunkId) {
+        }
+        
         /**
          * Called when an error occurs in the result handler.
          * Default implementation logs the error.
@@ -86,11 +114,12 @@ public class IngestionPipeline {
             String source,
             int chunksCreated,
             int chunksStored,
+            int chunksSkipped,
             List<Exception> errors,
             long processingTimeMs
     ) {
         public boolean isSuccess() {
-            return errors.isEmpty() && chunksCreated == chunksStored;
+            return errors.isEmpty() && chunksCreated == chunksStored + chunksSkipped;
         }
     }
     
@@ -103,6 +132,10 @@ public class IngestionPipeline {
                 "EmbeddingModel is required when using EmbeddingVectorStore"
             );
         }
+        if (pipeline.nearDuplicateThreshold != null
+                && (pipeline.nearDuplicateThreshold <= 0 || pipeline.nearDuplicateThreshold > 1)) {
+            throw new IllegalArgumentException("nearDuplicateThreshold must be in (0, 1]");
+        }
     }
     
     /**
@@ -121,10 +154,24 @@ public class IngestionPipeline {
                 ? documentLoader.loadStream() 
                 : documentLoader.load().stream();
             
+            // Near-duplicates are detected across all documents of this run
+            MinHashLshIndex duplicateIndex = nearDuplicateThreshold != null
+                ? new MinHashLshIndex(new MinHash(), nearDuplicateThreshold)
+                : null;
+            AtomicInteger chunksSkipped = new AtomicInteger();
+            
             // Process each document independently
             return documentStream
-                .map(doc -> processDocumentWithRetry(doc, progressListener))
-                .onClose(() -> log.info("Ingestion pipeline completed"));
+                .map(doc -> processDocumentWithRetry(doc, duplicateIndex, progressListener))
+                .peek(result -> chunksSkipped.addAndGet(result.chunksSkipped()))
+                .onClose(() -> {
+                    if (duplicateIndex != null) {
+                        log.info("Ingestion pipeline completed, skipped {} near-duplicate chunks",
+                            chunksSkipped.get());
+                    } else {
+                        log.info("Ingestion pipeline completed");
+                    }
+                });
                 
         } catch (Exception e) {
             log.error("Failed to start ingestion pipeline", e);
@@ -196,7 +243,7 @@ public class IngestionPipeline {
     /**
      * Process a single document with retry logic.
      */
-    private DocumentResult processDocumentWithRetry(LoadedDocument document, ProgressListener listener) {
+    private DocumentResult processDocumentWithRetry(LoadedDocument document, MinHashLshIndex duplicateIndex, ProgressListener listener) {
         long startTime = System.currentTimeMillis();
         String docId = document.getId() != null ? document.getId() : AIUtils.generateId();
         
@@ -206,10 +253,15 @@ public class IngestionPipeline {
         
         Exception lastError = null;
         
+        Retrier retrier = Retrier.builder()
+            .maxAttempts(Math.max(1, maxRetries))
+            .baseDelayMs(retryDelayMs)
+            .budget(retryBudget)
+            .build();
+        
         try {
-            // Use Retrier to handle the retry logic
-            DocumentResult result = Retrier.retry(() -> {
-                DocumentResult processResult = processDocument(document, docId, listener);
+            DocumentResult result = retrier.call(() -> {
+                DocumentResult processResult = processDocument(document, docId, duplicateIndex, listener);
                 
                 if (processResult.isSuccess()) {
                     return processResult;
@@ -221,7 +273,7 @@ public class IngestionPipeline {
                 }
                 
                 return processResult; // Partial success, don't retry
-            }, maxRetries, retryDelayMs, 1);
+            });
             
             return result;
             
@@ -240,6 +292,7 @@ public class IngestionPipeline {
             document.getSource(),
             0,
             0,
+            0,
             List.of(lastError != null ? lastError : new RuntimeException("Processing failed")),
             System.currentTimeMillis() - startTime
         );
@@ -248,11 +301,12 @@ public class IngestionPipeline {
     /**
      * Process a single document.
      */
-    private DocumentResult processDocument(LoadedDocument document, String docId, ProgressListener listener) {
+    private DocumentResult processDocument(LoadedDocument document, String docId, MinHashLshIndex duplicateIndex, ProgressListener listener) {
         long startTime = System.currentTimeMillis();
         List<Exception> errors = new ArrayList<>();
         AtomicInteger chunksCreated = new AtomicInteger(0);
         AtomicInteger chunksStored = new AtomicInteger(0);
+        AtomicInteger chunksSkipped = new AtomicInteger(0);
         
         try {
             // Split document into chunks
@@ -261,13 +315,16 @@ public class IngestionPipeline {
             
             log.debug("Document {} split into {} chunks", docId, chunks.size());
             
+            ChunkDeduplication deduplication = findDuplicateChunks(chunks, docId, duplicateIndex, listener);
+            chunksSkipped.set(deduplication.skipped().size());
+            
             // Process chunks based on vector store type
             if (vectorStore instanceof TextVectorStore textStore) {
                 // TextVectorStore handles embedding internally
-                processChunksForTextStore(chunks, docId, document, textStore, chunksStored, errors, listener);
+                processChunksForTextStore(chunks, deduplication, docId, document, textStore, chunksStored, errors, listener);
             } else if (vectorStore instanceof EmbeddingVectorStore embeddingStore) {
                 // We need to create embeddings ourselves
-                processChunksForEmbeddingStore(chunks, docId, document, embeddingStore, chunksStored, errors, listener);
+                processChunksForEmbeddingStore(chunks, deduplication, docId, document, embeddingStore, chunksStored, errors, listener);
             } else {
                 // BaseVectorStore - store without embeddings (shouldn't happen in RAG context)
                 throw new IllegalStateException("BaseVectorStore without text/embedding support is not suitable for RAG");
@@ -287,16 +344,56 @@ public class IngestionPipeline {
             document.getSource(),
             chunksCreated.get(),
             chunksStored.get(),
+            chunksSkipped.get(),
             errors,
             System.currentTimeMillis() - startTime
         );
     }
     
+    /**
+     * Find chunks that are near-duplicates of chunks already stored in this run or of earlier
+     * chunks of the same document. The run-wide index is only looked up here; chunks join it
+     * once they are stored, so a document that fails does not hide later copies of its content.
+     * Chunk ids are stable across retries, so a retried document does not match itself.
+     */
+    private ChunkDeduplication findDuplicateChunks(
+            List<Document> chunks,
+            String docId,
+            MinHashLshIndex duplicateIndex,
+            ProgressListener listener) {
+        
+        Set<Integer> duplicates = new HashSet<>();
+        if (duplicateIndex == null) {
+            return new ChunkDeduplication(null, null, duplicates);
+        }
+        
+        MinHashLshIndex documentIndex = new MinHashLshIndex(duplicateIndex.getMinHash(), nearDuplicateThreshold);
+        int[][] signatures = new int[chunks.size()][];
+        for (int i = 0; i < chunks.size(); i++) {
+            String chunkId = docId + "-" + i;
+            signatures[i] = duplicateIndex.getMinHash().signature(chunks.get(i).getPageContent());
+            String duplicateOf = duplicateIndex.findDuplicate(chunkId, signatures[i]);
+            if (duplicateOf == null) {
+                duplicateOf = documentIndex.addIfUnique(chunkId, signatures[i]);
+            }
+            if (duplicateOf != null) {
+                duplicates.add(i);
+                log.debug("Skipping chunk {} as a near-duplicate of {}", chunkId, duplicateOf);
+                
+                if (listener != null) {
+                    listener.onChunkSkipped(chunkId, duplicateOf);
+                }
+            }
+        }
+        return new ChunkDeduplication(duplicateIndex, signatures, duplicates);
+    }
+    
     /**
      * Process chunks for TextVectorStore (no embedding needed).
      */
     private void processChunksForTextStore(
             List<Document> chunks,
+            ChunkDeduplication deduplication,
             String docId,
             LoadedDocument sourceDoc,
             TextVectorStore textStore,
@@ -304,7 +401,7 @@ public class IngestionPipeline {
             List<Exception> errors,
             ProgressListener listener) {
         
-        processChunksAsync(chunks, docId, sourceDoc, chunksStored, errors, listener, (chunk, chunkId, chunkIndex) -> {
+        processChunksAsync(chunks, deduplication, docId, sourceDoc, chunksStored, errors, listener, (chunk, chunkId, chunkIndex) -> {
             // Create document without embedding (TextVectorStore will handle it)
             Document doc = new Document(
                 chunkId,
@@ -328,6 +425,7 @@ public class IngestionPipeline {
      */
     private void processChunksForEmbeddingStore(
             List<Document> chunks,
+            ChunkDeduplication deduplication,
             String docId,
             LoadedDocument sourceDoc,
             EmbeddingVectorStore embeddingStore,
@@ -335,7 +433,7 @@ public class IngestionPipeline {
             List<Exception> errors,
             ProgressListener listener) {
         
-        processChunksAsync(chunks, docId, sourceDoc, chunksStored, errors, listener, (chunk, chunkId, chunkIndex) -> {
+        processChunksAsync(chunks, deduplication, docId, sourceDoc, chunksStored, errors, listener, (chunk, chunkId, chunkIndex) -> {
             // Generate embedding
             Response<Embedding> response = embeddingClient.embed(
                 TextSegment.from(chunk.getPageContent())
@@ -365,6 +463,7 @@ public class IngestionPipeline {
      */
     private void processChunksAsync(
             List<Document> chunks,
+            ChunkDeduplication deduplication,
             String docId,
             LoadedDocument sourceDoc,
             AtomicInteger chunksStored,
@@ -375,6 +474,10 @@ public class IngestionPipeline {
         List<CompletableFuture<Void>> futures = new ArrayList<>();
         
         for (int i = 0; i < chunks.size(); i++) {
+            if (deduplication.skipped().contains(i)) {
+                continue;
+            }
+            
             Document chunk = chunks.get(i);
             String chunkId = docId + "-" + i;
             final int chunkIndex = i;
@@ -383,6 +486,7 @@ public class IngestionPipeline {
                 try {
                     // Process chunk using the provided processor
                     processor.process(chunk, chunkId, chunkIndex);
+                    deduplication.onStored(chunkId, chunkIndex);
                     
                     chunksStored.incrementAndGet();
                     
@@ -420,6 +524,21 @@ public class IngestionPipeline {
         doc.getMetadata().put("chunkIndex", chunkIndex);
     }
     
+    /**
+     * Near-duplicate decisions for the chunks of one document.
+     */
+    private record ChunkDeduplication(MinHashLshIndex index, int[][] signatures, Set<Integer> skipped) {
+        
+        /**
+         * Make a stored chunk visible to near-duplicate detection for the rest of the run.
+         */
+        void onStored(String chunkId, int chunkIndex) {
+            if (index != null) {
+                index.addIfUnique(chunkId, signatures[chunkIndex]);
+            }
+        }
+    }
+    
     /**
      * Functional interface for processing individual chunks.
      */
@@ -1,5 +1,7 @@
 package ai.driftkit.rag.retrieval;
 
+import ai.driftkit.common.metrics.MetricNames;
+import ai.driftkit.common.metrics.MetricsRegistry;
 import ai.driftkit.embedding.core.domain.Embedding;
 import ai.driftkit.embedding.core.domain.Response;
 import ai.driftkit.embedding.core.domain.TextSegment;
@@ -202,7 +204,8 @@ public class RetrievalPipeline {
         if (vectorStore instanceof TextVectorStore textStore) {
             // TextVectorStore handles embedding internally
             log.trace("Using TextVectorStore for retrieval");
-            results = textStore.findRelevant(indexName, effectiveQuery, k);
+            results = MetricsRegistry.global().time(() -> textStore.findRelevant(indexName, effectiveQuery, k),
+                    MetricNames.VECTOR_QUERY, MetricNames.STORE, vectorStore.getClass().getSimpleName());
             
         } else if (vectorStore instanceof EmbeddingVectorStore embeddingStore) {
             // We need to create embedding ourselves
@@ -212,7 +215,8 @@ public class RetrievalPipeline {
             Response<Embedding> response = embeddingClient.embed(TextSegment.from(effectiveQuery));
             float[] queryVector = response.content().vector();
             
-            results = embeddingStore.findRelevant(indexName, queryVector, k);
+            results = MetricsRegistry.global().time(() -> embeddingStore.findRelevant(indexName, queryVector, k),
+                    MetricNames.VECTOR_QUERY, MetricNames.STORE, vectorStore.getClass().getSimpleName());
             
         } else {
             throw new IllegalStateException("BaseVectorStore without text/embedding support is not suitable for retrieval");
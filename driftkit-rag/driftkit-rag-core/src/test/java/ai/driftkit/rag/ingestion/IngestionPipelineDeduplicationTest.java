@@ -0,0 +1,200 @@
+package ai.driftkit.rag.ingestion;
+
+import ai.driftkit.common.util.RetryBudget;
+import ai.driftkit.rag.core.domain.LoadedDocument;
+import ai.driftkit.rag.core.loader.DocumentLoader;
+import ai.driftkit.rag.core.splitter.TextSplitter;
+import ai.driftkit.vector.core.domain.Document;
+import ai.driftkit.vector.core.domain.TextVectorStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class IngestionPipelineDeduplicationTest {
+
+    private static final String POLICY = "Refunds are issued within fourteen days of the return being received "
+        + "at our warehouse provided the item is unused and in its original packaging";
+    private static final String POLICY_COPY = "Refunds are issued within fourteen days of the return being received "
+        + "at our warehouse provided the item is unused and in its original packaging.";
+    private static final String SHIPPING = "Standard shipping takes three to five business days while express "
+        + "orders placed before noon are dispatched on the same day";
+
+    @Mock
+    private DocumentLoader documentLoader;
+
+    @Mock
+    private TextSplitter textSplitter;
+
+    @Mock
+    private TextVectorStore vectorStore;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+
+        LoadedDocument doc1 = document("doc1");
+        LoadedDocument doc2 = document("doc2");
+        when(documentLoader.loadStream()).thenReturn(Stream.of(doc1, doc2));
+        when(documentLoader.supportsStreaming()).thenReturn(true);
+        when(textSplitter.split(doc1)).thenReturn(List.of(chunk(POLICY), chunk(SHIPPING)));
+        when(textSplitter.split(doc2)).thenReturn(List.of(chunk(POLICY_COPY), chunk("Gift cards never expire")));
+    }
+
+    @Test
+    void testNearDuplicateChunksAreSkippedAcrossDocuments() throws Exception {
+        IngestionPipeline pipeline = IngestionPipeline.builder()
+            .documentLoader(documentLoader)
+            .textSplitter(textSplitter)
+            .vectorStore(vectorStore)
+            .indexName("test")
+            .nearDuplicateThreshold(0.8)
+            .build();
+
+        Map<String, String> skipped = new ConcurrentHashMap<>();
+        List<IngestionPipeline.DocumentResult> results = new ArrayList<>();
+        pipeline.run(results::add, new RecordingListener(skipped));
+
+        assertEquals(2, results.size());
+        assertEquals(0, results.get(0).chunksSkipped());
+        assertEquals(2, results.get(0).chunksStored());
+        assertEquals(1, results.get(1).chunksSkipped());
+        assertEquals(1, results.get(1).chunksStored());
+        assertTrue(results.get(1).isSuccess());
+        assertEquals(Map.of("doc2-0", "doc1-0"), skipped);
+
+        ArgumentCaptor<Document> stored = ArgumentCaptor.forClass(Document.class);
+        verify(vectorStore, times(3)).addDocument(eq("test"), stored.capture());
+        assertFalse(stored.getAllValues().stream().anyMatch(doc -> doc.getId().equals("doc2-0")));
+    }
+
+    @Test
+    void testChunksOfFailedDocumentDoNotHideLaterCopies() throws Exception {
+        doThrow(new IllegalStateException("store unavailable"))
+            .when(vectorStore).addDocument(eq("test"), argThat(doc -> doc.getId().equals("doc1-0")));
+        IngestionPipeline pipeline = pipeline();
+
+        Map<String, String> skipped = new ConcurrentHashMap<>();
+        List<IngestionPipeline.DocumentResult> results = new ArrayList<>();
+        assertThrows(IngestionException.class, () -> pipeline.run(results::add, new RecordingListener(skipped)));
+
+        assertFalse(results.get(0).isSuccess());
+        assertEquals(0, results.get(1).chunksSkipped());
+        assertEquals(2, results.get(1).chunksStored());
+        assertTrue(skipped.isEmpty());
+        verify(vectorStore).addDocument(eq("test"), argThat(doc -> doc.getId().equals("doc2-0")));
+    }
+
+    @Test
+    void testRetriedDocumentSkipsEachDuplicateOnce() throws Exception {
+        AtomicInteger failures = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (failures.getAndIncrement() == 0) {
+                throw new IllegalStateException("store unavailable");
+            }
+            return null;
+        }).when(vectorStore).addDocument(eq("test"), argThat(doc -> doc.getId().equals("doc2-1")));
+        IngestionPipeline pipeline = pipeline();
+
+        Map<String, String> skipped = new ConcurrentHashMap<>();
+        List<IngestionPipeline.DocumentResult> results = new ArrayList<>();
+        pipeline.run(results::add, new RecordingListener(skipped));
+
+        assertTrue(results.get(1).isSuccess());
+        assertEquals(1, results.get(1).chunksSkipped());
+        assertEquals(1, results.get(1).chunksStored());
+        assertEquals(Map.of("doc2-0", "doc1-0"), skipped);
+        verify(vectorStore, never()).addDocument(eq("test"), argThat(doc -> doc.getId().equals("doc2-0")));
+    }
+
+    @Test
+    void testNearDuplicateChunksAreSkippedWithinDocument() throws Exception {
+        LoadedDocument doc = document("doc3");
+        when(documentLoader.loadStream()).thenReturn(Stream.of(doc));
+        when(textSplitter.split(doc)).thenReturn(List.of(chunk(POLICY), chunk(SHIPPING), chunk(POLICY_COPY)));
+
+        List<IngestionPipeline.DocumentResult> results = new ArrayList<>();
+        pipeline().run(results::add, null);
+
+        assertEquals(1, results.get(0).chunksSkipped());
+        assertEquals(2, results.get(0).chunksStored());
+        verify(vectorStore, never()).addDocument(eq("test"), argThat(stored -> stored.getId().equals("doc3-2")));
+    }
+
+    @Test
+    void testDeduplicationIsDisabledByDefault() throws Exception {
+        IngestionPipeline pipeline = IngestionPipeline.builder()
+            .documentLoader(documentLoader)
+            .textSplitter(textSplitter)
+            .vectorStore(vectorStore)
+            .indexName("test")
+            .build();
+
+        List<IngestionPipeline.DocumentResult> results = new ArrayList<>();
+        pipeline.run(results::add, null);
+
+        assertEquals(0, results.get(1).chunksSkipped());
+        verify(vectorStore, times(4)).addDocument(eq("test"), any(Document.class));
+    }
+
+    private IngestionPipeline pipeline() {
+        return IngestionPipeline.builder()
+            .documentLoader(documentLoader)
+            .textSplitter(textSplitter)
+            .vectorStore(vectorStore)
+            .indexName("test")
+            .nearDuplicateThreshold(0.8)
+            .maxRetries(2)
+            .retryDelayMs(1)
+            .retryBudget(RetryBudget.unlimited())
+            .build();
+    }
+
+    private static LoadedDocument document(String id) {
+        return LoadedDocument.builder()
+            .id(id)
+            .content("content")
+            .source(id + ".txt")
+            .metadata(new HashMap<>())
+            .build();
+    }
+
+    private static Document chunk(String text) {
+        return new Document(null, null, text, new HashMap<>());
+    }
+
+    private record RecordingListener(Map<String, String> skipped) implements IngestionPipeline.ProgressListener {
+        @Override
+        public void onDocumentLoaded(String documentId, String source) {}
+
+        @Override
+        public void onDocumentProcessed(String documentId, int chunks) {}
+
+        @Override
+        public void onDocumentFailed(String documentId, Exception error) {}
+
+        @Override
+        public void onChunkStored(String chunkId) {}
+
+        @Override
+        public void onProgress(long processed, long total) {}
+
+        @Override
+        public void onChunkSkipped(String chunkId, String duplicateOfChunkId) {
+            skipped.put(chunkId, duplicateOfChunkId);
+        }
+    }
+}
@@ -150,6 +150,12 @@ public class RagProperties {
          */
         private boolean useVirtualThreads = true;
         
+        /**
+         * Jaccard similarity at or above which a chunk is skipped as a near-duplicate
+         * of a chunk ingested earlier in the same run. Null disables deduplication.
+         */
+        private Double nearDuplicateThreshold;
+        
         /**
          * Default file extensions to process.
          */
@@ -95,6 +95,7 @@ public class RagService {
             .maxRetries(properties.getIngestion().getMaxRetries())
             .retryDelayMs(properties.getIngestion().getRetryDelayMs())
             .useVirtualThreads(properties.getIngestion().isUseVirtualThreads())
+            .nearDuplicateThreshold(properties.getIngestion().getNearDuplicateThreshold())
             .build();
         
         return pipeline.run();
@@ -191,7 +192,8 @@ public class RagService {
             .textSplitter(textSplitter)
             .maxRetries(properties.getIngestion().getMaxRetries())
             .retryDelayMs(properties.getIngestion().getRetryDelayMs())
-            .useVirtualThreads(properties.getIngestion().isUseVirtualThreads());
+            .useVirtualThreads(properties.getIngestion().isUseVirtualThreads())
+            .nearDuplicateThreshold(properties.getIngestion().getNearDuplicateThreshold());
     }
     
     /**
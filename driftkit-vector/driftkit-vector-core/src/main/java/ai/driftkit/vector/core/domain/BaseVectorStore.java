@@ -42,6 +42,15 @@ public interface BaseVectorStore {
      */
     void deleteDocument(String id, String index) throws Exception;
 
+    /**
+     * Delete documents by IDs. Stores with a bulk delete API should override this.
+     */
+    default void deleteDocuments(List<String> ids, String index) throws Exception {
+        for (String id : ids) {
+            deleteDocument(id, index);
+        }
+    }
+
     /**
      * Read a document by ID.
      */
@@ -2,18 +2,21 @@ package ai.driftkit.vector.core.filebased;
 
 import ai.driftkit.config.EtlConfig.VectorStoreConfig;
 import ai.driftkit.vector.core.domain.Document;
+import ai.driftkit.vector.core.index.VectorIndex;
 import ai.driftkit.vector.core.inmemory.InMemoryVectorStore;
-import org.jetbrains.annotations.NotNull;
 
 import java.io.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class FileBasedVectorStore extends InMemoryVectorStore {
 
+    // Stream header, followed by each index name and its documents, each list ending with null
+    private static final String FORMAT = "driftkit-filebased-v2";
+    private static final int RESET_INTERVAL = 256;
+
     private String configPath;
 
     public boolean supportsStoreName(String storeName) {
@@ -22,51 +25,82 @@ public class FileBasedVectorStore extends InMemoryVectorStore {
 
     @Override
     public void configure(VectorStoreConfig config) throws Exception {
+        super.configure(config);
         this.configPath = config.get("storageFile");
         loadFromDisk();
     }
 
     private void loadFromDisk() {
+        inverseNorms = new ConcurrentHashMap<>();
+        documentMap = new ConcurrentHashMap<>();
+        // Reloaded indexes are refilled in their existing off-heap pages
+        vectorIndexes.values().forEach(VectorIndex::clear);
+
         File file = new File(configPath);
         if (file.exists()) {
-            try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-                documentMap = (ConcurrentHashMap<String, Map<String, Document>>) ois.readObject();
+            try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                Object head = ois.readObject();
+                if (head instanceof Map<?, ?> legacy) {
+                    // Files written before documents were streamed hold one map of all indexes
+                    ((Map<String, Map<String, Document>>) legacy).forEach((indexName, docs) ->
+                            super.addDocuments(indexName, new ArrayList<>(docs.values())));
+                } else if (FORMAT.equals(head)) {
+                    readIndexes(ois);
+                } else {
+                    throw new IOException("Unknown vector store format: " + head);
+                }
             } catch (IOException | ClassNotFoundException e) {
                 throw new RuntimeException("Failed to load vector store from disk", e);
             }
-        } else {
-            documentMap = new ConcurrentHashMap<>();
+        }
+
+        vectorIndexes.entrySet().removeIf(entry -> {
+            if (documentMap.containsKey(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().close();
+            return true;
+        });
+    }
+
+    private void readIndexes(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+        for (String indexName = (String) ois.readObject(); indexName != null; indexName = (String) ois.readObject()) {
+            documentMap.computeIfAbsent(indexName, name -> new ConcurrentHashMap<>());
+            for (Document doc = (Document) ois.readObject(); doc != null; doc = (Document) ois.readObject()) {
+                super.addDocuments(indexName, List.of(doc));
+            }
         }
     }
 
+    // Documents are written one at a time, so that off-heap and int8 vectors are never all copied onto the heap
     private void saveToDisk() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(configPath))) {
-            oos.writeObject(documentMap);
-        } catch (IOException e) {
+        try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(configPath)))) {
+            oos.writeObject(FORMAT);
+            for (String indexName : documentMap.keySet()) {
+                oos.writeObject(indexName);
+                int[] written = {0};
+                exportDocuments(indexName, doc -> {
+                    try {
+                        oos.writeObject(doc);
+                        // The stream keeps every written object for back-references until it is reset
+                        if (++written[0] % RESET_INTERVAL == 0) {
+                            oos.reset();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                oos.writeObject(null);
+            }
+            oos.writeObject(null);
+        } catch (IOException | UncheckedIOException e) {
             throw new RuntimeException("Failed to save vector store to disk", e);
         }
     }
 
     public List<String> addDocuments(String indexName, List<Document> documents) {
-        List<String> ids = new ArrayList<>();
-        for (Document doc : documents) {
-            String id = doc.getId();
-            if (id == null || id.isEmpty()) {
-                id = UUID.randomUUID().toString();
-                doc.setId(id);
-            }
-
-            Map<String, Document> index = getIndexOrCreate(indexName);
-
-            index.put(id, doc);
-            ids.add(id);
-        }
+        List<String> ids = super.addDocuments(indexName, documents);
         saveToDisk();
         return ids;
     }
-
-    @NotNull
-    private Map<String, Document> getIndexOrCreate(String indexName) {
-        return documentMap.computeIfAbsent(indexName, e -> new ConcurrentHashMap<>());
-    }
 }
@@ -0,0 +1,214 @@
+package ai.driftkit.vector.core.index;
+
+import ai.driftkit.vector.core.utils.VectorMath;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Base for vector indexes that pack normalized vectors into contiguous off-heap pages.
+ * Keeps the id to slot mapping and reuses slots freed by deletes, and pages emptied by
+ * {@link #clear()}; only ids and one norm per vector stay on the heap.
+ */
+public abstract class AbstractOffHeapVectorIndex implements VectorIndex {
+
+    protected static final int PAGE_SLOTS = OffHeapVectorBuffer.PAGE_SLOTS;
+
+    protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    protected final Map<String, Integer> slots = new HashMap<>();
+    protected final List<String> slotIds = new ArrayList<>();
+    protected OffHeapVectorBuffer vectors;
+
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private float[] norms = new float[0];
+
+    @Override
+    public void put(String id, float[] vector) {
+        lock.writeLock().lock();
+        try {
+            if (vectors != null && slotIds.isEmpty() && vectors.dimension() != vector.length) {
+                // A cleared index adopts the dimension of its next vector
+                release();
+            }
+            if (vectors == null) {
+                vectors = new OffHeapVectorBuffer(vector.length);
+                onDimension(vector.length);
+            }
+            checkDimension(vector);
+
+            Integer slot = slots.get(id);
+            if (slot == null) {
+                slot = allocateSlot(id);
+            }
+
+            float[] normalized = VectorMath.normalize(vector);
+            vectors.write(slot, normalized);
+            norms[slot] = VectorMath.norm(vector);
+
+            onPut(slot, normalized);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.remove(id);
+            if (slot == null) {
+                return;
+            }
+            slotIds.set(slot, null);
+            freeSlots.push(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public float[] get(String id) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slots.get(id);
+            if (slot == null) {
+                return null;
+            }
+
+            float[] vector = new float[vectors.dimension()];
+            vectors.read(slot, vector);
+            float norm = norms[slot];
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= norm;
+            }
+            return vector;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            slots.clear();
+            slotIds.clear();
+            freeSlots.clear();
+            onClear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            release();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of allocated off-heap pages of {@link #PAGE_SLOTS} vectors.
+     */
+    int pageCount() {
+        lock.readLock().lock();
+        try {
+            return vectors == null ? 0 : vectors.pageCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Called under the write lock once the dimension is known from the first vector.
+     */
+    protected void onDimension(int dimension) {
+    }
+
+    /**
+     * Called under the write lock when a new page of {@link #PAGE_SLOTS} slots is started.
+     */
+    protected void onPageAdded() {
+    }
+
+    /**
+     * Called under the write lock after the normalized vector has been written to its slot.
+     */
+    protected void onPut(int slot, float[] normalized) {
+    }
+
+    /**
+     * Called under the write lock after every slot has been freed; allocated pages are kept.
+     */
+    protected void onClear() {
+    }
+
+    protected void onClose() {
+    }
+
+    protected void checkDimension(float[] vector) {
+        if (vector.length != vectors.dimension()) {
+            throw new IllegalArgumentException("Vector dimension " + vector.length
+                    + " does not match index dimension " + vectors.dimension());
+        }
+    }
+
+    /**
+     * Converts the collected slots into matches ordered by descending score. Requires the read lock.
+     */
+    protected List<Match> toMatches(TopKCollector collector) {
+        int[] resultSlots = new int[collector.size()];
+        float[] resultScores = new float[collector.size()];
+        int count = collector.drainDescending(resultSlots, resultScores);
+
+        List<Match> matches = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            matches.add(new Match(slotIds.get(resultSlots[i]), resultScores[i]));
+        }
+        return matches;
+    }
+
+    private int allocateSlot(String id) {
+        int slot;
+        if (!freeSlots.isEmpty()) {
+            slot = freeSlots.pop();
+            slotIds.set(slot, id);
+        } else {
+            slot = slotIds.size();
+            slotIds.add(id);
+            if (slot == norms.length) {
+                norms = Arrays.copyOf(norms, norms.length + PAGE_SLOTS);
+                onPageAdded();
+            }
+        }
+        slots.put(id, slot);
+        return slot;
+    }
+
+    private void release() {
+        slots.clear();
+        slotIds.clear();
+        freeSlots.clear();
+        norms = new float[0];
+        if (vectors != null) {
+            vectors.release();
+            vectors = null;
+        }
+        onClose();
+    }
+}
@@ -0,0 +1,58 @@
+package ai.driftkit.vector.core.index;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-dimension float vectors stored by slot in direct (off-heap) buffers.
+ * Storage is split into pages so that large indexes are not limited by the
+ * 2 GB size of a single {@link ByteBuffer} and never need a full copy to grow.
+ * Pages are kept once allocated, so slots written again after a clear or delete
+ * reuse them; direct memory is only handed back to the JVM by {@link #release()}.
+ */
+final class OffHeapVectorBuffer {
+
+    static final int PAGE_SLOTS = 1024;
+
+    private final int dimension;
+    private final List<FloatBuffer> pages = new ArrayList<>();
+
+    OffHeapVectorBuffer(int dimension) {
+        this.dimension = dimension;
+    }
+
+    int dimension() {
+        return dimension;
+    }
+
+    void write(int slot, float[] vector) {
+        ensureCapacity(slot + 1);
+        pages.get(slot / PAGE_SLOTS).put((slot % PAGE_SLOTS) * dimension, vector, 0, dimension);
+    }
+
+    void read(int slot, float[] target) {
+        pages.get(slot / PAGE_SLOTS).get((slot % PAGE_SLOTS) * dimension, target, 0, dimension);
+    }
+
+    int pageCount() {
+        return pages.size();
+    }
+
+    /**
+     * Drops every page. Direct memory is returned once the buffers are garbage collected.
+     */
+    void release() {
+        pages.clear();
+    }
+
+    private void ensureCapacity(int slots) {
+        while (pages.size() * PAGE_SLOTS < slots) {
+            pages.add(ByteBuffer.allocateDirect(PAGE_SLOTS * dimension * Float.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .asFloatBuffer());
+        }
+    }
+}
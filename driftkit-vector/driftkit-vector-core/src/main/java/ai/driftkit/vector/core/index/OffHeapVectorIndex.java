@@ -0,0 +1,43 @@
+package ai.driftkit.vector.core.index;
+
+import ai.driftkit.vector.core.utils.VectorMath;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Exact vector index over normalized full-precision vectors packed into off-heap pages.
+ * Search scans the pages slot by slot, so the heap holds no per-vector arrays and the
+ * garbage collector never has to trace the vector data.
+ */
+public class OffHeapVectorIndex extends AbstractOffHeapVectorIndex {
+
+    @Override
+    public List<Match> search(float[] query, int topK, Predicate<String> filter) {
+        lock.readLock().lock();
+        try {
+            if (slots.isEmpty() || topK <= 0) {
+                return Collections.emptyList();
+            }
+            checkDimension(query);
+
+            float[] normalizedQuery = VectorMath.normalize(query);
+            float[] scratch = new float[vectors.dimension()];
+
+            TopKCollector results = new TopKCollector(topK);
+            for (int slot = 0; slot < slotIds.size(); slot++) {
+                String id = slotIds.get(slot);
+                if (id == null || (filter != null && !filter.test(id))) {
+                    continue;
+                }
+                vectors.read(slot, scratch);
+                results.offer(slot, VectorMath.dot(normalizedQuery, scratch));
+            }
+
+            return toMatches(results);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package ai.driftkit.vector.core.index;
+
+import ai.driftkit.vector.core.utils.VectorMath;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Vector index that searches int8 scalar-quantized codes and rescores the best
+ * candidates against full-precision vectors.
+ * <p>
+ * Codes take one byte per dimension on the heap. The normalized full-precision
+ * vectors used for rescoring live in off-heap buffers, so the float data does not
+ * count against the Java heap. The quantizer is retrained lazily on the next search
+ * whenever an insert widens the observed per-dimension range.
+ */
+public class QuantizedVectorIndex extends AbstractOffHeapVectorIndex {
+
+    public static final int DEFAULT_RESCORE_FACTOR = 4;
+
+    private final int rescoreFactor;
+
+    private final List<byte[]> codePages = new ArrayList<>();
+    private float[] min;
+    private float[] max;
+    private ScalarQuantizer quantizer;
+    private volatile boolean stale;
+
+    public QuantizedVectorIndex() {
+        this(DEFAULT_RESCORE_FACTOR);
+    }
+
+    /**
+     * @param rescoreFactor how many quantized candidates per requested result are rescored at full precision
+     */
+    public QuantizedVectorIndex(int rescoreFactor) {
+        this.rescoreFactor = Math.max(1, rescoreFactor);
+    }
+
+    @Override
+    public List<Match> search(float[] query, int topK, Predicate<String> filter) {
+        lock.readLock().lock();
+        try {
+            while (stale) {
+                lock.readLock().unlock();
+                try {
+                    retrain();
+                } finally {
+                    lock.readLock().lock();
+                }
+            }
+
+            if (slots.isEmpty() || topK <= 0) {
+                return Collections.emptyList();
+            }
+            checkDimension(query);
+
+            int dimension = vectors.dimension();
+            float[] normalizedQuery = VectorMath.normalize(query);
+
+            // First pass: approximate scores over the int8 codes
+            ScalarQuantizer.QueryScorer scorer = quantizer.scorer(normalizedQuery);
+            TopKCollector candidates = new TopKCollector(topK * rescoreFactor);
+            for (int slot = 0; slot < slotIds.size(); slot++) {
+                String id = slotIds.get(slot);
+                if (id == null || (filter != null && !filter.test(id))) {
+                    continue;
+                }
+                candidates.offer(slot, scorer.score(codePages.get(slot / PAGE_SLOTS), (slot % PAGE_SLOTS) * dimension));
+            }
+
+            int[] candidateSlots = new int[candidates.size()];
+            float[] candidateScores = new float[candidates.size()];
+            int candidateCount = candidates.drainDescending(candidateSlots, candidateScores);
+
+            // Second pass: exact cosine similarity for the shortlisted candidates
+            float[] scratch = new float[dimension];
+            TopKCollector results = new TopKCollector(topK);
+            for (int i = 0; i < candidateCount; i++) {
+                vectors.read(candidateSlots[i], scratch);
+                results.offer(candidateSlots[i], VectorMath.dot(normalizedQuery, scratch));
+            }
+
+            return toMatches(results);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    protected void onDimension(int dimension) {
+        min = new float[dimension];
+        max = new float[dimension];
+        Arrays.fill(min, Float.POSITIVE_INFINITY);
+        Arrays.fill(max, Float.NEGATIVE_INFINITY);
+    }
+
+    @Override
+    protected void onPageAdded() {
+        codePages.add(new byte[PAGE_SLOTS * min.length]);
+    }
+
+    @Override
+    protected void onPut(int slot, float[] normalized) {
+        if (widenRange(normalized) || quantizer == null) {
+            stale = true;
+        } else if (!stale) {
+            quantizer.encode(normalized, codePages.get(slot / PAGE_SLOTS), (slot % PAGE_SLOTS) * min.length);
+        }
+    }
+
+    @Override
+    protected void onClear() {
+        // Code pages are overwritten as slots are reused; the range is learned again
+        if (min != null) {
+            onDimension(min.length);
+        }
+        quantizer = null;
+        stale = false;
+    }
+
+    @Override
+    protected void onClose() {
+        codePages.clear();
+        quantizer = null;
+        stale = false;
+    }
+
+    private void retrain() {
+        lock.writeLock().lock();
+        try {
+            if (!stale) {
+                return;
+            }
+
+            quantizer = ScalarQuantizer.fromRange(min, max);
+
+            float[] scratch = new float[min.length];
+            for (int slot = 0; slot < slotIds.size(); slot++) {
+                if (slotIds.get(slot) == null) {
+                    continue;
+                }
+                vectors.read(slot, scratch);
+                quantizer.encode(scratch, codePages.get(slot / PAGE_SLOTS), (slot % PAGE_SLOTS) * min.length);
+            }
+            stale = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean widenRange(float[] vector) {
+        boolean widened = false;
+        for (int i = 0; i < vector.length; i++) {
+            if (vector[i] < min[i]) {
+                min[i] = vector[i];
+                widened = true;
+            }
+            if (vector[i] > max[i]) {
+                max[i] = vector[i];
+                widened = true;
+            }
+        }
+        return widened;
+    }
+}
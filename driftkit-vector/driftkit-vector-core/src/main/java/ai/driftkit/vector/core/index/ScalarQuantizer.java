@@ -0,0 +1,80 @@
+package ai.driftkit.vector.core.index;
+
+/**
+ * Per-dimension int8 scalar quantizer. Each component is mapped onto 256 levels
+ * between the minimum and maximum observed for that dimension:
+ * {@code x ≈ offset + scale * (code + 128)}.
+ */
+public final class ScalarQuantizer {
+
+    private static final int LEVELS = 255;
+
+    private final float[] offset;
+    private final float[] scale;
+
+    private ScalarQuantizer(float[] offset, float[] scale) {
+        this.offset = offset;
+        this.scale = scale;
+    }
+
+    public static ScalarQuantizer fromRange(float[] min, float[] max) {
+        float[] offset = min.clone();
+        float[] scale = new float[min.length];
+        for (int i = 0; i < min.length; i++) {
+            scale[i] = Math.max(0f, max[i] - min[i]) / LEVELS;
+        }
+        return new ScalarQuantizer(offset, scale);
+    }
+
+    public int dimension() {
+        return offset.length;
+    }
+
+    public void encode(float[] vector, byte[] codes, int codesOffset) {
+        for (int i = 0; i < offset.length; i++) {
+            int level = scale[i] == 0f ? 0 : Math.round((vector[i] - offset[i]) / scale[i]);
+            level = Math.max(0, Math.min(LEVELS, level));
+            codes[codesOffset + i] = (byte) (level - 128);
+        }
+    }
+
+    public float[] decode(byte[] codes, int codesOffset) {
+        float[] vector = new float[offset.length];
+        for (int i = 0; i < offset.length; i++) {
+            vector[i] = offset[i] + scale[i] * (codes[codesOffset + i] + 128);
+        }
+        return vector;
+    }
+
+    /**
+     * Precomputes the query-dependent terms so that scoring an encoded vector
+     * is a single float-by-byte dot product.
+     */
+    public QueryScorer scorer(float[] query) {
+        float[] weights = new float[offset.length];
+        float base = 0f;
+        for (int i = 0; i < offset.length; i++) {
+            weights[i] = query[i] * scale[i];
+            base += query[i] * offset[i] + weights[i] * 128;
+        }
+        return new QueryScorer(weights, base);
+    }
+
+    public static final class QueryScorer {
+        private final float[] weights;
+        private final float base;
+
+        private QueryScorer(float[] weights, float base) {
+            this.weights = weights;
+            this.base = base;
+        }
+
+        public float score(byte[] codes, int codesOffset) {
+            float sum = 0f;
+            for (int i = 0; i < weights.length; i++) {
+                sum += weights[i] * codes[codesOffset + i];
+            }
+            return base + sum;
+        }
+    }
+}
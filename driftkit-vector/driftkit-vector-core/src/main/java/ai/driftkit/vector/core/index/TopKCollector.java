@@ -0,0 +1,90 @@
+package ai.driftkit.vector.core.index;
+
+/**
+ * Bounded min-heap of (slot, score) pairs that keeps the k highest scores
+ * without boxing.
+ */
+final class TopKCollector {
+
+    private final int[] slots;
+    private final float[] scores;
+    private int size;
+
+    TopKCollector(int k) {
+        this.slots = new int[Math.max(1, k)];
+        this.scores = new float[Math.max(1, k)];
+    }
+
+    void offer(int slot, float score) {
+        if (size < slots.length) {
+            slots[size] = slot;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (score > scores[0]) {
+            slots[0] = slot;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Writes the collected pairs into the given arrays ordered by descending score
+     * and leaves the collector empty. Returns the number of pairs written.
+     */
+    int drainDescending(int[] slotsOut, float[] scoresOut) {
+        int count = size;
+        for (int i = count - 1; i >= 0; i--) {
+            slotsOut[i] = slots[0];
+            scoresOut[i] = scores[0];
+            removeMin();
+        }
+        return count;
+    }
+
+    private void removeMin() {
+        size--;
+        slots[0] = slots[size];
+        scores[0] = scores[size];
+        siftDown(0);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (scores[i] >= scores[parent]) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left + 1 < size && scores[left + 1] < scores[left] ? left + 1 : left;
+            if (scores[i] <= scores[smallest]) {
+                return;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int slot = slots[a];
+        slots[a] = slots[b];
+        slots[b] = slot;
+
+        float score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
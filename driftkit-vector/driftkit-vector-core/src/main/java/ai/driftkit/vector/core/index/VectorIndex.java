@@ -0,0 +1,40 @@
+package ai.driftkit.vector.core.index;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Per-index vector storage used by {@link ai.driftkit.vector.core.inmemory.InMemoryVectorStore}
+ * when vectors are kept outside of the {@link ai.driftkit.vector.core.domain.Document} objects.
+ */
+public interface VectorIndex extends AutoCloseable {
+
+    void put(String id, float[] vector);
+
+    void remove(String id);
+
+    /**
+     * Returns a full-precision copy of the stored vector, or null if the id is unknown.
+     */
+    float[] get(String id);
+
+    int size();
+
+    /**
+     * Returns up to topK ids ordered by descending cosine similarity to the query.
+     *
+     * @param filter optional id predicate, null to accept every stored vector
+     */
+    List<Match> search(float[] query, int topK, Predicate<String> filter);
+
+    /**
+     * Removes every vector but keeps the allocated storage, so that refilling the index does not allocate again.
+     */
+    void clear();
+
+    @Override
+    void close();
+
+    record Match(String id, float score) {
+    }
+}
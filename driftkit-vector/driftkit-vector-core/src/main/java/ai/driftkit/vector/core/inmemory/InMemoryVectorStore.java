@@ -4,22 +4,65 @@ import ai.driftkit.config.EtlConfig.VectorStoreConfig;
 import ai.driftkit.vector.core.domain.Document;
 import ai.driftkit.vector.core.domain.DocumentsResult;
 import ai.driftkit.vector.core.domain.EmbeddingVectorStore;
+import ai.driftkit.vector.core.index.OffHeapVectorIndex;
+import ai.driftkit.vector.core.index.QuantizedVectorIndex;
+import ai.driftkit.vector.core.index.VectorIndex;
+import ai.driftkit.vector.core.utils.VectorMath;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class InMemoryVectorStore implements EmbeddingVectorStore {
+    public static final String VECTOR_STORAGE = "vectorStorage";
+    public static final String RESCORE_FACTOR = "rescoreFactor";
+
+    /**
+     * Where document vectors are kept.
+     * HEAP - float[] inside each Document (default).
+     * OFF_HEAP - normalized vectors packed into off-heap pages per index, exact search.
+     * INT8 - int8 quantized codes for the first search pass, full-precision vectors off-heap for rescoring.
+     */
+    public enum VectorStorage {
+        HEAP,
+        OFF_HEAP,
+        INT8
+    }
 
     protected Map<String, Map<String, Document>> documentMap = new ConcurrentHashMap<>();
 
+    // Inverse norms of stored vectors, so that scoring is a dot product against the stored vector times one float
+    protected Map<String, Map<String, Float>> inverseNorms = new ConcurrentHashMap<>();
+
+    // Vectors stored outside of documents, used when vectorStorage is not HEAP
+    protected Map<String, VectorIndex> vectorIndexes = new ConcurrentHashMap<>();
+
+    protected VectorStorage vectorStorage = VectorStorage.HEAP;
+    protected int rescoreFactor = QuantizedVectorIndex.DEFAULT_RESCORE_FACTOR;
+
     public boolean supportsStoreName(String storeName) {
         return "inmemory".equalsIgnoreCase(storeName);
     }
 
     @Override
     public void configure(VectorStoreConfig config) throws Exception {
+        if (config.getConfig() == null) {
+            return;
+        }
+
+        VectorStorage storage = VectorStorage.valueOf(config.get(VECTOR_STORAGE, VectorStorage.HEAP.name()).toUpperCase());
+        int rescore = config.getInt(RESCORE_FACTOR, QuantizedVectorIndex.DEFAULT_RESCORE_FACTOR);
+        if (storage != vectorStorage || rescore != rescoreFactor) {
+            // Indexes built for the previous settings cannot be reused
+            vectorIndexes.values().forEach(VectorIndex::close);
+            vectorIndexes = new ConcurrentHashMap<>();
+        }
+
+        this.vectorStorage = storage;
+        this.rescoreFactor = rescore;
     }
 
     public List<String> addDocuments(String indexName, List<Document> documents) {
@@ -31,9 +74,7 @@ public class InMemoryVectorStore implements EmbeddingVectorStore {
                 doc.setId(id);
             }
 
-            Map<String, Document> index = getIndexOrCreate(indexName);
-
-            index.put(id, doc);
+            storeDocument(indexName, id, doc);
             ids.add(id);
         }
         return ids;
@@ -44,24 +85,36 @@ public class InMemoryVectorStore implements EmbeddingVectorStore {
     }
 
     public DocumentsResult query(String indexName, float[] queryEmbedding, int topK, Map<String, Object> filters) {
+        if (vectorStorage != VectorStorage.HEAP) {
+            return queryVectorIndex(indexName, queryEmbedding, topK, filters);
+        }
+
         Map<String, Document> index = getIndexOrCreate(indexName);
+        Map<String, Float> inverseNormIndex = getInverseNormIndexOrCreate(indexName);
 
         // Step 1: Apply metadata filters
         List<Document> filteredDocuments = index.values().stream()
-                .filter(doc -> filters == null || (doc.getVector() != null && matchesFilters(doc.getMetadata(), filters)))
+                .filter(doc -> doc.getVector() != null)
+                .filter(doc -> filters == null || matchesFilters(doc.getMetadata(), filters))
                 .collect(Collectors.toList());
 
-        // Step 2: Extract embeddings and IDs
+        // Step 2: Extract embeddings, their inverse norms and IDs
         List<float[]> docVectors = filteredDocuments.stream()
                 .map(Document::getVector)
                 .collect(Collectors.toList());
 
+        float[] docInverseNorms = new float[filteredDocuments.size()];
+        for (int i = 0; i < docInverseNorms.length; i++) {
+            Document doc = filteredDocuments.get(i);
+            docInverseNorms[i] = inverseNormIndex.computeIfAbsent(doc.getId(), id -> VectorMath.inverseNorm(doc.getVector()));
+        }
+
         List<String> docIds = filteredDocuments.stream()
                 .map(Document::getId)
                 .collect(Collectors.toList());
 
         // Step 3: Calculate top-k similarities
-        List<SimilarityResult> topResults = getTopKSimilarities(queryEmbedding, docVectors, docIds, topK);
+        List<SimilarityResult> topResults = getTopKSimilarities(VectorMath.normalize(queryEmbedding), docVectors, docInverseNorms, docIds, topK);
 
         // Step 4: Prepare results
         LinkedHashMap<Document, Float> resultMap = new LinkedHashMap<>();
@@ -77,6 +130,31 @@ public class InMemoryVectorStore implements EmbeddingVectorStore {
         return new DocumentsResult(resultMap);
     }
 
+    private DocumentsResult queryVectorIndex(String indexName, float[] queryEmbedding, int topK, Map<String, Object> filters) {
+        Map<String, Document> index = getIndexOrCreate(indexName);
+        VectorIndex vectorIndex = getVectorIndexOrCreate(indexName);
+
+        Predicate<String> filter = null;
+        if (filters != null) {
+            filter = id -> {
+                Document doc = index.get(id);
+                return doc != null && doc.getMetadata() != null && matchesFilters(doc.getMetadata(), filters);
+            };
+        }
+
+        LinkedHashMap<Document, Float> resultMap = new LinkedHashMap<>();
+        for (VectorIndex.Match match : vectorIndex.search(queryEmbedding, topK, filter)) {
+            Document doc = index.get(match.id());
+            if (doc == null || match.score() <= 0) {
+                continue;
+            }
+
+            resultMap.put(withVector(doc, vectorIndex.get(match.id())), match.score());
+        }
+
+        return new DocumentsResult(resultMap);
+    }
+
     private boolean matchesFilters(Map<String, Object> metadata, Map<String, Object> filters) {
         for (Map.Entry<String, Object> filter : filters.entrySet()) {
             if (!metadata.containsKey(filter.getKey()) || !metadata.get(filter.getKey()).equals(filter.getValue())) {
@@ -86,11 +164,13 @@ public class InMemoryVectorStore implements EmbeddingVectorStore {
         return true;
     }
 
-    private List<SimilarityResult> getTopKSimilarities(float[] queryEmbedding, List<float[]> docEmbeddings, List<String> docIds, int k) {
+    // The query is expected to be normalized, document embeddings are scaled by their inverse norms
+    private List<SimilarityResult> getTopKSimilarities(float[] queryEmbedding, List<float[]> docEmbeddings, float[] docInverseNorms,
+                                                       List<String> docIds, int k) {
         List<SimilarityResult> results = new ArrayList<>();
         for (int i = 0; i < docEmbeddings.size(); i++) {
             float[] docEmbedding = docEmbeddings.get(i);
-            float similarity = cosineSimilarity(queryEmbedding, docEmbedding);
+            float similarity = VectorMath.dot(queryEmbedding, docEmbedding) * docInverseNorms[i];
             results.add(new SimilarityResult(similarity, docIds.get(i)));
         }
 
@@ -101,25 +181,13 @@ public class InMemoryVectorStore implements EmbeddingVectorStore {
         return results.stream().filter(e -> e.getSimilarity() > 0).limit(k).collect(Collectors.toList());
     }
 
-    private float cosineSimilarity(float[] v1, float[] v2) {
-        float dotProduct = 0f;
-        float normA = 0f;
-        float normB = 0f;
-        for (int i = 0; i < v1.length; i++) {
-            dotProduct += v1[i] * v2[i];
-            normA += v1[i] * v1[i];
-            normB += v2[i] * v2[i];
-        }
-        return dotProduct / (float) (Math.sqrt(normA) * Math.sqrt(normB) + 1e-10f);
-    }
-
     public void updateDocument(String id, String indexName, Document document) {
         Map<String, Document> index = getIndexOrCreate(indexName);
 
         if (!index.containsKey(id)) {
             throw new NoSuchElementException("No document found with ID: " + id);
         }
-        index.put(id, document);
+        storeDocument(indexName, id, document);
     }
 
     public void deleteDocument(String id, String indexName) {
@@ -130,10 +198,64 @@ public class InMemoryVectorStore implements EmbeddingVectorStore {
         }
 
         index.remove(id);
+        getInverseNormIndexOrCreate(indexName).remove(id);
+
+        if (vectorStorage != VectorStorage.HEAP) {
+            getVectorIndexOrCreate(indexName).remove(id);
+        }
     }
 
     public Document readDocument(String id, String indexName) {
-        return getIndexOrCreate(indexName).get(id);
+        Document doc = getIndexOrCreate(indexName).get(id);
+
+        if (doc == null || vectorStorage == VectorStorage.HEAP) {
+            return doc;
+        }
+
+        return withVector(doc, getVectorIndexOrCreate(indexName).get(id));
+    }
+
+    /**
+     * Passes every document of the index to the consumer with its vector attached, regardless of the vector
+     * storage in use. Off-heap vectors are copied onto the heap one document at a time.
+     */
+    protected void exportDocuments(String indexName, Consumer<Document> consumer) {
+        Map<String, Document> index = documentMap.get(indexName);
+        if (index == null) {
+            return;
+        }
+
+        if (vectorStorage == VectorStorage.HEAP) {
+            index.values().forEach(consumer);
+            return;
+        }
+
+        VectorIndex vectorIndex = getVectorIndexOrCreate(indexName);
+        index.forEach((id, doc) -> consumer.accept(withVector(doc, vectorIndex.get(id))));
+    }
+
+    private void storeDocument(String indexName, String id, Document doc) {
+        Map<String, Document> index = getIndexOrCreate(indexName);
+
+        if (vectorStorage == VectorStorage.HEAP) {
+            index.put(id, doc);
+            putInverseNorm(indexName, id, doc.getVector());
+            return;
+        }
+
+        VectorIndex vectorIndex = getVectorIndexOrCreate(indexName);
+        if (doc.getVector() != null) {
+            vectorIndex.put(id, doc.getVector());
+        } else {
+            vectorIndex.remove(id);
+        }
+
+        // The vector lives in the vector index, keep only content and metadata here
+        index.put(id, withVector(doc, null));
+    }
+
+    private static Document withVector(Document doc, float[] vector) {
+        return new Document(doc.getId(), vector, doc.getPageContent(), doc.getMetadata());
     }
 
     @NotNull
@@ -141,6 +263,33 @@ public class InMemoryVectorStore implements EmbeddingVectorStore {
         return documentMap.computeIfAbsent(indexName, e -> new ConcurrentHashMap<>());
     }
 
+    @NotNull
+    private Map<String, Float> getInverseNormIndexOrCreate(String indexName) {
+        return inverseNorms.computeIfAbsent(indexName, e -> new ConcurrentHashMap<>());
+    }
+
+    @NotNull
+    private VectorIndex getVectorIndexOrCreate(String indexName) {
+        return vectorIndexes.computeIfAbsent(indexName, e -> createVectorIndex());
+    }
+
+    protected VectorIndex createVectorIndex() {
+        return switch (vectorStorage) {
+            case OFF_HEAP -> new OffHeapVectorIndex();
+            case INT8 -> new QuantizedVectorIndex(rescoreFactor);
+            case HEAP -> throw new IllegalStateException("Heap storage keeps vectors inside documents");
+        };
+    }
+
+    private void putInverseNorm(String indexName, String id, float[] vector) {
+        if (vector == null) {
+            getInverseNormIndexOrCreate(indexName).remove(id);
+            return;
+        }
+
+        getInverseNormIndexOrCreate(indexName).put(id, VectorMath.inverseNorm(vector));
+    }
+
     private static class SimilarityResult {
         private final float similarity;
         private final String documentId;
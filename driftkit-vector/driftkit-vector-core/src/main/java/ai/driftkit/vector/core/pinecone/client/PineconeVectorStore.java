@@ -1,5 +1,6 @@
 package ai.driftkit.vector.core.pinecone.client;
 
+import ai.driftkit.common.utils.ObjectMappers;
 import ai.driftkit.config.EtlConfig;
 import ai.driftkit.config.EtlConfig.VectorStoreConfig;
 import ai.driftkit.vector.core.domain.Document;
@@ -7,6 +8,10 @@ import ai.driftkit.vector.core.domain.DocumentsResult;
 import ai.driftkit.vector.core.domain.EmbeddingVectorStore;
 import ai.driftkit.vector.core.pinecone.client.PineconeVectorStore.PineconeQueryResponse.Match;
 import ai.driftkit.vector.core.pinecone.client.PineconeVectorStore.PineconeUpsertRequest.VectorEntry;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import feign.*;
 import feign.jackson.JacksonDecoder;
 import feign.jackson.JacksonEncoder;
@@ -14,24 +19,65 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
 import okhttp3.OkHttpClient;
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
 
 @Slf4j
 public class PineconeVectorStore implements EmbeddingVectorStore {
+    public static final String MAX_BATCH_VECTORS = "maxBatchVectors";
+    public static final String MAX_BATCH_BYTES = "maxBatchBytes";
+    public static final String MAX_CONCURRENT_REQUESTS = "maxConcurrentRequests";
+    public static final String MAX_RETRIES = "maxRetries";
+    public static final String RETRY_DELAY_MS = "retryDelayMs";
+
+    // Pinecone accepts at most 1000 ids per delete and 2 MB per upsert request
+    private static final int MAX_DELETE_IDS = 1000;
+    private static final int DEFAULT_MAX_BATCH_VECTORS = 100;
+    private static final int DEFAULT_MAX_BATCH_BYTES = 2 * 1024 * 1024;
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
+    private static final int DEFAULT_MAX_RETRIES = 3;
+    private static final int DEFAULT_RETRY_DELAY_MS = 500;
+
+    // Shared by all stores, so that connections to the same Pinecone host are reused
+    private static final OkHttpClient SHARED_HTTP_CLIENT = new OkHttpClient.Builder()
+            .connectionPool(new ConnectionPool(32, 5, TimeUnit.MINUTES))
+            .connectTimeout(10, TimeUnit.SECONDS)
+            .readTimeout(60, TimeUnit.SECONDS)
+            .writeTimeout(60, TimeUnit.SECONDS)
+            .retryOnConnectionFailure(true)
+            .build();
+
     private VectorStoreConfig config;
     private PineconeApi api;
+    private int maxBatchVectors;
+    private int maxBatchBytes;
+    private int maxRetries;
+    private long retryDelayMs;
+    private Semaphore inFlightRequests;
 
     @Override
     public void configure(VectorStoreConfig config) {
         this.config = config;
+        this.maxBatchVectors = config.getInt(MAX_BATCH_VECTORS, DEFAULT_MAX_BATCH_VECTORS);
+        this.maxBatchBytes = config.getInt(MAX_BATCH_BYTES, DEFAULT_MAX_BATCH_BYTES);
+        this.maxRetries = config.getInt(MAX_RETRIES, DEFAULT_MAX_RETRIES);
+        this.retryDelayMs = config.getInt(RETRY_DELAY_MS, DEFAULT_RETRY_DELAY_MS);
+        this.inFlightRequests = new Semaphore(config.getInt(MAX_CONCURRENT_REQUESTS, DEFAULT_MAX_CONCURRENT_REQUESTS));
+        ObjectMapper objectMapper = ObjectMappers.create()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
         this.api = Feign.builder()
-                .client(new feign.okhttp.OkHttpClient(new OkHttpClient.Builder().build()))
-                .encoder(new JacksonEncoder())
-                .decoder(new JacksonDecoder())
+                .client(new feign.okhttp.OkHttpClient(SHARED_HTTP_CLIENT))
+                .encoder(new JacksonEncoder(objectMapper))
+                .decoder(new JacksonDecoder(objectMapper))
+                .retryer(Retryer.NEVER_RETRY)
                 .target(PineconeApi.class, config.get(EtlConfig.ENDPOINT));
         log.info("Configured PineconeVectorStore");
     }
@@ -56,8 +102,11 @@ public class PineconeVectorStore implements EmbeddingVectorStore {
             entries.add(new VectorEntry(id, doc.getVector(), metadata));
             ids.add(id);
         }
-        PineconeUpsertRequest req = new PineconeUpsertRequest(entries, namespace);
-        api.upsert(config.get(EtlConfig.API_KEY), req);
+
+        List<List<VectorEntry>> batches = splitUpsertBatches(entries);
+        log.debug("Upserting {} vectors into namespace {} in {} requests", entries.size(), namespace, batches.size());
+
+        runConcurrently(batches, batch -> api.upsert(config.get(EtlConfig.API_KEY), new PineconeUpsertRequest(batch, namespace)));
         return ids;
     }
 
@@ -77,30 +126,29 @@ public class PineconeVectorStore implements EmbeddingVectorStore {
 
     @Override
     public void updateDocument(String id, String index, Document document) throws Exception {
-        try {
-            String namespace = index;
-            VectorEntry entry = new VectorEntry(id, document.getVector(), fromDocument(document));
-            PineconeUpsertRequest req = new PineconeUpsertRequest(Collections.singletonList(entry), namespace);
-            api.upsert(config.get(EtlConfig.API_KEY), req);
-        } catch (Exception e) {
-            if (e instanceof FeignException ex) {
-                Optional<ByteBuffer> body = ex.responseBody();
-
-                if (body.isPresent()) {
-                    String bs = new String(body.get().array());
-
-                    throw new RuntimeException(bs, e);
-                }
-            }
-            throw new RuntimeException(e);
-        }
+        String namespace = index;
+        VectorEntry entry = new VectorEntry(id, document.getVector(), fromDocument(document));
+        PineconeUpsertRequest req = new PineconeUpsertRequest(Collections.singletonList(entry), namespace);
+        withRetry(() -> api.upsert(config.get(EtlConfig.API_KEY), req));
     }
 
     @Override
     public void deleteDocument(String id, String index) throws Exception {
+        deleteDocuments(Collections.singletonList(id), index);
+    }
+
+    @Override
+    public void deleteDocuments(List<String> ids, String index) throws Exception {
         String namespace = index;
-        PineconeDeleteRequest deleteRequest = new PineconeDeleteRequest(Collections.singletonList(id), namespace, false, null);
-        api.delete(config.get(EtlConfig.API_KEY), deleteRequest);
+        List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += MAX_DELETE_IDS) {
+            batches.add(ids.subList(i, Math.min(ids.size(), i + MAX_DELETE_IDS)));
+        }
+
+        runConcurrently(batches, batch -> api.delete(
+                config.get(EtlConfig.API_KEY),
+                new PineconeDeleteRequest(new ArrayList<>(batch), namespace, false, null)
+        ));
     }
 
     @Override
@@ -120,6 +168,194 @@ public class PineconeVectorStore implements EmbeddingVectorStore {
         return toDocument(m.getId(), m.getMetadata());
     }
 
+    /**
+     * Splits entries into upsert requests bounded both by vector count and by estimated JSON payload size.
+     */
+    List<List<VectorEntry>> splitUpsertBatches(List<VectorEntry> entries) {
+        List<List<VectorEntry>> batches = new ArrayList<>();
+        List<VectorEntry> current = new ArrayList<>();
+        long currentBytes = 0;
+
+        for (VectorEntry entry : entries) {
+            long entryBytes = estimateBytes(entry);
+            if (!current.isEmpty() && (current.size() >= maxBatchVectors || currentBytes + entryBytes > maxBatchBytes)) {
+                batches.add(current);
+                current = new ArrayList<>();
+                currentBytes = 0;
+            }
+            current.add(entry);
+            currentBytes += entryBytes;
+        }
+
+        if (!current.isEmpty()) {
+            batches.add(current);
+        }
+        return batches;
+    }
+
+    // Upper bound of the serialized size: a float and its comma take at most 16 characters, as in "-1.17549435E-38,"
+    static long estimateBytes(VectorEntry entry) {
+        long bytes = 64 + jsonBytes(entry.getId());
+        if (entry.getValues() != null) {
+            bytes += entry.getValues().length * 16L;
+        }
+        if (entry.getMetadata() != null) {
+            for (Map.Entry<String, Object> e : entry.getMetadata().entrySet()) {
+                bytes += 8 + jsonBytes(e.getKey()) + metadataValueBytes(e.getKey(), e.getValue());
+            }
+        }
+        return bytes;
+    }
+
+    // Strings are counted directly; numbers, lists and maps are written with the shared mapper
+    private static long metadataValueBytes(String key, Object value) {
+        if (value instanceof String text) {
+            return 2 + jsonBytes(text);
+        }
+        try {
+            return ObjectMappers.writer().writeValueAsBytes(value).length;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Metadata value of " + key + " cannot be serialized", e);
+        }
+    }
+
+    // UTF-8 length of a JSON string body, counting control characters and surrogates as six-byte escapes
+    private static long jsonBytes(String value) {
+        if (value == null) {
+            return 0;
+        }
+        long bytes = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || Character.isSurrogate(c)) {
+                // Jackson may also write each half of a surrogate pair as an escape
+                bytes += 6;
+            } else if (c == '"' || c == '\\') {
+                bytes += 2;
+            } else if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Sends every batch with retries, keeping at most maxConcurrentRequests calls of this store in flight.
+     * Waits for all batches and rethrows the first failure.
+     */
+    private <T> void runConcurrently(List<T> batches, Consumer<T> call) throws Exception {
+        if (batches.size() == 1) {
+            sendBatch(batches.getFirst(), call);
+            return;
+        }
+
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (T batch : batches) {
+                futures.add(executor.submit(() -> {
+                    sendBatch(batch, call);
+                    return null;
+                }));
+            }
+        }
+
+        Exception failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                Exception cause = e.getCause() instanceof Exception ex ? ex : new RuntimeException(e.getCause());
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private <T> void sendBatch(T batch, Consumer<T> call) throws Exception {
+        inFlightRequests.acquire();
+        try {
+            withRetry(() -> call.accept(batch));
+        } finally {
+            inFlightRequests.release();
+        }
+    }
+
+    /**
+     * Retries throttled (429), server-side (5xx) and connection failures with exponential backoff,
+     * honouring the Retry-After header when Pinecone sends one.
+     */
+    private void withRetry(Runnable call) {
+        long delay = retryDelayMs;
+        for (int attempt = 0; ; attempt++) {
+            try {
+                call.run();
+                return;
+            } catch (FeignException e) {
+                if (attempt >= maxRetries || !isRetryable(e)) {
+                    throw toRuntimeException(e);
+                }
+
+                long wait = retryAfterMillis(e).orElse(delay);
+                log.warn("Pinecone request failed with status {}, retrying in {} ms (attempt {}/{})",
+                        e.status(), wait, attempt + 1, maxRetries);
+                sleep(wait);
+                delay *= 2;
+            }
+        }
+    }
+
+    private static boolean isRetryable(FeignException e) {
+        return e instanceof RetryableException || e.status() == 429 || e.status() >= 500;
+    }
+
+    private static Optional<Long> retryAfterMillis(FeignException e) {
+        Map<String, Collection<String>> headers = e.responseHeaders();
+        if (headers == null) {
+            return Optional.empty();
+        }
+
+        return headers.entrySet().stream()
+                .filter(h -> "retry-after".equalsIgnoreCase(h.getKey()))
+                .flatMap(h -> h.getValue().stream())
+                .findFirst()
+                .flatMap(value -> {
+                    try {
+                        return Optional.of(Long.parseLong(value.trim()) * 1000);
+                    } catch (NumberFormatException ex) {
+                        return Optional.empty();
+                    }
+                });
+    }
+
+    private static RuntimeException toRuntimeException(FeignException e) {
+        Optional<ByteBuffer> body = e.responseBody();
+
+        if (body.isPresent() && body.get().hasArray()) {
+            return new RuntimeException(new String(body.get().array()), e);
+        }
+        return e;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to retry Pinecone request", ex);
+        }
+    }
+
     private Document toDocument(String id, Map<String, Object> metadata) {
         String pageContent = (String) metadata.getOrDefault("page_content", "");
         Map<String, Object> metaCopy = new HashMap<>(metadata);
@@ -5,14 +5,10 @@ import ai.driftkit.vector.core.domain.BaseVectorStore;
 import ai.driftkit.vector.core.domain.EmbeddingVectorStore;
 import ai.driftkit.vector.core.domain.TextVectorStore;
 
-/**
- * This factory creates instances of vector stores from config.
- */
-
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * This factory creates instances of vector stores from config.
@@ -20,41 +16,51 @@ import java.util.concurrent.ConcurrentHashMap;
 public class VectorStoreFactory {
     private static final Map<String, BaseVectorStore> stores = new ConcurrentHashMap<>();
 
+    // Provider type that answered a store name; later lookups instantiate only that provider
+    private static final Map<String, Class<?>> providerTypes = new ConcurrentHashMap<>();
+
     public static BaseVectorStore fromConfig(VectorStoreConfig config) throws Exception {
         if (config == null || config.getName() == null) {
             throw new IllegalArgumentException("Configuration and storeName must not be null");
         }
 
-        return stores.computeIfAbsent(config.getName(), name -> {
-            String storeName = config.getName();
-            
-            // Try to load EmbeddingVectorStore implementations
-            ServiceLoader<EmbeddingVectorStore> embeddingLoader = ServiceLoader.load(EmbeddingVectorStore.class);
-            for (EmbeddingVectorStore store : embeddingLoader) {
-                if (store.supportsStoreName(storeName)) {
-                    try {
-                        store.configure(config);
-                        return store;
-                    } catch (Exception e) {
-                        throw new RuntimeException(e);
-                    }
-                }
+        return stores.computeIfAbsent(config.getName(), storeName -> {
+            BaseVectorStore store = createStore(storeName);
+            try {
+                store.configure(config);
+                return store;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
             }
-            
-            // Try to load TextVectorStore implementations
-            ServiceLoader<TextVectorStore> textLoader = ServiceLoader.load(TextVectorStore.class);
-            for (TextVectorStore store : textLoader) {
-                if (store.supportsStoreName(storeName)) {
-                    try {
-                        store.configure(config);
-                        return store;
-                    } catch (Exception e) {
-                        throw new RuntimeException(e);
-                    }
-                }
+        });
+    }
+
+    private static BaseVectorStore createStore(String storeName) {
+        Class<?> knownType = providerTypes.get(storeName);
+        if (knownType != null) {
+            BaseVectorStore store = providers()
+                    .filter(provider -> provider.type() == knownType)
+                    .findFirst()
+                    .map(ServiceLoader.Provider::get)
+                    .orElse(null);
+            if (store != null) {
+                return store;
             }
+        }
 
-            throw new IllegalArgumentException("Unknown or unavailable vector store: " + storeName);
-        });
+        BaseVectorStore store = providers()
+                .map(ServiceLoader.Provider::get)
+                .filter(candidate -> candidate.supportsStoreName(storeName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown or unavailable vector store: " + storeName));
+        providerTypes.put(storeName, store.getClass());
+        return store;
+    }
+
+    // Embedding stores are tried before text stores; providers are only instantiated when reached
+    private static Stream<ServiceLoader.Provider<? extends BaseVectorStore>> providers() {
+        return Stream.concat(
+                ServiceLoader.load(EmbeddingVectorStore.class).stream(),
+                ServiceLoader.load(TextVectorStore.class).stream());
     }
-}
\ No newline at end of file
+}
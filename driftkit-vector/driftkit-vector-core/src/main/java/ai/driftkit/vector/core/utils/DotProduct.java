@@ -0,0 +1,20 @@
+package ai.driftkit.vector.core.utils;
+
+/**
+ * Dot product kernel that {@link VectorMath} delegates to in place of its scalar loop.
+ * <p>
+ * Implementations are found with {@link java.util.ServiceLoader}; {@code driftkit-vector-simd}
+ * provides one backed by the incubator Vector API, so this module compiles and runs without it.
+ */
+public interface DotProduct {
+
+    /**
+     * Dot product of the first {@code length} elements of both vectors.
+     */
+    float dot(float[] a, float[] b, int length);
+
+    /**
+     * Number of floats multiplied per instruction.
+     */
+    int lanes();
+}
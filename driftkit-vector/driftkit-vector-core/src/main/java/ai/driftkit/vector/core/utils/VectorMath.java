@@ -0,0 +1,112 @@
+package ai.driftkit.vector.core.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+/**
+ * Vector arithmetic shared by the in-memory vector stores.
+ * <p>
+ * Dot products use the {@code jdk.incubator.vector} API when {@code driftkit-vector-simd} is on the
+ * classpath and the module is enabled ({@code --add-modules jdk.incubator.vector}), and fall back to a
+ * scalar loop otherwise. SIMD can be switched off explicitly with {@code -Ddriftkit.vector.simd=false}.
+ */
+@Slf4j
+public final class VectorMath {
+
+    public static final String SIMD_PROPERTY = "driftkit.vector.simd";
+
+    private static final String INCUBATOR_MODULE = "jdk.incubator.vector";
+    private static final DotProduct SIMD = loadSimd();
+
+    private VectorMath() {
+    }
+
+    public static boolean isSimdEnabled() {
+        return SIMD != null;
+    }
+
+    /**
+     * Dot product over the common prefix of both vectors.
+     */
+    public static float dot(float[] a, float[] b) {
+        int length = Math.min(a.length, b.length);
+
+        if (SIMD != null) {
+            return SIMD.dot(a, b, length);
+        }
+
+        return dotScalar(a, b, length);
+    }
+
+    public static float norm(float[] v) {
+        return (float) Math.sqrt(dot(v, v));
+    }
+
+    /**
+     * Returns {@code 1 / norm(v)}, or 0 for a zero vector, so that {@code dot(q, v) * inverseNorm(v)}
+     * is the cosine similarity for a normalized {@code q} without keeping a normalized copy of {@code v}.
+     */
+    public static float inverseNorm(float[] v) {
+        float norm = norm(v);
+        return norm == 0f ? 0f : 1f / norm;
+    }
+
+    /**
+     * Returns a unit-length copy of the vector, so that cosine similarity against
+     * another normalized vector becomes a plain dot product. Zero vectors stay zero.
+     */
+    public static float[] normalize(float[] v) {
+        float[] result = new float[v.length];
+        float inverse = inverseNorm(v);
+
+        if (inverse == 0f) {
+            return result;
+        }
+
+        for (int i = 0; i < v.length; i++) {
+            result[i] = v[i] * inverse;
+        }
+        return result;
+    }
+
+    public static float cosineSimilarity(float[] a, float[] b) {
+        return dot(a, b) / (norm(a) * norm(b) + 1e-10f);
+    }
+
+    static float dotScalar(float[] a, float[] b, int length) {
+        float sum = 0f;
+        for (int i = 0; i < length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private static DotProduct loadSimd() {
+        if (!Boolean.parseBoolean(System.getProperty(SIMD_PROPERTY, "true"))) {
+            return null;
+        }
+
+        if (ModuleLayer.boot().findModule(INCUBATOR_MODULE).isEmpty()) {
+            log.debug("Module {} is not enabled, using scalar dot product", INCUBATOR_MODULE);
+            return null;
+        }
+
+        try {
+            Optional<DotProduct> kernel = ServiceLoader.load(DotProduct.class, VectorMath.class.getClassLoader()).findFirst();
+            if (kernel.isEmpty()) {
+                log.debug("No SIMD dot product on the classpath, add driftkit-vector-simd to use {}", INCUBATOR_MODULE);
+                return null;
+            }
+
+            DotProduct simd = kernel.get();
+            simd.dot(new float[]{1f}, new float[]{1f}, 1);
+            log.info("Using SIMD dot product with {} float lanes", simd.lanes());
+            return simd;
+        } catch (Throwable e) {
+            log.warn("Failed to initialize SIMD dot product, using scalar fallback", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package ai.driftkit.vector.core.filebased;
+
+import ai.driftkit.config.EtlConfig.VectorStoreConfig;
+import ai.driftkit.vector.core.domain.Document;
+import ai.driftkit.vector.core.inmemory.InMemoryVectorStore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.*;
+
+public class FileBasedVectorStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void offHeapDocumentsSurviveReload() throws Exception {
+        File file = new File(folder.getRoot(), "store.bin");
+        FileBasedVectorStore store = store(file, "off_heap");
+        List<Document> documents = documents(600);
+        store.addDocuments("first", documents.subList(0, 300));
+        store.addDocuments("second", documents.subList(300, 600));
+
+        FileBasedVectorStore reloaded = store(file, "int8");
+
+        for (Document document : documents) {
+            String index = Integer.parseInt(document.getId().substring(4)) < 300 ? "first" : "second";
+            Document read = reloaded.readDocument(document.getId(), index);
+            assertEquals(document.getPageContent(), read.getPageContent());
+            assertArrayEquals(document.getVector(), read.getVector(), 1e-5f);
+        }
+        assertEquals("doc-42", reloaded.findRelevant("first", documents.get(42).getVector(), 1)
+                .documents().get(0).getId());
+    }
+
+    @Test
+    public void readsSingleMapFiles() throws Exception {
+        File file = new File(folder.getRoot(), "legacy.bin");
+        Map<String, Document> docs = new ConcurrentHashMap<>();
+        documents(10).forEach(document -> docs.put(document.getId(), document));
+        Map<String, Map<String, Document>> legacy = new ConcurrentHashMap<>(Map.of("test", docs));
+        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(file))) {
+            oos.writeObject(legacy);
+        }
+
+        FileBasedVectorStore store = store(file, "heap");
+
+        assertArrayEquals(docs.get("doc-7").getVector(), store.readDocument("doc-7", "test").getVector(), 0f);
+    }
+
+    private static FileBasedVectorStore store(File file, String storage) throws Exception {
+        FileBasedVectorStore store = new FileBasedVectorStore();
+        store.configure(VectorStoreConfig.builder()
+                .name("filebased")
+                .config(Map.of("storageFile", file.getPath(), InMemoryVectorStore.VECTOR_STORAGE, storage))
+                .build());
+        return store;
+    }
+
+    private static List<Document> documents(int count) {
+        Random random = new Random(3);
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            float[] vector = new float[32];
+            for (int j = 0; j < vector.length; j++) {
+                vector[j] = (float) random.nextGaussian();
+            }
+            documents.add(new Document("doc-" + i, vector, "content " + i));
+        }
+        return documents;
+    }
+}
@@ -0,0 +1,107 @@
+package ai.driftkit.vector.core.index;
+
+import ai.driftkit.config.EtlConfig.VectorStoreConfig;
+import ai.driftkit.vector.core.domain.Document;
+import ai.driftkit.vector.core.domain.DocumentsResult;
+import ai.driftkit.vector.core.inmemory.InMemoryVectorStore;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class OffHeapVectorIndexTest {
+
+    @Test
+    public void matchesHeapSearchAcrossPages() throws Exception {
+        Random random = new Random(7);
+        InMemoryVectorStore heap = new InMemoryVectorStore();
+        InMemoryVectorStore offHeap = new InMemoryVectorStore();
+        offHeap.configure(VectorStoreConfig.builder()
+                .name("inmemory")
+                .config(Map.of(InMemoryVectorStore.VECTOR_STORAGE, "off_heap"))
+                .build());
+
+        // More documents than a single page holds
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            float[] vector = new float[64];
+            for (int j = 0; j < vector.length; j++) {
+                vector[j] = (float) random.nextGaussian();
+            }
+            documents.add(new Document("doc-" + i, vector, "content " + i));
+        }
+        heap.addDocuments("test", documents);
+        offHeap.addDocuments("test", documents);
+
+        for (int q = 0; q < 20; q++) {
+            float[] query = documents.get(random.nextInt(documents.size())).getVector();
+
+            DocumentsResult expected = heap.findRelevant("test", query, 10);
+            DocumentsResult actual = offHeap.findRelevant("test", query, 10);
+
+            assertEquals(ids(expected), ids(actual));
+        }
+    }
+
+    @Test
+    public void reusesSlotsOfDeletedVectors() {
+        OffHeapVectorIndex index = new OffHeapVectorIndex();
+        index.put("a", new float[]{1f, 0f});
+        index.put("b", new float[]{0f, 1f});
+        index.remove("a");
+        index.put("c", new float[]{2f, 0f});
+
+        List<VectorIndex.Match> matches = index.search(new float[]{1f, 0f}, 1, null);
+
+        assertEquals("c", matches.get(0).id());
+        assertEquals(1f, matches.get(0).score(), 1e-5);
+        assertArrayEquals(new float[]{2f, 0f}, index.get("c"), 1e-5f);
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void refillsClearedPagesWithoutAllocating() {
+        OffHeapVectorIndex index = new OffHeapVectorIndex();
+        for (int i = 0; i < 1500; i++) {
+            index.put("old-" + i, new float[]{1f, i});
+        }
+        assertEquals(2, index.pageCount());
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertNull(index.get("old-0"));
+        assertTrue(index.search(new float[]{1f, 0f}, 1, null).isEmpty());
+
+        for (int i = 0; i < 1500; i++) {
+            index.put("new-" + i, new float[]{i, 1f});
+        }
+
+        assertEquals(2, index.pageCount());
+        assertEquals(1500, index.size());
+        assertArrayEquals(new float[]{1499f, 1f}, index.get("new-1499"), 1e-3f);
+        assertEquals("new-0", index.search(new float[]{0f, 1f}, 1, null).get(0).id());
+    }
+
+    @Test
+    public void clearedIndexAcceptsNewDimension() {
+        OffHeapVectorIndex index = new OffHeapVectorIndex();
+        index.put("a", new float[]{1f, 0f});
+        index.clear();
+        index.put("b", new float[]{0f, 0f, 1f});
+
+        assertArrayEquals(new float[]{0f, 0f, 1f}, index.get("b"), 1e-5f);
+        assertEquals(1, index.pageCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsDimensionMismatch() {
+        OffHeapVectorIndex index = new OffHeapVectorIndex();
+        index.put("a", new float[]{1f, 0f});
+        index.put("b", new float[]{1f, 0f, 0f});
+    }
+
+    private static List<String> ids(DocumentsResult result) {
+        return result.documents().stream().map(Document::getId).toList();
+    }
+}
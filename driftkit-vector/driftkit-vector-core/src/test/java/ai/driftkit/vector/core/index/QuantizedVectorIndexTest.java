@@ -0,0 +1,133 @@
+package ai.driftkit.vector.core.index;
+
+import ai.driftkit.config.EtlConfig.VectorStoreConfig;
+import ai.driftkit.vector.core.domain.Document;
+import ai.driftkit.vector.core.domain.DocumentsResult;
+import ai.driftkit.vector.core.inmemory.InMemoryVectorStore;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class QuantizedVectorIndexTest {
+
+    private static final int DIMENSION = 128;
+    private static final int DOCUMENTS = 5000;
+    private static final int QUERIES = 100;
+    private static final int K = 10;
+
+    @Test
+    public void recallAt10AgainstExactSearch() {
+        Random random = new Random(42);
+        float[][] centroids = new float[32][];
+        for (int i = 0; i < centroids.length; i++) {
+            centroids[i] = randomVector(random, 1f);
+        }
+
+        InMemoryVectorStore exact = new InMemoryVectorStore();
+        QuantizedVectorIndex quantized = new QuantizedVectorIndex();
+
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < DOCUMENTS; i++) {
+            float[] vector = add(centroids[random.nextInt(centroids.length)], randomVector(random, 0.3f));
+            documents.add(new Document("doc-" + i, vector, "content " + i));
+            quantized.put("doc-" + i, vector);
+        }
+        exact.addDocuments("test", documents);
+
+        double recall = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            float[] query = add(centroids[random.nextInt(centroids.length)], randomVector(random, 0.3f));
+
+            Set<String> expected = exact.findRelevant("test", query, K).documents().stream()
+                    .map(Document::getId)
+                    .collect(Collectors.toSet());
+            Set<String> actual = quantized.search(query, K, null).stream()
+                    .map(VectorIndex.Match::id)
+                    .collect(Collectors.toSet());
+
+            actual.retainAll(expected);
+            recall += (double) actual.size() / expected.size();
+        }
+        recall /= QUERIES;
+
+        assertTrue("recall@10 too low: " + recall, recall >= 0.95);
+    }
+
+    @Test
+    public void keepsFullPrecisionVectorsForReads() {
+        QuantizedVectorIndex index = new QuantizedVectorIndex();
+        float[] vector = {0.5f, -2f, 3.25f, 0f};
+        index.put("a", vector);
+
+        assertArrayEquals(vector, index.get("a"), 1e-5f);
+        assertNull(index.get("missing"));
+    }
+
+    @Test
+    public void removedVectorsAreNotReturned() {
+        QuantizedVectorIndex index = new QuantizedVectorIndex();
+        index.put("a", new float[]{1f, 0f});
+        index.put("b", new float[]{0.9f, 0.1f});
+        index.remove("a");
+
+        List<VectorIndex.Match> matches = index.search(new float[]{1f, 0f}, 5, null);
+
+        assertEquals(1, matches.size());
+        assertEquals("b", matches.get(0).id());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void clearedIndexLearnsTheNewRange() {
+        QuantizedVectorIndex index = new QuantizedVectorIndex();
+        index.put("wide", new float[]{-100f, 100f});
+        index.put("narrow", new float[]{1f, 0f});
+        index.clear();
+
+        index.put("a", new float[]{1f, 0.1f});
+        index.put("b", new float[]{0.1f, 1f});
+        List<VectorIndex.Match> matches = index.search(new float[]{1f, 0f}, 2, null);
+
+        assertEquals(List.of("a", "b"), matches.stream().map(VectorIndex.Match::id).toList());
+        assertEquals(1, index.pageCount());
+    }
+
+    @Test
+    public void quantizedStoreFiltersByMetadata() throws Exception {
+        InMemoryVectorStore store = new InMemoryVectorStore();
+        store.configure(VectorStoreConfig.builder()
+                .name("inmemory")
+                .config(Map.of(InMemoryVectorStore.VECTOR_STORAGE, "int8"))
+                .build());
+
+        store.addDocuments("test", List.of(
+                new Document("a", new float[]{1f, 0f}, "A", Map.of("lang", "en")),
+                new Document("b", new float[]{1f, 0.1f}, "B", Map.of("lang", "de"))));
+
+        DocumentsResult result = store.query("test", new float[]{1f, 0f}, 5, Map.of("lang", "de"));
+
+        assertEquals(1, result.size());
+        assertEquals("b", result.first().getId());
+        assertNotNull(result.first().getVector());
+        assertArrayEquals(new float[]{1f, 0.1f}, store.readDocument("b", "test").getVector(), 1e-5f);
+    }
+
+    private static float[] randomVector(Random random, float scale) {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian() * scale;
+        }
+        return vector;
+    }
+
+    private static float[] add(float[] a, float[] b) {
+        float[] result = new float[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i] + b[i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,205 @@
+package ai.driftkit.vector.core.pinecone.client;
+
+import ai.driftkit.config.EtlConfig;
+import ai.driftkit.config.EtlConfig.VectorStoreConfig;
+import ai.driftkit.vector.core.domain.Document;
+import ai.driftkit.vector.core.pinecone.client.PineconeVectorStore.PineconeUpsertRequest.VectorEntry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class PineconeVectorStoreTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private HttpServer server;
+    private final Queue<RecordedRequest> requests = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger throttledResponses = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void splitsUpsertsByVectorCount() throws Exception {
+        PineconeVectorStore store = store(Map.of(PineconeVectorStore.MAX_BATCH_VECTORS, "100"));
+
+        List<String> ids = store.addDocuments("ns", documents(1050, 8, 10));
+
+        assertEquals(1050, ids.size());
+        assertEquals(11, requests.size());
+        assertEquals(1050, requests.stream().mapToInt(r -> r.body.get("vectors").size()).sum());
+        assertTrue(requests.stream().allMatch(r -> r.body.get("vectors").size() <= 100));
+        assertTrue("in-flight window exceeded: " + maxInFlight.get(), maxInFlight.get() <= 4);
+        assertTrue("batches were not sent concurrently: " + maxInFlight.get(), maxInFlight.get() > 1);
+    }
+
+    @Test
+    public void splitsUpsertsByPayloadSize() throws Exception {
+        int maxBytes = 64 * 1024;
+        PineconeVectorStore store = store(Map.of(PineconeVectorStore.MAX_BATCH_BYTES, String.valueOf(maxBytes)));
+
+        store.addDocuments("ns", documents(200, 256, 2000));
+
+        assertTrue(requests.size() > 2);
+        for (RecordedRequest request : requests) {
+            assertTrue("request of " + request.bytes + " bytes exceeds limit", request.bytes <= maxBytes);
+        }
+        assertEquals(200, requests.stream().mapToInt(r -> r.body.get("vectors").size()).sum());
+    }
+
+    @Test
+    public void splitsUpsertsByEncodedSizeOfNonAsciiMetadata() throws Exception {
+        int maxBytes = 64 * 1024;
+        PineconeVectorStore store = store(Map.of(PineconeVectorStore.MAX_BATCH_BYTES, String.valueOf(maxBytes)));
+        // Three UTF-8 bytes per CJK character and a six-byte escape per control character
+        String content = "\u6587\u5b57".repeat(500) + "\u0001".repeat(300);
+
+        store.addDocuments("ns", documents(100, 16, content));
+
+        for (RecordedRequest request : requests) {
+            assertTrue("request of " + request.bytes + " bytes exceeds limit", request.bytes <= maxBytes);
+        }
+        assertEquals(100, requests.stream().mapToInt(r -> r.body.get("vectors").size()).sum());
+    }
+
+    @Test
+    public void estimateCoversSerializedEntry() throws Exception {
+        float[] values = new float[16];
+        Arrays.fill(values, -0.12345678f);
+        Map<String, Object> metadata = Map.of(
+                "page_content", "\u6587\u5b57\"\\\ud83d\ude00\n\u0001".repeat(200),
+                "\u540d", "\u00e9".repeat(100));
+        VectorEntry entry = new VectorEntry("\u6587-1", values, metadata);
+
+        long serialized = MAPPER.writeValueAsBytes(entry).length;
+        assertTrue(PineconeVectorStore.estimateBytes(entry) + " < " + serialized,
+                PineconeVectorStore.estimateBytes(entry) >= serialized);
+    }
+
+    @Test
+    public void estimateCoversLongestFloatsAndStructuredMetadata() throws Exception {
+        float[] values = new float[1536];
+        Arrays.fill(values, -Float.MIN_NORMAL);
+        Map<String, Object> metadata = Map.of(
+                "tags", List.of("\u6587\u5b57", "a\"b", "c".repeat(50)),
+                "source", Map.of("page", 12, "path", "/docs/" + "\u00e9".repeat(40)),
+                "score", -1.17549435E-38);
+        VectorEntry entry = new VectorEntry("id-1", values, metadata);
+
+        long serialized = MAPPER.writeValueAsBytes(entry).length;
+        assertTrue(PineconeVectorStore.estimateBytes(entry) + " < " + serialized,
+                PineconeVectorStore.estimateBytes(entry) >= serialized);
+    }
+
+    @Test
+    public void retriesThrottledChunks() throws Exception {
+        throttledResponses.set(2);
+        PineconeVectorStore store = store(Map.of(PineconeVectorStore.RETRY_DELAY_MS, "10"));
+
+        store.addDocuments("ns", documents(10, 8, 10));
+
+        // Two 429 responses followed by the successful attempt
+        assertEquals(3, requests.size());
+    }
+
+    @Test
+    public void deletesInBulk() throws Exception {
+        PineconeVectorStore store = store(Map.of());
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            ids.add("id-" + i);
+        }
+
+        store.deleteDocuments(ids, "ns");
+
+        assertEquals(3, requests.size());
+        assertTrue(requests.stream().allMatch(r -> r.path.equals("/vectors/delete")));
+        assertEquals(2500, requests.stream().mapToInt(r -> r.body.get("ids").size()).sum());
+    }
+
+    private PineconeVectorStore store(Map<String, String> settings) {
+        Map<String, String> config = new HashMap<>(settings);
+        config.put(EtlConfig.ENDPOINT, "http://127.0.0.1:" + server.getAddress().getPort());
+        config.put(EtlConfig.API_KEY, "test-key");
+
+        PineconeVectorStore store = new PineconeVectorStore();
+        store.configure(VectorStoreConfig.builder().name("pinecone").config(config).build());
+        return store;
+    }
+
+    private static List<Document> documents(int count, int dimension, int contentLength) {
+        return documents(count, dimension, "x".repeat(contentLength));
+    }
+
+    private static List<Document> documents(int count, int dimension, String content) {
+        Random random = new Random(1);
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            float[] vector = new float[dimension];
+            for (int j = 0; j < dimension; j++) {
+                vector[j] = random.nextFloat();
+            }
+            documents.add(new Document("doc-" + i, vector, content));
+        }
+        return documents;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            requests.add(new RecordedRequest(exchange.getRequestURI().getPath(), body.length, MAPPER.readTree(body)));
+
+            // Keep requests in flight briefly so that concurrency is observable
+            Thread.sleep(20);
+
+            if (throttledResponses.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                respond(exchange, 429, "{\"message\":\"rate limited\"}");
+            } else {
+                respond(exchange, 200, "{}");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private record RecordedRequest(String path, int bytes, JsonNode body) {
+    }
+}
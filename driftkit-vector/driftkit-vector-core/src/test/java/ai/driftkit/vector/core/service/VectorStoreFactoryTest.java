@@ -0,0 +1,27 @@
+package ai.driftkit.vector.core.service;
+
+import ai.driftkit.config.EtlConfig.VectorStoreConfig;
+import ai.driftkit.vector.core.domain.BaseVectorStore;
+import ai.driftkit.vector.core.inmemory.InMemoryVectorStore;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class VectorStoreFactoryTest {
+
+    @Test
+    public void createsStoreFromProviderAnsweringName() throws Exception {
+        BaseVectorStore store = VectorStoreFactory.fromConfig(VectorStoreConfig.builder().name("inmemory").build());
+
+        assertEquals(InMemoryVectorStore.class, store.getClass());
+        assertSame(store, VectorStoreFactory.fromConfig(VectorStoreConfig.builder().name("inmemory").build()));
+    }
+
+    @Test
+    public void unknownStoreIsRejected() {
+        VectorStoreConfig config = VectorStoreConfig.builder().name("missing").build();
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> VectorStoreFactory.fromConfig(config));
+        assertEquals("Unknown or unavailable vector store: missing", error.getMessage());
+    }
+}
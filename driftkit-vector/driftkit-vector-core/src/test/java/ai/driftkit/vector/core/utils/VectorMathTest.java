@@ -0,0 +1,45 @@
+package ai.driftkit.vector.core.utils;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class VectorMathTest {
+
+    @Test
+    public void dotUsesCommonPrefix() {
+        assertEquals(11f, VectorMath.dot(new float[]{1f, 2f, 3f}, new float[]{1f, 5f}), 1e-6f);
+    }
+
+    @Test
+    public void zeroVectorsNormalizeToZero() {
+        float[] zero = new float[384];
+
+        assertEquals(0f, VectorMath.inverseNorm(zero), 0f);
+        assertArrayEquals(zero, VectorMath.normalize(zero), 0f);
+        assertEquals(0f, VectorMath.cosineSimilarity(zero, randomVector(new Random(17), 384)), 0f);
+    }
+
+    @Test
+    public void inverseNormScalesDotToCosine() {
+        Random random = new Random(19);
+        float[] a = randomVector(random, 1536);
+        float[] b = randomVector(random, 1536);
+
+        float viaInverseNorm = VectorMath.dot(VectorMath.normalize(a), b) * VectorMath.inverseNorm(b);
+        float viaNormalized = VectorMath.dot(VectorMath.normalize(a), VectorMath.normalize(b));
+
+        assertEquals(viaNormalized, viaInverseNorm, 1e-5f);
+        assertEquals(VectorMath.cosineSimilarity(a, b), viaInverseNorm, 1e-5f);
+    }
+
+    private static float[] randomVector(Random random, int length) {
+        float[] vector = new float[length];
+        for (int i = 0; i < length; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,64 @@
+package ai.driftkit.vector.simd;
+
+import ai.driftkit.vector.core.utils.VectorMath;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SimdDotProductTest {
+
+    private final SimdDotProduct simd = new SimdDotProduct();
+
+    @Test
+    public void loadedByVectorMath() {
+        assertTrue(VectorMath.isSimdEnabled());
+        assertEquals(11f, VectorMath.dot(new float[]{1f, 2f, 3f}, new float[]{1f, 5f}), 1e-6f);
+    }
+
+    @Test
+    public void matchesScalarIncludingTail() {
+        Random random = new Random(11);
+
+        // Every remainder of the lane loop, plus common embedding sizes
+        for (int length = 0; length <= 67; length++) {
+            assertParity(random, length);
+        }
+        assertParity(random, 384);
+        assertParity(random, 1536);
+    }
+
+    @Test
+    public void dotOfZeroVectorsIsZero() {
+        float[] zero = new float[1536];
+        float[] other = randomVector(new Random(13), 1536);
+
+        assertEquals(0f, simd.dot(zero, zero, zero.length), 0f);
+        assertEquals(0f, simd.dot(zero, other, zero.length), 0f);
+        assertEquals(0f, VectorMath.cosineSimilarity(zero, other), 0f);
+    }
+
+    private void assertParity(Random random, int length) {
+        float[] a = randomVector(random, length);
+        float[] b = randomVector(random, length);
+
+        float scalar = 0f;
+        float magnitude = 0f;
+        for (int i = 0; i < length; i++) {
+            scalar += a[i] * b[i];
+            magnitude += Math.abs(a[i] * b[i]);
+        }
+
+        // Lanes sum in a different order, so allow float rounding relative to the magnitudes summed
+        assertEquals("length " + length, scalar, simd.dot(a, b, length), 1e-5f * magnitude + 1e-7f);
+    }
+
+    private static float[] randomVector(Random random, int length) {
+        float[] vector = new float[length];
+        for (int i = 0; i < length; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,94 @@
+package ai.driftkit.vector.simd;
+
+import ai.driftkit.vector.core.utils.VectorMath;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Dot products over common embedding sizes: scalar loop, {@link SimdDotProduct} and {@link VectorMath#dot}.
+ * Not part of the test suite; run with {@code mvn test -Dtest=VectorMathBenchmark}.
+ */
+public class VectorMathBenchmark {
+
+    private static final int VECTORS = 10_000;
+
+    private final SimdDotProduct simd = new SimdDotProduct();
+
+    @Test
+    public void dotProductBySize() {
+        for (int dimension : new int[]{384, 1536}) {
+            Random random = new Random(dimension);
+            float[] query = randomVector(random, dimension);
+            float[][] vectors = new float[VECTORS][];
+            for (int i = 0; i < VECTORS; i++) {
+                vectors[i] = randomVector(random, dimension);
+            }
+
+            long scalar = nanos(() -> {
+                float sum = 0f;
+                for (float[] vector : vectors) {
+                    sum += scalarDot(query, vector);
+                }
+                return sum;
+            });
+            long vectorApi = nanos(() -> {
+                float sum = 0f;
+                for (float[] vector : vectors) {
+                    sum += simd.dot(query, vector, dimension);
+                }
+                return sum;
+            });
+            long dispatched = nanos(() -> {
+                float sum = 0f;
+                for (float[] vector : vectors) {
+                    sum += VectorMath.dot(query, vector);
+                }
+                return sum;
+            });
+
+            System.out.printf("%d dot products of %d dims (%d lanes): scalar %.1f ns, SIMD %.1f ns, "
+                            + "VectorMath.dot %.1f ns per vector%n",
+                    VECTORS, dimension, simd.lanes(), (double) scalar / VECTORS, (double) vectorApi / VECTORS,
+                    (double) dispatched / VECTORS);
+        }
+    }
+
+    private static float scalarDot(float[] a, float[] b) {
+        float sum = 0f;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    // Best of several runs after warm-up; the returned sums keep the loops from being eliminated
+    private static long nanos(FloatBody body) {
+        float sink = 0f;
+        for (int i = 0; i < 20; i++) {
+            sink += body.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            long start = System.nanoTime();
+            sink += body.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        if (Float.isNaN(sink)) {
+            System.out.println("NaN");
+        }
+        return best;
+    }
+
+    private static float[] randomVector(Random random, int length) {
+        float[] vector = new float[length];
+        for (int i = 0; i < length; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private interface FloatBody {
+        float run();
+    }
+}
@@ -23,9 +23,29 @@ public class IndexTask {
 
     private DocumentSaveResult result;
 
+    /**
+     * Id of the stored {@link ParsedContent}, set once parsing is done so that a resumed task skips parsing.
+     */
+    private String parsedContentId;
+
+    private int totalChunks;
+
+    /**
+     * Number of leading chunks already written to the vector store; indexing resumes from here.
+     */
+    private int indexedChunks;
+
+    /**
+     * Id of the application instance that claimed the task. Another instance takes the task over only once
+     * {@code updatedTime} is older than the claim timeout.
+     */
+    private String claimedBy;
+
     private Map<String, Object> metadata;
 
     private long createdTime;
+    private long startedTime;
+    private long updatedTime;
     private long completedTime;
 
     private String errorMessage;
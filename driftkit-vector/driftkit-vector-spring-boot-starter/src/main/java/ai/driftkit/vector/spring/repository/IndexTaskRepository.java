@@ -1,9 +1,15 @@
 package ai.driftkit.vector.spring.repository;
 
 import ai.driftkit.vector.spring.domain.IndexTask;
+import ai.driftkit.vector.spring.domain.IndexTask.TaskStatus;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface IndexTaskRepository extends MongoRepository<IndexTask, String> {
-}
\ No newline at end of file
+
+    List<IndexTask> findByStatusInOrderByCreatedTimeAsc(Collection<TaskStatus> statuses);
+}
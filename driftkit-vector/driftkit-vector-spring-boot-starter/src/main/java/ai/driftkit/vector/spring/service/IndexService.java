@@ -1,27 +1,63 @@
 package ai.driftkit.vector.spring.service;
 
+import ai.driftkit.common.utils.DocumentSplitter;
+import ai.driftkit.embedding.core.domain.Embedding;
+import ai.driftkit.embedding.core.domain.TextSegment;
+import ai.driftkit.embedding.core.service.EmbeddingModel;
+import ai.driftkit.vector.core.domain.BaseVectorStore;
+import ai.driftkit.vector.core.domain.Document;
 import ai.driftkit.vector.spring.domain.Index;
 import ai.driftkit.vector.spring.domain.IndexTask;
 import ai.driftkit.vector.spring.domain.IndexTask.TaskStatus;
 import ai.driftkit.vector.spring.domain.IndexTask.DocumentSaveResult;
+import ai.driftkit.vector.spring.domain.ParsedContent;
 import ai.driftkit.vector.spring.parser.UnifiedParser.ParserInput;
 import ai.driftkit.vector.spring.repository.IndexRepository;
 import ai.driftkit.vector.spring.repository.IndexTaskRepository;
+import ai.driftkit.vector.spring.repository.ParsedContentRepository;
 import ai.driftkit.common.utils.AIUtils;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import jakarta.annotation.PreDestroy;
+import java.io.InterruptedIOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Manages indexes and runs indexing tasks.
+ * <p>
+ * Submitted tasks are persisted as {@link TaskStatus#PENDING} and picked up by a fixed
+ * number of workers, so request threads never run indexing work. A task parses its input
+ * through {@link ParserService}, splits the text into chunks, embeds them in batches and
+ * writes them to the vector store in batches of {@code store-batch-size} chunks, saving its
+ * progress after every batch.
+ * <p>
+ * Before running a task a worker claims it with an atomic update of {@link IndexTask#getClaimedBy()},
+ * so that when several instances share the task collection each task runs on one of them. Unfinished
+ * tasks are looked up off the startup thread, once on start and then every claim timeout, and continue
+ * from the last saved batch. Tasks claimed by another instance are left alone until that instance has
+ * not saved them for the claim timeout.
+ * <p>
+ * On shutdown, running tasks stop after the batch they are writing and stay
+ * {@link TaskStatus#IN_PROGRESS}, so the next start resumes them. A task interrupted in the
+ * middle of a batch is left the same way rather than marked failed.
+ */
 @Slf4j
 @Service
 public class IndexService {
@@ -32,17 +68,95 @@ public class IndexService {
     @Autowired
     private IndexRepository indexRepository;
 
+    @Autowired
+    private ParsedContentRepository parsedContentRepository;
+
+    @Autowired
+    private ParserService parserService;
+
+    @Autowired(required = false)
+    private EmbeddingModel embeddingModel;
+
+    @Autowired(required = false)
+    private BaseVectorStore vectorStore;
+
+    @Autowired(required = false)
+    private MongoTemplate mongoTemplate;
+
+    @Value("${driftkit.vector.indexing.workers:2}")
+    private int workers;
+
+    @Value("${driftkit.vector.indexing.chunk-size:512}")
+    private int chunkSize;
+
+    @Value("${driftkit.vector.indexing.chunk-overlap:1}")
+    private int chunkOverlap;
+
+    @Value("${driftkit.vector.indexing.embedding-batch-size:32}")
+    private int embeddingBatchSize;
+
+    @Value("${driftkit.vector.indexing.store-batch-size:128}")
+    private int storeBatchSize;
+
+    @Value("${driftkit.vector.indexing.shutdown-timeout-seconds:30}")
+    private long shutdownTimeoutSeconds;
+
+    @Value("${driftkit.vector.indexing.claim-timeout-seconds:600}")
+    private long claimTimeoutSeconds;
+
+    private final String instanceId = AIUtils.generateId();
+
+    private final BlockingQueue<IndexTask> taskQueue = new LinkedBlockingQueue<>();
+    private final Set<String> queuedTaskIds = ConcurrentHashMap.newKeySet();
+
     private ExecutorService executorService;
+    private ScheduledExecutorService resumeScheduler;
+    private volatile boolean stopping;
 
     @PostConstruct
     public void init() {
-        this.executorService = new ThreadPoolExecutor(
-                0,
-                Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
-                60L, TimeUnit.SECONDS,
-                new SynchronousQueue<Runnable>(),
-                new ThreadPoolExecutor.CallerRunsPolicy()
-        );
+        int workerCount = Math.max(1, workers);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executorService = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "index-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (int i = 0; i < workerCount; i++) {
+            executorService.submit(this::runWorker);
+        }
+
+        // The lookup waits on the database, so it must not hold up context startup
+        this.resumeScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "index-resume");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, claimTimeoutSeconds);
+        resumeScheduler.scheduleWithFixedDelay(this::resumeUnfinishedTasks, 0, interval, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+        if (resumeScheduler != null) {
+            resumeScheduler.shutdownNow();
+        }
+        if (executorService == null) {
+            return;
+        }
+
+        executorService.shutdown();
+        try {
+            if (!executorService.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                log.warn("Indexing workers did not stop within {}s, interrupting them", shutdownTimeoutSeconds);
+                executorService.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
     }
 
     public void deleteIndex(String id) {
@@ -93,55 +207,256 @@ public class IndexService {
         return task.getTaskId();
     }
 
+    /**
+     * Persists the task and queues it for the workers. Returns immediately.
+     */
     public void executeTask(IndexTask task) {
-        if (indexTaskRepository != null) {
-            indexTaskRepository.save(task);
-        }
+        saveTask(task);
 
         if (indexRepository != null) {
             Optional<Index> indexOpt = indexRepository.findById(task.getIndexId());
             if (indexOpt.isEmpty()) {
-                task.setStatus(TaskStatus.FAILED);
-                task.setErrorMessage("Index not found: " + task.getIndexId());
-                if (indexTaskRepository != null) {
-                    indexTaskRepository.save(task);
-                }
+                failTask(task, "Index not found: " + task.getIndexId());
                 return;
             }
         }
 
-        executorService.submit(() -> {
-            try {
-                task.setStatus(TaskStatus.IN_PROGRESS);
-                if (indexTaskRepository != null) {
-                    indexTaskRepository.save(task);
-                }
+        enqueue(task);
+    }
+
+    void resumeUnfinishedTasks() {
+        if (indexTaskRepository == null || stopping) {
+            return;
+        }
+
+        try {
+            List<IndexTask> unfinished = indexTaskRepository.findByStatusInOrderByCreatedTimeAsc(
+                    List.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS)
+            );
 
-                // Simplified processing - in real implementation would use workflows
-                DocumentSaveResult result = DocumentSaveResult.builder()
-                        .saved(1)
-                        .failed(0)
-                        .build();
-
-                task.setResult(result);
-                task.setCompletedTime(System.currentTimeMillis());
-                task.setStatus(TaskStatus.COMPLETED);
-                
-                if (indexTaskRepository != null) {
-                    indexTaskRepository.save(task);
+            long claimExpiry = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(claimTimeoutSeconds);
+            for (IndexTask task : unfinished) {
+                if (task.getClaimedBy() != null && !instanceId.equals(task.getClaimedBy())
+                        && task.getUpdatedTime() >= claimExpiry) {
+                    continue;
                 }
+                if (enqueue(task)) {
+                    log.info("Resuming indexing task [{}] from chunk {}", task.getTaskId(), task.getIndexedChunks());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to load unfinished indexing tasks: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean enqueue(IndexTask task) {
+        if (queuedTaskIds.add(task.getTaskId())) {
+            taskQueue.add(task);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Atomically marks the task as owned by this instance, unless it is finished or another instance has
+     * saved it within the claim timeout. Returns the stored task on success and {@code null} otherwise.
+     */
+    IndexTask claimTask(IndexTask task) {
+        long now = System.currentTimeMillis();
+        if (mongoTemplate == null) {
+            task.setClaimedBy(instanceId);
+            return task;
+        }
+
+        Query query = Query.query(Criteria.where("_id").is(task.getTaskId())
+                .and("status").in(TaskStatus.PENDING, TaskStatus.IN_PROGRESS)
+                .orOperator(
+                        Criteria.where("claimedBy").is(null),
+                        Criteria.where("claimedBy").is(instanceId),
+                        Criteria.where("updatedTime").lt(now - TimeUnit.SECONDS.toMillis(claimTimeoutSeconds))
+                ));
+        Update update = new Update()
+                .set("claimedBy", instanceId)
+                .set("updatedTime", now);
 
-                log.info("Indexing task [{}] completed successfully.", task.getTaskId());
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), IndexTask.class);
+    }
+
+    private void runWorker() {
+        while (!stopping && !Thread.currentThread().isInterrupted()) {
+            IndexTask task;
+            try {
+                task = taskQueue.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (task == null) {
+                continue;
+            }
+
+            try {
+                IndexTask claimed = claimTask(task);
+                if (claimed == null) {
+                    log.info("Indexing task [{}] is claimed by another instance, skipping it", task.getTaskId());
+                } else {
+                    processTask(claimed);
+                }
             } catch (Exception e) {
-                task.setStatus(TaskStatus.FAILED);
-                task.setErrorMessage(e.getMessage());
-                task.setCompletedTime(System.currentTimeMillis());
-                
-                if (indexTaskRepository != null) {
-                    indexTaskRepository.save(task);
+                log.error("Failed to claim indexing task [{}]: {}", task.getTaskId(), e.getMessage(), e);
+            } finally {
+                queuedTaskIds.remove(task.getTaskId());
+            }
+        }
+    }
+
+    void processTask(IndexTask task) {
+        try {
+            if (embeddingModel == null) {
+                throw new IllegalStateException("Embedding model is not configured");
+            }
+            if (vectorStore == null) {
+                throw new IllegalStateException("Vector store is not configured");
+            }
+
+            task.setStatus(TaskStatus.IN_PROGRESS);
+            if (task.getStartedTime() == 0) {
+                task.setStartedTime(System.currentTimeMillis());
+            }
+            saveTask(task);
+
+            ParsedContent content = getParsedContent(task);
+            List<String> chunks = DocumentSplitter.splitDocumentIntoShingles(
+                    content.getParsedContent(), chunkSize, chunkOverlap
+            );
+            task.setTotalChunks(chunks.size());
+
+            DocumentSaveResult result = Optional.ofNullable(task.getResult())
+                    .orElseGet(() -> DocumentSaveResult.builder().build());
+            task.setResult(result);
+
+            int batchSize = Math.max(1, storeBatchSize);
+            for (int from = task.getIndexedChunks(); from < chunks.size(); from += batchSize) {
+                if (stopping) {
+                    log.info("Indexing task [{}] paused at chunk {} for shutdown", task.getTaskId(), from);
+                    // Release the claim so that any instance can resume the task without waiting for it to expire
+                    task.setClaimedBy(null);
+                    saveTask(task);
+                    return;
                 }
-                log.error("Indexing task [{}] failed: {}", task.getTaskId(), e.getMessage(), e);
+                int to = Math.min(chunks.size(), from + batchSize);
+
+                List<Document> documents = embedChunks(task, content, chunks, from, to);
+                vectorStore.addDocuments(task.getIndexId(), documents);
+
+                task.setIndexedChunks(to);
+                result.setSaved(to);
+                saveTask(task);
             }
-        });
+
+            task.setCompletedTime(System.currentTimeMillis());
+            task.setStatus(TaskStatus.COMPLETED);
+            saveTask(task);
+
+            log.info("Indexing task [{}] completed successfully, {} chunks indexed.", task.getTaskId(), chunks.size());
+        } catch (Exception e) {
+            if (isInterruption(e)) {
+                // Progress up to the last completed batch is saved; leave the task IN_PROGRESS to be resumed
+                Thread.currentThread().interrupt();
+                log.info("Indexing task [{}] interrupted at chunk {}, it will resume once its claim expires",
+                        task.getTaskId(), task.getIndexedChunks());
+                return;
+            }
+            if (task.getResult() != null) {
+                task.getResult().setFailed(task.getTotalChunks() - task.getIndexedChunks());
+                task.getResult().setErrorMessage(e.getMessage());
+            }
+            failTask(task, e.getMessage());
+            log.error("Indexing task [{}] failed at chunk {}: {}", task.getTaskId(), task.getIndexedChunks(), e.getMessage(), e);
+        }
+    }
+
+    private static boolean isInterruption(Throwable e) {
+        if (Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException
+                    || cause instanceof InterruptedIOException
+                    || cause instanceof ClosedByInterruptException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ParsedContent getParsedContent(IndexTask task) throws Exception {
+        if (task.getParsedContentId() != null && parsedContentRepository != null) {
+            Optional<ParsedContent> stored = parsedContentRepository.findById(task.getParsedContentId());
+            if (stored.isPresent()) {
+                return stored.get();
+            }
+            log.warn("Parsed content [{}] of task [{}] is missing, parsing again", task.getParsedContentId(), task.getTaskId());
+            task.setIndexedChunks(0);
+        }
+
+        ParsedContent content = parserService.parse(task.getParserInput(), true);
+        if (StringUtils.isBlank(content.getParsedContent())) {
+            throw new IllegalStateException("Parser returned no content");
+        }
+
+        task.setParsedContentId(content.getId());
+        saveTask(task);
+        return content;
+    }
+
+    private List<Document> embedChunks(IndexTask task, ParsedContent content, List<String> chunks, int from, int to) {
+        List<Document> documents = new ArrayList<>(to - from);
+        int batchSize = Math.max(1, embeddingBatchSize);
+
+        for (int start = from; start < to; start += batchSize) {
+            int end = Math.min(to, start + batchSize);
+
+            List<TextSegment> segments = chunks.subList(start, end).stream()
+                    .map(TextSegment::from)
+                    .toList();
+            List<Embedding> embeddings = embeddingModel.embedAll(segments).content();
+
+            if (embeddings == null || embeddings.size() != segments.size()) {
+                throw new IllegalStateException("Embedding model returned %d embeddings for %d chunks"
+                        .formatted(embeddings == null ? 0 : embeddings.size(), segments.size()));
+            }
+
+            for (int i = start; i < end; i++) {
+                Map<String, Object> metadata = new HashMap<>();
+                metadata.put("taskId", task.getTaskId());
+                metadata.put("parsedContentId", content.getId());
+                metadata.put("chunkIndex", i);
+
+                // Ids are derived from the chunk position so a resumed task overwrites instead of duplicating
+                documents.add(new Document(
+                        task.getTaskId() + "-" + i,
+                        embeddings.get(i - start).vector(),
+                        chunks.get(i),
+                        metadata
+                ));
+            }
+        }
+
+        return documents;
+    }
+
+    private void failTask(IndexTask task, String errorMessage) {
+        task.setStatus(TaskStatus.FAILED);
+        task.setErrorMessage(errorMessage);
+        task.setCompletedTime(System.currentTimeMillis());
+        saveTask(task);
+    }
+
+    private void saveTask(IndexTask task) {
+        task.setUpdatedTime(System.currentTimeMillis());
+        if (indexTaskRepository != null) {
+            indexTaskRepository.save(task);
+        }
     }
-}
\ No newline at end of file
+}
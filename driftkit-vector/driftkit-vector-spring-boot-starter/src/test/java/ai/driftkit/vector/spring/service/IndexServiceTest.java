@@ -0,0 +1,289 @@
+package ai.driftkit.vector.spring.service;
+
+import ai.driftkit.embedding.core.domain.Embedding;
+import ai.driftkit.embedding.core.domain.Response;
+import ai.driftkit.embedding.core.domain.TextSegment;
+import ai.driftkit.embedding.core.service.EmbeddingModel;
+import ai.driftkit.vector.core.domain.BaseVectorStore;
+import ai.driftkit.vector.core.domain.Document;
+import ai.driftkit.vector.spring.domain.IndexTask;
+import ai.driftkit.vector.spring.domain.IndexTask.TaskStatus;
+import ai.driftkit.vector.spring.domain.ParsedContent;
+import ai.driftkit.vector.spring.parser.UnifiedParser.ParserInput;
+import ai.driftkit.vector.spring.repository.IndexTaskRepository;
+import ai.driftkit.vector.spring.repository.ParsedContentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class IndexServiceTest {
+
+    private static final int CHUNKS = 10;
+
+    private IndexTaskRepository taskRepository;
+    private ParsedContentRepository parsedContentRepository;
+    private ParserService parserService;
+    private EmbeddingModel embeddingModel;
+    private BaseVectorStore vectorStore;
+    private IndexService service;
+
+    private final List<Integer> savedProgress = new ArrayList<>();
+    private final List<List<String>> storedBatches = new ArrayList<>();
+    private final List<Integer> embeddingBatchSizes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        taskRepository = mock(IndexTaskRepository.class);
+        parsedContentRepository = mock(ParsedContentRepository.class);
+        parserService = mock(ParserService.class);
+        embeddingModel = mock(EmbeddingModel.class);
+        vectorStore = mock(BaseVectorStore.class);
+
+        when(taskRepository.save(any())).thenAnswer(invocation -> {
+            IndexTask task = invocation.getArgument(0);
+            savedProgress.add(task.getIndexedChunks());
+            return task;
+        });
+        when(parserService.parse(any(), anyBoolean())).thenReturn(content());
+        when(embeddingModel.embedAll(anyList())).thenAnswer(this::embed);
+        when(vectorStore.addDocuments(anyString(), anyList())).thenAnswer(this::store);
+
+        service = new IndexService();
+        ReflectionTestUtils.setField(service, "indexTaskRepository", taskRepository);
+        ReflectionTestUtils.setField(service, "parsedContentRepository", parsedContentRepository);
+        ReflectionTestUtils.setField(service, "parserService", parserService);
+        ReflectionTestUtils.setField(service, "embeddingModel", embeddingModel);
+        ReflectionTestUtils.setField(service, "vectorStore", vectorStore);
+        ReflectionTestUtils.setField(service, "workers", 1);
+        ReflectionTestUtils.setField(service, "chunkSize", 30);
+        ReflectionTestUtils.setField(service, "chunkOverlap", 0);
+        ReflectionTestUtils.setField(service, "embeddingBatchSize", 2);
+        ReflectionTestUtils.setField(service, "storeBatchSize", 4);
+        ReflectionTestUtils.setField(service, "shutdownTimeoutSeconds", 5L);
+        ReflectionTestUtils.setField(service, "claimTimeoutSeconds", 600L);
+    }
+
+    @Test
+    void testChunksAreEmbeddedAndStoredInBatches() {
+        IndexTask task = task();
+
+        service.processTask(task);
+
+        assertEquals(TaskStatus.COMPLETED, task.getStatus());
+        assertEquals(List.of(2, 2, 2, 2, 2), embeddingBatchSizes);
+        assertEquals(List.of(4, 4, 2), storedBatches.stream().map(List::size).toList());
+        assertEquals(ids(task, 0, CHUNKS), storedBatches.stream().flatMap(List::stream).toList());
+        assertEquals(CHUNKS, task.getTotalChunks());
+        assertEquals(CHUNKS, task.getResult().getSaved());
+    }
+
+    @Test
+    void testProgressIsPersistedAfterEveryBatch() {
+        IndexTask task = task();
+
+        service.processTask(task);
+
+        // Saved when started, after parsing, after each batch and on completion
+        assertEquals(List.of(0, 0, 4, 8, 10, 10), savedProgress);
+        verify(taskRepository, atLeastOnce()).save(task);
+    }
+
+    @Test
+    void testFailedBatchKeepsProgressOfEarlierBatches() throws Exception {
+        doAnswer(this::store)
+                .doThrow(new IllegalStateException("store unavailable"))
+                .when(vectorStore).addDocuments(anyString(), anyList());
+        IndexTask task = task();
+
+        service.processTask(task);
+
+        assertEquals(TaskStatus.FAILED, task.getStatus());
+        assertEquals(4, task.getIndexedChunks());
+        assertEquals(CHUNKS - 4, task.getResult().getFailed());
+        assertEquals("store unavailable", task.getErrorMessage());
+    }
+
+    @Test
+    void testResumeStartsFromIndexedChunks() throws Exception {
+        ParsedContent content = content();
+        when(parsedContentRepository.findById(content.getId())).thenReturn(Optional.of(content));
+        IndexTask task = task();
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setParsedContentId(content.getId());
+        task.setIndexedChunks(8);
+
+        service.processTask(task);
+
+        verify(parserService, never()).parse(any(), anyBoolean());
+        assertEquals(List.of(ids(task, 8, CHUNKS)), storedBatches);
+        assertEquals(TaskStatus.COMPLETED, task.getStatus());
+        assertEquals(CHUNKS, task.getIndexedChunks());
+    }
+
+    @Test
+    void testInterruptedTaskStaysInProgress() throws Exception {
+        doAnswer(this::store)
+                .doThrow(new RuntimeException("write aborted", new InterruptedException()))
+                .when(vectorStore).addDocuments(anyString(), anyList());
+        IndexTask task = task();
+
+        service.processTask(task);
+
+        assertTrue(Thread.interrupted());
+        assertEquals(TaskStatus.IN_PROGRESS, task.getStatus());
+        assertEquals(4, task.getIndexedChunks());
+        assertNull(task.getErrorMessage());
+    }
+
+    @Test
+    void testShutdownLetsRunningBatchFinishAndLeavesTaskResumable() throws Exception {
+        CountDownLatch storing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            storing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return store(invocation);
+        }).when(vectorStore).addDocuments(anyString(), anyList());
+        IndexTask task = task();
+
+        service.init();
+        service.executeTask(task);
+        assertTrue(storing.await(5, TimeUnit.SECONDS));
+
+        Thread shutdown = new Thread(service::shutdown);
+        shutdown.start();
+        while (!(boolean) ReflectionTestUtils.getField(service, "stopping")) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        shutdown.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertFalse(shutdown.isAlive());
+        assertEquals(1, storedBatches.size());
+        assertEquals(TaskStatus.IN_PROGRESS, task.getStatus());
+        assertEquals(4, task.getIndexedChunks());
+        assertEquals(4, savedProgress.getLast());
+    }
+
+    @Test
+    void testStartupDoesNotWaitForUnfinishedTaskLookup() throws Exception {
+        CountDownLatch lookup = new CountDownLatch(1);
+        IndexTask task = task();
+        when(taskRepository.findByStatusInOrderByCreatedTimeAsc(anyCollection())).thenAnswer(invocation -> {
+            lookup.await(5, TimeUnit.SECONDS);
+            return List.of(task);
+        });
+
+        service.init();
+        lookup.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (task.getStatus() != TaskStatus.COMPLETED && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        service.shutdown();
+
+        assertEquals(TaskStatus.COMPLETED, task.getStatus());
+        assertEquals(ids(task, 0, CHUNKS), storedBatches.stream().flatMap(List::stream).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testResumeSkipsTasksClaimedByAnotherInstance() {
+        IndexTask unclaimed = task("unclaimed", null, System.currentTimeMillis());
+        IndexTask claimed = task("claimed", "other", System.currentTimeMillis());
+        IndexTask expired = task("expired", "other", System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1));
+        when(taskRepository.findByStatusInOrderByCreatedTimeAsc(anyCollection()))
+                .thenReturn(List.of(unclaimed, claimed, expired));
+
+        service.resumeUnfinishedTasks();
+
+        BlockingQueue<IndexTask> queue = (BlockingQueue<IndexTask>) ReflectionTestUtils.getField(service, "taskQueue");
+        assertEquals(List.of("unclaimed", "expired"), queue.stream().map(IndexTask::getTaskId).toList());
+    }
+
+    @Test
+    void testWorkerSkipsTaskItCannotClaim() throws Exception {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        CountDownLatch claimed = new CountDownLatch(1);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(IndexTask.class))).thenAnswer(invocation -> {
+            claimed.countDown();
+            return null;
+        });
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+
+        service.init();
+        service.executeTask(task());
+        assertTrue(claimed.await(5, TimeUnit.SECONDS));
+        service.shutdown();
+
+        verify(parserService, never()).parse(any(), anyBoolean());
+        assertTrue(storedBatches.isEmpty());
+    }
+
+    private Response<List<Embedding>> embed(InvocationOnMock invocation) {
+        List<TextSegment> segments = invocation.getArgument(0);
+        embeddingBatchSizes.add(segments.size());
+        return Response.from(segments.stream()
+                .map(segment -> Embedding.from(new double[]{segment.text().length(), 1}))
+                .collect(Collectors.toList()));
+    }
+
+    private List<String> store(InvocationOnMock invocation) {
+        List<Document> documents = invocation.getArgument(1);
+        List<String> ids = documents.stream().map(Document::getId).toList();
+        storedBatches.add(ids);
+        return ids;
+    }
+
+    private static IndexTask task() {
+        return IndexTask.builder()
+                .taskId("task")
+                .indexId("index")
+                .parserInput(mock(ParserInput.class))
+                .status(TaskStatus.PENDING)
+                .build();
+    }
+
+    private static IndexTask task(String taskId, String claimedBy, long updatedTime) {
+        IndexTask task = task();
+        task.setTaskId(taskId);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setClaimedBy(claimedBy);
+        task.setUpdatedTime(updatedTime);
+        return task;
+    }
+
+    private static ParsedContent content() {
+        ParsedContent content = new ParsedContent();
+        content.setId("content");
+        // One sentence per 30-character chunk
+        content.setParsedContent(IntStream.range(0, CHUNKS)
+                .mapToObj(i -> "Sentence number " + i + " is here.")
+                .collect(Collectors.joining(" ")));
+        return content;
+    }
+
+    private static List<String> ids(IndexTask task, int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> task.getTaskId() + "-" + i).toList();
+    }
+}
@@ -4,6 +4,7 @@ import ai.driftkit.clients.openai.client.OpenAIModelClient;
 import ai.driftkit.common.domain.Language;
 import ai.driftkit.common.domain.client.ModelTextResponse;
 import ai.driftkit.clients.core.ModelClientFactory;
+import ai.driftkit.common.utils.ObjectMappers;
 import ai.driftkit.config.EtlConfig;
 import ai.driftkit.config.EtlConfig.VaultConfig;
 import ai.driftkit.context.core.service.PromptService;
@@ -20,7 +21,6 @@ import ai.driftkit.workflows.spring.ModelRequestParams;
 import ai.driftkit.workflows.examples.workflows.RAGSearchWorkflow.VectorStoreStartEvent;
 import ai.driftkit.workflows.spring.service.ModelRequestService;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import ai.driftkit.embedding.core.domain.Response;
 import ai.driftkit.embedding.core.service.EmbeddingModel;
 import lombok.Builder;
@@ -126,12 +126,11 @@ public class RAGSearchWorkflow extends ModelWorkflow<VectorStoreStartEvent, Docu
             workflowContext);
         String responseText = response.getResponse();
 
-        ObjectMapper objectMapper = new ObjectMapper();
         Map<String, Float> scoresMap;
 
         try {
             TypeReference<Map<String, Float>> typeRef = new TypeReference<>() {};
-            scoresMap = objectMapper.readValue(responseText, typeRef);
+            scoresMap = ObjectMappers.reader(typeRef).readValue(responseText);
         } catch (Exception e) {
             throw new Exception("Failed to parse JSON from model response: " + responseText, e);
         }
@@ -1,5 +1,6 @@
 package ai.driftkit.workflow.engine.core;
 
+import ai.driftkit.common.utils.ObjectMappers;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -16,7 +17,7 @@ import lombok.extern.slf4j.Slf4j;
 @Data
 @NoArgsConstructor
 public class StepOutput {
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMappers.create()
             .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
     
     private JsonNode valueJson;
@@ -1,5 +1,6 @@
 package ai.driftkit.workflow.engine.core;
 
+import ai.driftkit.common.utils.ObjectMappers;
 import ai.driftkit.workflow.engine.domain.RetryContext;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -25,7 +26,7 @@ import java.util.stream.Collectors;
 @Slf4j
 @Getter
 public class WorkflowContext {
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMappers.shared();
     
     private final String runId;
     private final Object triggerData;
@@ -1,5 +1,7 @@
 package ai.driftkit.workflow.engine.core;
 
+import ai.driftkit.common.metrics.MetricNames;
+import ai.driftkit.common.metrics.MetricsRegistry;
 import ai.driftkit.common.service.ChatStore;
 import ai.driftkit.workflow.engine.async.ProgressTracker;
 import ai.driftkit.workflow.engine.domain.WorkflowEngineConfig;
@@ -69,6 +71,7 @@ public class WorkflowExecutor {
         log.debug("Executing step: {} (instance: {})", stepId, instance.getInstanceId());
         
         long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
         
         Object input = null;
         
@@ -112,6 +115,7 @@ public class WorkflowExecutor {
             
             // Record execution
             instance.recordStepExecution(stepId, input, stepResult, duration, true);
+            recordStepDuration(instance, stepId, MetricNames.SUCCESS, startNanos);
             
             // Call interceptors after execution
             notifyAfterStep(instance, step, stepResult);
@@ -123,6 +127,7 @@ public class WorkflowExecutor {
         } catch (Exception e) {
             long duration = System.currentTimeMillis() - startTime;
             instance.recordStepExecution(stepId, input, null, duration, false);
+            recordStepDuration(instance, stepId, MetricNames.ERROR, startNanos);
             
             // Call interceptors on error
             notifyOnError(instance, step, e);
@@ -131,6 +136,14 @@ public class WorkflowExecutor {
         }
     }
     
+    private static void recordStepDuration(WorkflowInstance instance, String stepId, String outcome, long startNanos) {
+        MetricsRegistry.global().histogram(MetricNames.WORKFLOW_STEP,
+                MetricNames.WORKFLOW, instance.getWorkflowId(),
+                MetricNames.STEP, stepId,
+                MetricNames.OUTCOME, outcome)
+            .recordSince(startNanos);
+    }
+    
     /**
      * Adds an execution interceptor.
      */
@@ -1,10 +1,10 @@
 package ai.driftkit.workflow.engine.schema;
 
 import ai.driftkit.common.domain.chat.ChatMessage.PropertyType;
+import ai.driftkit.common.utils.SchemaCache;
 import ai.driftkit.workflow.engine.utils.ReflectionUtils;
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,15 +22,13 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class AIFunctionSchema implements Serializable {
-    private static final Map<Class<?>, AIFunctionSchema> schemaCache = new ConcurrentHashMap<>();
+    private static final SchemaCache<AIFunctionSchema> schemaCache = new SchemaCache<>(AIFunctionSchema::generate);
     private static final ThreadLocal<Set<Class<?>>> processingClasses = ThreadLocal.withInitial(HashSet::new);
-    private static final ObjectMapper MAPPER = new ObjectMapper();
     
     String schemaName;
     String description;
@@ -64,29 +62,25 @@ public class AIFunctionSchema implements Serializable {
     }
     
     private static AIFunctionSchema fromClassUsingJackson(Class<?> clazz) {
-        if (schemaCache.containsKey(clazz)) {
-            return schemaCache.get(clazz);
-        }
-        
         try {
-            AIFunctionSchema schema = fromClassRecursive(clazz, null);
-            schemaCache.put(clazz, schema);
-            return schema;
+            return fromClassRecursive(clazz, null);
         } catch (Exception e) {
             throw new RuntimeException("Failed to generate schema for class: " + clazz.getName(), e);
         }
     }
     
     private static AIFunctionSchema fromClassRecursive(Class<?> clazz, Type genericType) {
-        if (schemaCache.containsKey(clazz)) {
-            return schemaCache.get(clazz);
-        }
-        
-        Set<Class<?>> currentlyProcessing = processingClasses.get();
-        if (currentlyProcessing.contains(clazz)) {
+        // A cyclic reference gets a placeholder; looking the class up again while it is being
+        // generated would start a second generation instead
+        if (processingClasses.get().contains(clazz)) {
             return new AIFunctionSchema(clazz.getSimpleName(), new ArrayList<>());
         }
         
+        return schemaCache.get(clazz);
+    }
+    
+    private static AIFunctionSchema generate(Class<?> clazz) {
+        Set<Class<?>> currentlyProcessing = processingClasses.get();
         currentlyProcessing.add(clazz);
         
         try {
@@ -120,7 +114,7 @@ public class AIFunctionSchema implements Serializable {
                 }
             }
             
-            AIFunctionSchema schema = new AIFunctionSchema(schemaName, properties);
+            AIFunctionSchema schema = new AIFunctionSchema(schemaName, Collections.unmodifiableList(properties));
             schema.setTargetClass(clazz);
             
             if (description != null) {
@@ -138,7 +132,6 @@ public class AIFunctionSchema implements Serializable {
                 schema.setSystem(schemaSystemAnnotation.value());
             }
             
-            schemaCache.put(clazz, schema);
             return schema;
         } finally {
             currentlyProcessing.remove(clazz);
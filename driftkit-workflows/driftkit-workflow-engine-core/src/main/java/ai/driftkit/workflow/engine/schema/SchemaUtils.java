@@ -1,5 +1,6 @@
 package ai.driftkit.workflow.engine.schema;
 
+import ai.driftkit.common.utils.ObjectMappers;
 import ai.driftkit.workflow.engine.schema.AIFunctionSchema.AIFunctionProperty;
 import ai.driftkit.workflow.engine.schema.annotations.SchemaClass;
 import ai.driftkit.workflow.engine.utils.ReflectionUtils;
@@ -22,7 +23,7 @@ import java.util.stream.Collectors;
 public class SchemaUtils {
     private static final Map<Class<?>, List<AIFunctionSchema>> composableSchemaCache = new ConcurrentHashMap<>();
     private static final List<AIFunctionSchema> schemasList = new CopyOnWriteArrayList<>();
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMappers.shared();
     
     // Schema registry for name->class mappings
     private static final SchemaRegistry SCHEMA_REGISTRY = new InMemorySchemaRegistry();
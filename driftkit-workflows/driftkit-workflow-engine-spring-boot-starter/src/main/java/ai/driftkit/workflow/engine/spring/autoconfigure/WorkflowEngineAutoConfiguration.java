@@ -10,7 +10,7 @@ import ai.driftkit.workflow.engine.persistence.inmemory.*;
 import ai.driftkit.common.service.ChatStore;
 import ai.driftkit.common.service.TextTokenizer;
 import ai.driftkit.common.service.impl.InMemoryChatStore;
-import ai.driftkit.common.service.impl.SimpleTextTokenizer;
+import ai.driftkit.common.service.impl.BpeTextTokenizer;
 import ai.driftkit.workflow.engine.spring.context.SpringWorkflowContextFactory;
 import ai.driftkit.workflow.engine.spring.service.WorkflowService;
 import lombok.extern.slf4j.Slf4j;
@@ -67,8 +67,8 @@ public class WorkflowEngineAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public TextTokenizer textTokenizer() {
-        log.info("Configuring SimpleTextTokenizer");
-        return new SimpleTextTokenizer();
+        log.info("Configuring BpeTextTokenizer (o200k_base)");
+        return BpeTextTokenizer.o200k();
     }
     
     @Bean
@@ -1,7 +1,6 @@
 package ai.driftkit.workflow.engine.spring.client;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import ai.driftkit.common.utils.ObjectMappers;
 import feign.Logger;
 import feign.RequestInterceptor;
 import feign.codec.Decoder;
@@ -40,9 +39,7 @@ public class WorkflowFeignConfiguration {
      */
     @Bean
     public Encoder feignEncoder() {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        return new JacksonEncoder(objectMapper);
+        return new JacksonEncoder(ObjectMappers.shared());
     }
     
     /**
@@ -50,9 +47,7 @@ public class WorkflowFeignConfiguration {
      */
     @Bean
     public Decoder feignDecoder() {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        return new JacksonDecoder(objectMapper);
+        return new JacksonDecoder(ObjectMappers.shared());
     }
     
     /**
@@ -1,7 +1,7 @@
 package ai.driftkit.workflows.core.domain;
 
 import ai.driftkit.common.utils.JsonUtils;
-import ai.driftkit.workflows.core.service.WorkflowAnalyzer;
+import ai.driftkit.common.utils.ObjectMappers;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.AllArgsConstructor;
@@ -33,6 +33,6 @@ public class StopEvent<T> implements WorkflowEvent {
     }
 
     public <T> T get(Class<T> cls) throws JsonProcessingException {
-        return WorkflowAnalyzer.objectMapper.readValue(result, cls);
+        return ObjectMappers.reader(cls).readValue(result);
     }
 }
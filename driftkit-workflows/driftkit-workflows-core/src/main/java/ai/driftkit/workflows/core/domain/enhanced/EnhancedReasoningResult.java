@@ -1,12 +1,12 @@
 package ai.driftkit.workflows.core.domain.enhanced;
 
+import ai.driftkit.common.utils.ObjectMappers;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.*;
 
 import java.util.ArrayList;
@@ -23,7 +23,6 @@ import java.util.List;
 @JsonInclude(Include.NON_NULL)
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class EnhancedReasoningResult {
-    private static final ObjectMapper mapper = new ObjectMapper();
 
     /**
      * The original user query
@@ -102,7 +101,7 @@ public class EnhancedReasoningResult {
     public static EnhancedReasoningResult fromFallback(String query, String result) {
         return EnhancedReasoningResult.builder()
                 .query(query)
-                .result(mapper.readTree(result))
+                .result(ObjectMappers.shared().readTree(result))
                 .checklist(Collections.emptyList())
                 .validationItems(Collections.emptyList())
                 .confidence(1.0) // We assume the fallback workflow produced correct results
@@ -1,5 +1,6 @@
 package ai.driftkit.workflows.core.service;
 
+import ai.driftkit.common.utils.ObjectMappers;
 import ai.driftkit.workflows.core.domain.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
@@ -16,7 +17,7 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 public class WorkflowAnalyzer {
-    public static final ObjectMapper objectMapper = new ObjectMapper();
+    public static final ObjectMapper objectMapper = ObjectMappers.shared();
 
     /**
      * Builds the executable workflow graph by analyzing the specified Workflow class.
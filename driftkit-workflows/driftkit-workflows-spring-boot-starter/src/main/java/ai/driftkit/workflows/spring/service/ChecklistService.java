@@ -115,6 +115,12 @@ public class ChecklistService {
                 continue; // Skip groups with only one item
             }
             
+            // Tokenize each description once for all pairwise comparisons
+            String[][] tokens = new String[group.size()][];
+            for (int i = 0; i < group.size(); i++) {
+                tokens[i] = TextSimilarityUtil.tokenize(group.get(i).getNormalizedDescription());
+            }
+            
             // Process the group
             for (int i = 0; i < group.size(); i++) {
                 ChecklistItemEntity current = group.get(i);
@@ -135,8 +141,8 @@ public class ChecklistService {
                     
                     // Calculate similarity
                     double similarity = TextSimilarityUtil.calculateSimilarity(
-                            current.getNormalizedDescription(), 
-                            other.getNormalizedDescription());
+                            current.getNormalizedDescription(), tokens[i],
+                            other.getNormalizedDescription(), tokens[j]);
                     
                     if (similarity >= SIMILARITY_THRESHOLD) {
                         // Mark the second item as similar to the first